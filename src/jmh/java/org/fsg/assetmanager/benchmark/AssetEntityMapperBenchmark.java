@@ -0,0 +1,43 @@
+package org.fsg.assetmanager.benchmark;
+
+import org.fsg.assetmanager.domain.model.*;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.entity.AssetEntity;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.mapper.AssetEntityMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping between the domain assets and their entities, done for every saved asset and every row of a search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssetEntityMapperBenchmark {
+    private final AssetEntityMapper mapper = new AssetEntityMapper();
+    private Asset asset;
+    private AssetEntity entity;
+
+    @Setup
+    public void setUp() {
+        asset = new Asset(new AssetId("0197a3c2-5d1e-7b4a-9f3e-2c1d0e8f7a6b"), new Filename("Awesome Panda photo.png"),
+                new ContentType("IMAGE/PNG"), new FileSize(1_048_576), Instant.parse("2025-06-23T14:35:00Z"),
+                AssetStatus.PUBLISHED, "https://cdn.local/assets/0197a3c2-5d1e-7b4a-9f3e-2c1d0e8f7a6b",
+                new ContentHash("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08"));
+        entity = mapper.toEntity(asset);
+    }
+
+    @Benchmark
+    public AssetEntity toEntity() {
+        return mapper.toEntity(asset);
+    }
+
+    @Benchmark
+    public Asset toDomain() {
+        return mapper.toDomain(entity);
+    }
+}
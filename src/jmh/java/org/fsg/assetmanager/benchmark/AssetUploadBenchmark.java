@@ -0,0 +1,208 @@
+package org.fsg.assetmanager.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import org.fsg.assetmanager.application.AssetChangeFeed;
+import org.fsg.assetmanager.application.AssetService;
+import org.fsg.assetmanager.application.Bulkhead;
+import org.fsg.assetmanager.application.PersistenceBulkheads;
+import org.fsg.assetmanager.application.PublishRetryPolicy;
+import org.fsg.assetmanager.application.StatusUpdateBuffer;
+import org.fsg.assetmanager.application.UploadAdmissionController;
+import org.fsg.assetmanager.domain.model.*;
+import org.fsg.assetmanager.domain.port.in.AssetUploadCommand;
+import org.fsg.assetmanager.domain.port.in.AssetUploadResult;
+import org.fsg.assetmanager.domain.port.out.*;
+import org.fsg.assetmanager.domain.service.AssetValidator;
+import org.fsg.assetmanager.infrastructure.config.TimeOrderedIdGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Upload of an asset through {@link AssetService}, with in-memory repositories and spool and a stub publisher, so
+ * only the work of the service is measured: validation, admission, id generation and registration.
+ * <p>
+ * Hint: The bytes reserved by an upload are released right after it, as the publisher would do, so the admission
+ * budget never runs out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssetUploadBenchmark {
+    private static final byte[] CONTENT = new byte[1024];
+
+    private AssetService service;
+    private UploadAdmissionController admissionController;
+    private InMemoryAssetRepository repository;
+
+    @Setup
+    public void setUp() {
+        // Hint: Without a Spring context logback logs everything to the console, which would dominate the results
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(ch.qos.logback.classic.Level.WARN);
+
+        repository = new InMemoryAssetRepository();
+        admissionController = new UploadAdmissionController(Long.MAX_VALUE, Integer.MAX_VALUE, 0, Duration.ZERO);
+        AssetService[] self = new AssetService[1];
+        ObjectProvider<AssetService> selfProvider = new ObjectProvider<>() {
+            @Override
+            public AssetService getObject() {
+                return self[0];
+            }
+        };
+        StatusUpdateBuffer statusUpdateBuffer = new StatusUpdateBuffer(500, 10_000,
+                updates -> self[0].completePublishJobs(updates));
+        self[0] = new AssetService(selfProvider, new AssetValidator(), repository, new NoOpPublishJobRepository(),
+                (asset, content) -> new PublishedUrl("https://cdn.local/" + asset.id().value()),
+                new InMemoryContentSpool(), admissionController, statusUpdateBuffer,
+                new AssetChangeFeed(10_000, 256, 1000, Clock.systemUTC()), new PersistenceBulkheads(
+                        new Bulkhead("writes", Integer.MAX_VALUE, Duration.ZERO),
+                        new Bulkhead("searches", Integer.MAX_VALUE, Duration.ZERO),
+                        new Bulkhead("exports", Integer.MAX_VALUE, Duration.ZERO),
+                        new Bulkhead("background", Integer.MAX_VALUE, Duration.ZERO)),
+                new PublishRetryPolicy(10, Duration.ofSeconds(10), Duration.ofMinutes(10)), Clock.systemUTC(),
+                new TimeOrderedIdGenerator(Clock.systemUTC()));
+        service = self[0];
+    }
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        repository.assets.clear();
+    }
+
+    @Benchmark
+    public AssetUploadResult upload() {
+        return uploadAndRelease();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public AssetUploadResult uploadConcurrently() {
+        return uploadAndRelease();
+    }
+
+    private AssetUploadResult uploadAndRelease() {
+        AssetUploadResult result = service.upload(new AssetUploadCommand("Awesome Panda photo.png", "image/png",
+                CONTENT.length, new BytesContent(CONTENT)));
+        admissionController.release(result.assetId());
+        return result;
+    }
+
+    private record BytesContent(byte[] bytes) implements AssetContent {
+        @Override
+        public long size() {
+            return bytes.length;
+        }
+
+        @Override
+        public ReadableByteChannel openChannel() {
+            return Channels.newChannel(new ByteArrayInputStream(bytes));
+        }
+    }
+
+    private static final class InMemoryAssetRepository implements AssetRepository {
+        private final Map<AssetId, Asset> assets = new ConcurrentHashMap<>();
+
+        @Override
+        public Asset save(Asset asset) {
+            assets.put(asset.id(), asset);
+            return asset;
+        }
+
+        @Override
+        public List<Asset> saveAll(List<Asset> assets) {
+            assets.forEach(this::save);
+            return assets;
+        }
+
+        @Override
+        public AssetPage find(AssetSearchCriteria criteria) {
+            return new AssetPage(List.copyOf(assets.values()), null);
+        }
+
+        @Override
+        public Stream<Asset> stream(AssetSearchCriteria criteria) {
+            return assets.values().stream();
+        }
+
+        @Override
+        public boolean updateStatus(AssetStatusTransition transition) {
+            return updateStatuses(List.of(transition)).contains(transition.id());
+        }
+
+        @Override
+        public Set<AssetId> updateStatuses(Collection<AssetStatusTransition> transitions) {
+            return Set.of();
+        }
+
+        @Override
+        public List<Asset> findPendingWithoutPublishJob(Instant uploadedBefore, Asset after, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public Optional<Asset> findPublishedByContentHash(ContentHash contentHash, ContentType contentType) {
+            return Optional.empty();
+        }
+    }
+
+    private static final class NoOpPublishJobRepository implements PublishJobRepository {
+        @Override
+        public void enqueue(AssetId assetId) {
+        }
+
+        @Override
+        public void enqueueAll(Collection<AssetId> assetIds) {
+        }
+
+        @Override
+        public List<PublishJob> claim(int limit, Duration lease) {
+            return List.of();
+        }
+
+        @Override
+        public void complete(PublishJob job) {
+        }
+
+        @Override
+        public void completeAll(Collection<PublishJob> jobs) {
+        }
+
+        @Override
+        public void reschedule(PublishJob job, Duration delay) {
+        }
+
+        @Override
+        public void release(Collection<PublishJob> jobs) {
+        }
+    }
+
+    private static final class InMemoryContentSpool implements ContentSpool {
+        @Override
+        public AssetContent spool(AssetId assetId, AssetContent source) {
+            return source;
+        }
+
+        @Override
+        public Optional<AssetContent> find(AssetId assetId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void release(AssetId assetId) {
+        }
+    }
+}
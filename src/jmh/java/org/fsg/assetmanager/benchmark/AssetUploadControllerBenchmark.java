@@ -0,0 +1,124 @@
+package org.fsg.assetmanager.benchmark;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.port.in.AssetUploadResult;
+import org.fsg.assetmanager.infrastructure.adapter.in.rest.AssetUploadController;
+import org.fsg.assetmanager.infrastructure.adapter.in.rest.AssetUploadResponse;
+import org.fsg.assetmanager.infrastructure.adapter.in.rest.UploadProperties;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load harness of the upload endpoint: a request body of {@code size} bytes is streamed through
+ * {@link AssetUploadController} into a use case that drains it. The body is generated as it is read, so the heap used
+ * is the one of the upload path only.
+ * <p>
+ * Hint: Run it with {@code -prof gc}. The bytes allocated per upload ({@code gc.alloc.rate.norm}) stay the same as
+ * the size grows, so the body is never buffered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class AssetUploadControllerBenchmark {
+    private static final AssetUploadResult RESULT = new AssetUploadResult(new AssetId("benchmark"));
+
+    @Param({"1048576", "67108864", "1073741824"})
+    private long size;
+
+    private AssetUploadController controller;
+
+    @Setup
+    public void setUp() {
+        ByteBuffer sink = ByteBuffer.allocateDirect(64 * 1024);
+        controller = new AssetUploadController(command -> {
+            try (ReadableByteChannel channel = command.content().openChannel()) {
+                while (channel.read(sink.clear()) >= 0) {
+                    // Hint: Drained as a publisher would stream it
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return RESULT;
+        }, new UploadProperties(DataSize.ofBytes(Long.MAX_VALUE), 1));
+    }
+
+    @Benchmark
+    public ResponseEntity<AssetUploadResponse> upload() {
+        return controller.upload("video.mp4", "video/mp4", new GeneratedBodyRequest(size));
+    }
+
+    private static final class GeneratedBodyRequest extends MockHttpServletRequest {
+        private final long size;
+
+        private GeneratedBodyRequest(long size) {
+            super("POST", "/assets");
+            this.size = size;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return size;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new GeneratedInputStream(size);
+        }
+    }
+
+    private static final class GeneratedInputStream extends ServletInputStream {
+        private long remaining;
+
+        private GeneratedInputStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (remaining == 0) {
+                return -1;
+            }
+            remaining--;
+            return 'a';
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (remaining == 0) {
+                return -1;
+            }
+            int read = (int) Math.min(length, remaining);
+            Arrays.fill(bytes, offset, offset + read, (byte) 'a');
+            remaining -= read;
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return remaining == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.fsg.assetmanager.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.fsg.assetmanager.AssetManagerApplication;
+import org.fsg.assetmanager.domain.model.AssetStatus;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.AssetEntityWriter;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.JpaAssetEntityWriter;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.StatelessAssetEntityWriter;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.AssetJpaRepository;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.entity.AssetEntity;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the insert throughput of the asset writers: through the JPA persistence context and through a Hibernate
+ * stateless session.
+ * <p>
+ * Hint: It needs a Postgres database, given by the {@code jdbc.url}, {@code jdbc.user} and {@code jdbc.password}
+ * system properties. The application context is started without web server, with the schema created from the
+ * entities, and the assets table is emptied before every iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AssetWriterBenchmark {
+    private static final int TRANSACTION_SIZE = 50;
+
+    @Param({"jpa", "stateless"})
+    public String writer;
+
+    private ConfigurableApplicationContext context;
+    private AssetEntityWriter assetEntityWriter;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AssetManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + System.getProperty("jdbc.url",
+                                "jdbc:postgresql://localhost:5432/postgres"),
+                        "spring.datasource.username=" + System.getProperty("jdbc.user", "postgres"),
+                        "spring.datasource.password=" + System.getProperty("jdbc.password", "postgres"),
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "asset-manager.filename-index.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        DataSource dataSource = context.getBean(DataSource.class);
+        assetEntityWriter = "jpa".equals(writer)
+                ? new JpaAssetEntityWriter(context.getBean(AssetJpaRepository.class))
+                : new StatelessAssetEntityWriter(
+                context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class), dataSource);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        jdbcTemplate.execute("TRUNCATE assets, publish_jobs");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // A transaction per asset, as an upload does
+    @Benchmark
+    public AssetEntity insert() {
+        return transactionTemplate.execute(status -> assetEntityWriter.insert(newEntity()));
+    }
+
+    // Each operation inserts TRANSACTION_SIZE assets in a single transaction
+    @Benchmark
+    public int insertInTransaction() {
+        return transactionTemplate.execute(status -> {
+            for (int i = 0; i < TRANSACTION_SIZE; i++) {
+                assetEntityWriter.insert(newEntity());
+            }
+            return TRANSACTION_SIZE;
+        });
+    }
+
+    private static AssetEntity newEntity() {
+        return AssetEntity.builder()
+                .externalId(UUID.randomUUID().toString())
+                .filename("Awesome Panda photo.png")
+                .contentType("image/png")
+                .size(1024L)
+                .uploadDate(Instant.now())
+                .status(AssetStatus.PENDING)
+                .build();
+    }
+}
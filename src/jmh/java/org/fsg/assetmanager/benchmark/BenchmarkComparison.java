@@ -0,0 +1,78 @@
+package org.fsg.assetmanager.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH result files in JSON format and fails when a benchmark got slower than the allowed threshold.
+ * <p>
+ * Usage: {@code BenchmarkComparison <baseline.json> <current.json> [threshold percentage, 10 by default]}
+ * <p>
+ * Hint: A difference within the error of both scores is not reported as a regression, as it may be noise.
+ */
+public final class BenchmarkComparison {
+    private static final double DEFAULT_THRESHOLD = 10.0;
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold %]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+
+        Map<String, Result> baseline = read(Path.of(args[0]));
+        Map<String, Result> current = read(Path.of(args[1]));
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : new TreeMap<>(current).entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            Result after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14.3f %-8s (new)%n", entry.getKey(), after.score(), after.unit());
+                continue;
+            }
+
+            // Positive when the benchmark got slower, whatever its mode
+            double change = 100.0 * (after.score() - before.score()) / before.score();
+            double slowdown = after.higherIsBetter() ? -change : change;
+            boolean withinError = Math.abs(after.score() - before.score()) <= before.error() + after.error();
+            boolean regression = slowdown > threshold && !withinError;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f -> %14.3f %-8s %+7.1f%%%s%n", entry.getKey(), before.score(),
+                    after.score(), after.unit(), change, regression ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(Path path) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode benchmark : new ObjectMapper().readTree(path.toFile())) {
+            StringBuilder key = new StringBuilder(benchmark.path("benchmark").asText());
+            benchmark.path("params").properties()
+                    .forEach(param -> key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            JsonNode metric = benchmark.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            results.put(key.toString(), new Result(metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText(),
+                    "thrpt".equals(benchmark.path("mode").asText())));
+        }
+        return results;
+    }
+
+    private record Result(double score, double error, String unit, boolean higherIsBetter) {
+    }
+}
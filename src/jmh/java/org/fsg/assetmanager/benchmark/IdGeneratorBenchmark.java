@@ -0,0 +1,105 @@
+package org.fsg.assetmanager.benchmark;
+
+import org.fsg.assetmanager.infrastructure.config.TimeOrderedIdGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.IdGenerator;
+import org.springframework.util.JdkIdGenerator;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the random and the time-ordered asset id generators.
+ * <p>
+ * Hint: The insert benchmarks need a Postgres database, given by the {@code jdbc.url}, {@code jdbc.user} and
+ * {@code jdbc.password} system properties. The ids are inserted in an unlogged table with a unique index on them, like
+ * {@code idx_external_id}, which is refilled with {@value #PRELOADED_ROWS} rows first so it doesn't fit in few pages.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGeneratorBenchmark {
+    private static final int PRELOADED_ROWS = 1_000_000;
+    private static final int INSERT_BATCH_SIZE = 100;
+
+    @State(Scope.Benchmark)
+    public static class Generator {
+        @Param({"random", "time-ordered"})
+        public String strategy;
+
+        IdGenerator idGenerator;
+
+        @Setup
+        public void setUp() {
+            idGenerator = "random".equals(strategy)
+                    ? new JdkIdGenerator()
+                    : new TimeOrderedIdGenerator(Clock.systemUTC());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Database {
+        Connection connection;
+        PreparedStatement insert;
+
+        @Setup
+        public void setUp(Generator generator) throws SQLException {
+            connection = DriverManager.getConnection(
+                    System.getProperty("jdbc.url", "jdbc:postgresql://localhost:5432/postgres"),
+                    System.getProperty("jdbc.user", "postgres"),
+                    System.getProperty("jdbc.password", "postgres"));
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS id_benchmark");
+                statement.execute("CREATE UNLOGGED TABLE id_benchmark (id BIGSERIAL PRIMARY KEY, external_id TEXT)");
+                statement.execute("CREATE UNIQUE INDEX idx_id_benchmark_external_id ON id_benchmark (external_id)");
+            }
+            insert = connection.prepareStatement("INSERT INTO id_benchmark (external_id) VALUES (?)");
+            for (int i = 0; i < PRELOADED_ROWS / INSERT_BATCH_SIZE; i++) {
+                insertBatch(generator.idGenerator);
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS id_benchmark");
+            }
+            connection.close();
+        }
+
+        int insertBatch(IdGenerator idGenerator) throws SQLException {
+            for (int i = 0; i < INSERT_BATCH_SIZE; i++) {
+                insert.setString(1, idGenerator.generateId().toString());
+                insert.addBatch();
+            }
+            return insert.executeBatch().length;
+        }
+    }
+
+    @Benchmark
+    public UUID generate(Generator generator) {
+        return generator.idGenerator.generateId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UUID generateConcurrently(Generator generator) {
+        return generator.idGenerator.generateId();
+    }
+
+    // Each operation inserts a batch of INSERT_BATCH_SIZE ids
+    @Benchmark
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 5, time = 5)
+    public int insert(Generator generator, Database database) throws SQLException {
+        return database.insertBatch(generator.idGenerator);
+    }
+}
@@ -0,0 +1,51 @@
+package org.fsg.assetmanager.benchmark;
+
+import org.fsg.assetmanager.domain.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction of the value objects of an asset, including their validations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueObjectBenchmark {
+    // Hint: Read from non-final fields, so the JIT can't fold the constructions into constants
+    private String id = "0197a3c2-5d1e-7b4a-9f3e-2c1d0e8f7a6b";
+    private String filename = "Awesome Panda photo.png";
+    private String contentType = "image/png";
+    private int size = 1_048_576;
+    private Instant uploadDate = Instant.parse("2025-06-23T14:35:00Z");
+
+    @Benchmark
+    public AssetId assetId() {
+        return new AssetId(id);
+    }
+
+    @Benchmark
+    public Filename filename() {
+        return new Filename(filename);
+    }
+
+    @Benchmark
+    public ContentType contentType() {
+        return new ContentType(contentType);
+    }
+
+    @Benchmark
+    public FileSize fileSize() {
+        return new FileSize(size);
+    }
+
+    @Benchmark
+    public Asset asset() {
+        return new Asset(new AssetId(id), new Filename(filename), new ContentType(contentType), new FileSize(size),
+                uploadDate, AssetStatus.PENDING, null, null);
+    }
+}
@@ -0,0 +1,56 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import org.fsg.assetmanager.domain.model.SortDirection;
+import org.fsg.assetmanager.domain.port.out.AssetSearchCriteria;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.entity.AssetEntity;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Work done by the repository adapter for every search before querying the database: decoding the page token,
+ * planning the filters, building their specification and encoding the next page token.
+ * <p>
+ * Hint: This benchmark is in the adapter package because the plan and the page tokens are package-private. The
+ * translation of the specification to SQL needs a session factory and is not covered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssetSearchPlanBenchmark {
+    private AssetSearchCriteria criteria;
+    private AssetPageToken pageToken;
+    private String encodedPageToken;
+
+    @Setup
+    public void setUp() {
+        pageToken = new AssetPageToken(SortDirection.DESC, Instant.parse("2025-06-23T14:35:00Z"), 123_456L);
+        encodedPageToken = pageToken.encode();
+        criteria = new AssetSearchCriteria(Instant.parse("2025-01-01T00:00:00Z"),
+                Instant.parse("2025-12-31T23:59:59Z"), "panda", "IMAGE/PNG", SortDirection.DESC, 50,
+                encodedPageToken);
+    }
+
+    @Benchmark
+    public Specification<AssetEntity> planAndSpecification() {
+        AssetSearchPlan plan = AssetSearchPlan.of(criteria, filename -> Optional.empty());
+        return Specification.allOf(plan.toSpecification(), AssetRepositoryAdapter.AssetSpecification.after(
+                AssetPageToken.decode(criteria.pageToken(), criteria.sortDirection())));
+    }
+
+    @Benchmark
+    public String encodePageToken() {
+        return pageToken.encode();
+    }
+
+    @Benchmark
+    public AssetPageToken decodePageToken() {
+        return AssetPageToken.decode(encodedPageToken, SortDirection.DESC);
+    }
+}
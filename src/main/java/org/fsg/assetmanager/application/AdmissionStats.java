@@ -0,0 +1,15 @@
+package org.fsg.assetmanager.application;
+
+import java.time.Duration;
+
+public record AdmissionStats(
+        long inFlightBytes,
+        int inFlightUploads,
+        int queueDepth,
+        long admitted,
+        long rejected,
+        Duration totalWait,
+        Duration averageWait,
+        Duration maxWait
+) {
+}
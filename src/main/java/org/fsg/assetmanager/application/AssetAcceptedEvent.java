@@ -0,0 +1,11 @@
+package org.fsg.assetmanager.application;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.fsg.assetmanager.AssetAccepted")
+@Label("Asset Accepted")
+@Description("An upload was validated and admitted. The duration is the time waiting for admission")
+class AssetAcceptedEvent extends AssetLifecycleEvent {
+}
@@ -0,0 +1,185 @@
+package org.fsg.assetmanager.application;
+
+import org.fsg.assetmanager.domain.exception.SubscriptionRejectedException;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.model.AssetStatusChange;
+import org.fsg.assetmanager.domain.port.in.AssetChangeQuery;
+import org.fsg.assetmanager.domain.port.in.AssetChangeSubscription;
+import org.fsg.assetmanager.domain.port.in.WatchAssetChangesUseCase;
+import org.fsg.assetmanager.domain.port.out.AssetStatusTransition;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process feed of the status changes written by this instance, so clients learn that an asset was published without
+ * polling the search. The changes written by other instances never reach it, so clients fall back to the search.
+ * <p>
+ * Hint: Every change is numbered and the last {@code historySize} of them are kept, so a client resumes from the last
+ * sequence it received. Each subscriber has its own bounded buffer. A subscriber not keeping up is closed once its
+ * buffer is drained, instead of slowing down the writes or holding memory, and it resumes from the history.
+ */
+public class AssetChangeFeed implements WatchAssetChangesUseCase {
+    private final int historySize;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<AssetStatusChange> history;
+    private final Set<FeedSubscription> subscribers = ConcurrentHashMap.newKeySet();
+    private long lastSequence;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    public AssetChangeFeed(int historySize, int bufferSize, int maxSubscribers, Clock clock) {
+        this.historySize = historySize;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.clock = clock;
+        this.history = new ArrayDeque<>(historySize);
+        // Hint: Sequences start at the startup time in microseconds, so they keep growing across restarts and a client
+        //       resuming from a sequence of a previous run is told about the changes it missed
+        this.lastSequence = ChronoUnit.MICROS.between(Instant.EPOCH, clock.instant());
+    }
+
+    /**
+     * Numbers the changes and hands them to the subscribers. Called once the changes are written.
+     */
+    public void publish(Collection<AssetStatusTransition> transitions) {
+        lock.lock();
+        try {
+            Instant now = clock.instant();
+            for (AssetStatusTransition transition : transitions) {
+                AssetStatusChange change = new AssetStatusChange(++lastSequence, transition.id(),
+                        transition.newStatus(), transition.publishedUrl(), now);
+                if (history.size() == historySize) {
+                    history.removeFirst();
+                }
+                history.addLast(change);
+                subscribers.forEach(subscriber -> subscriber.offer(change));
+                published.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public AssetChangeSubscription subscribe(AssetChangeQuery query) {
+        lock.lock();
+        try {
+            if (subscribers.size() >= maxSubscribers) {
+                throw new SubscriptionRejectedException(maxSubscribers);
+            }
+
+            FeedSubscription subscription = new FeedSubscription(query.assetIds(), lastSequence);
+            if (query.after() != null) {
+                replay(subscription, query.after());
+            }
+            if (!subscription.overflowed) {
+                subscribers.add(subscription);
+            }
+            return subscription;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ChangeFeedStats stats() {
+        return new ChangeFeedStats(subscribers.size(), published.sum(), overflows.sum());
+    }
+
+    private void replay(FeedSubscription subscription, long after) {
+        long oldest = history.isEmpty() ? lastSequence + 1 : history.getFirst().sequence();
+        // Hint: Either the changes following the sequence are no longer in the history, or the sequence is unknown
+        subscription.missedChanges = after < oldest - 1 || after > lastSequence;
+        subscription.delivered = Math.min(after, lastSequence);
+        for (AssetStatusChange change : history) {
+            if (change.sequence() > after) {
+                subscription.offer(change);
+            }
+        }
+    }
+
+    private final class FeedSubscription implements AssetChangeSubscription {
+        private final Set<AssetId> assetIds;
+        private final BlockingQueue<AssetStatusChange> buffer = new ArrayBlockingQueue<>(bufferSize);
+        // Hint: Sequence of the last change offered, even when filtered out. It is only updated after the change is
+        //       buffered, so an empty buffer means every change up to it was polled
+        private volatile long seen;
+        private volatile long delivered;
+        private volatile boolean overflowed;
+        private volatile boolean missedChanges;
+        private volatile boolean closed;
+
+        private FeedSubscription(Set<AssetId> assetIds, long position) {
+            this.assetIds = assetIds;
+            this.seen = position;
+            this.delivered = position;
+        }
+
+        private void offer(AssetStatusChange change) {
+            if (overflowed) {
+                return;
+            }
+            if ((assetIds.isEmpty() || assetIds.contains(change.assetId())) && !buffer.offer(change)) {
+                overflowed = true;
+                overflows.increment();
+                subscribers.remove(this);
+                return;
+            }
+            seen = change.sequence();
+        }
+
+        @Override
+        public List<AssetStatusChange> poll(int maxChanges, Duration timeout) throws InterruptedException {
+            if (closed) {
+                return List.of();
+            }
+            AssetStatusChange first = overflowed
+                    ? buffer.poll()
+                    : buffer.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            if (first == null) {
+                return List.of();
+            }
+
+            List<AssetStatusChange> changes = new ArrayList<>(Math.min(maxChanges, buffer.size() + 1));
+            changes.add(first);
+            buffer.drainTo(changes, maxChanges - 1);
+            delivered = changes.getLast().sequence();
+            return changes;
+        }
+
+        @Override
+        public long lastSequence() {
+            long position = seen;
+            return buffer.isEmpty() ? Math.max(position, delivered) : delivered;
+        }
+
+        @Override
+        public boolean missedChanges() {
+            return missedChanges;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !closed && !(overflowed && buffer.isEmpty());
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.fsg.assetmanager.application;
+
+import jdk.jfr.*;
+import org.fsg.assetmanager.domain.model.Asset;
+
+/**
+ * Flight Recorder event of a stage of the lifecycle of an asset, from its upload until its final status is stored.
+ * <p>
+ * Hint: Every event carries the asset id, so the stages of a slow upload can be found in a recording by filtering on
+ * it. The fields are only filled once the event is known to be recorded, so disabled events cost a branch.
+ */
+@Category({"Asset Manager", "Asset Lifecycle"})
+@StackTrace(false)
+abstract class AssetLifecycleEvent extends Event {
+    @Label("Asset Id")
+    String assetId;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+
+    @Label("Content Type")
+    String contentType;
+
+    /**
+     * Ends the event and commits it, for the given asset, when it is enabled and lasted over its threshold.
+     */
+    void commitFor(Asset asset) {
+        end();
+        if (shouldCommit()) {
+            assetId = asset.id().value();
+            size = asset.fileSize() == null ? 0 : asset.fileSize().value();
+            contentType = asset.contentType() == null ? null : asset.contentType().value();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.fsg.assetmanager.application;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.fsg.assetmanager.AssetPersisted")
+@Label("Asset Persisted")
+@Description("The content of an upload was spooled, and the asset and its publish job were stored")
+class AssetPersistedEvent extends AssetLifecycleEvent {
+}
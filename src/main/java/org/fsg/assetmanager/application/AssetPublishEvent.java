@@ -0,0 +1,17 @@
+package org.fsg.assetmanager.application;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.fsg.assetmanager.AssetPublish")
+@Label("Asset Publish")
+@Description("An attempt to publish an asset. It starts when the publisher is called and ends when it answers")
+class AssetPublishEvent extends AssetLifecycleEvent {
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Outcome")
+    @Description("success, error, or duplicated when the url of a published asset with the same content is reused")
+    String outcome;
+}
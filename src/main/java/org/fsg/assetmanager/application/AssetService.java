@@ -2,54 +2,153 @@ package org.fsg.assetmanager.application;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.fsg.assetmanager.domain.exception.AssetPublishException;
+import org.fsg.assetmanager.domain.exception.ContentSpoolException;
 import org.fsg.assetmanager.domain.model.*;
 import org.fsg.assetmanager.domain.port.in.*;
-import org.fsg.assetmanager.domain.port.out.AssetPublisher;
-import org.fsg.assetmanager.domain.port.out.AssetRepository;
-import org.fsg.assetmanager.domain.port.out.AssetSearchCriteria;
-import org.fsg.assetmanager.domain.port.out.PublishedUrl;
+import org.fsg.assetmanager.domain.port.out.*;
 import org.fsg.assetmanager.domain.service.AssetValidator;
 import org.springframework.beans.factory.ObjectProvider;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.IdGenerator;
 
 import java.time.Clock;
-import java.util.List;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @RequiredArgsConstructor
 @SuppressWarnings("ClassCanBeRecord")
-public class AssetService implements UploadAssetUseCase, SearchAssetsUseCase {
+public class AssetService implements UploadAssetUseCase, UploadAssetBatchUseCase, SearchAssetsUseCase {
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
 
-    // Hint: An instant of the self object is required in order to use Virtual Threads (VTs).
-    //       If a method annotated with @Sync is called within the same class, is executed by the main thread
-    //       instead of by a VT. Calling it like this fix the problem. We prefer to use @Asyn because it integrates
-    //       with Spring much better.
+    // Hint: An instant of the self object is required in order to use transactions.
+    //       If a method annotated with @Transactional is called within the same class, the proxy is bypassed and
+    //       no transaction is started. Calling it like this fix the problem.
     private final ObjectProvider<AssetService> selfProvider;
     private final AssetValidator assetValidator;
     private final AssetRepository assetRepository;
+    private final PublishJobRepository publishJobRepository;
     private final AssetPublisher assetPublisher;
+    private final ContentSpool contentSpool;
+    private final UploadAdmissionController admissionController;
+    private final StatusUpdateBuffer statusUpdateBuffer;
+    private final AssetChangeFeed changeFeed;
+    private final PersistenceBulkheads bulkheads;
+    private final PublishRetryPolicy retryPolicy;
     private final Clock clock;
     private final IdGenerator idGenerator;
 
     @Override
-    public List<Asset> search(AssetSearchQuery query) {
-        AssetSearchCriteria criteria = new AssetSearchCriteria(null, null, null, null, query.sortDirection());
-        return assetRepository.find(criteria);
+    public AssetSearchResult search(AssetSearchQuery query) {
+        int pageSize = query.pageSize() == null ? DEFAULT_PAGE_SIZE : Math.clamp(query.pageSize(), 1, MAX_PAGE_SIZE);
+        AssetPage page = bulkheads.searches().execute(
+                () -> assetRepository.find(toCriteria(query, pageSize, query.pageToken())));
+        return new AssetSearchResult(page.assets(), page.nextPageToken());
+    }
+
+    @Override
+    public void export(AssetSearchQuery query, Consumer<Asset> consumer) {
+        // Hint: A slow client holds the connection of its export, so exports never take the permits of searches
+        bulkheads.exports().execute(() -> selfProvider.getObject().streamAssets(query, consumer));
+    }
+
+    // The assets are streamed from a cursor, which is only open within a transaction
+    @Transactional(readOnly = true)
+    void streamAssets(AssetSearchQuery query, Consumer<Asset> consumer) {
+        try (Stream<Asset> assets = assetRepository.stream(toCriteria(query, 0, null))) {
+            assets.forEach(consumer);
+        }
+    }
+
+    private static AssetSearchCriteria toCriteria(AssetSearchQuery query, int limit, String pageToken) {
+        return new AssetSearchCriteria(query.uploadDateStart(), query.uploadDateEnd(), query.filename(),
+                query.contentType(), query.sortDirection(), limit, pageToken);
     }
 
     @Override
     public AssetUploadResult upload(AssetUploadCommand command) {
         Asset asset = createAsset(command, new Filename(command.filename()), new ContentType(command.contentType()));
         assetValidator.validate(asset);
+        admit(asset, command.size());
 
-        Asset savedAsset = assetRepository.save(asset);
+        AssetPersistedEvent persisted = new AssetPersistedEvent();
+        persisted.begin();
+        Asset savedAsset;
+        try {
+            Asset spooledAsset = spool(asset, new HashingContent(command.content()));
+            savedAsset = register(List.of(spooledAsset)).getFirst();
+        } finally {
+            admissionController.endUpload();
+        }
+        persisted.commitFor(savedAsset);
         log.info("Asset info stored locally with ID '{}', filename: '{}'", asset.id(), asset.filename().value());
 
-        selfProvider.getObject().uploadAsync(savedAsset, command.bytes());
         return new AssetUploadResult(savedAsset.id());
     }
 
+    /**
+     * Hint: The assets are validated, admitted and spooled one by one, and a failure only fails its own asset. The ones
+     * spooled are then registered together, with their publish jobs, in a single transaction.
+     */
+    @Override
+    public List<AssetBatchUploadResult> uploadBatch(List<AssetUploadCommand> commands) {
+        AssetBatchUploadResult[] results = new AssetBatchUploadResult[commands.size()];
+        Map<Integer, Asset> valid = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            AssetUploadCommand command = commands.get(i);
+            try {
+                Asset asset = createAsset(command, new Filename(command.filename()),
+                        new ContentType(command.contentType()));
+                assetValidator.validate(asset);
+                valid.put(i, asset);
+            } catch (RuntimeException e) {
+                results[i] = AssetBatchUploadResult.failed(e.getMessage());
+            }
+        }
+
+        Map<Integer, Asset> spooled = new LinkedHashMap<>();
+        Map<Integer, AssetPersistedEvent> persisted = new HashMap<>();
+        valid.forEach((i, asset) -> {
+            try {
+                admit(asset, commands.get(i).size());
+                AssetPersistedEvent event = new AssetPersistedEvent();
+                event.begin();
+                try {
+                    spooled.put(i, spool(asset, new HashingContent(commands.get(i).content())));
+                } finally {
+                    admissionController.endUpload();
+                }
+                persisted.put(i, event);
+            } catch (RuntimeException e) {
+                results[i] = AssetBatchUploadResult.failed(e.getMessage());
+            }
+        });
+
+        if (!spooled.isEmpty()) {
+            try {
+                List<Asset> saved = register(List.copyOf(spooled.values()));
+                Iterator<Asset> savedAssets = saved.iterator();
+                spooled.keySet().forEach(i -> {
+                    Asset savedAsset = savedAssets.next();
+                    persisted.get(i).commitFor(savedAsset);
+                    results[i] = AssetBatchUploadResult.uploaded(new AssetUploadResult(savedAsset.id()));
+                });
+            } catch (RuntimeException e) {
+                spooled.keySet().forEach(i -> results[i] = AssetBatchUploadResult.failed(e.getMessage()));
+            }
+        }
+        log.info("Batch of {} assets stored locally, {} of them failed", commands.size(),
+                Arrays.stream(results).filter(result -> !result.isUploaded()).count());
+
+        return List.of(results);
+    }
+
     private Asset createAsset(AssetUploadCommand command, Filename filename, ContentType contentType) {
         return new Asset(
                 new AssetId(idGenerator.generateId().toString()),
@@ -58,36 +157,211 @@ public class AssetService implements UploadAssetUseCase, SearchAssetsUseCase {
                 new FileSize(command.size()),
                 clock.instant(),
                 AssetStatus.PENDING,
+                null,
                 null);
     }
 
-    @Async
-    void uploadAsync(Asset asset, byte[] fileContent) {
-        PublishedUrl published = publishAsset(asset, fileContent);
-        if (published != null) {
-            markAssetAsPublished(asset, published);
+    private void admit(Asset asset, long size) {
+        AssetAcceptedEvent accepted = new AssetAcceptedEvent();
+        accepted.begin();
+        admissionController.acquire(asset.id(), size);
+        accepted.commitFor(asset);
+    }
+
+    private Asset spool(Asset asset, HashingContent content) {
+        try {
+            // Hint: The content is spooled before saving the asset, so a PENDING asset always has content to publish.
+            //       Its hash is computed while it is spooled.
+            contentSpool.spool(asset.id(), content);
+        } catch (RuntimeException e) {
+            admissionController.release(asset.id());
+            throw e;
         }
+        return asset.withContentHash(content.hash());
     }
 
-    private PublishedUrl publishAsset(Asset asset, byte[] fileContent) {
+    private List<Asset> register(List<Asset> assets) {
         try {
-            PublishedUrl published = assetPublisher.publish(asset, fileContent);
-            log.info("Asset with ID '{}' was published successfully with url '{}'", asset.id(), published.url());
-            return published;
+            return bulkheads.writes().execute(() -> selfProvider.getObject().registerAssets(assets));
+        } catch (RuntimeException e) {
+            assets.forEach(asset -> releaseContent(asset.id()));
+            throw e;
+        } finally {
+            // Hint: Once registered, the content is bounded by the shared spool capacity and any instance may publish
+            //       it, so the admitted bytes are freed here rather than when it is published
+            assets.forEach(asset -> admissionController.release(asset.id()));
+        }
+    }
+
+    // The assets and their publish jobs are stored atomically. The jobs are executed by the PublishJobDispatcher.
+    @Transactional
+    List<Asset> registerAssets(List<Asset> assets) {
+        if (assets.size() == 1) {
+            Asset savedAsset = assetRepository.save(assets.getFirst());
+            publishJobRepository.enqueue(savedAsset.id());
+            return List.of(savedAsset);
+        }
+
+        List<Asset> savedAssets = assetRepository.saveAll(assets);
+        publishJobRepository.enqueueAll(savedAssets.stream().map(Asset::id).toList());
+        return savedAssets;
+    }
+
+    public void publish(PublishJob job) {
+        Asset asset = job.asset();
+        if (asset.status() != AssetStatus.PENDING) {
+            log.warn("Asset with ID '{}' is already {}, publish job discarded", asset.id(), asset.status());
+            publishJobRepository.complete(job);
+            releaseContent(asset.id());
+            return;
+        }
+
+        Optional<PublishedUrl> duplicated = findPublishedDuplicate(asset);
+        if (duplicated.isPresent()) {
+            AssetPublishEvent event = new AssetPublishEvent();
+            event.attempt = job.attempts();
+            event.outcome = "duplicated";
+            event.commitFor(asset);
+            log.info("Asset with ID '{}' has the content of a published asset, its url '{}' is reused",
+                    asset.id(), duplicated.get().url());
+            markAssetAsPublished(job, asset, duplicated.get());
+            return;
+        }
+
+        Optional<AssetContent> content;
+        try {
+            content = contentSpool.find(asset.id());
+        } catch (ContentSpoolException e) {
+            handlePublishFailure(job, asset, e);
+            return;
+        }
+        if (content.isEmpty()) {
+            log.error("Asset with ID '{}' failed to publish: content is no longer available", asset.id());
+            markAssetAsFailed(job, asset);
+            return;
+        }
+
+        AssetPublishEvent event = new AssetPublishEvent();
+        event.attempt = job.attempts();
+        event.begin();
+        PublishedUrl published;
+        try {
+            published = assetPublisher.publish(asset, content.get());
         } catch (Exception e) {
-            assetRepository.save(asset.markAsFailed());
-            log.error("Asset with ID '{}' failed to publish: {}", asset.id(), e.getMessage(), e);
-            return null;
+            event.outcome = "error";
+            event.commitFor(asset);
+            handlePublishFailure(job, asset, e);
+            return;
         }
+        event.outcome = "success";
+        event.commitFor(asset);
+        log.info("Asset with ID '{}' was published successfully with url '{}'", asset.id(), published.url());
+        markAssetAsPublished(job, asset, published);
+    }
+
+    // Hint: A failed lookup doesn't fail the job, the content is published again instead
+    private Optional<PublishedUrl> findPublishedDuplicate(Asset asset) {
+        if (asset.contentHash() == null) {
+            return Optional.empty();
+        }
+        try {
+            return bulkheads.background().execute(
+                            () -> assetRepository.findPublishedByContentHash(asset.contentHash(), asset.contentType()))
+                    .map(published -> new PublishedUrl(published.publishedUrl()));
+        } catch (RuntimeException e) {
+            log.warn("Published assets with the content of asset with ID '{}' could not be looked up: {}",
+                    asset.id(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void handlePublishFailure(PublishJob job, Asset asset, Exception e) {
+        // Hint: Transient failures (e.g. the publisher is down or the spool storage is unreachable) are retried later
+        //       instead of failing the asset
+        boolean retryable = e instanceof AssetPublishException publishException && publishException.isRetryable()
+                || e instanceof ContentSpoolException;
+        if (retryable && retryPolicy.canRetry(job.attempts())) {
+            Duration delay = retryPolicy.delayFor(job.attempts());
+            log.warn("Asset with ID '{}' failed to publish on attempt {}, retrying in {}: {}",
+                    asset.id(), job.attempts(), delay, e.getMessage());
+            publishJobRepository.reschedule(job, delay);
+            return;
+        }
+
+        log.error("Asset with ID '{}' failed to publish: {}", asset.id(), e.getMessage(), e);
+        markAssetAsFailed(job, asset);
     }
 
-    private void markAssetAsPublished(Asset asset, PublishedUrl published) {
+    private void markAssetAsFailed(PublishJob job, Asset asset) {
+        statusUpdateBuffer.add(new PendingStatusUpdate(job, AssetStatusTransition.between(asset, asset.markAsFailed())));
+    }
+
+    private void markAssetAsPublished(PublishJob job, Asset asset, PublishedUrl published) {
+        statusUpdateBuffer.add(new PendingStatusUpdate(job,
+                AssetStatusTransition.between(asset, asset.markAsPublished(published.url()))));
+    }
+
+    /**
+     * Writes a batch of final statuses and completes their jobs. Called by the {@link StatusUpdateBuffer}.
+     */
+    public void completePublishJobs(List<PendingStatusUpdate> updates) {
+        Set<AssetId> applied;
         try {
-            assetRepository.save(asset.markAsPublished(published.url()));
-            log.info("Asset with ID '{}' was marked as published", asset.id());
+            applied = bulkheads.background().execute(() -> selfProvider.getObject().applyStatusUpdates(updates));
         } catch (Exception e) {
-            log.error("CRITICAL: Asset with ID '{}' was published but failed to update metadata: {}",
-                    asset.id(), e.getMessage(), e);
+            // Hint: The jobs are kept, so they are claimed again when their lease expires
+            updates.forEach(update -> log.error("CRITICAL: Asset with ID '{}' was {} but failed to update metadata: {}",
+                    update.transition().id(), describe(update.transition().newStatus()), e.getMessage(), e));
+            return;
         }
+
+        // Hint: Only the changes written are published, so a client never sees a status the search doesn't return yet
+        changeFeed.publish(updates.stream()
+                .map(PendingStatusUpdate::transition)
+                .filter(transition -> applied.contains(transition.id()))
+                .collect(Collectors.toMap(AssetStatusTransition::id, Function.identity(), (first, second) -> first,
+                        LinkedHashMap::new))
+                .values());
+
+        updates.forEach(update -> {
+            recordStatusUpdated(update, applied.contains(update.transition().id()));
+            releaseContent(update.transition().id());
+            log.info("Asset with ID '{}' was marked as {}",
+                    update.transition().id(), update.transition().newStatus().name().toLowerCase());
+        });
+    }
+
+    private static void recordStatusUpdated(PendingStatusUpdate update, boolean applied) {
+        AssetStatusUpdatedEvent event = new AssetStatusUpdatedEvent();
+        event.begin();
+        event.status = update.transition().newStatus().name();
+        event.applied = applied;
+        event.commitFor(update.job().asset());
+    }
+
+    private static String describe(AssetStatus status) {
+        return status == AssetStatus.PUBLISHED ? "published" : "not published";
+    }
+
+    private void releaseContent(AssetId assetId) {
+        contentSpool.release(assetId);
+    }
+
+    // The final statuses and the completion of their jobs are stored atomically
+    @Transactional
+    Set<AssetId> applyStatusUpdates(List<PendingStatusUpdate> updates) {
+        // Hint: An asset has a single job, but a job whose lease expired may have been processed twice
+        Map<AssetId, AssetStatusTransition> transitions = updates.stream()
+                .map(PendingStatusUpdate::transition)
+                .collect(Collectors.toMap(AssetStatusTransition::id, Function.identity(), (first, second) -> first,
+                        LinkedHashMap::new));
+
+        Set<AssetId> applied = assetRepository.updateStatuses(List.copyOf(transitions.values()));
+        transitions.values().stream()
+                .filter(transition -> !applied.contains(transition.id()))
+                .forEach(transition -> log.warn("Asset with ID '{}' is no longer {}, status {} was not applied",
+                        transition.id(), transition.expectedStatus(), transition.newStatus()));
+        publishJobRepository.completeAll(updates.stream().map(PendingStatusUpdate::job).toList());
+        return applied;
     }
 }
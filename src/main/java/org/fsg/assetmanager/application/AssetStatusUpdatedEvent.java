@@ -0,0 +1,17 @@
+package org.fsg.assetmanager.application;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.fsg.assetmanager.AssetStatusUpdated")
+@Label("Asset Status Updated")
+@Description("The final status of an asset was stored, in a batch with the statuses of other assets")
+class AssetStatusUpdatedEvent extends AssetLifecycleEvent {
+    @Label("Status")
+    String status;
+
+    @Label("Applied")
+    @Description("False when the asset was no longer in the expected status")
+    boolean applied;
+}
@@ -0,0 +1,87 @@
+package org.fsg.assetmanager.application;
+
+import org.fsg.assetmanager.domain.exception.PersistenceBusyException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Limits the concurrent database work of a class (compartment), so one class can't take every pooled connection and
+ * starve the others. Work over the limit waits in order for a bounded time and is rejected with a
+ * {@link PersistenceBusyException} otherwise.
+ * <p>
+ * Hint: The permit must be taken before the transaction begins, as the connection is taken when it begins. Blocked
+ * virtual threads wait on the semaphore, which unmounts them, instead of on the connection pool.
+ */
+public class Bulkhead {
+    private final String name;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxObservedWaitNanos = new AtomicLong();
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        acquire();
+        try {
+            return work.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public void execute(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public BulkheadStats stats() {
+        long admittedCount = admitted.sum();
+        return new BulkheadStats(
+                maxConcurrent - permits.availablePermits(),
+                permits.getQueueLength(),
+                admittedCount,
+                rejected.sum(),
+                Duration.ofNanos(admittedCount == 0 ? 0 : totalWaitNanos.sum() / admittedCount),
+                Duration.ofNanos(maxObservedWaitNanos.get()));
+    }
+
+    private void acquire() {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        long waited = System.nanoTime() - start;
+        if (!acquired) {
+            rejected.increment();
+            throw new PersistenceBusyException(name, Duration.ofNanos(waited));
+        }
+        admitted.increment();
+        totalWaitNanos.add(waited);
+        maxObservedWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+}
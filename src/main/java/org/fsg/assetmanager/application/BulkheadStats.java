@@ -0,0 +1,13 @@
+package org.fsg.assetmanager.application;
+
+import java.time.Duration;
+
+public record BulkheadStats(
+        int active,
+        int waiting,
+        long admitted,
+        long rejected,
+        Duration averageWait,
+        Duration maxWait
+) {
+}
@@ -0,0 +1,8 @@
+package org.fsg.assetmanager.application;
+
+public record ChangeFeedStats(
+        int subscribers,
+        long published,
+        long overflows
+) {
+}
@@ -0,0 +1,106 @@
+package org.fsg.assetmanager.application;
+
+import org.fsg.assetmanager.domain.model.AssetContent;
+import org.fsg.assetmanager.domain.model.ContentHash;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Content whose {@link ContentHash} is computed while it is read, so the payload is not read a second time to hash
+ * it. The hash covers the bytes read through the last opened channel.
+ * <p>
+ * Hint: A content backed by a file may be linked into the spool instead of being read. It is then read only to hash
+ * it, which is still cheaper than copying it.
+ */
+final class HashingContent implements AssetContent {
+    private static final String ALGORITHM = "SHA-256";
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final AssetContent source;
+    private MessageDigest digest;
+    private ContentHash hash;
+
+    HashingContent(AssetContent source) {
+        this.source = source;
+    }
+
+    @Override
+    public long size() {
+        return source.size();
+    }
+
+    @Override
+    public ReadableByteChannel openChannel() throws IOException {
+        MessageDigest channelDigest = newDigest();
+        ReadableByteChannel channel = source.openChannel();
+        digest = channelDigest;
+        hash = null;
+        return new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer destination) throws IOException {
+                int start = destination.position();
+                int read = channel.read(destination);
+                if (read > 0) {
+                    // Hint: Only the bytes just read are digested, the destination buffer is left untouched
+                    channelDigest.update(destination.duplicate().limit(destination.position()).position(start));
+                }
+                return read;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return channel.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+    @Override
+    public Optional<Path> path() {
+        return source.path();
+    }
+
+    /**
+     * Hash of the content read, or null if it was never read. A content backed by a file is read now if it wasn't, and
+     * left without a hash if it can't be read.
+     */
+    ContentHash hash() {
+        if (digest == null && source.path().isPresent()) {
+            readToHash();
+        }
+        if (hash == null && digest != null) {
+            hash = new ContentHash(HexFormat.of().formatHex(digest.digest()));
+        }
+        return hash;
+    }
+
+    private void readToHash() {
+        try (ReadableByteChannel channel = openChannel()) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            while (channel.read(buffer) >= 0) {
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            digest = null;
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+}
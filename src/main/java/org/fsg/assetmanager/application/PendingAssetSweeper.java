@@ -0,0 +1,166 @@
+package org.fsg.assetmanager.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.fsg.assetmanager.domain.exception.PersistenceBusyException;
+import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.port.out.AssetRepository;
+import org.fsg.assetmanager.domain.port.out.AssetStatusTransition;
+import org.fsg.assetmanager.domain.port.out.ContentSpool;
+import org.fsg.assetmanager.domain.port.out.PublishJobRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recovers PENDING assets that have been waiting longer than the stuck threshold without a publish job, e.g. because
+ * their job was lost. An asset whose content is still spooled is enqueued again, so it is republished by the
+ * {@link PublishJobDispatcher} within its parallelism. Otherwise, it is marked as FAILED, and the change is published
+ * to the {@link AssetChangeFeed} like the ones of published assets. An asset whose content
+ * cannot be looked up, e.g. because the spool storage is unreachable, is left PENDING for the next sweep.
+ * <p>
+ * Hint: Assets are read in batches, walking the index by upload date, and every batch is recovered with at most
+ * {@code parallelism} tasks at once. A batch completes before the next one is read, so a sweep never holds more than
+ * a batch in memory. Every database access takes a permit of the background {@link Bulkhead}, so the sweep never
+ * takes the connections of live traffic.
+ */
+@Slf4j
+public class PendingAssetSweeper {
+    private final AssetRepository assetRepository;
+    private final PublishJobRepository publishJobRepository;
+    private final ContentSpool contentSpool;
+    private final AssetChangeFeed changeFeed;
+    private final Executor executor;
+    private final Bulkhead bulkhead;
+    private final Clock clock;
+    private final Duration stuckAfter;
+    private final int batchSize;
+    private final int parallelism;
+
+    public PendingAssetSweeper(
+            AssetRepository assetRepository,
+            PublishJobRepository publishJobRepository,
+            ContentSpool contentSpool,
+            AssetChangeFeed changeFeed,
+            Executor executor,
+            Bulkhead bulkhead,
+            Clock clock,
+            Duration stuckAfter,
+            int batchSize,
+            int parallelism) {
+        this.assetRepository = assetRepository;
+        this.publishJobRepository = publishJobRepository;
+        this.contentSpool = contentSpool;
+        this.changeFeed = changeFeed;
+        this.executor = executor;
+        this.bulkhead = bulkhead;
+        this.clock = clock;
+        this.stuckAfter = stuckAfter;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    @Scheduled(fixedDelayString = "${asset-manager.sweeper.interval:5m}",
+            initialDelayString = "${asset-manager.sweeper.interval:5m}")
+    public void sweep() {
+        Instant uploadedBefore = clock.instant().minus(stuckAfter);
+        SweepResult result = new SweepResult();
+        Asset after = null;
+        List<Asset> batch;
+        do {
+            try {
+                batch = findStuck(uploadedBefore, after);
+            } catch (PersistenceBusyException e) {
+                log.warn("Sweep of stuck assets interrupted, it will go on in the next one: {}", e.getMessage());
+                break;
+            }
+            if (batch.isEmpty()) {
+                break;
+            }
+            recover(batch, result);
+            after = batch.getLast();
+        } while (batch.size() == batchSize);
+
+        if (result.found() > 0) {
+            log.warn("Found {} assets stuck in PENDING: {} enqueued again, {} marked as failed, {} not recovered",
+                    result.found(), result.republished.get(), result.failed.get(), result.errors.get());
+        }
+    }
+
+    private List<Asset> findStuck(Instant uploadedBefore, Asset after) {
+        return bulkhead.execute(() -> assetRepository.findPendingWithoutPublishJob(uploadedBefore, after, batchSize));
+    }
+
+    private void recover(List<Asset> batch, SweepResult result) {
+        result.found.addAndGet(batch.size());
+        Semaphore permits = new Semaphore(parallelism);
+        Queue<AssetStatusTransition> failed = new ConcurrentLinkedQueue<>();
+        for (Asset asset : batch) {
+            permits.acquireUninterruptibly();
+            try {
+                executor.execute(() -> {
+                    try {
+                        recover(asset, failed, result);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                result.errors.incrementAndGet();
+            }
+        }
+        permits.acquireUninterruptibly(parallelism);
+
+        if (!failed.isEmpty()) {
+            try {
+                List<AssetStatusTransition> transitions = List.copyOf(failed);
+                Set<AssetId> applied = bulkhead.execute(() -> assetRepository.updateStatuses(transitions));
+                result.failed.addAndGet(applied.size());
+                changeFeed.publish(transitions.stream().filter(transition -> applied.contains(transition.id()))
+                        .toList());
+            } catch (RuntimeException e) {
+                result.errors.addAndGet(failed.size());
+                log.error("Failed to mark {} stuck assets as failed: {}", failed.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void recover(Asset asset, Queue<AssetStatusTransition> failed, SweepResult result) {
+        try {
+            if (contentSpool.find(asset.id()).isPresent()) {
+                // Hint: If another node enqueued it meanwhile, the unique asset index rejects this job
+                bulkhead.execute(() -> publishJobRepository.enqueue(asset.id()));
+                result.republished.incrementAndGet();
+            } else {
+                log.error("Asset with ID '{}' stuck in PENDING failed to publish: content is no longer available",
+                        asset.id());
+                failed.add(AssetStatusTransition.between(asset, asset.markAsFailed()));
+            }
+        } catch (RuntimeException e) {
+            result.errors.incrementAndGet();
+            log.error("Asset with ID '{}' stuck in PENDING could not be recovered: {}", asset.id(), e.getMessage(), e);
+        }
+    }
+
+    private static final class SweepResult {
+        private final AtomicInteger found = new AtomicInteger();
+        private final AtomicInteger republished = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger errors = new AtomicInteger();
+
+        int found() {
+            return found.get();
+        }
+    }
+}
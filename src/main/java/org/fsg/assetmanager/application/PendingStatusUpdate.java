@@ -0,0 +1,13 @@
+package org.fsg.assetmanager.application;
+
+import org.fsg.assetmanager.domain.port.out.AssetStatusTransition;
+import org.fsg.assetmanager.domain.port.out.PublishJob;
+
+/**
+ * The final status of a published asset, waiting to be written together with the completion of its job.
+ */
+public record PendingStatusUpdate(
+        PublishJob job,
+        AssetStatusTransition transition
+) {
+}
@@ -0,0 +1,17 @@
+package org.fsg.assetmanager.application;
+
+/**
+ * The compartments of database work.
+ *
+ * @param writes     storage of uploaded assets, in the request path
+ * @param searches   searches, in the request path
+ * @param exports    exports, holding their connection for as long as the client reads them
+ * @param background outbox claims, status updates and recovery of stuck assets
+ */
+public record PersistenceBulkheads(
+        Bulkhead writes,
+        Bulkhead searches,
+        Bulkhead exports,
+        Bulkhead background
+) {
+}
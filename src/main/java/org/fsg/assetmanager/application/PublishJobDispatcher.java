@@ -0,0 +1,215 @@
+package org.fsg.assetmanager.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.fsg.assetmanager.domain.exception.PersistenceBusyException;
+import org.fsg.assetmanager.domain.port.out.PublishJob;
+import org.fsg.assetmanager.domain.port.out.PublishJobRepository;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Claims publish jobs from the outbox in batches and executes them with bounded parallelism.
+ * <p>
+ * Hint: Only the scheduler thread acquires permits, so a batch is never larger than the free publish slots. Jobs
+ * keep being claimed while full batches are returned, which drains bursts without waiting for the next poll.
+ * <p>
+ * On shutdown no more jobs are claimed and the running ones are given up to the drain timeout to finish. After it,
+ * the jobs whose task never started are released, so they are claimed again on the next start (or by another node)
+ * instead of waiting for their lease to expire. The tasks still running are interrupted and their jobs are not
+ * released: an interrupted publish is rescheduled as any transient failure, and a publish that ignores the interrupt
+ * keeps its job leased, so it is never published twice at once. Their content stays in the spool until they are
+ * published.
+ */
+@Slf4j
+public class PublishJobDispatcher implements SmartLifecycle {
+    private final PublishJobRepository publishJobRepository;
+    private final AssetService assetService;
+    private final Executor executor;
+    private final Bulkhead bulkhead;
+    private final Semaphore permits;
+    private final int parallelism;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration drainTimeout;
+    private final Map<PublishJob, PublishTask> running = new ConcurrentHashMap<>();
+    // Hint: Held while claiming and submitting, so a claim in flight when draining starts is submitted before the
+    //       running jobs are looked at
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+    private volatile boolean started;
+    private volatile boolean draining;
+
+    public PublishJobDispatcher(
+            PublishJobRepository publishJobRepository,
+            AssetService assetService,
+            Executor executor,
+            Bulkhead bulkhead,
+            int batchSize,
+            int parallelism,
+            Duration lease,
+            Duration drainTimeout) {
+        this.publishJobRepository = publishJobRepository;
+        this.assetService = assetService;
+        this.executor = executor;
+        this.bulkhead = bulkhead;
+        this.permits = new Semaphore(parallelism);
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.drainTimeout = drainTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${asset-manager.outbox.poll-interval:200ms}")
+    public void dispatch() {
+        dispatchLock.lock();
+        try {
+            int requested;
+            int claimed;
+            do {
+                requested = Math.min(batchSize, permits.availablePermits());
+                if (requested == 0 || draining) {
+                    return;
+                }
+                List<PublishJob> jobs;
+                try {
+                    int limit = requested;
+                    jobs = bulkhead.execute(() -> publishJobRepository.claim(limit, lease));
+                } catch (PersistenceBusyException e) {
+                    log.warn("Publish jobs not claimed, they will be claimed on the next poll: {}", e.getMessage());
+                    return;
+                }
+                jobs.forEach(this::submit);
+                claimed = jobs.size();
+            } while (claimed == requested);
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        return parallelism - permits.availablePermits();
+    }
+
+    @Override
+    public void start() {
+        draining = false;
+        started = true;
+    }
+
+    @Override
+    public void stop() {
+        dispatchLock.lock();
+        try {
+            draining = true;
+        } finally {
+            dispatchLock.unlock();
+        }
+        started = false;
+        drain();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return started;
+    }
+
+    private void drain() {
+        boolean drained;
+        try {
+            drained = permits.tryAcquire(parallelism, drainTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drained = false;
+        }
+        if (drained) {
+            permits.release(parallelism);
+            log.info("Publish jobs drained on shutdown");
+            return;
+        }
+
+        List<PublishJob> notStarted = new ArrayList<>();
+        int interrupted = 0;
+        for (PublishTask task : List.copyOf(running.values())) {
+            if (task.take()) {
+                notStarted.add(task.job);
+                running.remove(task.job);
+                permits.release();
+            } else {
+                task.future.cancel(true);
+                interrupted++;
+            }
+        }
+        if (interrupted > 0) {
+            log.warn("{} publish jobs still running after {} were interrupted, they keep their lease",
+                    interrupted, drainTimeout);
+        }
+        if (notStarted.isEmpty()) {
+            return;
+        }
+        try {
+            publishJobRepository.release(notStarted);
+            log.warn("{} publish jobs not started after {}, released to be claimed again",
+                    notStarted.size(), drainTimeout);
+        } catch (RuntimeException e) {
+            log.error("Failed to release {} publish jobs, they will be claimed again when their lease expires: {}",
+                    notStarted.size(), e.getMessage(), e);
+        }
+    }
+
+    private void submit(PublishJob job) {
+        permits.acquireUninterruptibly();
+        PublishTask task = new PublishTask(job, this::execute);
+        running.put(job, task);
+        try {
+            executor.execute(task.future);
+        } catch (RejectedExecutionException e) {
+            running.remove(job);
+            permits.release();
+            log.warn("Publish job '{}' rejected, it will be claimed again when its lease expires", job.id());
+        }
+    }
+
+    private void execute(PublishTask task) {
+        // Hint: A task prevented from starting while draining was already released, with its publish slot
+        if (!task.take()) {
+            return;
+        }
+        try {
+            assetService.publish(task.job);
+        } catch (Exception e) {
+            log.error("Publish job '{}' failed: {}", task.job.id(), e.getMessage(), e);
+        } finally {
+            running.remove(task.job);
+            permits.release();
+        }
+    }
+
+    private static final class PublishTask {
+        private final PublishJob job;
+        private final AtomicBoolean taken = new AtomicBoolean();
+        private final FutureTask<Void> future;
+
+        private PublishTask(PublishJob job, Consumer<PublishTask> execution) {
+            this.job = job;
+            this.future = new FutureTask<>(() -> execution.accept(this), null);
+        }
+
+        // Hint: Taken either by its thread when it starts, or by the drain when it never started
+        private boolean take() {
+            return taken.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.fsg.assetmanager.application;
+
+import java.time.Duration;
+
+/**
+ * Decides how many times a publish job is attempted when it fails with a retryable error, and how long it waits
+ * before being claimed again. Delays grow exponentially up to {@code maxDelay}.
+ */
+public record PublishRetryPolicy(
+        int maxAttempts,
+        Duration initialDelay,
+        Duration maxDelay
+) {
+    public boolean canRetry(int attempts) {
+        return attempts < maxAttempts;
+    }
+
+    public Duration delayFor(int attempts) {
+        Duration delay = initialDelay.multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 30));
+        return delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+    }
+}
@@ -0,0 +1,152 @@
+package org.fsg.assetmanager.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Buffers the final status of published assets and writes them in batches, every flush interval or as soon as a
+ * batch is full.
+ * <p>
+ * Hint: The buffer is bounded. When it is full, the caller writes the pending updates itself, so publishing slows down
+ * to the pace of the database instead of accumulating updates in memory. The publish jobs are only completed when
+ * their update is written, so updates lost in a crash are recovered when the job leases expire.
+ */
+@Slf4j
+public class StatusUpdateBuffer implements SmartLifecycle {
+    /**
+     * Told about every batch written, whether it failed or not, e.g. to record the batch sizes as a distribution.
+     */
+    @FunctionalInterface
+    public interface FlushListener {
+        void flushed(int batchSize, Duration latency);
+    }
+
+    private final int batchSize;
+    private final BlockingQueue<PendingStatusUpdate> pending;
+    private final Consumer<List<PendingStatusUpdate>> writer;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final List<FlushListener> flushListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final LongAdder flushedUpdates = new LongAdder();
+    private final LongAdder totalFlushNanos = new LongAdder();
+    private final AtomicInteger maxBatchSize = new AtomicInteger();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    public StatusUpdateBuffer(int batchSize, int capacity, Consumer<List<PendingStatusUpdate>> writer) {
+        this.batchSize = batchSize;
+        this.pending = new ArrayBlockingQueue<>(capacity);
+        this.writer = writer;
+    }
+
+    public void add(PendingStatusUpdate update) {
+        if (!running) {
+            write(List.of(update));
+            return;
+        }
+
+        while (!pending.offer(update)) {
+            flush();
+        }
+        if (!running || pending.size() >= batchSize) {
+            tryFlush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${asset-manager.status-updates.flush-interval:50ms}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            drain();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public void addFlushListener(FlushListener listener) {
+        flushListeners.add(listener);
+    }
+
+    public StatusUpdateStats stats() {
+        long count = flushes.sum();
+        return new StatusUpdateStats(
+                pending.size(),
+                count,
+                failedFlushes.sum(),
+                flushedUpdates.sum(),
+                maxBatchSize.get(),
+                Duration.ofNanos(count == 0 ? 0 : totalFlushNanos.sum() / count),
+                Duration.ofNanos(maxFlushNanos.get()));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        // Hint: Updates added after this point are written directly by their callers
+        running = false;
+        flush();
+        log.info("Status update buffer flushed on shutdown");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void tryFlush() {
+        // Another thread is already flushing, it will take this update as well
+        if (flushLock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    private void drain() {
+        List<PendingStatusUpdate> batch = new ArrayList<>(batchSize);
+        while (pending.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    private void write(List<PendingStatusUpdate> batch) {
+        long start = System.nanoTime();
+        try {
+            writer.accept(batch);
+        } catch (RuntimeException e) {
+            failedFlushes.increment();
+            log.error("Failed to write {} status updates, their jobs will be claimed again: {}",
+                    batch.size(), e.getMessage(), e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            flushes.increment();
+            flushedUpdates.add(batch.size());
+            totalFlushNanos.add(elapsed);
+            maxBatchSize.accumulateAndGet(batch.size(), Math::max);
+            maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+            flushListeners.forEach(listener -> listener.flushed(batch.size(), Duration.ofNanos(elapsed)));
+        }
+    }
+}
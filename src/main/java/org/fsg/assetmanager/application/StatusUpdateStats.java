@@ -0,0 +1,14 @@
+package org.fsg.assetmanager.application;
+
+import java.time.Duration;
+
+public record StatusUpdateStats(
+        int pending,
+        long flushes,
+        long failedFlushes,
+        long flushedUpdates,
+        int maxBatchSize,
+        Duration averageFlushLatency,
+        Duration maxFlushLatency
+) {
+}
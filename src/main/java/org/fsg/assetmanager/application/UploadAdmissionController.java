@@ -0,0 +1,150 @@
+package org.fsg.assetmanager.application;
+
+import org.fsg.assetmanager.domain.exception.UploadRejectedException;
+import org.fsg.assetmanager.domain.model.AssetId;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the concurrent uploads and the bytes being received by this instance.
+ * <p>
+ * An upload slot is held while the request is being processed. The bytes are held until the content of the asset is
+ * spooled and registered, or its upload fails. From then on, the content waiting to be published is bounded by the
+ * spool capacity, shared by every instance, so the bytes never depend on which instance publishes it. Requests over
+ * the limits wait in a bounded queue for a bounded time, and are rejected with an {@link UploadRejectedException}
+ * otherwise.
+ */
+public class UploadAdmissionController {
+    private final long maxInFlightBytes;
+    private final int maxConcurrentUploads;
+    private final int maxQueueLength;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition capacityReleased = lock.newCondition();
+    private final Map<AssetId, Long> reservations = new ConcurrentHashMap<>();
+    private long inFlightBytes;
+    private int inFlightUploads;
+    private int queueDepth;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxObservedWaitNanos = new AtomicLong();
+
+    public UploadAdmissionController(
+            long maxInFlightBytes,
+            int maxConcurrentUploads,
+            int maxQueueLength,
+            Duration maxWait) {
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.maxConcurrentUploads = maxConcurrentUploads;
+        this.maxQueueLength = maxQueueLength;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * Takes an upload slot and reserves the bytes of the asset. The slot must be freed with {@link #endUpload()} and
+     * the bytes with {@link #release(AssetId)}.
+     */
+    public void acquire(AssetId assetId, long bytes) {
+        if (bytes > maxInFlightBytes) {
+            reject(bytes, "it is larger than the in-flight budget");
+        }
+
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            if (!hasCapacity(bytes)) {
+                if (queueDepth >= maxQueueLength) {
+                    reject(bytes, "admission queue is full");
+                }
+                awaitCapacity(bytes, start);
+            }
+            inFlightBytes += bytes;
+            inFlightUploads++;
+            reservations.put(assetId, bytes);
+        } finally {
+            lock.unlock();
+        }
+
+        recordWait(System.nanoTime() - start);
+        admitted.increment();
+    }
+
+    public void endUpload() {
+        lock.lock();
+        try {
+            inFlightUploads--;
+            capacityReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(AssetId assetId) {
+        Long bytes = reservations.remove(assetId);
+        if (bytes == null) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            inFlightBytes -= bytes;
+            capacityReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public AdmissionStats stats() {
+        lock.lock();
+        try {
+            long admittedCount = admitted.sum();
+            long totalWait = totalWaitNanos.sum();
+            Duration averageWait = admittedCount == 0 ? Duration.ZERO : Duration.ofNanos(totalWait / admittedCount);
+            return new AdmissionStats(inFlightBytes, inFlightUploads, queueDepth, admittedCount, rejected.sum(),
+                    Duration.ofNanos(totalWait), averageWait, Duration.ofNanos(maxObservedWaitNanos.get()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitCapacity(long bytes, long start) {
+        queueDepth++;
+        try {
+            while (!hasCapacity(bytes)) {
+                long remaining = maxWaitNanos - (System.nanoTime() - start);
+                if (remaining <= 0) {
+                    reject(bytes, "no capacity was released in time");
+                }
+                capacityReleased.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(bytes, "interrupted while waiting for capacity");
+        } finally {
+            queueDepth--;
+        }
+    }
+
+    private boolean hasCapacity(long bytes) {
+        return inFlightUploads < maxConcurrentUploads && inFlightBytes + bytes <= maxInFlightBytes;
+    }
+
+    private void recordWait(long waitNanos) {
+        totalWaitNanos.add(waitNanos);
+        maxObservedWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private void reject(long bytes, String reason) {
+        rejected.increment();
+        throw new UploadRejectedException(bytes, reason);
+    }
+}
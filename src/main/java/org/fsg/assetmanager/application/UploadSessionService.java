@@ -0,0 +1,114 @@
+package org.fsg.assetmanager.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.fsg.assetmanager.domain.exception.UploadSessionException;
+import org.fsg.assetmanager.domain.exception.UploadSessionNotFoundException;
+import org.fsg.assetmanager.domain.model.*;
+import org.fsg.assetmanager.domain.port.in.*;
+import org.fsg.assetmanager.domain.port.out.UploadSessionStore;
+import org.springframework.util.IdGenerator;
+
+import java.time.Clock;
+import java.util.List;
+
+/**
+ * Assembles large assets from chunks in an {@link UploadSessionStore}. Once every byte was received, the assembled
+ * content is uploaded as any other asset, so it goes through the same validation, admission and publishing.
+ * <p>
+ * Hint: Sessions are limited to {@code maxSize}, the largest asset the spool and the admission can take, so a session
+ * is rejected when it is created instead of when it is committed, after every byte was received.
+ */
+@Slf4j
+public class UploadSessionService implements UploadSessionUseCase {
+    private final UploadSessionStore store;
+    private final UploadAssetUseCase uploadAssetUseCase;
+    private final long maxSize;
+    private final Clock clock;
+    private final IdGenerator idGenerator;
+
+    public UploadSessionService(
+            UploadSessionStore store,
+            UploadAssetUseCase uploadAssetUseCase,
+            long maxSize,
+            Clock clock,
+            IdGenerator idGenerator) {
+        this.store = store;
+        this.uploadAssetUseCase = uploadAssetUseCase;
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.idGenerator = idGenerator;
+    }
+
+    @Override
+    public UploadSession createSession(UploadSessionCommand command) {
+        if (command.size() <= 0) {
+            throw new IllegalArgumentException("The size of an upload session must be positive");
+        }
+        if (command.size() > maxSize) {
+            throw new IllegalArgumentException(String.format(
+                    "The size of an upload session can't exceed %d bytes, but it was %d", maxSize, command.size()));
+        }
+
+        UploadSession session = store.create(new UploadSession(
+                idGenerator.generateId().toString(),
+                new Filename(command.filename()),
+                new ContentType(command.contentType()),
+                new FileSize(command.size()),
+                List.of(),
+                clock.instant()));
+        log.info("Upload session with ID '{}' created for {} bytes, filename: '{}'",
+                session.id(), command.size(), command.filename());
+        return session;
+    }
+
+    @Override
+    public UploadSession getSession(String sessionId) {
+        return store.find(sessionId).orElseThrow(() -> new UploadSessionNotFoundException(sessionId));
+    }
+
+    @Override
+    public UploadSession uploadChunk(String sessionId, long offset, AssetContent chunk) {
+        UploadSession session = getSession(sessionId);
+        if (offset < 0 || chunk.size() <= 0 || offset + chunk.size() > session.size().value()) {
+            throw new UploadSessionException(sessionId, String.format(
+                    "chunk of %d bytes at offset %d is out of the %d bytes of the content",
+                    chunk.size(), offset, session.size().value()));
+        }
+        return store.write(sessionId, new ByteRange(offset, offset + chunk.size()), chunk);
+    }
+
+    @Override
+    public AssetUploadResult commitSession(String sessionId) {
+        // Hint: The store rejects chunks while the session is committed, since its content is linked into the spool,
+        //       and a commit retried while the first one is still running, which would create the asset twice
+        UploadSession session = store.startCommit(sessionId);
+        boolean committed = false;
+        try {
+            if (!session.isComplete()) {
+                throw new UploadSessionException(sessionId, String.format("%d of %d bytes were received",
+                        session.receivedBytes(), session.size().value()));
+            }
+
+            AssetUploadResult result = uploadAssetUseCase.upload(new AssetUploadCommand(
+                    session.filename().value(),
+                    session.contentType().value(),
+                    session.size().value(),
+                    store.content(sessionId)));
+            store.delete(sessionId);
+            committed = true;
+            log.info("Upload session with ID '{}' committed as asset with ID '{}'", sessionId, result.assetId());
+            return result;
+        } finally {
+            if (!committed) {
+                store.cancelCommit(sessionId);
+            }
+        }
+    }
+
+    @Override
+    public void abortSession(String sessionId) {
+        getSession(sessionId);
+        store.delete(sessionId);
+        log.info("Upload session with ID '{}' aborted", sessionId);
+    }
+}
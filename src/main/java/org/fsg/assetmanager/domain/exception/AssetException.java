@@ -1,7 +1,9 @@
 package org.fsg.assetmanager.domain.exception;
 
 public sealed class AssetException extends RuntimeException
-        permits AssetAlreadyExistsException {
+        permits AssetAlreadyExistsException, AssetPublishException, ContentSpoolException,
+        InvalidPageTokenException, PersistenceBusyException, SubscriptionRejectedException, UploadRejectedException,
+        UploadSessionException, UploadSessionNotFoundException {
     public AssetException() {
     }
 
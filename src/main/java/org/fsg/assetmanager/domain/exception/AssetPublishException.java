@@ -0,0 +1,37 @@
+package org.fsg.assetmanager.domain.exception;
+
+import lombok.Getter;
+import org.fsg.assetmanager.domain.model.AssetId;
+
+@Getter
+public final class AssetPublishException extends AssetException {
+    private static final String MESSAGE_TEMPLATE = "Asset with ID '%s' could not be published: %s";
+
+    // Hint: Retryable failures are transient (e.g. timeouts or server errors), so the same request may succeed later
+    private final boolean retryable;
+    // Hint: Rejected failures were answered by the publisher, which is reachable, unlike failures before any request
+    private final boolean rejected;
+
+    public AssetPublishException(AssetId assetId, String reason, boolean retryable) {
+        this(assetId, reason, retryable, false);
+    }
+
+    public AssetPublishException(AssetId assetId, String reason, boolean retryable, Throwable cause) {
+        super(String.format(MESSAGE_TEMPLATE, assetId.value(), reason), cause);
+        this.retryable = retryable;
+        this.rejected = false;
+    }
+
+    private AssetPublishException(AssetId assetId, String reason, boolean retryable, boolean rejected) {
+        super(String.format(MESSAGE_TEMPLATE, assetId.value(), reason));
+        this.retryable = retryable;
+        this.rejected = rejected;
+    }
+
+    /**
+     * A response of the publisher refusing the asset, so publishing it again would fail the same way.
+     */
+    public static AssetPublishException rejected(AssetId assetId, String reason) {
+        return new AssetPublishException(assetId, reason, false, true);
+    }
+}
@@ -0,0 +1,15 @@
+package org.fsg.assetmanager.domain.exception;
+
+import org.fsg.assetmanager.domain.model.AssetId;
+
+public final class ContentSpoolException extends AssetException {
+    private static final String MESSAGE_TEMPLATE = "Content of asset with ID '%s' could not be spooled: %s";
+
+    public ContentSpoolException(AssetId assetId, String reason) {
+        super(String.format(MESSAGE_TEMPLATE, assetId.value(), reason));
+    }
+
+    public ContentSpoolException(AssetId assetId, String reason, Throwable cause) {
+        super(String.format(MESSAGE_TEMPLATE, assetId.value(), reason), cause);
+    }
+}
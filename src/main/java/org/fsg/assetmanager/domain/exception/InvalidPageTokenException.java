@@ -0,0 +1,9 @@
+package org.fsg.assetmanager.domain.exception;
+
+public final class InvalidPageTokenException extends AssetException {
+    private static final String MESSAGE_TEMPLATE = "Page token '%s' is not valid: %s";
+
+    public InvalidPageTokenException(String pageToken, String reason) {
+        super(String.format(MESSAGE_TEMPLATE, pageToken, reason));
+    }
+}
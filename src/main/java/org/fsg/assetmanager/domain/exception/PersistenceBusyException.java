@@ -0,0 +1,11 @@
+package org.fsg.assetmanager.domain.exception;
+
+import java.time.Duration;
+
+public final class PersistenceBusyException extends AssetException {
+    private static final String MESSAGE_TEMPLATE = "No %s database access was available after waiting %d ms";
+
+    public PersistenceBusyException(String compartment, Duration waited) {
+        super(String.format(MESSAGE_TEMPLATE, compartment, waited.toMillis()));
+    }
+}
@@ -0,0 +1,9 @@
+package org.fsg.assetmanager.domain.exception;
+
+public final class SubscriptionRejectedException extends AssetException {
+    private static final String MESSAGE_TEMPLATE = "Subscription rejected: the %d subscribers allowed are connected";
+
+    public SubscriptionRejectedException(int maxSubscribers) {
+        super(String.format(MESSAGE_TEMPLATE, maxSubscribers));
+    }
+}
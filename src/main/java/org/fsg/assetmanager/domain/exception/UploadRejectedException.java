@@ -0,0 +1,9 @@
+package org.fsg.assetmanager.domain.exception;
+
+public final class UploadRejectedException extends AssetException {
+    private static final String MESSAGE_TEMPLATE = "Upload of %d bytes rejected: %s";
+
+    public UploadRejectedException(long size, String reason) {
+        super(String.format(MESSAGE_TEMPLATE, size, reason));
+    }
+}
@@ -0,0 +1,13 @@
+package org.fsg.assetmanager.domain.exception;
+
+public final class UploadSessionException extends AssetException {
+    private static final String MESSAGE_TEMPLATE = "Upload session with ID '%s' rejected the request: %s";
+
+    public UploadSessionException(String sessionId, String reason) {
+        super(String.format(MESSAGE_TEMPLATE, sessionId, reason));
+    }
+
+    public UploadSessionException(String sessionId, String reason, Throwable cause) {
+        super(String.format(MESSAGE_TEMPLATE, sessionId, reason), cause);
+    }
+}
@@ -0,0 +1,9 @@
+package org.fsg.assetmanager.domain.exception;
+
+public final class UploadSessionNotFoundException extends AssetException {
+    private static final String MESSAGE_TEMPLATE = "Upload session with ID '%s' does not exist or expired";
+
+    public UploadSessionNotFoundException(String sessionId) {
+        super(String.format(MESSAGE_TEMPLATE, sessionId));
+    }
+}
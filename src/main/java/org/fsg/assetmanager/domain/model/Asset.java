@@ -12,7 +12,8 @@ public record Asset(
         FileSize fileSize,
         Instant uploadDate,
         AssetStatus status,
-        String publishedUrl
+        String publishedUrl,
+        ContentHash contentHash
 ) {
 
     public Asset markAsPublished(String publishedUrl) {
@@ -0,0 +1,32 @@
+package org.fsg.assetmanager.domain.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Source of the binary payload of an asset. The payload is read on demand through a channel, so it is never required
+ * to be fully materialized on the heap.
+ * <p>
+ * Hint: Inbound sources (e.g. a request body) can only be opened once. Spooled sources are backed by a file and can be
+ * opened as many times as needed.
+ */
+public interface AssetContent {
+    long size();
+
+    ReadableByteChannel openChannel() throws IOException;
+
+    default InputStream openStream() throws IOException {
+        return Channels.newInputStream(openChannel());
+    }
+
+    /**
+     * File backing this content, if any. Adapters can use it for zero-copy transfers.
+     */
+    default Optional<Path> path() {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,15 @@
+package org.fsg.assetmanager.domain.model;
+
+import java.time.Instant;
+
+/**
+ * A status an asset moved to, numbered by the change feed in the order the changes were written.
+ */
+public record AssetStatusChange(
+        long sequence,
+        AssetId assetId,
+        AssetStatus status,
+        String publishedUrl,
+        Instant changedAt
+) {
+}
@@ -0,0 +1,16 @@
+package org.fsg.assetmanager.domain.model;
+
+/**
+ * Bytes of a content from {@code start}, inclusive, to {@code end}, exclusive.
+ */
+public record ByteRange(long start, long end) {
+    public ByteRange {
+        if (start < 0 || end < start) {
+            throw new IllegalArgumentException("Invalid byte range " + start + "-" + end);
+        }
+    }
+
+    public long length() {
+        return end - start;
+    }
+}
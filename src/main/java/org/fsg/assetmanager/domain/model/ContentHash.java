@@ -0,0 +1,7 @@
+package org.fsg.assetmanager.domain.model;
+
+/**
+ * SHA-256 digest of the binary payload of an asset, hex encoded. Assets with the same hash have the same content.
+ */
+public record ContentHash(String value) {
+}
@@ -0,0 +1,74 @@
+package org.fsg.assetmanager.domain.model;
+
+import lombok.With;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Upload of an asset in chunks, which may arrive in any order and in parallel. The asset is created when the session
+ * is committed, once every byte was received.
+ *
+ * @param received ranges received so far, sorted and merged so none of them overlap or touch each other
+ */
+@With
+public record UploadSession(
+        String id,
+        Filename filename,
+        ContentType contentType,
+        FileSize size,
+        List<ByteRange> received,
+        Instant createdAt
+) {
+    public UploadSession {
+        received = List.copyOf(received);
+    }
+
+    public long receivedBytes() {
+        return received.stream().mapToLong(ByteRange::length).sum();
+    }
+
+    public boolean isComplete() {
+        return receivedBytes() == size.value();
+    }
+
+    /**
+     * Ranges still to be received, so an interrupted upload can be resumed by sending only them.
+     */
+    public List<ByteRange> missing() {
+        List<ByteRange> missing = new ArrayList<>();
+        long next = 0;
+        for (ByteRange range : received) {
+            if (range.start() > next) {
+                missing.add(new ByteRange(next, range.start()));
+            }
+            next = range.end();
+        }
+        if (next < size.value()) {
+            missing.add(new ByteRange(next, size.value()));
+        }
+        return missing;
+    }
+
+    /**
+     * Returns this session with the range received, merged with the ranges it overlaps or touches.
+     */
+    public UploadSession receive(ByteRange range) {
+        List<ByteRange> merged = new ArrayList<>(received.size() + 1);
+        ByteRange pending = range;
+        for (ByteRange current : received) {
+            if (current.end() < pending.start()) {
+                merged.add(current);
+            } else if (pending.end() < current.start()) {
+                merged.add(pending);
+                pending = current;
+            } else {
+                pending = new ByteRange(Math.min(current.start(), pending.start()),
+                        Math.max(current.end(), pending.end()));
+            }
+        }
+        merged.add(pending);
+        return withReceived(merged);
+    }
+}
@@ -0,0 +1,21 @@
+package org.fsg.assetmanager.domain.port.in;
+
+/**
+ * Result of an asset of a batch: the upload result when it was uploaded, or the reason it was not.
+ */
+public record AssetBatchUploadResult(
+        AssetUploadResult result,
+        String error
+) {
+    public static AssetBatchUploadResult uploaded(AssetUploadResult result) {
+        return new AssetBatchUploadResult(result, null);
+    }
+
+    public static AssetBatchUploadResult failed(String error) {
+        return new AssetBatchUploadResult(null, error);
+    }
+
+    public boolean isUploaded() {
+        return result != null;
+    }
+}
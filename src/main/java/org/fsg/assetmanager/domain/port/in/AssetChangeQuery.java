@@ -0,0 +1,19 @@
+package org.fsg.assetmanager.domain.port.in;
+
+import org.fsg.assetmanager.domain.model.AssetId;
+
+import java.util.Set;
+
+/**
+ * @param assetIds assets whose changes are received, all of them when empty
+ * @param after    sequence of the last change already received, to resume from it. Only changes made after
+ *                 subscribing are received when {@code null}
+ */
+public record AssetChangeQuery(
+        Set<AssetId> assetIds,
+        Long after
+) {
+    public AssetChangeQuery {
+        assetIds = assetIds == null ? Set.of() : Set.copyOf(assetIds);
+    }
+}
@@ -0,0 +1,38 @@
+package org.fsg.assetmanager.domain.port.in;
+
+import org.fsg.assetmanager.domain.model.AssetStatusChange;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Changes received by a subscriber of the change feed, buffered until they are polled.
+ */
+public interface AssetChangeSubscription extends AutoCloseable {
+    /**
+     * Waits up to the timeout for changes.
+     *
+     * @return at most {@code maxChanges} changes in sequence order, none when the timeout elapsed or the subscription
+     * is no longer open
+     */
+    List<AssetStatusChange> poll(int maxChanges, Duration timeout) throws InterruptedException;
+
+    /**
+     * Sequence a new subscription resumes from to receive the changes this one has not returned yet.
+     */
+    long lastSequence();
+
+    /**
+     * Whether some changes after the sequence it resumed from were no longer retained, so they have to be looked up
+     * with a search.
+     */
+    boolean missedChanges();
+
+    /**
+     * False once closed, or once the subscriber fell behind and every change buffered was polled.
+     */
+    boolean isOpen();
+
+    @Override
+    void close();
+}
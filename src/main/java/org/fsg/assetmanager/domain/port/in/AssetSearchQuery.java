@@ -1,8 +1,29 @@
 package org.fsg.assetmanager.domain.port.in;
 
+import lombok.With;
 import org.fsg.assetmanager.domain.model.SortDirection;
 
+import java.time.Instant;
+
+/**
+ * Every filter is optional. A null filter doesn't narrow the result.
+ *
+ * @param filename  part of the filename, ignored when shorter than three characters
+ * @param pageSize  maximum number of assets to return, a default size is used when null
+ * @param pageToken token returned with the previous page, null to get the first page
+ */
+@With
 public record AssetSearchQuery(
-        SortDirection sortDirection
+        Instant uploadDateStart,
+        Instant uploadDateEnd,
+        String filename,
+        String contentType,
+        SortDirection sortDirection,
+        Integer pageSize,
+        String pageToken
 ) {
+
+    public AssetSearchQuery(SortDirection sortDirection) {
+        this(null, null, null, null, sortDirection, null, null);
+    }
 }
@@ -0,0 +1,14 @@
+package org.fsg.assetmanager.domain.port.in;
+
+import org.fsg.assetmanager.domain.model.Asset;
+
+import java.util.List;
+
+/**
+ * @param nextPageToken opaque token to get the next page, null when this is the last one
+ */
+public record AssetSearchResult(
+        List<Asset> assets,
+        String nextPageToken
+) {
+}
@@ -1,9 +1,11 @@
 package org.fsg.assetmanager.domain.port.in;
 
+import org.fsg.assetmanager.domain.model.AssetContent;
+
 public record AssetUploadCommand(
         String filename,
         String contentType,
-        int size,
-        byte[] bytes
+        long size,
+        AssetContent content
 ) {
 }
@@ -2,8 +2,13 @@ package org.fsg.assetmanager.domain.port.in;
 
 import org.fsg.assetmanager.domain.model.Asset;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface SearchAssetsUseCase {
-    List<Asset> search(AssetSearchQuery query);
+    AssetSearchResult search(AssetSearchQuery query);
+
+    /**
+     * Passes every asset matching the query to the consumer, one at a time. The page size and token are ignored.
+     */
+    void export(AssetSearchQuery query, Consumer<Asset> consumer);
 }
@@ -0,0 +1,12 @@
+package org.fsg.assetmanager.domain.port.in;
+
+import java.util.List;
+
+public interface UploadAssetBatchUseCase {
+    /**
+     * Uploads many assets at once. An asset failing doesn't fail the others.
+     *
+     * @return the result of every command, in the same order
+     */
+    List<AssetBatchUploadResult> uploadBatch(List<AssetUploadCommand> commands);
+}
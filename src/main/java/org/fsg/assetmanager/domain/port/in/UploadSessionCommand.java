@@ -0,0 +1,8 @@
+package org.fsg.assetmanager.domain.port.in;
+
+public record UploadSessionCommand(
+        String filename,
+        String contentType,
+        long size
+) {
+}
@@ -0,0 +1,28 @@
+package org.fsg.assetmanager.domain.port.in;
+
+import org.fsg.assetmanager.domain.model.AssetContent;
+import org.fsg.assetmanager.domain.model.UploadSession;
+
+/**
+ * Uploads of large assets in chunks. A session is created with the size of the asset, its chunks are uploaded in any
+ * order, possibly in parallel, and it is committed to create the asset once every byte was received. An interrupted
+ * upload is resumed by uploading the {@link UploadSession#missing()} ranges of the session.
+ */
+public interface UploadSessionUseCase {
+    UploadSession createSession(UploadSessionCommand command);
+
+    UploadSession getSession(String sessionId);
+
+    /**
+     * Stores the chunk at the given offset of the content. A chunk may be uploaded again, e.g. after a dropped
+     * connection, overwriting the bytes received before.
+     */
+    UploadSession uploadChunk(String sessionId, long offset, AssetContent chunk);
+
+    /**
+     * Creates the asset from the assembled content and deletes the session.
+     */
+    AssetUploadResult commitSession(String sessionId);
+
+    void abortSession(String sessionId);
+}
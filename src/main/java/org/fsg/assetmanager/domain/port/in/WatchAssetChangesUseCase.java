@@ -0,0 +1,8 @@
+package org.fsg.assetmanager.domain.port.in;
+
+public interface WatchAssetChangesUseCase {
+    /**
+     * Subscribes to the status changes of assets. The subscription has to be closed once no longer polled.
+     */
+    AssetChangeSubscription subscribe(AssetChangeQuery query);
+}
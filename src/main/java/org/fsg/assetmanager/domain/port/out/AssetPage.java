@@ -0,0 +1,11 @@
+package org.fsg.assetmanager.domain.port.out;
+
+import org.fsg.assetmanager.domain.model.Asset;
+
+import java.util.List;
+
+public record AssetPage(
+        List<Asset> assets,
+        String nextPageToken
+) {
+}
@@ -1,7 +1,8 @@
 package org.fsg.assetmanager.domain.port.out;
 
 import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.AssetContent;
 
 public interface AssetPublisher {
-    PublishedUrl publish(Asset asset, byte[] content);
+    PublishedUrl publish(Asset asset, AssetContent content);
 }
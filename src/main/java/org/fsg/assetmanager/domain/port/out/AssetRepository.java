@@ -1,11 +1,61 @@
 package org.fsg.assetmanager.domain.port.out;
 
 import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.model.ContentHash;
+import org.fsg.assetmanager.domain.model.ContentType;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface AssetRepository {
     Asset save(Asset asset);
 
-    List<Asset> find(AssetSearchCriteria criteria);
+    /**
+     * Inserts many assets at once, sent to the database in batches.
+     */
+    List<Asset> saveAll(List<Asset> assets);
+
+    /**
+     * Returns up to {@code criteria.limit()} assets sorted by upload date, starting after the given page token.
+     */
+    AssetPage find(AssetSearchCriteria criteria);
+
+    /**
+     * Streams every asset matching the criteria, sorted by upload date. The limit and the page token are ignored.
+     * <p>
+     * Assets are read from the database as the stream is consumed. It must be consumed within a transaction and
+     * closed afterwards.
+     */
+    Stream<Asset> stream(AssetSearchCriteria criteria);
+
+    /**
+     * Applies the transition if the asset is still in its expected status.
+     *
+     * @return true if the transition was applied
+     */
+    boolean updateStatus(AssetStatusTransition transition);
+
+    /**
+     * Applies many transitions at once, at most one per asset.
+     *
+     * @return the IDs of the assets whose transition was applied
+     */
+    Set<AssetId> updateStatuses(Collection<AssetStatusTransition> transitions);
+
+    /**
+     * Returns up to {@code limit} PENDING assets uploaded before the given instant that have no publish job, sorted by
+     * upload date and id, starting after the given asset (null to start from the oldest one).
+     */
+    List<Asset> findPendingWithoutPublishJob(Instant uploadedBefore, Asset after, int limit);
+
+    /**
+     * Returns a PUBLISHED asset with the given content and content type, if any, whose url can be reused by another
+     * asset with the same content.
+     */
+    Optional<Asset> findPublishedByContentHash(ContentHash contentHash, ContentType contentType);
 }
@@ -9,6 +9,8 @@ public record AssetSearchCriteria(
         Instant uploadDateEnd,
         String filename,
         String contentType,
-        SortDirection sortDirection
+        SortDirection sortDirection,
+        int limit,
+        String pageToken
 ) {
 }
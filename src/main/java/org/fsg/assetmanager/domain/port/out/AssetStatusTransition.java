@@ -0,0 +1,20 @@
+package org.fsg.assetmanager.domain.port.out;
+
+import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.model.AssetStatus;
+
+/**
+ * A conditional status change: it is only applied while the asset is still in the expected status.
+ */
+public record AssetStatusTransition(
+        AssetId id,
+        AssetStatus expectedStatus,
+        AssetStatus newStatus,
+        String publishedUrl
+) {
+
+    public static AssetStatusTransition between(Asset current, Asset target) {
+        return new AssetStatusTransition(current.id(), current.status(), target.status(), target.publishedUrl());
+    }
+}
@@ -0,0 +1,22 @@
+package org.fsg.assetmanager.domain.port.out;
+
+import org.fsg.assetmanager.domain.model.AssetContent;
+import org.fsg.assetmanager.domain.model.AssetId;
+
+import java.util.Optional;
+
+public interface ContentSpool {
+    /**
+     * Copies the content to the spool area and returns a re-readable content backed by it. A content backed by a file
+     * may be linked instead of copied, so that file must not be modified afterwards.
+     */
+    AssetContent spool(AssetId assetId, AssetContent source);
+
+    /**
+     * Spooled content of an asset. It survives restarts until it is released, and it is found by every instance.
+     * Empty when the content is gone; a {@code ContentSpoolException} when the spool cannot be read for now.
+     */
+    Optional<AssetContent> find(AssetId assetId);
+
+    void release(AssetId assetId);
+}
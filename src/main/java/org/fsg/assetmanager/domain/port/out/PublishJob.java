@@ -0,0 +1,10 @@
+package org.fsg.assetmanager.domain.port.out;
+
+import org.fsg.assetmanager.domain.model.Asset;
+
+public record PublishJob(
+        long id,
+        Asset asset,
+        int attempts
+) {
+}
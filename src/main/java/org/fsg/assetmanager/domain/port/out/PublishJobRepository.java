@@ -0,0 +1,37 @@
+package org.fsg.assetmanager.domain.port.out;
+
+import org.fsg.assetmanager.domain.model.AssetId;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Transactional outbox of assets pending to be published.
+ */
+public interface PublishJobRepository {
+    void enqueue(AssetId assetId);
+
+    void enqueueAll(Collection<AssetId> assetIds);
+
+    /**
+     * Claims up to {@code limit} available jobs. Claimed jobs are hidden from other claimers during the lease, so they
+     * become available again if the claimer dies before completing them.
+     */
+    List<PublishJob> claim(int limit, Duration lease);
+
+    void complete(PublishJob job);
+
+    void completeAll(Collection<PublishJob> jobs);
+
+    /**
+     * Makes the job available again after the given delay.
+     */
+    void reschedule(PublishJob job, Duration delay);
+
+    /**
+     * Makes the jobs available again right away, ending their lease before it expires. Only for jobs whose publish
+     * never started.
+     */
+    void release(Collection<PublishJob> jobs);
+}
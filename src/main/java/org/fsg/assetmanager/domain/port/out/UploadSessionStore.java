@@ -0,0 +1,45 @@
+package org.fsg.assetmanager.domain.port.out;
+
+import org.fsg.assetmanager.domain.model.AssetContent;
+import org.fsg.assetmanager.domain.model.ByteRange;
+import org.fsg.assetmanager.domain.model.UploadSession;
+
+import java.util.Optional;
+
+/**
+ * Stores the chunks of upload sessions until they are committed. Sessions survive restarts until they are deleted or
+ * expire.
+ */
+public interface UploadSessionStore {
+    /**
+     * Stores a new session and reserves the space of its content.
+     */
+    UploadSession create(UploadSession session);
+
+    Optional<UploadSession> find(String sessionId);
+
+    /**
+     * Writes the chunk at the start of the range and returns the session with the range received. Chunks of the same
+     * session may be written concurrently, but not while it is being committed.
+     */
+    UploadSession write(String sessionId, ByteRange range, AssetContent chunk);
+
+    /**
+     * Stops accepting chunks of the session, so its content doesn't change while it is committed, and returns it. It is
+     * rejected while chunks are still being written or when the session is already being committed. A session being
+     * committed never expires.
+     */
+    UploadSession startCommit(String sessionId);
+
+    /**
+     * Accepts chunks of a session again after its commit failed.
+     */
+    void cancelCommit(String sessionId);
+
+    /**
+     * Assembled content of a session. It is re-readable until the session is deleted.
+     */
+    AssetContent content(String sessionId);
+
+    void delete(String sessionId);
+}
@@ -0,0 +1,53 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import lombok.RequiredArgsConstructor;
+import org.fsg.assetmanager.domain.port.in.AssetBatchUploadResult;
+import org.fsg.assetmanager.domain.port.in.AssetUploadCommand;
+import org.fsg.assetmanager.domain.port.in.UploadAssetBatchUseCase;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Uploads many assets in a single multipart request, one {@code files} part per asset, e.g.
+ * {@code POST /assets/batch}. Each asset gets its own result, in the order of the parts: {@code 202 Accepted} when
+ * every asset was uploaded, {@code 207 Multi-Status} otherwise.
+ * <p>
+ * Hint: Small parts are kept in memory and larger ones are written to disk by the container, so batches are meant for
+ * many small assets. Large assets are uploaded one by one as the raw body of a request.
+ */
+@RestController
+@RequestMapping("/assets/batch")
+@RequiredArgsConstructor
+public class AssetBatchUploadController {
+    private final UploadAssetBatchUseCase uploadAssetBatchUseCase;
+    private final UploadProperties properties;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<List<AssetBatchUploadResponse>> uploadBatch(@RequestParam List<MultipartFile> files) {
+        if (files.size() > properties.maxBatchSize()) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, String.format(
+                    "The batch has %d assets, the limit is %d", files.size(), properties.maxBatchSize()));
+        }
+
+        List<AssetUploadCommand> commands = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            commands.add(new AssetUploadCommand(file.getOriginalFilename(), file.getContentType(), file.getSize(),
+                    new MultipartFileContent(file)));
+        }
+        List<AssetBatchUploadResult> results = uploadAssetBatchUseCase.uploadBatch(commands);
+
+        List<AssetBatchUploadResponse> response = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            response.add(AssetBatchUploadResponse.from(commands.get(i).filename(), results.get(i)));
+        }
+        boolean allUploaded = results.stream().allMatch(AssetBatchUploadResult::isUploaded);
+        return ResponseEntity.status(allUploaded ? HttpStatus.ACCEPTED : HttpStatus.MULTI_STATUS).body(response);
+    }
+}
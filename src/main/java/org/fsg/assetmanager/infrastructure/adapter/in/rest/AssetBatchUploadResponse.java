@@ -0,0 +1,21 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import org.fsg.assetmanager.domain.port.in.AssetBatchUploadResult;
+
+/**
+ * @param id    ID of the asset, only when it was uploaded
+ * @param error reason the asset was not uploaded, only when it failed
+ */
+public record AssetBatchUploadResponse(
+        String filename,
+        String id,
+        String error
+) {
+
+    public static AssetBatchUploadResponse from(String filename, AssetBatchUploadResult result) {
+        return new AssetBatchUploadResponse(
+                filename,
+                result.isUploaded() ? result.result().assetId().value() : null,
+                result.error());
+    }
+}
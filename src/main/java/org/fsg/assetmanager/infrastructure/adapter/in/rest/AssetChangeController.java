@@ -0,0 +1,151 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.model.AssetStatusChange;
+import org.fsg.assetmanager.domain.port.in.AssetChangeQuery;
+import org.fsg.assetmanager.domain.port.in.AssetChangeSubscription;
+import org.fsg.assetmanager.domain.port.in.WatchAssetChangesUseCase;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * Status changes of assets, of every asset or only of some, so clients don't have to poll the search to learn that
+ * an asset was published. They are received as server-sent events, or with long polls, e.g.
+ * {@code GET /assets/changes?after=1760000000000123&timeout=30}. Every change has a sequence number, and a client
+ * resumes from the last one it received: {@code after} in long polls, the {@code Last-Event-ID} header in event
+ * streams, sent by browsers when they reconnect.
+ * <p>
+ * The changes are the ones written by this instance only, so clients confirm with a search the status of an asset
+ * whose change did not arrive.
+ * <p>
+ * Hint: The changes are waited for on virtual threads, so the requests waiting don't hold the threads of the server.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/assets")
+public class AssetChangeController {
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+    private static final String MISSED_CHANGES_EVENT = "missed-changes";
+    private static final int MAX_CHANGES = 500;
+
+    private final WatchAssetChangesUseCase watchAssetChangesUseCase;
+    private final ChangeStreamProperties properties;
+    private final TaskExecutor taskExecutor;
+
+    public AssetChangeController(
+            WatchAssetChangesUseCase watchAssetChangesUseCase,
+            ChangeStreamProperties properties,
+            @Qualifier("taskExecutor") TaskExecutor taskExecutor) {
+        this.watchAssetChangesUseCase = watchAssetChangesUseCase;
+        this.properties = properties;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) List<String> assetId,
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId) {
+        return stream(query(assetId, lastEventId == null ? after : lastEventId));
+    }
+
+    @GetMapping(value = "/{id}/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAssetChanges(
+            @PathVariable String id,
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId) {
+        return stream(query(List.of(id), lastEventId == null ? after : lastEventId));
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<AssetChangesResponse> pollChanges(
+            @RequestParam(required = false) List<String> assetId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Long timeout) {
+        return poll(query(assetId, after), timeout);
+    }
+
+    @GetMapping(value = "/{id}/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<AssetChangesResponse> pollAssetChanges(
+            @PathVariable String id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Long timeout) {
+        return poll(query(List.of(id), after), timeout);
+    }
+
+    private CompletableFuture<AssetChangesResponse> poll(AssetChangeQuery query, Long timeoutSeconds) {
+        Duration wait = timeoutSeconds == null
+                ? properties.maxWait()
+                : Collections.min(List.of(Duration.ofSeconds(Math.max(timeoutSeconds, 0)), properties.maxWait()));
+        AssetChangeSubscription subscription = watchAssetChangesUseCase.subscribe(query);
+        return CompletableFuture.supplyAsync(() -> {
+            try (subscription) {
+                // Hint: A client that missed changes searches the assets again, so it is answered right away
+                List<AssetStatusChange> changes = subscription.poll(MAX_CHANGES,
+                        subscription.missedChanges() ? Duration.ZERO : wait);
+                return new AssetChangesResponse(changes.stream().map(AssetChangeResponse::from).toList(),
+                        subscription.lastSequence(), subscription.missedChanges());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, taskExecutor);
+    }
+
+    private SseEmitter stream(AssetChangeQuery query) {
+        AssetChangeSubscription subscription = watchAssetChangesUseCase.subscribe(query);
+        SseEmitter emitter = new SseEmitter();
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        taskExecutor.execute(() -> {
+            try (subscription) {
+                if (subscription.missedChanges()) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(subscription.lastSequence()))
+                            .name(MISSED_CHANGES_EVENT)
+                            .data(""));
+                }
+                while (subscription.isOpen()) {
+                    List<AssetStatusChange> changes = subscription.poll(MAX_CHANGES, properties.heartbeatInterval());
+                    if (changes.isEmpty()) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    for (AssetStatusChange change : changes) {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(change.sequence()))
+                                .data(AssetChangeResponse.from(change), MediaType.APPLICATION_JSON));
+                    }
+                }
+                // Hint: The client fell behind or the stream was closed. Clients reconnect with the Last-Event-ID
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Change stream closed: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emitter.complete();
+            }
+        });
+        return emitter;
+    }
+
+    private static AssetChangeQuery query(List<String> assetIds, Long after) {
+        Set<AssetId> ids = assetIds == null
+                ? Set.of()
+                : assetIds.stream().map(AssetId::new).collect(Collectors.toSet());
+        return new AssetChangeQuery(ids, after);
+    }
+}
@@ -0,0 +1,23 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import org.fsg.assetmanager.domain.model.AssetStatusChange;
+
+import java.time.Instant;
+
+public record AssetChangeResponse(
+        long sequence,
+        String id,
+        String status,
+        String publishedUrl,
+        Instant changedAt
+) {
+
+    public static AssetChangeResponse from(AssetStatusChange change) {
+        return new AssetChangeResponse(
+                change.sequence(),
+                change.assetId().value(),
+                change.status().name(),
+                change.publishedUrl(),
+                change.changedAt());
+    }
+}
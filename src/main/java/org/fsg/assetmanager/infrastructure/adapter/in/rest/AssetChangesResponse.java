@@ -0,0 +1,15 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import java.util.List;
+
+/**
+ * @param next          sequence to send as {@code after} in the next poll
+ * @param missedChanges whether changes after the sequence requested were no longer retained, so the assets have to
+ *                      be searched again
+ */
+public record AssetChangesResponse(
+        List<AssetChangeResponse> changes,
+        long next,
+        boolean missedChanges
+) {
+}
@@ -0,0 +1,73 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.SortDirection;
+import org.fsg.assetmanager.domain.port.in.AssetSearchQuery;
+import org.fsg.assetmanager.domain.port.in.SearchAssetsUseCase;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
+/**
+ * Exports the asset catalog as newline delimited JSON, one asset per line.
+ * <p>
+ * Hint: The assets are written while they are read from the database, so the memory used doesn't depend on the size
+ * of the catalog.
+ */
+@RestController
+@RequestMapping("/assets")
+@RequiredArgsConstructor
+public class AssetExportController {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final SearchAssetsUseCase searchAssetsUseCase;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant uploadDateStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant uploadDateEnd,
+            @RequestParam(required = false) String filename,
+            @RequestParam(required = false) String contentType,
+            @RequestParam(defaultValue = "ASC") SortDirection sortDirection) {
+        AssetSearchQuery query = new AssetSearchQuery(sortDirection)
+                .withUploadDateStart(uploadDateStart)
+                .withUploadDateEnd(uploadDateEnd)
+                .withFilename(filename)
+                .withContentType(contentType);
+        ObjectWriter writer = objectMapper.writerFor(AssetResponse.class);
+        StreamingResponseBody body = output -> {
+            OutputStream buffered = new BufferedOutputStream(output, BUFFER_SIZE);
+            searchAssetsUseCase.export(query, asset -> writeLine(writer, buffered, asset));
+            buffered.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private static void writeLine(ObjectWriter writer, OutputStream output, Asset asset) {
+        try {
+            output.write(writer.writeValueAsBytes(AssetResponse.from(asset)));
+            output.write(LINE_SEPARATOR);
+        } catch (IOException e) {
+            // The client went away, the export is aborted
+            throw new UncheckedIOException(e);
+        }
+    }
+}
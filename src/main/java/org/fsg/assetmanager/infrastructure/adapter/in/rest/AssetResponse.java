@@ -0,0 +1,28 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.AssetStatus;
+
+import java.time.Instant;
+
+public record AssetResponse(
+        String id,
+        String filename,
+        String contentType,
+        long size,
+        Instant uploadDate,
+        AssetStatus status,
+        String url
+) {
+
+    public static AssetResponse from(Asset asset) {
+        return new AssetResponse(
+                asset.id().value(),
+                asset.filename().value(),
+                asset.contentType().value(),
+                asset.fileSize().value(),
+                asset.uploadDate(),
+                asset.status(),
+                asset.publishedUrl());
+    }
+}
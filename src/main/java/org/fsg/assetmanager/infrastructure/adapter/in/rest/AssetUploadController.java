@@ -0,0 +1,56 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.fsg.assetmanager.domain.port.in.AssetUploadCommand;
+import org.fsg.assetmanager.domain.port.in.AssetUploadResult;
+import org.fsg.assetmanager.domain.port.in.UploadAssetUseCase;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Uploads an asset sent as the raw body of the request. Its content type is the one of the request, and its filename
+ * is given as a parameter, e.g. {@code POST /assets?filename=photo.png} with {@code Content-Type: image/png}.
+ * <p>
+ * Hint: The body is streamed from the connection into the upload, never kept in a {@code MultipartFile} or on the
+ * heap, so the memory used by a request doesn't depend on the size of the asset. The size is checked against the
+ * {@code Content-Length} before a byte is read. Assets over {@code max-size} are uploaded in sessions.
+ */
+@RestController
+@RequestMapping("/assets")
+@RequiredArgsConstructor
+public class AssetUploadController {
+    private final UploadAssetUseCase uploadAssetUseCase;
+    private final UploadProperties properties;
+
+    @PostMapping
+    public ResponseEntity<AssetUploadResponse> upload(
+            @RequestParam String filename,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            HttpServletRequest request) {
+        if (MediaType.parseMediaType(contentType).getType().equals("multipart")) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                    "The content must be sent as the raw body of the request");
+        }
+        long size = request.getContentLengthLong();
+        if (size < 0) {
+            throw new ResponseStatusException(HttpStatus.LENGTH_REQUIRED, "The size of the content must be declared");
+        }
+        if (size == 0) {
+            throw new IllegalArgumentException("The content is empty");
+        }
+        if (size > properties.maxSize().toBytes()) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, String.format(
+                    "The content has %d bytes, the limit is %d. Larger assets are uploaded in sessions",
+                    size, properties.maxSize().toBytes()));
+        }
+
+        AssetUploadResult result = uploadAssetUseCase.upload(new AssetUploadCommand(
+                filename, contentType, size, new RequestBodyContent(request, size)));
+        return ResponseEntity.accepted().body(AssetUploadResponse.from(result));
+    }
+}
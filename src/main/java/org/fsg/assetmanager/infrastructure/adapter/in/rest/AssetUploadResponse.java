@@ -0,0 +1,12 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import org.fsg.assetmanager.domain.port.in.AssetUploadResult;
+
+public record AssetUploadResponse(
+        String id
+) {
+
+    public static AssetUploadResponse from(AssetUploadResult result) {
+        return new AssetUploadResponse(result.assetId().value());
+    }
+}
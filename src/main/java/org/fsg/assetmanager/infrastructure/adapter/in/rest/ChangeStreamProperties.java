@@ -0,0 +1,18 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param heartbeatInterval idle time after which a comment is sent to event streams, so the connection of clients
+ *                          gone is detected and closed
+ * @param maxWait           longest a long poll waits for changes
+ */
+@ConfigurationProperties(prefix = "asset-manager.change-feed.streams")
+public record ChangeStreamProperties(
+        @DefaultValue("15s") Duration heartbeatInterval,
+        @DefaultValue("30s") Duration maxWait
+) {
+}
@@ -0,0 +1,23 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import org.fsg.assetmanager.domain.model.AssetContent;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Part of a multipart request, read from memory or from the temporary file where the container stored it.
+ */
+record MultipartFileContent(MultipartFile file) implements AssetContent {
+    @Override
+    public long size() {
+        return file.getSize();
+    }
+
+    @Override
+    public ReadableByteChannel openChannel() throws IOException {
+        return Channels.newChannel(file.getInputStream());
+    }
+}
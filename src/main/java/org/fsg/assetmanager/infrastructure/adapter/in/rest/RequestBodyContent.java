@@ -0,0 +1,18 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.fsg.assetmanager.domain.model.AssetContent;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Body of a request, read straight from the connection. It can only be opened once.
+ */
+record RequestBodyContent(HttpServletRequest request, long size) implements AssetContent {
+    @Override
+    public ReadableByteChannel openChannel() throws IOException {
+        return Channels.newChannel(request.getInputStream());
+    }
+}
@@ -0,0 +1,52 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.fsg.assetmanager.domain.exception.ContentSpoolException;
+import org.fsg.assetmanager.domain.exception.SubscriptionRejectedException;
+import org.fsg.assetmanager.domain.exception.UploadRejectedException;
+import org.fsg.assetmanager.domain.exception.UploadSessionException;
+import org.fsg.assetmanager.domain.exception.UploadSessionNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps the exceptions of the use cases to problem details (RFC 9457).
+ */
+@Slf4j
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleInvalidRequest(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    @ExceptionHandler(UploadSessionNotFoundException.class)
+    public ProblemDetail handleSessionNotFound(UploadSessionNotFoundException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    @ExceptionHandler(UploadSessionException.class)
+    public ProblemDetail handleSessionConflict(UploadSessionException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    // Hint: The upload was not accepted because of load, so the client may try again later
+    @ExceptionHandler(UploadRejectedException.class)
+    public ProblemDetail handleUploadRejected(UploadRejectedException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+
+    @ExceptionHandler(SubscriptionRejectedException.class)
+    public ProblemDetail handleSubscriptionRejected(SubscriptionRejectedException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+
+    @ExceptionHandler(ContentSpoolException.class)
+    public ProblemDetail handleContentSpool(ContentSpoolException e) {
+        log.error("Upload failed: {}", e.getMessage(), e);
+        return ProblemDetail.forStatusAndDetail(HttpStatus.INSUFFICIENT_STORAGE, e.getMessage());
+    }
+}
@@ -0,0 +1,12 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "asset-manager.uploads")
+public record UploadProperties(
+        @DefaultValue("512MB") DataSize maxSize,
+        @DefaultValue("1000") int maxBatchSize
+) {
+}
@@ -0,0 +1,79 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.fsg.assetmanager.domain.model.UploadSession;
+import org.fsg.assetmanager.domain.port.in.AssetUploadResult;
+import org.fsg.assetmanager.domain.port.in.UploadSessionUseCase;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Uploads of large assets in chunks. A session is created with the size of the asset, and every chunk is sent with a
+ * {@code PUT} whose {@code Content-Range} header tells its position, e.g. {@code bytes 0-1048575/4194304}. Chunks may
+ * be sent in any order and in parallel. After a dropped connection, the session tells the ranges still missing, so
+ * only them are sent again. The asset is created when the session is committed.
+ * <p>
+ * Hint: Chunk bodies are streamed from the connection to the session file, never kept on the heap.
+ */
+@RestController
+@RequestMapping("/assets/upload-sessions")
+@RequiredArgsConstructor
+public class UploadSessionController {
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+|\\*)");
+
+    private final UploadSessionUseCase uploadSessionUseCase;
+
+    @PostMapping
+    public ResponseEntity<UploadSessionResponse> create(@RequestBody UploadSessionRequest request) {
+        UploadSession session = uploadSessionUseCase.createSession(request.toCommand());
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{id}")
+                        .buildAndExpand(session.id())
+                        .toUri())
+                .body(UploadSessionResponse.from(session));
+    }
+
+    @GetMapping("/{sessionId}")
+    public UploadSessionResponse get(@PathVariable String sessionId) {
+        return UploadSessionResponse.from(uploadSessionUseCase.getSession(sessionId));
+    }
+
+    @PutMapping("/{sessionId}")
+    public UploadSessionResponse uploadChunk(
+            @PathVariable String sessionId,
+            @RequestHeader(HttpHeaders.CONTENT_RANGE) String contentRange,
+            HttpServletRequest request) {
+        Matcher range = CONTENT_RANGE.matcher(contentRange);
+        if (!range.matches()) {
+            throw new IllegalArgumentException("Invalid Content-Range header: " + contentRange);
+        }
+        long first = Long.parseLong(range.group(1));
+        long length = Long.parseLong(range.group(2)) - first + 1;
+        long declaredLength = request.getContentLengthLong();
+        if (length <= 0 || (declaredLength >= 0 && declaredLength != length)) {
+            throw new IllegalArgumentException("Content-Range " + contentRange + " does not match the body length");
+        }
+
+        UploadSession session = uploadSessionUseCase.uploadChunk(sessionId, first,
+                new RequestBodyContent(request, length));
+        return UploadSessionResponse.from(session);
+    }
+
+    @PostMapping("/{sessionId}/commit")
+    public ResponseEntity<AssetUploadResponse> commit(@PathVariable String sessionId) {
+        AssetUploadResult result = uploadSessionUseCase.commitSession(sessionId);
+        return ResponseEntity.accepted().body(AssetUploadResponse.from(result));
+    }
+
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> abort(@PathVariable String sessionId) {
+        uploadSessionUseCase.abortSession(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,14 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import org.fsg.assetmanager.domain.port.in.UploadSessionCommand;
+
+public record UploadSessionRequest(
+        String filename,
+        String contentType,
+        long size
+) {
+
+    public UploadSessionCommand toCommand() {
+        return new UploadSessionCommand(filename, contentType, size);
+    }
+}
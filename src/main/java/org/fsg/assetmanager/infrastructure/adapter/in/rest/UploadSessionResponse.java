@@ -0,0 +1,34 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import org.fsg.assetmanager.domain.model.UploadSession;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * @param missing ranges still to be uploaded, from {@code start} inclusive to {@code end} exclusive
+ */
+public record UploadSessionResponse(
+        String id,
+        String filename,
+        String contentType,
+        long size,
+        long receivedBytes,
+        List<Range> missing,
+        Instant createdAt
+) {
+
+    public static UploadSessionResponse from(UploadSession session) {
+        return new UploadSessionResponse(
+                session.id(),
+                session.filename().value(),
+                session.contentType().value(),
+                session.size().value(),
+                session.receivedBytes(),
+                session.missing().stream().map(range -> new Range(range.start(), range.end())).toList(),
+                session.createdAt());
+    }
+
+    public record Range(long start, long end) {
+    }
+}
@@ -0,0 +1,23 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.entity.AssetEntity;
+
+import java.util.List;
+
+/**
+ * Inserts the rows of new assets for {@link AssetRepositoryAdapter}. The write path is chosen by configuration, see
+ * {@link JpaAssetEntityWriter} and {@link StatelessAssetEntityWriter}.
+ */
+public interface AssetEntityWriter {
+    /**
+     * Inserts the entity in the current transaction, if any, and returns it with its generated id.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException if an asset with the same external id exists
+     */
+    AssetEntity insert(AssetEntity entity);
+
+    /**
+     * Inserts the entities in the current transaction, if any, and returns them with their generated ids.
+     */
+    List<AssetEntity> insertAll(List<AssetEntity> entities);
+}
@@ -0,0 +1,53 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import org.fsg.assetmanager.domain.exception.InvalidPageTokenException;
+import org.fsg.assetmanager.domain.model.SortDirection;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.entity.AssetEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position of the last asset of a page, in the (upload date, id) order used to search assets.
+ * <p>
+ * Hint: The token is opaque to clients. It carries the sort direction, so it can't be used to continue a search in
+ * the opposite order.
+ */
+record AssetPageToken(SortDirection direction, Instant uploadDate, long id) {
+    private static final String SEPARATOR = ":";
+
+    static AssetPageToken after(SortDirection direction, AssetEntity entity) {
+        return new AssetPageToken(direction, entity.getUploadDate(), entity.getId());
+    }
+
+    static AssetPageToken decode(String token, SortDirection expectedDirection) {
+        AssetPageToken decoded;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, -1);
+            if (parts.length != 4) {
+                throw new InvalidPageTokenException(token, "malformed token");
+            }
+            decoded = new AssetPageToken(
+                    SortDirection.valueOf(parts[0]),
+                    Instant.ofEpochSecond(Long.parseLong(parts[1]), Long.parseLong(parts[2])),
+                    Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException | ArithmeticException | DateTimeException e) {
+            // Hint: Out of range seconds or nanos of a tampered token don't make an instant
+            throw new InvalidPageTokenException(token, "malformed token");
+        }
+
+        if (decoded.direction() != expectedDirection) {
+            throw new InvalidPageTokenException(token, "it belongs to a search sorted " + decoded.direction());
+        }
+        return decoded;
+    }
+
+    String encode() {
+        String value = String.join(SEPARATOR, direction.name(), String.valueOf(uploadDate.getEpochSecond()),
+                String.valueOf(uploadDate.getNano()), String.valueOf(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,29 +1,64 @@
 package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.AllArgsConstructor;
 import org.fsg.assetmanager.domain.exception.AssetAlreadyExistsException;
 import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.model.AssetStatus;
+import org.fsg.assetmanager.domain.model.ContentHash;
+import org.fsg.assetmanager.domain.model.ContentType;
 import org.fsg.assetmanager.domain.model.SortDirection;
+import org.fsg.assetmanager.domain.port.out.AssetPage;
 import org.fsg.assetmanager.domain.port.out.AssetRepository;
 import org.fsg.assetmanager.domain.port.out.AssetSearchCriteria;
+import org.fsg.assetmanager.domain.port.out.AssetStatusTransition;
 import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.AssetJpaRepository;
 import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.entity.AssetEntity;
 import org.fsg.assetmanager.infrastructure.adapter.out.persistence.mapper.AssetEntityMapper;
 import org.fsg.assetmanager.infrastructure.adapter.out.persistence.util.SpecificationHelper;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.sql.PreparedStatement;
 import java.time.Instant;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @AllArgsConstructor
 public class AssetRepositoryAdapter implements AssetRepository {
+    // Hint: The transitions are passed as parallel arrays, so any number of them is applied by a single statement
+    //       without loading the entities. Rows not in the expected status are left untouched and not returned.
+    private static final String UPDATE_STATUS_SQL = """
+            UPDATE assets a
+            SET status = t.new_status, url = t.url
+            FROM unnest(?::text[], ?::text[], ?::text[], ?::text[]) AS t(external_id, expected_status, new_status, url)
+            WHERE a.external_id = t.external_id AND a.status = t.expected_status
+            RETURNING a.external_id
+            """;
+
+    // Rows fetched per round trip while streaming. Only one batch of entities is kept in memory at once.
+    private static final int STREAM_FETCH_SIZE = 500;
 
     private AssetJpaRepository repository;
+    private AssetEntityWriter writer;
     private AssetEntityMapper mapper;
+    private JdbcTemplate jdbcTemplate;
+    private EntityManager entityManager;
+    private FilenameIndex filenameIndex;
 
     @Override
     public Asset save(Asset asset) {
@@ -33,7 +68,8 @@ public class AssetRepositoryAdapter implements AssetRepository {
 
         try {
             AssetEntity entity = mapper.toEntity(asset);
-            AssetEntity saved = repository.save(entity);
+            AssetEntity saved = writer.insert(entity);
+            filenameIndex.add(saved.getId(), saved.getFilename());
             return mapper.toDomain(saved);
         } catch (DataIntegrityViolationException e) {
             throw new AssetAlreadyExistsException(asset.id(), e);
@@ -41,34 +77,132 @@ public class AssetRepositoryAdapter implements AssetRepository {
     }
 
     @Override
-    public List<Asset> find(AssetSearchCriteria criteria) {
-        Specification<AssetEntity> specification = buildSpecification(criteria);
-        Sort sort = buildSort(criteria);
-        return repository.findAll(specification, sort)
-                .stream()
-                .map(entity -> mapper.toDomain(entity))
-                .toList();
+    public List<Asset> saveAll(List<Asset> assets) {
+        if (assets.isEmpty()) {
+            return List.of();
+        }
+
+        List<AssetEntity> saved = writer.insertAll(assets.stream().map(mapper::toEntity).toList());
+        saved.forEach(entity -> filenameIndex.add(entity.getId(), entity.getFilename()));
+        return saved.stream().map(mapper::toDomain).toList();
+    }
+
+    @Override
+    public AssetPage find(AssetSearchCriteria criteria) {
+        SortDirection direction = criteria.sortDirection() == null ? SortDirection.ASC : criteria.sortDirection();
+        AssetPageToken after = criteria.pageToken() == null
+                ? null
+                : AssetPageToken.decode(criteria.pageToken(), direction);
+        AssetSearchPlan plan = AssetSearchPlan.of(criteria, filenameIndex::candidates);
+        if (plan.matchesNothing()) {
+            return new AssetPage(List.of(), null);
+        }
+
+        // Hint: Keyset pagination. The page starts right after the last asset of the previous one, so it is read from
+        //       the (upload_date, id) index no matter how deep the client pages. One extra row tells if there is more.
+        Specification<AssetEntity> specification = Specification.allOf(
+                plan.toSpecification(),
+                AssetSpecification.after(after));
+        List<AssetEntity> entities = repository.findBy(specification,
+                query -> query.sortBy(buildSort(direction)).limit(criteria.limit() + 1).all());
+
+        boolean hasNextPage = entities.size() > criteria.limit();
+        List<AssetEntity> page = hasNextPage ? entities.subList(0, criteria.limit()) : entities;
+        String nextPageToken = hasNextPage ? AssetPageToken.after(direction, page.getLast()).encode() : null;
+        return new AssetPage(page.stream().map(entity -> mapper.toDomain(entity)).toList(), nextPageToken);
+    }
+
+    @Override
+    public Stream<Asset> stream(AssetSearchCriteria criteria) {
+        SortDirection direction = criteria.sortDirection() == null ? SortDirection.ASC : criteria.sortDirection();
+        AssetSearchPlan plan = AssetSearchPlan.of(criteria, filenameIndex::candidates);
+        if (plan.matchesNothing()) {
+            return Stream.empty();
+        }
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AssetEntity> query = criteriaBuilder.createQuery(AssetEntity.class);
+        Root<AssetEntity> root = query.from(AssetEntity.class);
+        query.where(plan.toSpecification().toPredicate(root, query, criteriaBuilder))
+                .orderBy(QueryUtils.toOrders(buildSort(direction), root, criteriaBuilder));
+
+        // Hint: The rows are scrolled with a server-side cursor and each entity is detached once mapped, so the
+        //       persistence context doesn't keep every row of the result alive until the stream is closed
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(entity -> {
+                    entityManager.detach(entity);
+                    return mapper.toDomain(entity);
+                });
     }
 
-    private Specification<AssetEntity> buildSpecification(AssetSearchCriteria criteria) {
-        return Specification.allOf(
-                AssetSpecification.uploadDateRange(criteria.uploadDateStart(), criteria.uploadDateEnd()),
-                AssetSpecification.filenameMatches(criteria.filename()),
-                AssetSpecification.contentTypeEquals(criteria.contentType())
-        );
+    @Override
+    public boolean updateStatus(AssetStatusTransition transition) {
+        return updateStatuses(List.of(transition)).contains(transition.id());
     }
 
-    private Sort buildSort(AssetSearchCriteria criteria) {
-        Sort.Direction direction = criteria.sortDirection() == SortDirection.DESC
+    @Override
+    public Set<AssetId> updateStatuses(Collection<AssetStatusTransition> transitions) {
+        if (transitions.isEmpty()) {
+            return Set.of();
+        }
+
+        Map<String, AssetStatusTransition> byExternalId = new LinkedHashMap<>();
+        for (AssetStatusTransition transition : transitions) {
+            if (byExternalId.put(transition.id().value(), transition) != null) {
+                throw new IllegalArgumentException("Duplicated status transition for asset " + transition.id());
+            }
+        }
+
+        List<String> updated = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(UPDATE_STATUS_SQL);
+            Collection<AssetStatusTransition> values = byExternalId.values();
+            statement.setArray(1, connection.createArrayOf("text", byExternalId.keySet().toArray()));
+            statement.setArray(2, connection.createArrayOf("text", column(values, t -> t.expectedStatus().name())));
+            statement.setArray(3, connection.createArrayOf("text", column(values, t -> t.newStatus().name())));
+            statement.setArray(4, connection.createArrayOf("text", column(values, AssetStatusTransition::publishedUrl)));
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getString(1));
+
+        return updated.stream().map(AssetId::new).collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public List<Asset> findPendingWithoutPublishJob(Instant uploadedBefore, Asset after, int limit) {
+        List<AssetEntity> entities = after == null
+                ? repository.findPendingWithoutPublishJob(uploadedBefore, limit)
+                : repository.findPendingWithoutPublishJobAfter(uploadedBefore, after.uploadDate(), after.id().value(),
+                limit);
+        return entities.stream().map(mapper::toDomain).toList();
+    }
+
+    @Override
+    public Optional<Asset> findPublishedByContentHash(ContentHash contentHash, ContentType contentType) {
+        // Hint: Content types are stored lowercased, see AssetEntityMapper
+        String lowerContentType = contentType.value() == null ? null : contentType.value().toLowerCase();
+        return repository.findFirstByContentHashAndContentTypeAndStatus(contentHash.value(), lowerContentType,
+                        AssetStatus.PUBLISHED)
+                .map(mapper::toDomain);
+    }
+
+    private static Object[] column(Collection<AssetStatusTransition> transitions,
+                                   Function<AssetStatusTransition, String> extractor) {
+        return transitions.stream().map(extractor).toArray();
+    }
+
+    private Sort buildSort(SortDirection sortDirection) {
+        Sort.Direction direction = sortDirection == SortDirection.DESC
                 ? Sort.Direction.DESC
                 : Sort.Direction.ASC;
 
         // By default, sort is done by upload date. There is no spec about the sorting field.
-        return Sort.by(direction, "uploadDate");
+        // The id breaks ties between assets uploaded at the same instant, so pages never overlap.
+        return Sort.by(direction, "uploadDate", "id");
     }
 
     static final class AssetSpecification {
-        private static final int MIN_LIKE_FILTER_LENGTH = 3;
 
         static Specification<AssetEntity> uploadDateRange(Instant start, Instant end) {
             return (root, criteriaQuery, criteriaBuilder) -> {
@@ -84,8 +218,46 @@ public class AssetRepositoryAdapter implements AssetRepository {
             };
         }
 
+        static Specification<AssetEntity> after(AssetPageToken token) {
+            return (root, criteriaQuery, criteriaBuilder) -> {
+                if (token == null) {
+                    return criteriaBuilder.conjunction();
+                }
+                Path<Instant> uploadDate = root.get("uploadDate");
+                Path<Long> id = root.get("id");
+                // Hint: The redundant bound on the upload date is what the index is scanned from. The OR alone is
+                //       only a filter, so every page would scan the index from its start
+                if (token.direction() == SortDirection.DESC) {
+                    return criteriaBuilder.and(
+                            criteriaBuilder.lessThanOrEqualTo(uploadDate, token.uploadDate()),
+                            criteriaBuilder.or(
+                                    criteriaBuilder.lessThan(uploadDate, token.uploadDate()),
+                                    criteriaBuilder.and(
+                                            criteriaBuilder.equal(uploadDate, token.uploadDate()),
+                                            criteriaBuilder.lessThan(id, token.id()))));
+                }
+                return criteriaBuilder.and(
+                        criteriaBuilder.greaterThanOrEqualTo(uploadDate, token.uploadDate()),
+                        criteriaBuilder.or(
+                                criteriaBuilder.greaterThan(uploadDate, token.uploadDate()),
+                                criteriaBuilder.and(
+                                        criteriaBuilder.equal(uploadDate, token.uploadDate()),
+                                        criteriaBuilder.greaterThan(id, token.id()))));
+            };
+        }
+
+        static Specification<AssetEntity> idIn(FilenameCandidates candidates) {
+            return (root, query, criteriaBuilder) -> {
+                Path<Long> id = root.get("id");
+                Predicate notIndexed = criteriaBuilder.greaterThan(root.get("createdAt"), candidates.indexedUpTo());
+                return candidates.ids().isEmpty()
+                        ? notIndexed
+                        : criteriaBuilder.or(id.in(candidates.ids()), notIndexed);
+            };
+        }
+
         static Specification<AssetEntity> filenameMatches(String pattern) {
-            return SpecificationHelper.ilike("filename", pattern, MIN_LIKE_FILTER_LENGTH);
+            return SpecificationHelper.ilike("filename", pattern, AssetSearchPlan.MIN_FILENAME_FILTER_LENGTH);
         }
 
         static Specification<AssetEntity> contentTypeEquals(String contentType) {
@@ -0,0 +1,73 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import org.fsg.assetmanager.domain.port.out.AssetSearchCriteria;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.AssetRepositoryAdapter.AssetSpecification;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.entity.AssetEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The search filters that can narrow the result, normalized as they are stored.
+ * <p>
+ * Hint: Filters that can't narrow the result (blank values, filename patterns too short to be selective) are dropped
+ * instead of being sent as no-op predicates, and a date range that can't match anything is answered without querying
+ * the database. The remaining predicates are combined with AND, and the database picks the index that serves them:
+ * <ul>
+ *     <li>content type, which can use (content_type, upload_date, id) and keep the rows in sort order</li>
+ *     <li>upload date range, which can use (upload_date, id)</li>
+ *     <li>filename candidates, the ids the {@link FilenameIndex} resolves the filename pattern to</li>
+ *     <li>filename, a residual filter over the rows the other predicates select</li>
+ * </ul>
+ */
+record AssetSearchPlan(
+        String contentType,
+        Instant uploadDateStart,
+        Instant uploadDateEnd,
+        String filename,
+        FilenameCandidates filenameCandidates
+) {
+    static final int MIN_FILENAME_FILTER_LENGTH = 3;
+
+    static AssetSearchPlan of(AssetSearchCriteria criteria,
+                              Function<String, Optional<FilenameCandidates>> filenameIndex) {
+        String filename = isBlank(criteria.filename()) || criteria.filename().length() < MIN_FILENAME_FILTER_LENGTH
+                ? null
+                : criteria.filename();
+        return new AssetSearchPlan(
+                isBlank(criteria.contentType()) ? null : criteria.contentType().toLowerCase(),
+                criteria.uploadDateStart(),
+                criteria.uploadDateEnd(),
+                filename,
+                filename == null ? null : filenameIndex.apply(filename).orElse(null));
+    }
+
+    boolean matchesNothing() {
+        return uploadDateStart != null && uploadDateEnd != null && uploadDateStart.isAfter(uploadDateEnd);
+    }
+
+    Specification<AssetEntity> toSpecification() {
+        List<Specification<AssetEntity>> specifications = new ArrayList<>();
+        if (contentType != null) {
+            specifications.add(AssetSpecification.contentTypeEquals(contentType));
+        }
+        if (uploadDateStart != null || uploadDateEnd != null) {
+            specifications.add(AssetSpecification.uploadDateRange(uploadDateStart, uploadDateEnd));
+        }
+        if (filenameCandidates != null) {
+            specifications.add(AssetSpecification.idIn(filenameCandidates));
+        }
+        if (filename != null) {
+            specifications.add(AssetSpecification.filenameMatches(filename));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
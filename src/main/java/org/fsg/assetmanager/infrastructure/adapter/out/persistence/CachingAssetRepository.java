@@ -0,0 +1,248 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.model.ContentHash;
+import org.fsg.assetmanager.domain.model.ContentType;
+import org.fsg.assetmanager.domain.model.SortDirection;
+import org.fsg.assetmanager.domain.port.out.AssetPage;
+import org.fsg.assetmanager.domain.port.out.AssetRepository;
+import org.fsg.assetmanager.domain.port.out.AssetSearchCriteria;
+import org.fsg.assetmanager.domain.port.out.AssetStatusTransition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Decorates an {@link AssetRepository} with a cache of search pages, keyed by the normalized search criteria, bounded
+ * in size (least recently used pages are evicted first) and in time.
+ * <p>
+ * Hint: A save evicts only the pages the saved asset could be in, by upload date, content type and filename, which
+ * don't change after the upload. A status change evicts the pages showing the asset. Writes of other instances are
+ * not seen, so a cached page may be stale for up to the time to live.
+ */
+public class CachingAssetRepository implements AssetRepository {
+    private final AssetRepository delegate;
+    private final SearchCacheProperties properties;
+    private final Clock clock;
+
+    // Guarded by itself. Iterated in access order, so the eldest entry is the least recently used one
+    private final LinkedHashMap<SearchKey, CachedPage> pages = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Hint: Bumped when a write starts and when it completes. A page read meanwhile is not cached, as it may be stale
+    private final AtomicLong writeVersion = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public CachingAssetRepository(AssetRepository delegate, SearchCacheProperties properties, Clock clock) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Override
+    public Asset save(Asset asset) {
+        writeVersion.incrementAndGet();
+        try {
+            return delegate.save(asset);
+        } finally {
+            if (asset != null) {
+                afterWrite((key, page) -> key.mayMatch(asset));
+            }
+        }
+    }
+
+    @Override
+    public List<Asset> saveAll(List<Asset> assets) {
+        writeVersion.incrementAndGet();
+        try {
+            return delegate.saveAll(assets);
+        } finally {
+            afterWrite((key, page) -> assets.stream().anyMatch(key::mayMatch));
+        }
+    }
+
+    @Override
+    public AssetPage find(AssetSearchCriteria criteria) {
+        if (properties.maxEntries() <= 0) {
+            return delegate.find(criteria);
+        }
+
+        SearchKey key = SearchKey.of(criteria);
+        Instant now = clock.instant();
+        synchronized (pages) {
+            CachedPage cached = pages.get(key);
+            if (cached != null && now.isBefore(cached.expiresAt())) {
+                hits.increment();
+                return cached.page();
+            }
+            if (cached != null) {
+                pages.remove(key);
+                expirations.increment();
+            }
+        }
+
+        misses.increment();
+        long version = writeVersion.get();
+        AssetPage page = delegate.find(criteria);
+        CachedPage loaded = new CachedPage(page, idsOf(page), now.plus(properties.ttl()));
+        synchronized (pages) {
+            if (version == writeVersion.get()) {
+                pages.put(key, loaded);
+                evictExcess();
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public Stream<Asset> stream(AssetSearchCriteria criteria) {
+        return delegate.stream(criteria);
+    }
+
+    @Override
+    public boolean updateStatus(AssetStatusTransition transition) {
+        return updateStatuses(List.of(transition)).contains(transition.id());
+    }
+
+    @Override
+    public Set<AssetId> updateStatuses(Collection<AssetStatusTransition> transitions) {
+        writeVersion.incrementAndGet();
+        try {
+            return delegate.updateStatuses(transitions);
+        } finally {
+            Set<AssetId> ids = transitions.stream().map(AssetStatusTransition::id).collect(Collectors.toSet());
+            afterWrite((key, page) -> !Collections.disjoint(page.ids(), ids));
+        }
+    }
+
+    @Override
+    public List<Asset> findPendingWithoutPublishJob(Instant uploadedBefore, Asset after, int limit) {
+        return delegate.findPendingWithoutPublishJob(uploadedBefore, after, limit);
+    }
+
+    @Override
+    public Optional<Asset> findPublishedByContentHash(ContentHash contentHash, ContentType contentType) {
+        return delegate.findPublishedByContentHash(contentHash, contentType);
+    }
+
+    public SearchCacheStats stats() {
+        long hitCount = hits.sum();
+        long requests = hitCount + misses.sum();
+        int size;
+        synchronized (pages) {
+            size = pages.size();
+        }
+        return new SearchCacheStats(size, hitCount, misses.sum(), requests == 0 ? 0 : (double) hitCount / requests,
+                evictions.sum(), expirations.sum(), invalidations.sum());
+    }
+
+    /**
+     * Hint: The write is only visible to other transactions once committed, so the pages are evicted after the
+     * transaction completes. Until then the version bumped by the write keeps the pages read meanwhile out.
+     */
+    private void afterWrite(BiPredicate<SearchKey, CachedPage> affected) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(affected);
+                }
+            });
+        } else {
+            invalidate(affected);
+        }
+    }
+
+    private void invalidate(BiPredicate<SearchKey, CachedPage> affected) {
+        synchronized (pages) {
+            writeVersion.incrementAndGet();
+            Iterator<Map.Entry<SearchKey, CachedPage>> iterator = pages.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<SearchKey, CachedPage> entry = iterator.next();
+                if (affected.test(entry.getKey(), entry.getValue())) {
+                    iterator.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    private void evictExcess() {
+        Iterator<SearchKey> eldest = pages.keySet().iterator();
+        while (pages.size() > properties.maxEntries()) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private static Set<AssetId> idsOf(AssetPage page) {
+        return page.assets().stream().map(Asset::id).collect(Collectors.toUnmodifiableSet());
+    }
+
+    private record CachedPage(AssetPage page, Set<AssetId> ids, Instant expiresAt) {
+    }
+
+    /**
+     * The search criteria normalized as the search applies them, so equivalent searches share the cached page.
+     */
+    record SearchKey(
+            Instant uploadDateStart,
+            Instant uploadDateEnd,
+            String filename,
+            String contentType,
+            SortDirection sortDirection,
+            int limit,
+            String pageToken
+    ) {
+        static SearchKey of(AssetSearchCriteria criteria) {
+            String filename = criteria.filename();
+            String contentType = criteria.contentType();
+            return new SearchKey(
+                    criteria.uploadDateStart(),
+                    criteria.uploadDateEnd(),
+                    filename == null || filename.isBlank()
+                            || filename.length() < AssetSearchPlan.MIN_FILENAME_FILTER_LENGTH ? null : filename,
+                    contentType == null || contentType.isBlank() ? null : contentType.toLowerCase(),
+                    criteria.sortDirection() == null ? SortDirection.ASC : criteria.sortDirection(),
+                    criteria.limit(),
+                    criteria.pageToken());
+        }
+
+        /**
+         * Whether the asset could be in a page of this search. Filename patterns the database interprets differently
+         * (wildcards, characters out of ASCII) are assumed to match.
+         */
+        boolean mayMatch(Asset asset) {
+            Instant uploadDate = asset.uploadDate();
+            if (uploadDate != null && uploadDateStart != null && uploadDate.isBefore(uploadDateStart)) {
+                return false;
+            }
+            if (uploadDate != null && uploadDateEnd != null && uploadDate.isAfter(uploadDateEnd)) {
+                return false;
+            }
+            if (contentType != null && asset.contentType() != null
+                    && !contentType.equalsIgnoreCase(asset.contentType().value())) {
+                return false;
+            }
+            if (filename == null || asset.filename() == null
+                    || filename.chars().anyMatch(c -> c >= 128 || c == '%' || c == '_' || c == '\\')) {
+                return true;
+            }
+            return asset.filename().value().toLowerCase(Locale.ROOT).contains(filename.toLowerCase(Locale.ROOT));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Rows whose filename may contain a pattern: the indexed ones listed in {@code ids}, and every row created after
+ * {@code indexedUpTo}, which the index may not have read yet.
+ */
+record FilenameCandidates(List<Long> ids, Instant indexedUpTo) {
+}
@@ -0,0 +1,131 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory trigram index over the filenames of the assets, used to resolve filename substring searches to candidate
+ * ids before querying the database. No B-tree index can serve {@code ILIKE '%pattern%'}, so without it every filename
+ * search scans the whole table.
+ * <p>
+ * Hint: The index is rebuilt from the table at startup, updated on every save of this instance, and catches up with
+ * the rows written by other instances on every refresh. Rows are read by {@code created_at}, the start of the
+ * transaction inserting them as told by the database, since ids taken from blocks of a pooled sequence are not
+ * inserted in order across instances. Rows created after {@code indexedUpTo} are always returned as candidates, so
+ * they can be found before being indexed. It trails the start of the last refresh by {@code commit-window}, which
+ * covers the rows created before the refresh but committed after it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FilenameIndex {
+    private static final String NOW_SQL = "SELECT now()";
+    private static final String LOAD_SQL = "SELECT id, filename FROM assets WHERE created_at > ?";
+    private static final int LOAD_FETCH_SIZE = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FilenameIndexProperties properties;
+
+    private final AtomicReference<Instant> indexedUpTo = new AtomicReference<>(Instant.EPOCH);
+    private volatile TrigramIndex index = new TrigramIndex();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        TrigramIndex rebuilt = new TrigramIndex();
+        Instant loadedUpTo = load(rebuilt, Instant.EPOCH);
+        index = rebuilt;
+        indexedUpTo.set(loadedUpTo);
+        ready = true;
+        log.info("Filename index rebuilt with {} filenames in {} ms", rebuilt.texts(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${asset-manager.filename-index.refresh-interval:30s}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+
+        Instant loadedUpTo = load(index, indexedUpTo.get());
+        indexedUpTo.accumulateAndGet(loadedUpTo, (current, loaded) -> loaded.isAfter(current) ? loaded : current);
+    }
+
+    /**
+     * Indexes the filename of a row written by this instance.
+     */
+    void add(long id, String filename) {
+        if (properties.enabled()) {
+            index.add(id, filename);
+        }
+    }
+
+    /**
+     * Rows whose filename may contain the pattern, or empty when the index can't narrow the search and the pattern
+     * has to be checked on every row.
+     */
+    Optional<FilenameCandidates> candidates(String pattern) {
+        if (!ready || !isIndexable(pattern)) {
+            return Optional.empty();
+        }
+
+        Instant upTo = indexedUpTo.get();
+        return index.candidates(pattern, properties.maxCandidates())
+                .map(ids -> new FilenameCandidates(Arrays.stream(ids).boxed().toList(), upTo));
+    }
+
+    public FilenameIndexStats stats() {
+        TrigramIndex current = index;
+        return new FilenameIndexStats(ready, current.texts(), current.trigrams(), current.postings(),
+                current.estimatedMemoryBytes(), indexedUpTo.get());
+    }
+
+    /**
+     * Hint: Wildcards are interpreted by the database, and characters out of ASCII may be lowercased differently
+     * by it, so those patterns are left to the database.
+     */
+    private static boolean isIndexable(String pattern) {
+        return pattern != null && pattern.chars().allMatch(c -> c < 128 && c != '%' && c != '_' && c != '\\');
+    }
+
+    /**
+     * Indexes the rows created after {@code after}, and returns up to when every row created is indexed.
+     */
+    private Instant load(TrigramIndex target, Instant after) {
+        return transactionTemplate.execute(status -> {
+            // Hint: now() is the start of this transaction. A row created a commit window before it was committed
+            //       before the query below, so it is either read now or was read by a former load
+            Instant startedAt = jdbcTemplate.queryForObject(NOW_SQL, OffsetDateTime.class).toInstant();
+            jdbcTemplate.query(connection -> {
+                // Hint: Postgres only streams the rows with a fetch size inside a transaction
+                PreparedStatement statement = connection.prepareStatement(LOAD_SQL);
+                statement.setFetchSize(LOAD_FETCH_SIZE);
+                statement.setObject(1, after.atOffset(ZoneOffset.UTC));
+                return statement;
+            }, resultSet -> {
+                target.add(resultSet.getLong(1), resultSet.getString(2));
+            });
+            return startedAt.minus(properties.commitWindow());
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "asset-manager.filename-index")
+public record FilenameIndexProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") int maxCandidates,
+        @DefaultValue("30s") Duration refreshInterval,
+        @DefaultValue("1m") Duration commitWindow
+) {
+}
@@ -0,0 +1,16 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import java.time.Instant;
+
+/**
+ * Size of the filename index. Rows created after {@code indexedUpTo} may not be indexed yet.
+ */
+public record FilenameIndexStats(
+        boolean ready,
+        long filenames,
+        int trigrams,
+        long postings,
+        long estimatedMemoryBytes,
+        Instant indexedUpTo
+) {
+}
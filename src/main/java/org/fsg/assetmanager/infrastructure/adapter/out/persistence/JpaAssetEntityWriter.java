@@ -0,0 +1,30 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.AssetJpaRepository;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.entity.AssetEntity;
+
+import java.util.List;
+
+/**
+ * Inserts through the JPA repository, so the entity is managed by the persistence context of the transaction.
+ */
+@RequiredArgsConstructor
+public class JpaAssetEntityWriter implements AssetEntityWriter {
+    private final AssetJpaRepository repository;
+
+    @Override
+    public AssetEntity insert(AssetEntity entity) {
+        // Hint: With a sequence id the insert would wait until the commit, so it is flushed right away to report a
+        //       duplicated external id here, as an AssetAlreadyExistsException
+        return repository.saveAndFlush(entity);
+    }
+
+    @Override
+    public List<AssetEntity> insertAll(List<AssetEntity> entities) {
+        // Hint: Ids are taken from the pooled sequence, so the flush sends the inserts in JDBC batches
+        List<AssetEntity> saved = repository.saveAll(entities);
+        repository.flush();
+        return saved;
+    }
+}
@@ -0,0 +1,130 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.port.out.PublishJob;
+import org.fsg.assetmanager.domain.port.out.PublishJobRepository;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.AssetJpaRepository;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.PublishJobJpaRepository;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.entity.AssetEntity;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.entity.PublishJobEntity;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.mapper.AssetEntityMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class PublishJobRepositoryAdapter implements PublishJobRepository {
+    // Hint: Job ids are identity columns, which Hibernate doesn't insert in batches, so the jobs of many assets are
+    //       inserted by a single statement instead
+    private static final String ENQUEUE_ALL_SQL = """
+            INSERT INTO publish_jobs (asset_external_id, available_at, attempts, created_at)
+            SELECT t.asset_external_id, ?, 0, ?
+            FROM unnest(?::text[]) AS t(asset_external_id)
+            """;
+
+    private PublishJobJpaRepository repository;
+    private AssetJpaRepository assetRepository;
+    private AssetEntityMapper mapper;
+    private JdbcTemplate jdbcTemplate;
+    private Clock clock;
+
+    @Override
+    public void enqueue(AssetId assetId) {
+        Instant now = clock.instant();
+        repository.save(PublishJobEntity.builder()
+                .assetExternalId(assetId.value())
+                .availableAt(now)
+                .createdAt(now)
+                .build());
+    }
+
+    @Override
+    public void enqueueAll(Collection<AssetId> assetIds) {
+        if (assetIds.isEmpty()) {
+            return;
+        }
+
+        OffsetDateTime now = clock.instant().atOffset(ZoneOffset.UTC);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ENQUEUE_ALL_SQL);
+            statement.setObject(1, now);
+            statement.setObject(2, now);
+            statement.setArray(3, connection.createArrayOf("text", assetIds.stream().map(AssetId::value).toArray()));
+            return statement;
+        });
+    }
+
+    @Override
+    @Transactional
+    public List<PublishJob> claim(int limit, Duration lease) {
+        Instant now = clock.instant();
+        List<PublishJobEntity> locked = repository.lockAvailable(now, limit);
+        if (locked.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, AssetEntity> assets = assetRepository
+                .findAllByExternalIdIn(locked.stream().map(PublishJobEntity::getAssetExternalId).toList())
+                .stream()
+                .collect(Collectors.toMap(AssetEntity::getExternalId, Function.identity()));
+
+        List<PublishJob> claimed = new ArrayList<>(locked.size());
+        for (PublishJobEntity job : locked) {
+            AssetEntity asset = assets.get(job.getAssetExternalId());
+            if (asset == null) {
+                log.warn("Publish job '{}' discarded, asset with ID '{}' does not exist",
+                        job.getId(), job.getAssetExternalId());
+                repository.delete(job);
+                continue;
+            }
+            // Changes are flushed on commit, releasing the row locks with the lease already taken
+            job.setAvailableAt(now.plus(lease));
+            job.setAttempts(job.getAttempts() + 1);
+            claimed.add(new PublishJob(job.getId(), mapper.toDomain(asset), job.getAttempts()));
+        }
+        return claimed;
+    }
+
+    @Override
+    public void complete(PublishJob job) {
+        repository.deleteById(job.id());
+    }
+
+    @Override
+    public void completeAll(Collection<PublishJob> jobs) {
+        if (!jobs.isEmpty()) {
+            repository.deleteAllByIdInBatch(jobs.stream().map(PublishJob::id).distinct().toList());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void reschedule(PublishJob job, Duration delay) {
+        repository.updateAvailableAt(job.id(), clock.instant().plus(delay));
+    }
+
+    @Override
+    @Transactional
+    public void release(Collection<PublishJob> jobs) {
+        if (!jobs.isEmpty()) {
+            repository.release(jobs.stream().map(PublishJob::id).distinct().toList(), clock.instant());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "asset-manager.search-cache")
+public record SearchCacheProperties(
+        @DefaultValue("1000") int maxEntries,
+        @DefaultValue("10s") Duration ttl
+) {
+}
@@ -0,0 +1,12 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+public record SearchCacheStats(
+        int size,
+        long hits,
+        long misses,
+        double hitRate,
+        long evictions,
+        long expirations,
+        long invalidations
+) {
+}
@@ -0,0 +1,45 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.entity.AssetEntity;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * Inserts through a Hibernate {@link StatelessSession}: a plain {@code INSERT} with the id taken from the pooled
+ * sequence, without persistence context, merge, dirty checking nor flush of other entities.
+ * <p>
+ * Hint: The session is opened on the connection of the current transaction, the same one JdbcTemplate uses, so the
+ * insert commits or rolls back with the rest of the transaction. Without a transaction, the connection is in
+ * auto-commit mode and the insert is committed right away.
+ */
+@RequiredArgsConstructor
+public class StatelessAssetEntityWriter implements AssetEntityWriter {
+    private final SessionFactory sessionFactory;
+    private final DataSource dataSource;
+
+    @Override
+    public AssetEntity insert(AssetEntity entity) {
+        return insertAll(List.of(entity)).getFirst();
+    }
+
+    @Override
+    public List<AssetEntity> insertAll(List<AssetEntity> entities) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (StatelessSession session = sessionFactory.openStatelessSession(connection)) {
+            entities.forEach(session::insert);
+            return entities;
+        } catch (ConstraintViolationException e) {
+            throw new DataIntegrityViolationException(e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
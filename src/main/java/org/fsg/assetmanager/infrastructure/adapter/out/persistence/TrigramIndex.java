@@ -0,0 +1,178 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from the trigrams (every three consecutive characters, lowercased) of a text to the ids of the rows
+ * whose text contains them.
+ * <p>
+ * Hint: A text containing a pattern contains every trigram of the pattern, so intersecting their id lists gives a
+ * superset of the rows matching it. The caller still checks the pattern on the candidates. Id lists are kept sorted
+ * in primitive arrays: ids are mostly added in ascending order, so adding one is usually an append.
+ */
+final class TrigramIndex {
+    static final int TRIGRAM_LENGTH = 3;
+
+    // Rough sizes of a HashMap node with its boxed key, and of a posting list without its ids
+    private static final long ENTRY_OVERHEAD_BYTES = 48;
+    private static final long POSTING_LIST_OVERHEAD_BYTES = 40;
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long texts;
+
+    /**
+     * Indexes a text under the given id. Adding the same id again only adds the trigrams it didn't have.
+     */
+    void add(long id, String text) {
+        Set<Long> trigrams = trigramsOf(text);
+        if (trigrams.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            boolean added = false;
+            for (Long trigram : trigrams) {
+                added |= postings.computeIfAbsent(trigram, key -> new PostingList()).add(id);
+            }
+            if (added) {
+                texts++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the texts that may contain the pattern, in ascending order, or empty when the index can't narrow the
+     * search: the pattern is shorter than a trigram, or more than {@code maxCandidates} texts may contain it.
+     */
+    Optional<long[]> candidates(String pattern, int maxCandidates) {
+        Set<Long> trigrams = trigramsOf(pattern);
+        if (trigrams.isEmpty()) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(trigrams.size());
+            for (Long trigram : trigrams) {
+                PostingList list = postings.get(trigram);
+                if (list == null) {
+                    return Optional.of(new long[0]);
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            // Hint: Starting from the shortest list bounds the work by its length, each other list is binary searched
+            long[] result = Arrays.copyOf(lists.getFirst().ids, lists.getFirst().size);
+            int size = result.length;
+            for (int i = 1; i < lists.size() && size > 0; i++) {
+                size = retainAll(result, size, lists.get(i));
+            }
+            return size > maxCandidates ? Optional.empty() : Optional.of(Arrays.copyOf(result, size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long texts() {
+        lock.readLock().lock();
+        try {
+            return texts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int trigrams() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long postings() {
+        lock.readLock().lock();
+        try {
+            return postings.values().stream().mapToLong(PostingList::size).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long estimatedMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            return postings.values().stream()
+                    .mapToLong(list -> ENTRY_OVERHEAD_BYTES + POSTING_LIST_OVERHEAD_BYTES + 8L * list.ids.length)
+                    .sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The trigrams of the text packed in a long each. Characters are lowercased one by one, so the trigrams keep the
+     * positions of the original text.
+     */
+    static Set<Long> trigramsOf(String text) {
+        if (text == null || text.length() < TRIGRAM_LENGTH) {
+            return Set.of();
+        }
+
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(((long) Character.toLowerCase(text.charAt(i)) << 32)
+                    | ((long) Character.toLowerCase(text.charAt(i + 1)) << 16)
+                    | Character.toLowerCase(text.charAt(i + 2)));
+        }
+        return trigrams;
+    }
+
+    private static int retainAll(long[] ids, int size, PostingList list) {
+        int retained = 0;
+        for (int i = 0; i < size; i++) {
+            if (list.contains(ids[i])) {
+                ids[retained++] = ids[i];
+            }
+        }
+        return retained;
+    }
+
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        boolean add(long id) {
+            int position = size == 0 || id > ids[size - 1] ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                position = -position - 1;
+            } else if (position < size) {
+                return false;
+            }
+
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1));
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+            return true;
+        }
+    }
+}
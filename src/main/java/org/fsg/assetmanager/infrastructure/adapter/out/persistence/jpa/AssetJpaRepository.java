@@ -1,10 +1,50 @@
 package org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa;
 
+import org.fsg.assetmanager.domain.model.AssetStatus;
 import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.entity.AssetEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface AssetJpaRepository extends
         JpaRepository<AssetEntity, Long>,
         JpaSpecificationExecutor<AssetEntity> {
+
+    List<AssetEntity> findAllByExternalIdIn(Collection<String> externalIds);
+
+    Optional<AssetEntity> findFirstByContentHashAndContentTypeAndStatus(
+            String contentHash, String contentType, AssetStatus status);
+
+    // Hint: Both queries walk the (status, upload_date, external_id) index in order, so a batch reads only the rows
+    //       it returns plus the ones skipped because they have a job. The job is found by its unique asset index.
+    @Query(value = """
+            SELECT a.* FROM assets a
+            WHERE a.status = 'PENDING' AND a.upload_date < :uploadedBefore
+            AND NOT EXISTS (SELECT 1 FROM publish_jobs j WHERE j.asset_external_id = a.external_id)
+            ORDER BY a.upload_date, a.external_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<AssetEntity> findPendingWithoutPublishJob(
+            @Param("uploadedBefore") Instant uploadedBefore,
+            @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT a.* FROM assets a
+            WHERE a.status = 'PENDING' AND a.upload_date < :uploadedBefore
+            AND (a.upload_date, a.external_id) > (:afterUploadDate, :afterExternalId)
+            AND NOT EXISTS (SELECT 1 FROM publish_jobs j WHERE j.asset_external_id = a.external_id)
+            ORDER BY a.upload_date, a.external_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<AssetEntity> findPendingWithoutPublishJobAfter(
+            @Param("uploadedBefore") Instant uploadedBefore,
+            @Param("afterUploadDate") Instant afterUploadDate,
+            @Param("afterExternalId") String afterExternalId,
+            @Param("limit") int limit);
 }
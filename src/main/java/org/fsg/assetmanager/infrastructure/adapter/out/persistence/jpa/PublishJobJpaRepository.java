@@ -0,0 +1,34 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa;
+
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.entity.PublishJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface PublishJobJpaRepository extends JpaRepository<PublishJobEntity, Long> {
+    // Hint: SKIP LOCKED lets concurrent dispatchers (threads or nodes) claim disjoint batches without waiting
+    @Query(value = """
+            SELECT * FROM publish_jobs
+            WHERE available_at <= :now
+            ORDER BY available_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<PublishJobEntity> lockAvailable(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE PublishJobEntity j SET j.availableAt = :availableAt WHERE j.id = :id")
+    int updateAvailableAt(@Param("id") long id, @Param("availableAt") Instant availableAt);
+
+    // Hint: A released job was never started, so its attempt doesn't count towards the retry limit
+    @Modifying
+    @Query("""
+            UPDATE PublishJobEntity j SET j.availableAt = :availableAt, j.attempts = j.attempts - 1
+            WHERE j.id IN :ids AND j.attempts > 0
+            """)
+    int release(@Param("ids") List<Long> ids, @Param("availableAt") Instant availableAt);
+}
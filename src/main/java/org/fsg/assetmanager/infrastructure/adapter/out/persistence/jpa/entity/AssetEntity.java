@@ -2,6 +2,7 @@ package org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.fsg.assetmanager.domain.model.AssetStatus;
 
 import java.time.Instant;
@@ -9,8 +10,11 @@ import java.time.Instant;
 @Entity
 @Table(name = "assets", indexes = {
         @Index(name = "idx_external_id", columnList = "external_id", unique = true),
-        @Index(name = "idx_upload_date", columnList = "upload_date"),
-        @Index(name = "idx_content_type", columnList = "content_type")
+        @Index(name = "idx_upload_date_id", columnList = "upload_date, id"),
+        @Index(name = "idx_content_type_upload_date_id", columnList = "content_type, upload_date, id"),
+        @Index(name = "idx_status_upload_date_external_id", columnList = "status, upload_date, external_id"),
+        @Index(name = "idx_content_hash", columnList = "content_hash"),
+        @Index(name = "idx_created_at", columnList = "created_at")
 })
 @Getter
 @Setter
@@ -18,8 +22,15 @@ import java.time.Instant;
 @AllArgsConstructor(access = AccessLevel.PACKAGE)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class AssetEntity {
+    // Hint: Ids are taken from a pooled sequence, so a block of them is reserved per round trip and an insert doesn't
+    //       need the row to be written to know its id, which lets Hibernate batch the inserts. The sequence must be
+    //       incremented by the allocation size, so it isn't assets_id_seq, incremented by 1 for the former identity
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assets_pooled_id_seq")
+    @SequenceGenerator(name = "assets_pooled_id_seq", sequenceName = "assets_pooled_id_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, unique = true, updatable = false)
@@ -44,6 +55,15 @@ public class AssetEntity {
     @Column
     private String url;
 
+    // Hex encoded SHA-256 of the content. Null for assets uploaded before it was computed
+    @Column(length = 64)
+    private String contentHash;
+
+    // Start of the transaction that inserted the row, set by the database so every instance uses the same clock
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("now()")
+    private Instant createdAt;
+
     public AssetEntity(String externalId, String filename, String contentType, String url, Long size,
                        Instant uploadDate) {
         this.externalId = externalId;
@@ -0,0 +1,34 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "publish_jobs", indexes = {
+        @Index(name = "idx_publish_jobs_asset_external_id", columnList = "asset_external_id", unique = true),
+        @Index(name = "idx_publish_jobs_available_at", columnList = "available_at")
+})
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PublishJobEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, updatable = false)
+    private String assetExternalId;
+
+    @Column(nullable = false)
+    private Instant availableAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+}
@@ -19,10 +19,11 @@ public class AssetEntityMapper {
                 .externalId(asset.id().value())
                 .filename(asset.filename().value())
                 .contentType(lowerContentType)
-                .size((long) asset.fileSize().value())
+                .size(asset.fileSize().value())
                 .uploadDate(asset.uploadDate())
                 .status(asset.status())
                 .url(asset.publishedUrl())
+                .contentHash(asset.contentHash() == null ? null : asset.contentHash().value())
                 .build();
     }
 
@@ -35,10 +36,11 @@ public class AssetEntityMapper {
                 new AssetId((entity.getExternalId())),
                 new Filename(entity.getFilename()),
                 new ContentType(entity.getContentType()),
-                new FileSize(Math.toIntExact(entity.getSize())),
+                new FileSize(entity.getSize()),
                 entity.getUploadDate(),
                 entity.getStatus(),
-                entity.getUrl()
+                entity.getUrl(),
+                entity.getContentHash() == null ? null : new ContentHash(entity.getContentHash())
         );
     }
 }
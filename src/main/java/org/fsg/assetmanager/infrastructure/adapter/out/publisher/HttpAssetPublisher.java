@@ -0,0 +1,284 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.publisher;
+
+import jakarta.annotation.PreDestroy;
+import org.fsg.assetmanager.domain.exception.AssetPublishException;
+import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.AssetContent;
+import org.fsg.assetmanager.domain.port.out.AssetPublisher;
+import org.fsg.assetmanager.domain.port.out.PublishedUrl;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes assets with a {@code PUT {base-url}/{asset-id}} request. The published URL is taken from the
+ * {@code Location} header of the response, or from its body when the header is missing.
+ * <p>
+ * A single {@link HttpClient} is shared by all the requests, so connections are reused and requests to the same
+ * destination are multiplexed when HTTP/2 is available. Bodies are streamed from the spooled file.
+ * <p>
+ * Spooled files of at least {@code multipart.threshold} are published as a multipart upload instead:
+ * <ol>
+ *     <li>{@code POST {base-url}/{asset-id}/uploads} starts the upload, and the response body is its ID.</li>
+ *     <li>{@code PUT {base-url}/{asset-id}/uploads/{upload-id}/parts/{n}} publishes every part, numbered from 1, up
+ *     to {@code multipart.parallelism} of them at the same time.</li>
+ *     <li>{@code POST {base-url}/{asset-id}/uploads/{upload-id}} completes it, and its response is handled as the one
+ *     of a single {@code PUT}.</li>
+ * </ol>
+ * A failed multipart upload is aborted with {@code DELETE {base-url}/{asset-id}/uploads/{upload-id}}.
+ */
+public class HttpAssetPublisher implements AssetPublisher {
+    static final String FILENAME_HEADER = "X-Filename";
+    static final String PART_COUNT_HEADER = "X-Part-Count";
+
+    private final HttpClient client;
+    private final URI baseUrl;
+    private final Duration requestTimeout;
+    private final long multipartThreshold;
+    private final long partSize;
+    private final int partParallelism;
+
+    public HttpAssetPublisher(PublisherProperties properties) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.connectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.baseUrl = properties.baseUrl();
+        this.requestTimeout = properties.requestTimeout();
+        this.multipartThreshold = properties.multipart().threshold().toBytes();
+        this.partSize = properties.multipart().partSize().toBytes();
+        this.partParallelism = properties.multipart().parallelism();
+    }
+
+    @Override
+    public PublishedUrl publish(Asset asset, AssetContent content) {
+        Optional<Path> file = content.path();
+        if (file.isPresent() && content.size() >= multipartThreshold) {
+            return publishInParts(asset, file.get(), content.size());
+        }
+
+        HttpRequest request = describedRequest(asset, targetOf(asset))
+                .PUT(bodyOf(asset, content))
+                .build();
+        return toPublishedUrl(asset, send(asset, request));
+    }
+
+    /**
+     * Destination of the requests, used to isolate failures of different publishers.
+     */
+    public String destinationOf(Asset asset) {
+        return baseUrl.getAuthority();
+    }
+
+    @PreDestroy
+    public void close() {
+        client.close();
+    }
+
+    private PublishedUrl publishInParts(Asset asset, Path file, long size) {
+        URI uploads = URI.create(targetOf(asset) + "/uploads");
+        HttpResponse<String> started = send(asset, describedRequest(asset, uploads)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build());
+        requireSuccess(asset, started);
+        String uploadId = started.body().strip();
+        if (uploadId.isEmpty()) {
+            throw AssetPublishException.rejected(asset.id(), "publisher response has no upload ID");
+        }
+
+        URI upload = URI.create(uploads + "/" + URLEncoder.encode(uploadId, StandardCharsets.UTF_8));
+        try {
+            int parts = publishParts(asset, upload, file, size);
+            return toPublishedUrl(asset, send(asset, HttpRequest.newBuilder(upload)
+                    .timeout(requestTimeout)
+                    .header(PART_COUNT_HEADER, Integer.toString(parts))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build()));
+        } catch (RuntimeException e) {
+            // Hint: Best effort, the publisher is expected to expire the uploads never completed anyway
+            client.sendAsync(HttpRequest.newBuilder(upload).timeout(requestTimeout).DELETE().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            throw e;
+        }
+    }
+
+    private int publishParts(Asset asset, URI upload, Path file, long size) {
+        int parts = (int) ((size + partSize - 1) / partSize);
+        Semaphore permits = new Semaphore(partParallelism);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<CompletableFuture<?>> published = new ArrayList<>(parts);
+        try {
+            for (int part = 0; part < parts && !failed.get(); part++) {
+                permits.acquire();
+                long start = part * partSize;
+                long length = Math.min(partSize, size - start);
+                HttpRequest request = HttpRequest.newBuilder(URI.create(upload + "/parts/" + (part + 1)))
+                        .timeout(requestTimeout)
+                        .PUT(HttpRequest.BodyPublishers.fromPublisher(
+                                HttpRequest.BodyPublishers.ofInputStream(() -> new FileSlice(file, start, length)),
+                                length))
+                        .build();
+                published.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                        .thenAccept(response -> requireSuccess(asset, response))
+                        .whenComplete((ignored, e) -> {
+                            if (e != null) {
+                                failed.set(true);
+                            }
+                            permits.release();
+                        }));
+            }
+            CompletableFuture.allOf(published.toArray(CompletableFuture[]::new)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            published.forEach(future -> future.cancel(true));
+            throw new AssetPublishException(asset.id(), "interrupted", true, e);
+        } catch (ExecutionException e) {
+            throw failureOf(asset, e.getCause());
+        }
+        return parts;
+    }
+
+    private HttpRequest.Builder describedRequest(Asset asset, URI target) {
+        return HttpRequest.newBuilder(target)
+                .timeout(requestTimeout)
+                .header("Content-Type", asset.contentType().value())
+                .header(FILENAME_HEADER, URLEncoder.encode(asset.filename().value(), StandardCharsets.UTF_8));
+    }
+
+    private HttpResponse<String> send(Asset asset, HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw failureOf(asset, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssetPublishException(asset.id(), "interrupted", true, e);
+        }
+    }
+
+    private static AssetPublishException failureOf(Asset asset, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        return switch (cause) {
+            case AssetPublishException e -> e;
+            case HttpTimeoutException e -> new AssetPublishException(asset.id(), "request timed out", true, e);
+            case NoSuchFileException e ->
+                    new AssetPublishException(asset.id(), "content is no longer available", false, e);
+            case UncheckedIOException e -> failureOf(asset, e.getCause());
+            default -> new AssetPublishException(asset.id(), cause.getMessage(), true, cause);
+        };
+    }
+
+    private URI targetOf(Asset asset) {
+        String base = baseUrl.toString();
+        return URI.create((base.endsWith("/") ? base : base + "/")
+                + URLEncoder.encode(asset.id().value(), StandardCharsets.UTF_8));
+    }
+
+    private static HttpRequest.BodyPublisher bodyOf(Asset asset, AssetContent content) {
+        Optional<Path> file = content.path();
+        if (file.isPresent()) {
+            try {
+                return HttpRequest.BodyPublishers.ofFile(file.get());
+            } catch (FileNotFoundException e) {
+                throw new AssetPublishException(asset.id(), "content is no longer available", false, e);
+            }
+        }
+
+        // Hint: Without a backing file the content is streamed, never copied to an array
+        return HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> {
+                    try {
+                        return content.openStream();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }),
+                content.size());
+    }
+
+    private static PublishedUrl toPublishedUrl(Asset asset, HttpResponse<String> response) {
+        requireSuccess(asset, response);
+        return response.headers()
+                .firstValue("Location")
+                .or(() -> Optional.of(response.body().strip()).filter(body -> !body.isEmpty()))
+                .map(PublishedUrl::new)
+                .orElseThrow(() -> AssetPublishException.rejected(asset.id(), "publisher response has no URL"));
+    }
+
+    private static void requireSuccess(Asset asset, HttpResponse<String> response) {
+        int status = response.statusCode();
+        if (status >= 500 || status == 408 || status == 429) {
+            throw new AssetPublishException(asset.id(), "publisher responded with status " + status, true);
+        }
+        if (status < 200 || status >= 300) {
+            throw AssetPublishException.rejected(asset.id(), "publisher responded with status " + status);
+        }
+    }
+
+    /**
+     * Stream of a part of a file, read with positional reads so the parts of a file are read in parallel.
+     */
+    private static final class FileSlice extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        private FileSlice(Path file, long start, long length) {
+            try {
+                this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.position = start;
+            this.end = start + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int read = channel.read(ByteBuffer.wrap(bytes, offset, (int) Math.min(length, end - position)), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.publisher;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "asset-manager.publisher")
+public record PublisherProperties(
+        @DefaultValue("http://localhost:8081/assets") URI baseUrl,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("30s") Duration requestTimeout,
+        @DefaultValue Multipart multipart
+) {
+    /**
+     * Files of at least {@code threshold} are published in parts of {@code partSize}, up to {@code parallelism} of
+     * them at the same time.
+     */
+    public record Multipart(
+            @DefaultValue("64MB") DataSize threshold,
+            @DefaultValue("16MB") DataSize partSize,
+            @DefaultValue("4") int parallelism
+    ) {
+    }
+}
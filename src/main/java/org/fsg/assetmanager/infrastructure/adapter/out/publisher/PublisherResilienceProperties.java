@@ -0,0 +1,18 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.publisher;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "asset-manager.publisher.resilience")
+public record PublisherResilienceProperties(
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("100ms") Duration initialBackoff,
+        @DefaultValue("2s") Duration maxBackoff,
+        @DefaultValue("5") int failureThreshold,
+        @DefaultValue("30s") Duration openDuration,
+        @DefaultValue("0.2") double retryBudgetRatio,
+        @DefaultValue("10") int minRetries
+) {
+}
@@ -0,0 +1,144 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.publisher;
+
+import lombok.extern.slf4j.Slf4j;
+import org.fsg.assetmanager.domain.exception.AssetPublishException;
+import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.AssetContent;
+import org.fsg.assetmanager.domain.port.out.AssetPublisher;
+import org.fsg.assetmanager.domain.port.out.PublishedUrl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Decorates an {@link AssetPublisher} with bounded retries, exponential backoff with full jitter, a retry budget and a
+ * circuit breaker per destination.
+ * <p>
+ * Only retryable {@link AssetPublishException}s are retried. While a circuit is open the calls fail fast with a
+ * retryable exception, so the publish job is rescheduled instead of blocking a Virtual Thread.
+ */
+@Slf4j
+public class ResilientAssetPublisher implements AssetPublisher {
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(Duration duration) throws InterruptedException;
+    }
+
+    private final AssetPublisher delegate;
+    private final Function<Asset, String> destinationResolver;
+    private final PublisherResilienceProperties properties;
+    private final Clock clock;
+    private final Sleeper sleeper;
+    private final RetryBudget retryBudget;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder shortCircuited = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    public ResilientAssetPublisher(
+            AssetPublisher delegate,
+            Function<Asset, String> destinationResolver,
+            PublisherResilienceProperties properties,
+            Clock clock) {
+        this(delegate, destinationResolver, properties, clock, Thread::sleep);
+    }
+
+    ResilientAssetPublisher(
+            AssetPublisher delegate,
+            Function<Asset, String> destinationResolver,
+            PublisherResilienceProperties properties,
+            Clock clock,
+            Sleeper sleeper) {
+        this.delegate = delegate;
+        this.destinationResolver = destinationResolver;
+        this.properties = properties;
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.retryBudget = new RetryBudget(properties.retryBudgetRatio(), properties.minRetries());
+    }
+
+    @Override
+    public PublishedUrl publish(Asset asset, AssetContent content) {
+        String destination = destinationResolver.apply(asset);
+        CircuitBreaker circuitBreaker = circuitBreakers.computeIfAbsent(destination,
+                key -> new CircuitBreaker(properties.failureThreshold(), properties.openDuration(), clock));
+        retryBudget.recordRequest();
+
+        for (int attempt = 1; ; attempt++) {
+            if (!circuitBreaker.tryAcquire()) {
+                shortCircuited.increment();
+                throw new AssetPublishException(asset.id(), "circuit breaker is open for " + destination, true);
+            }
+
+            try {
+                PublishedUrl published = delegate.publish(asset, content);
+                circuitBreaker.recordSuccess();
+                return published;
+            } catch (AssetPublishException e) {
+                if (!e.isRetryable()) {
+                    // A destination that answered is healthy even if it rejected the request. A local failure, like
+                    // a content no longer available, says nothing about it, so the call only gives its slot back
+                    if (e.isRejected()) {
+                        circuitBreaker.recordSuccess();
+                    } else {
+                        circuitBreaker.release();
+                    }
+                    throw e;
+                }
+                circuitBreaker.recordFailure();
+                if (attempt >= properties.maxAttempts()) {
+                    throw e;
+                }
+                if (!retryBudget.tryWithdraw()) {
+                    budgetExhausted.increment();
+                    throw e;
+                }
+                retries.increment();
+                backoff(asset, attempt, e);
+            } catch (Throwable e) {
+                // Hint: Errors are recorded too, or a half-open circuit would keep its trial call in flight forever
+                circuitBreaker.recordFailure();
+                throw e;
+            }
+        }
+    }
+
+    public Map<String, String> circuitStates() {
+        return circuitBreakers.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().state().name()));
+    }
+
+    public long retries() {
+        return retries.sum();
+    }
+
+    public long shortCircuited() {
+        return shortCircuited.sum();
+    }
+
+    public long budgetExhausted() {
+        return budgetExhausted.sum();
+    }
+
+    private void backoff(Asset asset, int attempt, AssetPublishException cause) {
+        // Full jitter: a random delay between 0 and the exponential backoff spreads retries of concurrent callers
+        long ceiling = Math.min(properties.maxBackoff().toMillis(),
+                properties.initialBackoff().toMillis() << Math.min(attempt - 1, 30));
+        Duration delay = Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        log.warn("Asset with ID '{}' failed to publish on attempt {}, retrying in {} ms: {}",
+                asset.id(), attempt, delay.toMillis(), cause.getMessage());
+        try {
+            sleeper.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.publisher;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits retries to a ratio of the requests. Every request deposits {@code ratio} tokens and every retry withdraws
+ * one, so during an outage retries cannot multiply the load sent to the destination.
+ * <p>
+ * Hint: Tokens are stored in thousandths to keep the counter lock-free.
+ */
+class RetryBudget {
+    private static final long SCALE = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    RetryBudget(double ratio, int minRetries) {
+        this.depositPerRequest = Math.round(ratio * SCALE);
+        this.maxBalance = Math.max(minRetries, 1) * SCALE * 10;
+        this.balance = new AtomicLong(minRetries * SCALE);
+    }
+
+    void recordRequest() {
+        balance.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(maxBalance, current + deposit));
+    }
+
+    boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+}
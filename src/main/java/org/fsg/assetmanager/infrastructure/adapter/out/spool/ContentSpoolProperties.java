@@ -0,0 +1,24 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.spool;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * The directory has no default: it must be durable and shared by every instance, since any of them may publish a
+ * content another one spooled.
+ */
+@ConfigurationProperties(prefix = "asset-manager.spool")
+public record ContentSpoolProperties(
+        Path directory,
+        @DefaultValue("24GB") DataSize capacity
+) {
+    public ContentSpoolProperties {
+        if (directory == null) {
+            throw new IllegalArgumentException(
+                    "asset-manager.spool.directory must be set to a durable directory shared by every instance");
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.spool;
+
+import lombok.extern.slf4j.Slf4j;
+import org.fsg.assetmanager.domain.exception.ContentSpoolException;
+import org.fsg.assetmanager.domain.model.AssetContent;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.port.out.ContentSpool;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Spools asset contents to a bounded directory so that the heap used per upload does not depend on the file size.
+ * Contents are copied with {@link FileChannel#transferFrom} and read back through file channels. The directory is
+ * durable and shared by every instance, so a content is found again after a restart and by whichever instance claims
+ * its publish job or sweeps its asset.
+ * <p>
+ * Hint: Every instance counts the bytes it spools and releases, and the bytes in use are counted again from the
+ * directory every {@code reconcile-interval}. The capacity is shared, so it may be exceeded by what other instances
+ * spooled since the last count.
+ * <p>
+ * Hint: Contents already backed by a file, like the assembled content of an upload session, are hard linked into the
+ * directory instead of being copied when both are in the same file system. Their owner deletes its own link.
+ */
+@Slf4j
+@Component
+public class FileSystemContentSpool implements ContentSpool {
+    private static final String FILE_SUFFIX = ".content";
+    private static final long TRANSFER_CHUNK_SIZE = 8L * 1024 * 1024;
+
+    private final Path directory;
+    private final long capacity;
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    public FileSystemContentSpool(ContentSpoolProperties properties) {
+        this.directory = properties.directory();
+        this.capacity = properties.capacity().toBytes();
+        initializeDirectory();
+    }
+
+    @Override
+    public AssetContent spool(AssetId assetId, AssetContent source) {
+        long size = source.size();
+        reserve(assetId, size);
+
+        Path file = fileOf(assetId);
+        try {
+            long written = transfer(source, file, size);
+            if (written != size) {
+                throw new ContentSpoolException(assetId,
+                        String.format("expected %d bytes but %d were received", size, written));
+            }
+            return new SpooledContent(file, written);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            usedBytes.addAndGet(-size);
+            if (e instanceof ContentSpoolException spoolException) {
+                throw spoolException;
+            }
+            throw new ContentSpoolException(assetId, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<AssetContent> find(AssetId assetId) {
+        Path file = fileOf(assetId);
+        try {
+            return Optional.of(new SpooledContent(file, Files.size(file)));
+        } catch (NoSuchFileException e) {
+            // Hint: A missing directory means the shared storage is not mounted, not that the content is gone
+            if (!Files.isDirectory(directory)) {
+                throw new ContentSpoolException(assetId, "spool directory is not available: " + directory, e);
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new ContentSpoolException(assetId, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void release(AssetId assetId) {
+        Path file = fileOf(assetId);
+        try {
+            long size = Files.size(file);
+            Files.delete(file);
+            // Hint: The content may have been spooled by another instance, so the count never goes below zero
+            usedBytes.accumulateAndGet(size, (used, released) -> Math.max(used - released, 0));
+        } catch (NoSuchFileException e) {
+            log.debug("Content of asset with ID '{}' was already released", assetId.value());
+        } catch (IOException e) {
+            log.warn("Content of asset with ID '{}' could not be released: {}", assetId.value(), e.getMessage());
+        }
+    }
+
+    /**
+     * Counts again the bytes in use, including those spooled and released by other instances.
+     */
+    @Scheduled(fixedDelayString = "${asset-manager.spool.reconcile-interval:1m}")
+    public void reconcile() {
+        try {
+            usedBytes.set(countUsedBytes());
+        } catch (IOException e) {
+            log.warn("Bytes in use of spool directory '{}' could not be counted: {}", directory, e.getMessage());
+        }
+    }
+
+    public long usedBytes() {
+        return usedBytes.get();
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    private void reserve(AssetId assetId, long size) {
+        long current;
+        do {
+            current = usedBytes.get();
+            if (current + size > capacity) {
+                throw new ContentSpoolException(assetId,
+                        String.format("spool capacity exceeded (%d of %d bytes in use)", current, capacity));
+            }
+        } while (!usedBytes.compareAndSet(current, current + size));
+    }
+
+    private long transfer(AssetContent source, Path file, long expectedSize) throws IOException {
+        Optional<Path> sourceFile = source.path();
+        if (sourceFile.isPresent()) {
+            try {
+                Files.createLink(file, sourceFile.get());
+                return Files.size(file);
+            } catch (UnsupportedOperationException | FileSystemException e) {
+                log.debug("File '{}' cannot be linked into the spool, it is copied: {}", sourceFile.get(),
+                        e.getMessage());
+            }
+        }
+        return copy(source, file, expectedSize);
+    }
+
+    private long copy(AssetContent source, Path file, long expectedSize) throws IOException {
+        try (ReadableByteChannel in = source.openChannel();
+             FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long written = 0;
+            long transferred;
+            // Hint: Reading one byte past the expected size detects sources larger than declared
+            while ((transferred = out.transferFrom(in, written, Math.min(TRANSFER_CHUNK_SIZE,
+                    expectedSize - written + 1))) > 0) {
+                written += transferred;
+                if (written > expectedSize) {
+                    break;
+                }
+            }
+            return written;
+        }
+    }
+
+    private Path fileOf(AssetId assetId) {
+        return directory.resolve(assetId.value() + FILE_SUFFIX);
+    }
+
+    private void initializeDirectory() {
+        try {
+            Files.createDirectories(directory);
+            // Hint: Contents spooled before a restart are kept, their publish jobs are still pending
+            usedBytes.set(countUsedBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Spool directory cannot be initialized: " + directory, e);
+        }
+    }
+
+    private long countUsedBytes() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .mapToLong(FileSystemContentSpool::sizeOf)
+                    .sum();
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Spooled file '{}' could not be deleted: {}", file, e.getMessage());
+        }
+    }
+}
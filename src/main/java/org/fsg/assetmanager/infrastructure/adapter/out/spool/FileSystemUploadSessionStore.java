@@ -0,0 +1,342 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.spool;
+
+import lombok.extern.slf4j.Slf4j;
+import org.fsg.assetmanager.domain.exception.UploadSessionException;
+import org.fsg.assetmanager.domain.exception.UploadSessionNotFoundException;
+import org.fsg.assetmanager.domain.model.*;
+import org.fsg.assetmanager.domain.port.out.UploadSessionStore;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Stores the chunks of every upload session at their offset of a sparse file, so chunks are written in any order and
+ * in parallel without being assembled afterwards. The ranges received are kept in a metadata file next to it, written
+ * after every chunk, so a session is resumed after a restart.
+ * <p>
+ * Hint: The whole size of a session is reserved when it is created, so the directory never holds more than its
+ * capacity. Sessions without a chunk received within {@code expire-after} are deleted, unless they are being written
+ * or committed.
+ */
+@Slf4j
+@Component
+public class FileSystemUploadSessionStore implements UploadSessionStore {
+    private static final String CONTENT_SUFFIX = ".part";
+    private static final String METADATA_SUFFIX = ".session";
+    private static final long TRANSFER_CHUNK_SIZE = 8L * 1024 * 1024;
+
+    private final Path directory;
+    private final long capacity;
+    private final Duration expireAfter;
+    private final Clock clock;
+    private final Map<String, Entry> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong reservedBytes = new AtomicLong();
+
+    public FileSystemUploadSessionStore(UploadSessionProperties properties, Clock clock) {
+        this.directory = properties.directory();
+        this.capacity = properties.capacity().toBytes();
+        this.expireAfter = properties.expireAfter();
+        this.clock = clock;
+        initializeDirectory();
+    }
+
+    @Override
+    public UploadSession create(UploadSession session) {
+        reserve(session);
+        Instant now = clock.instant();
+        try {
+            Files.createFile(contentOf(session.id()));
+            writeMetadata(session, now);
+        } catch (IOException e) {
+            deleteFiles(session.id());
+            reservedBytes.addAndGet(-session.size().value());
+            throw new UploadSessionException(session.id(), "session could not be stored: " + e.getMessage(), e);
+        }
+        sessions.put(session.id(), new Entry(session, now));
+        return session;
+    }
+
+    @Override
+    public Optional<UploadSession> find(String sessionId) {
+        return Optional.ofNullable(sessions.get(sessionId)).map(Entry::session);
+    }
+
+    @Override
+    public UploadSession write(String sessionId, ByteRange range, AssetContent chunk) {
+        Entry entry = entryOf(sessionId);
+        synchronized (entry) {
+            // Hint: The content of a session being committed is linked into the spool, so it must not change
+            if (entry.committing) {
+                throw new UploadSessionException(sessionId, "it is being committed");
+            }
+            entry.writing++;
+        }
+        try {
+            long written = copy(chunk, contentOf(sessionId), range);
+            if (written != range.length()) {
+                throw new UploadSessionException(sessionId,
+                        String.format("expected %d bytes but %d were received", range.length(), written));
+            }
+
+            // Hint: Chunks of a session are written in parallel, only the update of its ranges is serialized
+            synchronized (entry) {
+                if (sessions.get(sessionId) != entry) {
+                    throw new UploadSessionNotFoundException(sessionId);
+                }
+                UploadSession received = entry.session().receive(range);
+                Instant now = clock.instant();
+                try {
+                    writeMetadata(received, now);
+                } catch (IOException e) {
+                    throw new UploadSessionException(sessionId, "session could not be stored: " + e.getMessage(), e);
+                }
+                entry.session = received;
+                entry.lastActivity = now;
+                return received;
+            }
+        } catch (IOException e) {
+            throw new UploadSessionException(sessionId, "chunk could not be stored: " + e.getMessage(), e);
+        } finally {
+            synchronized (entry) {
+                entry.writing--;
+            }
+        }
+    }
+
+    @Override
+    public UploadSession startCommit(String sessionId) {
+        Entry entry = entryOf(sessionId);
+        synchronized (entry) {
+            if (entry.committing) {
+                throw new UploadSessionException(sessionId, "it is already being committed");
+            }
+            if (entry.writing > 0) {
+                throw new UploadSessionException(sessionId,
+                        String.format("%d chunks are still being written", entry.writing));
+            }
+            entry.committing = true;
+            return entry.session();
+        }
+    }
+
+    @Override
+    public void cancelCommit(String sessionId) {
+        Entry entry = sessions.get(sessionId);
+        if (entry != null) {
+            synchronized (entry) {
+                entry.committing = false;
+                entry.lastActivity = clock.instant();
+            }
+        }
+    }
+
+    @Override
+    public AssetContent content(String sessionId) {
+        UploadSession session = entryOf(sessionId).session();
+        return new SpooledContent(contentOf(sessionId), session.size().value());
+    }
+
+    @Override
+    public void delete(String sessionId) {
+        Entry entry = sessions.get(sessionId);
+        if (entry != null) {
+            deleteIf(sessionId, entry, candidate -> true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${asset-manager.upload-sessions.purge-interval:10m}")
+    public void purgeExpired() {
+        Instant expiredBefore = clock.instant().minus(expireAfter);
+        sessions.forEach((sessionId, entry) -> {
+            UploadSession session = entry.session();
+            // Hint: Checked under the lock of the session, so a chunk or a commit starting meanwhile keeps it
+            if (deleteIf(sessionId, entry, candidate -> !candidate.committing && candidate.writing == 0
+                    && candidate.lastActivity.isBefore(expiredBefore))) {
+                log.warn("Upload session with ID '{}' expired with {} of {} bytes received", sessionId,
+                        session.receivedBytes(), session.size().value());
+            }
+        });
+    }
+
+    public long reservedBytes() {
+        return reservedBytes.get();
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    private boolean deleteIf(String sessionId, Entry entry, Predicate<Entry> condition) {
+        // Hint: A chunk being received meanwhile doesn't write the metadata again once the session is deleted
+        synchronized (entry) {
+            if (!condition.test(entry) || !sessions.remove(sessionId, entry)) {
+                return false;
+            }
+            deleteFiles(sessionId);
+        }
+        reservedBytes.addAndGet(-entry.session().size().value());
+        return true;
+    }
+
+    private Entry entryOf(String sessionId) {
+        Entry entry = sessions.get(sessionId);
+        if (entry == null) {
+            throw new UploadSessionNotFoundException(sessionId);
+        }
+        return entry;
+    }
+
+    private void reserve(UploadSession session) {
+        long size = session.size().value();
+        long current;
+        do {
+            current = reservedBytes.get();
+            if (current + size > capacity) {
+                throw new UploadSessionException(session.id(),
+                        String.format("capacity exceeded (%d of %d bytes reserved)", current, capacity));
+            }
+        } while (!reservedBytes.compareAndSet(current, current + size));
+    }
+
+    private static long copy(AssetContent chunk, Path file, ByteRange range) throws IOException {
+        try (ReadableByteChannel in = chunk.openChannel();
+             FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            long written = 0;
+            long transferred;
+            while (written < range.length() && (transferred = out.transferFrom(in, range.start() + written,
+                    Math.min(TRANSFER_CHUNK_SIZE, range.length() - written))) > 0) {
+                written += transferred;
+            }
+            // Hint: The byte past the range belongs to another chunk, so it is read apart to detect larger chunks
+            if (written == range.length() && in.read(ByteBuffer.allocate(1)) > 0) {
+                written++;
+            }
+            return written;
+        }
+    }
+
+    private void writeMetadata(UploadSession session, Instant lastActivity) throws IOException {
+        Properties metadata = new Properties();
+        metadata.setProperty("filename", session.filename().value());
+        metadata.setProperty("contentType", session.contentType().value());
+        metadata.setProperty("size", Long.toString(session.size().value()));
+        metadata.setProperty("createdAt", session.createdAt().toString());
+        metadata.setProperty("lastActivity", lastActivity.toString());
+        metadata.setProperty("received", String.join(",", session.received().stream()
+                .map(range -> range.start() + "-" + range.end())
+                .toList()));
+
+        // Hint: The metadata is replaced atomically, so a crash never leaves it half written
+        Path temporary = directory.resolve(session.id() + METADATA_SUFFIX + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary)) {
+            metadata.store(writer, null);
+        }
+        Files.move(temporary, metadataOf(session.id()), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static Entry readMetadata(String sessionId, Path file) throws IOException {
+        Properties metadata = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            metadata.load(reader);
+        }
+
+        List<ByteRange> received = new ArrayList<>();
+        String ranges = metadata.getProperty("received", "");
+        if (!ranges.isEmpty()) {
+            for (String range : ranges.split(",")) {
+                String[] bounds = range.split("-");
+                received.add(new ByteRange(Long.parseLong(bounds[0]), Long.parseLong(bounds[1])));
+            }
+        }
+        UploadSession session = new UploadSession(
+                sessionId,
+                new Filename(metadata.getProperty("filename")),
+                new ContentType(metadata.getProperty("contentType")),
+                new FileSize(Long.parseLong(metadata.getProperty("size"))),
+                received,
+                Instant.parse(metadata.getProperty("createdAt")));
+        // Hint: Sessions stored before the last activity was recorded expire since their creation
+        String lastActivity = metadata.getProperty("lastActivity", metadata.getProperty("createdAt"));
+        return new Entry(session, Instant.parse(lastActivity));
+    }
+
+    private Path contentOf(String sessionId) {
+        return directory.resolve(sessionId + CONTENT_SUFFIX);
+    }
+
+    private Path metadataOf(String sessionId) {
+        return directory.resolve(sessionId + METADATA_SUFFIX);
+    }
+
+    private void deleteFiles(String sessionId) {
+        for (Path file : List.of(metadataOf(sessionId), contentOf(sessionId))) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("File '{}' of upload session could not be deleted: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private void initializeDirectory() {
+        try {
+            Files.createDirectories(directory);
+            // Hint: Sessions started before a restart are loaded again, so their uploads can be resumed
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(file -> file.getFileName().toString().endsWith(METADATA_SUFFIX)).forEach(this::load);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Upload session directory cannot be initialized: " + directory, e);
+        }
+    }
+
+    private void load(Path metadataFile) {
+        String fileName = metadataFile.getFileName().toString();
+        String sessionId = fileName.substring(0, fileName.length() - METADATA_SUFFIX.length());
+        try {
+            Entry entry = readMetadata(sessionId, metadataFile);
+            sessions.put(sessionId, entry);
+            reservedBytes.addAndGet(entry.session().size().value());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Upload session with ID '{}' could not be loaded, it is deleted: {}", sessionId, e.getMessage());
+            deleteFiles(sessionId);
+        }
+    }
+
+    private static final class Entry {
+        private volatile UploadSession session;
+        // Hint: Guarded by the lock of the entry
+        private Instant lastActivity;
+        private int writing;
+        private boolean committing;
+
+        private Entry(UploadSession session, Instant lastActivity) {
+            this.session = session;
+            this.lastActivity = lastActivity;
+        }
+
+        private UploadSession session() {
+            return session;
+        }
+    }
+}
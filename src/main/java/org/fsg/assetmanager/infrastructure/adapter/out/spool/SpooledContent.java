@@ -0,0 +1,22 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.spool;
+
+import org.fsg.assetmanager.domain.model.AssetContent;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+record SpooledContent(Path file, long size) implements AssetContent {
+    @Override
+    public ReadableByteChannel openChannel() throws IOException {
+        return FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    @Override
+    public Optional<Path> path() {
+        return Optional.of(file);
+    }
+}
@@ -0,0 +1,16 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.spool;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "asset-manager.upload-sessions")
+public record UploadSessionProperties(
+        @DefaultValue("${java.io.tmpdir}/asset-manager/upload-sessions") Path directory,
+        @DefaultValue("20GB") DataSize capacity,
+        @DefaultValue("24h") Duration expireAfter
+) {
+}
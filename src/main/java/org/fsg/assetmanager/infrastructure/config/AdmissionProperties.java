@@ -0,0 +1,16 @@
+package org.fsg.assetmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "asset-manager.admission")
+public record AdmissionProperties(
+        @DefaultValue("24GB") DataSize maxInFlightBytes,
+        @DefaultValue("256") int maxConcurrentUploads,
+        @DefaultValue("1024") int maxQueueLength,
+        @DefaultValue("2s") Duration maxWait
+) {
+}
@@ -1,44 +1,132 @@
 package org.fsg.assetmanager.infrastructure.config;
 
+import org.fsg.assetmanager.application.AssetChangeFeed;
 import org.fsg.assetmanager.application.AssetService;
-import org.fsg.assetmanager.domain.model.Asset;
-import org.fsg.assetmanager.domain.port.out.AssetPublisher;
-import org.fsg.assetmanager.domain.port.out.AssetRepository;
-import org.fsg.assetmanager.domain.port.out.AssetSearchCriteria;
-import org.fsg.assetmanager.domain.port.out.PublishedUrl;
+import org.fsg.assetmanager.application.Bulkhead;
+import org.fsg.assetmanager.application.PendingAssetSweeper;
+import org.fsg.assetmanager.application.PersistenceBulkheads;
+import org.fsg.assetmanager.application.PublishJobDispatcher;
+import org.fsg.assetmanager.application.PublishRetryPolicy;
+import org.fsg.assetmanager.application.StatusUpdateBuffer;
+import org.fsg.assetmanager.application.UploadAdmissionController;
+import org.fsg.assetmanager.application.UploadSessionService;
+import org.fsg.assetmanager.domain.port.in.UploadAssetUseCase;
+import org.fsg.assetmanager.domain.port.out.*;
 import org.fsg.assetmanager.domain.service.AssetValidator;
+import org.fsg.assetmanager.infrastructure.adapter.out.spool.ContentSpoolProperties;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.util.IdGenerator;
 import org.springframework.util.JdkIdGenerator;
 
 import java.time.Clock;
-import java.util.List;
 
 @Configuration
+@EnableConfigurationProperties({OutboxProperties.class, AdmissionProperties.class, StatusUpdateProperties.class,
+        IdGeneratorProperties.class, SweeperProperties.class, BulkheadProperties.class, ChangeFeedProperties.class})
 public class ApplicationConfig {
     @Bean
     public AssetService assetService(
             @Lazy ObjectProvider<AssetService> selfProvider, // See hint in AssetService
             AssetValidator validator,
             AssetRepository repository,
+            PublishJobRepository publishJobRepository,
             AssetPublisher assetPublisher,
+            ContentSpool contentSpool,
+            UploadAdmissionController admissionController,
+            StatusUpdateBuffer statusUpdateBuffer,
+            AssetChangeFeed changeFeed,
+            PersistenceBulkheads bulkheads,
+            OutboxProperties outboxProperties,
             Clock clock,
             IdGenerator idGenerator) {
-        return new AssetService(selfProvider, validator, repository, assetPublisher, clock, idGenerator);
+        PublishRetryPolicy retryPolicy = new PublishRetryPolicy(outboxProperties.maxAttempts(),
+                outboxProperties.retryDelay(), outboxProperties.maxRetryDelay());
+        return new AssetService(selfProvider, validator, repository, publishJobRepository, assetPublisher,
+                contentSpool, admissionController, statusUpdateBuffer, changeFeed, bulkheads, retryPolicy, clock,
+                idGenerator);
     }
 
     @Bean
-    public AssetValidator assetValidator() {
-        return new AssetValidator();
+    public StatusUpdateBuffer statusUpdateBuffer(
+            @Lazy ObjectProvider<AssetService> assetService, // The buffer and the service depend on each other
+            StatusUpdateProperties properties) {
+        return new StatusUpdateBuffer(properties.batchSize(), properties.capacity(),
+                updates -> assetService.getObject().completePublishJobs(updates));
+    }
+
+    @Bean
+    public AssetChangeFeed assetChangeFeed(ChangeFeedProperties properties, Clock clock) {
+        return new AssetChangeFeed(properties.historySize(), properties.bufferSize(), properties.maxSubscribers(),
+                clock);
+    }
+
+    @Bean
+    public PersistenceBulkheads persistenceBulkheads(BulkheadProperties properties) {
+        return new PersistenceBulkheads(
+                bulkhead("writes", properties.writes()),
+                bulkhead("searches", properties.searches()),
+                bulkhead("exports", properties.exports()),
+                bulkhead("background", properties.background()));
+    }
+
+    private static Bulkhead bulkhead(String name, BulkheadProperties.Compartment compartment) {
+        return new Bulkhead(name, compartment.maxConcurrent(), compartment.maxWait());
     }
 
     @Bean
-    public AssetPublisher assetPublisher() {
-        // TODO: Must be replaced
-        return (asset, content) -> new PublishedUrl("123");
+    public UploadAdmissionController uploadAdmissionController(AdmissionProperties properties) {
+        return new UploadAdmissionController(properties.maxInFlightBytes().toBytes(),
+                properties.maxConcurrentUploads(), properties.maxQueueLength(), properties.maxWait());
+    }
+
+    @Bean
+    public PublishJobDispatcher publishJobDispatcher(
+            PublishJobRepository publishJobRepository,
+            AssetService assetService,
+            @Qualifier("taskExecutor") TaskExecutor taskExecutor,
+            PersistenceBulkheads bulkheads,
+            OutboxProperties properties) {
+        return new PublishJobDispatcher(publishJobRepository, assetService, taskExecutor, bulkheads.background(),
+                properties.batchSize(), properties.parallelism(), properties.lease(), properties.drainTimeout());
+    }
+
+    @Bean
+    public PendingAssetSweeper pendingAssetSweeper(
+            AssetRepository assetRepository,
+            PublishJobRepository publishJobRepository,
+            ContentSpool contentSpool,
+            AssetChangeFeed changeFeed,
+            @Qualifier("taskExecutor") TaskExecutor taskExecutor,
+            PersistenceBulkheads bulkheads,
+            Clock clock,
+            SweeperProperties properties) {
+        return new PendingAssetSweeper(assetRepository, publishJobRepository, contentSpool, changeFeed, taskExecutor,
+                bulkheads.background(), clock, properties.stuckAfter(), properties.batchSize(),
+                properties.parallelism());
+    }
+
+    @Bean
+    public UploadSessionService uploadSessionService(
+            UploadSessionStore uploadSessionStore,
+            UploadAssetUseCase uploadAssetUseCase,
+            ContentSpoolProperties spoolProperties,
+            AdmissionProperties admissionProperties,
+            Clock clock,
+            IdGenerator idGenerator) {
+        // Hint: A committed session is uploaded as any other asset, so it must fit in the spool and the admission
+        long maxSize = Math.min(spoolProperties.capacity().toBytes(), admissionProperties.maxInFlightBytes().toBytes());
+        return new UploadSessionService(uploadSessionStore, uploadAssetUseCase, maxSize, clock, idGenerator);
+    }
+
+    @Bean
+    public AssetValidator assetValidator() {
+        return new AssetValidator();
     }
 
     @Bean
@@ -47,7 +135,10 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public IdGenerator idGenerator() {
-        return new JdkIdGenerator();
+    public IdGenerator idGenerator(IdGeneratorProperties properties, Clock clock) {
+        return switch (properties.strategy()) {
+            case RANDOM -> new JdkIdGenerator();
+            case TIME_ORDERED -> new TimeOrderedIdGenerator(clock);
+        };
     }
 }
@@ -4,13 +4,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.core.task.VirtualThreadTaskExecutor;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
-@EnableAsync(proxyTargetClass = true)
+@EnableScheduling
 @org.springframework.context.annotation.EnableAspectJAutoProxy(exposeProxy = true)
 public class AsyncConfig {
-    // Configures a TaxExecutor using Virtual Threads.
+    // Configures a TaxExecutor using Virtual Threads. Publish jobs are executed by it.
     @Bean
     public TaskExecutor taskExecutor() {
         return new VirtualThreadTaskExecutor("virtual-thread-exec-");
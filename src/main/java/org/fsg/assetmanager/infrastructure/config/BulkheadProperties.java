@@ -0,0 +1,20 @@
+package org.fsg.assetmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "asset-manager.bulkheads")
+public record BulkheadProperties(
+        @DefaultValue Compartment writes,
+        @DefaultValue Compartment searches,
+        @DefaultValue Compartment exports,
+        @DefaultValue Compartment background
+) {
+    public record Compartment(
+            @DefaultValue("3") int maxConcurrent,
+            @DefaultValue("2s") Duration maxWait
+    ) {
+    }
+}
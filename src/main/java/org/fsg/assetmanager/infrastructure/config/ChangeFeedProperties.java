@@ -0,0 +1,12 @@
+package org.fsg.assetmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "asset-manager.change-feed")
+public record ChangeFeedProperties(
+        @DefaultValue("10000") int historySize,
+        @DefaultValue("256") int bufferSize,
+        @DefaultValue("1000") int maxSubscribers
+) {
+}
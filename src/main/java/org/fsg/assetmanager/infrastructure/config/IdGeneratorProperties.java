@@ -0,0 +1,16 @@
+package org.fsg.assetmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "asset-manager.ids")
+public record IdGeneratorProperties(
+        @DefaultValue("time-ordered") Strategy strategy
+) {
+    public enum Strategy {
+        // Random UUIDs (version 4) drawn from SecureRandom
+        RANDOM,
+        // Time-ordered UUIDs (version 7), see TimeOrderedIdGenerator
+        TIME_ORDERED
+    }
+}
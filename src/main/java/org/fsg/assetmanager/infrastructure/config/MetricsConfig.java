@@ -0,0 +1,163 @@
+package org.fsg.assetmanager.infrastructure.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.fsg.assetmanager.application.AssetChangeFeed;
+import org.fsg.assetmanager.application.AssetService;
+import org.fsg.assetmanager.application.Bulkhead;
+import org.fsg.assetmanager.application.PersistenceBulkheads;
+import org.fsg.assetmanager.application.StatusUpdateBuffer;
+import org.fsg.assetmanager.application.UploadAdmissionController;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.CachingAssetRepository;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.FilenameIndex;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.PublishJobRepositoryAdapter;
+import org.fsg.assetmanager.infrastructure.adapter.out.publisher.ResilientAssetPublisher;
+import org.fsg.assetmanager.infrastructure.adapter.out.spool.FileSystemContentSpool;
+import org.fsg.assetmanager.infrastructure.metrics.*;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+@Configuration
+public class MetricsConfig {
+    // Hint: Every port used by the application is the outermost decorator of its adapter, instrumented with metrics
+    @Bean
+    @Primary
+    public InstrumentedAssetRepository assetRepository(
+            CachingAssetRepository cachingAssetRepository,
+            MeterRegistry registry) {
+        return new InstrumentedAssetRepository(cachingAssetRepository, registry);
+    }
+
+    @Bean
+    @Primary
+    public InstrumentedPublishJobRepository publishJobRepository(
+            PublishJobRepositoryAdapter publishJobRepositoryAdapter,
+            MeterRegistry registry,
+            Clock clock) {
+        return new InstrumentedPublishJobRepository(publishJobRepositoryAdapter, registry, clock);
+    }
+
+    @Bean
+    @Primary
+    public InstrumentedAssetPublisher assetPublisher(
+            ResilientAssetPublisher resilientAssetPublisher,
+            MeterRegistry registry) {
+        return new InstrumentedAssetPublisher(resilientAssetPublisher, registry);
+    }
+
+    @Bean
+    @Primary
+    public InstrumentedContentSpool contentSpool(FileSystemContentSpool fileSystemContentSpool, MeterRegistry registry) {
+        return new InstrumentedContentSpool(fileSystemContentSpool, registry);
+    }
+
+    @Bean
+    @Primary
+    public InstrumentedAssetUseCases assetUseCases(AssetService assetService, MeterRegistry registry) {
+        return new InstrumentedAssetUseCases(assetService, assetService, assetService, registry);
+    }
+
+    // Hint: The stats the components already keep are read when the metrics are scraped, not on every operation
+    @Bean
+    public MeterBinder assetManagerStatsMetrics(
+            UploadAdmissionController admissionController,
+            StatusUpdateBuffer statusUpdateBuffer,
+            AssetChangeFeed changeFeed,
+            PersistenceBulkheads bulkheads,
+            CachingAssetRepository cachingAssetRepository,
+            FilenameIndex filenameIndex,
+            ResilientAssetPublisher resilientAssetPublisher) {
+        return registry -> {
+            gauge(registry, "asset.admission.in.flight.bytes", admissionController,
+                    controller -> controller.stats().inFlightBytes());
+            gauge(registry, "asset.admission.in.flight.uploads", admissionController,
+                    controller -> controller.stats().inFlightUploads());
+            gauge(registry, "asset.admission.queue.depth", admissionController,
+                    controller -> controller.stats().queueDepth());
+            counter(registry, "asset.admission.admitted", admissionController,
+                    controller -> controller.stats().admitted());
+            counter(registry, "asset.admission.rejected", admissionController,
+                    controller -> controller.stats().rejected());
+            FunctionTimer.builder("asset.admission.wait", admissionController,
+                            controller -> controller.stats().admitted(),
+                            controller -> controller.stats().totalWait().toNanos(), TimeUnit.NANOSECONDS)
+                    .register(registry);
+            TimeGauge.builder("asset.admission.wait.max", admissionController, TimeUnit.NANOSECONDS,
+                            controller -> controller.stats().maxWait().toNanos())
+                    .strongReference(true).register(registry);
+
+            gauge(registry, "asset.status.updates.pending", statusUpdateBuffer, buffer -> buffer.stats().pending());
+            counter(registry, "asset.status.updates.flushes", statusUpdateBuffer, buffer -> buffer.stats().flushes());
+            counter(registry, "asset.status.updates.failed.flushes", statusUpdateBuffer,
+                    buffer -> buffer.stats().failedFlushes());
+            counter(registry, "asset.status.updates.flushed", statusUpdateBuffer,
+                    buffer -> buffer.stats().flushedUpdates());
+            // Hint: Batch sizes and flush latencies are recorded on every flush, so they are exported as distributions
+            DistributionSummary batchSizes = DistributionSummary.builder("asset.status.updates.batch.size")
+                    .baseUnit("updates").register(registry);
+            Timer flushLatencies = Timer.builder("asset.status.updates.flush").register(registry);
+            statusUpdateBuffer.addFlushListener((batchSize, latency) -> {
+                batchSizes.record(batchSize);
+                flushLatencies.record(latency);
+            });
+
+            gauge(registry, "asset.change.feed.subscribers", changeFeed, feed -> feed.stats().subscribers());
+            counter(registry, "asset.change.feed.published", changeFeed, feed -> feed.stats().published());
+            counter(registry, "asset.change.feed.overflows", changeFeed, feed -> feed.stats().overflows());
+
+            for (Bulkhead bulkhead : List.of(bulkheads.writes(), bulkheads.searches(), bulkheads.exports(),
+                    bulkheads.background())) {
+                Tags tags = Tags.of("compartment", bulkhead.name());
+                Gauge.builder("asset.bulkhead.active", bulkhead, b -> b.stats().active()).tags(tags)
+                        .strongReference(true).register(registry);
+                Gauge.builder("asset.bulkhead.waiting", bulkhead, b -> b.stats().waiting()).tags(tags)
+                        .strongReference(true).register(registry);
+                FunctionCounter.builder("asset.bulkhead.rejected", bulkhead, b -> b.stats().rejected()).tags(tags)
+                        .register(registry);
+                FunctionTimer.builder("asset.bulkhead.wait", bulkhead, b -> b.stats().admitted(),
+                                b -> b.stats().averageWait().toNanos() * (double) b.stats().admitted(),
+                                TimeUnit.NANOSECONDS)
+                        .tags(tags).register(registry);
+            }
+
+            gauge(registry, "asset.search.cache.size", cachingAssetRepository, cache -> cache.stats().size());
+            counter(registry, "asset.search.cache.hits", cachingAssetRepository, cache -> cache.stats().hits());
+            counter(registry, "asset.search.cache.misses", cachingAssetRepository, cache -> cache.stats().misses());
+            counter(registry, "asset.search.cache.evictions", cachingAssetRepository,
+                    cache -> cache.stats().evictions());
+            counter(registry, "asset.search.cache.invalidations", cachingAssetRepository,
+                    cache -> cache.stats().invalidations());
+
+            gauge(registry, "asset.filename.index.filenames", filenameIndex, index -> index.stats().filenames());
+            gauge(registry, "asset.filename.index.memory", filenameIndex,
+                    index -> index.stats().estimatedMemoryBytes());
+
+            counter(registry, "asset.publisher.retries", resilientAssetPublisher, ResilientAssetPublisher::retries);
+            counter(registry, "asset.publisher.short.circuited", resilientAssetPublisher,
+                    ResilientAssetPublisher::shortCircuited);
+            counter(registry, "asset.publisher.budget.exhausted", resilientAssetPublisher,
+                    ResilientAssetPublisher::budgetExhausted);
+        };
+    }
+
+    private static <T> void gauge(MeterRegistry registry, String name, T source, ToDoubleFunction<T> value) {
+        Gauge.builder(name, source, value).strongReference(true).register(registry);
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, T source, ToDoubleFunction<T> value) {
+        FunctionCounter.builder(name, source, value).register(registry);
+    }
+}
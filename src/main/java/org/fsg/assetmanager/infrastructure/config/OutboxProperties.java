@@ -0,0 +1,19 @@
+package org.fsg.assetmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "asset-manager.outbox")
+public record OutboxProperties(
+        @DefaultValue("200ms") Duration pollInterval,
+        @DefaultValue("50") int batchSize,
+        @DefaultValue("64") int parallelism,
+        @DefaultValue("5m") Duration lease,
+        @DefaultValue("10") int maxAttempts,
+        @DefaultValue("10s") Duration retryDelay,
+        @DefaultValue("10m") Duration maxRetryDelay,
+        @DefaultValue("20s") Duration drainTimeout
+) {
+}
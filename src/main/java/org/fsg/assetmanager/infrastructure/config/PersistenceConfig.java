@@ -0,0 +1,43 @@
+package org.fsg.assetmanager.infrastructure.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.AssetEntityWriter;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.AssetRepositoryAdapter;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.CachingAssetRepository;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.JpaAssetEntityWriter;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.SearchCacheProperties;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.StatelessAssetEntityWriter;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.AssetJpaRepository;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(PersistenceProperties.class)
+public class PersistenceConfig {
+    // Hint: The JPA repository decorated with a cache of search pages, instrumented in MetricsConfig
+    @Bean
+    public CachingAssetRepository cachingAssetRepository(
+            AssetRepositoryAdapter assetRepositoryAdapter,
+            SearchCacheProperties properties,
+            Clock clock) {
+        return new CachingAssetRepository(assetRepositoryAdapter, properties, clock);
+    }
+
+    @Bean
+    public AssetEntityWriter assetEntityWriter(
+            PersistenceProperties properties,
+            AssetJpaRepository assetJpaRepository,
+            EntityManagerFactory entityManagerFactory,
+            DataSource dataSource) {
+        return switch (properties.writer()) {
+            case JPA -> new JpaAssetEntityWriter(assetJpaRepository);
+            case STATELESS -> new StatelessAssetEntityWriter(
+                    entityManagerFactory.unwrap(SessionFactory.class), dataSource);
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package org.fsg.assetmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "asset-manager.persistence")
+public record PersistenceProperties(
+        @DefaultValue("jpa") Writer writer
+) {
+    public enum Writer {
+        // Through the JPA repository and the persistence context, see JpaAssetEntityWriter
+        JPA,
+        // Through a Hibernate stateless session, see StatelessAssetEntityWriter
+        STATELESS
+    }
+}
@@ -0,0 +1,27 @@
+package org.fsg.assetmanager.infrastructure.config;
+
+import org.fsg.assetmanager.infrastructure.adapter.out.publisher.HttpAssetPublisher;
+import org.fsg.assetmanager.infrastructure.adapter.out.publisher.PublisherProperties;
+import org.fsg.assetmanager.infrastructure.adapter.out.publisher.PublisherResilienceProperties;
+import org.fsg.assetmanager.infrastructure.adapter.out.publisher.ResilientAssetPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class PublisherConfig {
+    @Bean
+    public HttpAssetPublisher httpAssetPublisher(PublisherProperties properties) {
+        return new HttpAssetPublisher(properties);
+    }
+
+    // Hint: The HTTP publisher decorated with retries and circuit breakers, instrumented in MetricsConfig
+    @Bean
+    public ResilientAssetPublisher resilientAssetPublisher(
+            HttpAssetPublisher httpAssetPublisher,
+            PublisherResilienceProperties properties,
+            Clock clock) {
+        return new ResilientAssetPublisher(httpAssetPublisher, httpAssetPublisher::destinationOf, properties, clock);
+    }
+}
@@ -0,0 +1,14 @@
+package org.fsg.assetmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "asset-manager.status-updates")
+public record StatusUpdateProperties(
+        @DefaultValue("50ms") Duration flushInterval,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("10000") int capacity
+) {
+}
@@ -0,0 +1,15 @@
+package org.fsg.assetmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "asset-manager.sweeper")
+public record SweeperProperties(
+        @DefaultValue("5m") Duration interval,
+        @DefaultValue("30m") Duration stuckAfter,
+        @DefaultValue("200") int batchSize,
+        @DefaultValue("4") int parallelism
+) {
+}
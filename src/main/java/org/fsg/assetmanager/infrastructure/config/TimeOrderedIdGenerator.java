@@ -0,0 +1,52 @@
+package org.fsg.assetmanager.infrastructure.config;
+
+import org.springframework.util.IdGenerator;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered UUIDs following the version 7 layout of RFC 9562: a 48 bit Unix timestamp in milliseconds,
+ * a 12 bit counter and 62 random bits.
+ * <p>
+ * Hint: Ids generated later sort after the previous ones, so new assets are inserted at the right edge of the
+ * external id index instead of at random pages. The timestamp and counter are advanced together with a CAS, so ids
+ * stay monotonic within the same millisecond, when the counter overflows or when the clock goes backwards, without
+ * locks. Random bits come from {@link ThreadLocalRandom}, which doesn't contend like a shared {@code SecureRandom}.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+    private static final int COUNTER_BITS = 12;
+
+    private final Clock clock;
+
+    // The timestamp in milliseconds followed by the counter, as the 60 most significant bits of the last id
+    private final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    public TimeOrderedIdGenerator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID generateId() {
+        long timestampAndCounter = nextTimestampAndCounter();
+        long mostSignificantBits = (timestampAndCounter >>> COUNTER_BITS) << 16 // 48 bit timestamp
+                | 0x7000L                                                        // version 7
+                | (timestampAndCounter & 0xFFFL);                                // 12 bit counter
+        long leastSignificantBits = ThreadLocalRandom.current().nextLong() >>> 2
+                | 0x8000_0000_0000_0000L;                                        // IETF variant
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private long nextTimestampAndCounter() {
+        long now = clock.millis() << COUNTER_BITS;
+        while (true) {
+            long last = lastTimestampAndCounter.get();
+            long next = Math.max(now, last + 1);
+            if (lastTimestampAndCounter.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.fsg.assetmanager.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.AssetContent;
+import org.fsg.assetmanager.domain.port.out.AssetPublisher;
+import org.fsg.assetmanager.domain.port.out.PublishedUrl;
+
+/**
+ * Decorates an {@link AssetPublisher} with the {@code asset.publisher} timer and the {@code asset.publish.bytes}
+ * counter, tagged by content type and outcome.
+ */
+public class InstrumentedAssetPublisher implements AssetPublisher {
+    private final AssetPublisher delegate;
+    private final MeterRegistry registry;
+    private final PortMetrics metrics;
+
+    public InstrumentedAssetPublisher(AssetPublisher delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.metrics = new PortMetrics(registry, "asset.publisher");
+    }
+
+    @Override
+    public PublishedUrl publish(Asset asset, AssetContent content) {
+        String contentType = MetricTags.contentType(asset.contentType() == null ? null : asset.contentType().value());
+        Throwable error = null;
+        try {
+            return metrics.record("publish", Tags.of("content.type", contentType),
+                    () -> delegate.publish(asset, content));
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            Counter.builder("asset.publish.bytes")
+                    .baseUnit("bytes")
+                    .tag("content.type", contentType)
+                    .tags(MetricTags.outcome(error))
+                    .register(registry)
+                    .increment(content.size());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.fsg.assetmanager.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.model.ContentHash;
+import org.fsg.assetmanager.domain.model.ContentType;
+import org.fsg.assetmanager.domain.port.out.AssetPage;
+import org.fsg.assetmanager.domain.port.out.AssetRepository;
+import org.fsg.assetmanager.domain.port.out.AssetSearchCriteria;
+import org.fsg.assetmanager.domain.port.out.AssetStatusTransition;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Decorates an {@link AssetRepository} with the {@code asset.repository} timer, the {@code asset.status.transitions}
+ * counter, tagged by the previous and new status and whether it was applied, and the {@code asset.dedup.lookups}
+ * counter, tagged by whether a published asset with the same content was found.
+ * <p>
+ * Hint: A stream is measured until it is closed, as the rows are read while it is consumed.
+ */
+public class InstrumentedAssetRepository implements AssetRepository {
+    private final AssetRepository delegate;
+    private final MeterRegistry registry;
+    private final PortMetrics metrics;
+
+    public InstrumentedAssetRepository(AssetRepository delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.metrics = new PortMetrics(registry, "asset.repository");
+    }
+
+    @Override
+    public Asset save(Asset asset) {
+        String contentType = asset == null || asset.contentType() == null ? null : asset.contentType().value();
+        return metrics.record("save", contentTypeTag(contentType), () -> delegate.save(asset));
+    }
+
+    @Override
+    public List<Asset> saveAll(List<Asset> assets) {
+        return metrics.record("save-all", contentTypeTag(null), () -> delegate.saveAll(assets));
+    }
+
+    @Override
+    public AssetPage find(AssetSearchCriteria criteria) {
+        return metrics.record("find", contentTypeTag(criteria.contentType()), () -> delegate.find(criteria));
+    }
+
+    @Override
+    public Stream<Asset> stream(AssetSearchCriteria criteria) {
+        PortMetrics.Call call = metrics.start("stream", contentTypeTag(criteria.contentType()));
+        try {
+            return delegate.stream(criteria).onClose(() -> call.end(null));
+        } catch (RuntimeException e) {
+            call.end(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean updateStatus(AssetStatusTransition transition) {
+        return updateStatuses(List.of(transition)).contains(transition.id());
+    }
+
+    @Override
+    public Set<AssetId> updateStatuses(Collection<AssetStatusTransition> transitions) {
+        Set<AssetId> applied = metrics.record("update-statuses", contentTypeTag(null),
+                () -> delegate.updateStatuses(transitions));
+        for (AssetStatusTransition transition : transitions) {
+            Counter.builder("asset.status.transitions")
+                    .tag("from", transition.expectedStatus().name())
+                    .tag("to", transition.newStatus().name())
+                    .tag("outcome", applied.contains(transition.id()) ? "applied" : "stale")
+                    .register(registry)
+                    .increment();
+        }
+        return applied;
+    }
+
+    @Override
+    public List<Asset> findPendingWithoutPublishJob(Instant uploadedBefore, Asset after, int limit) {
+        return metrics.record("find-pending-without-publish-job", contentTypeTag(null),
+                () -> delegate.findPendingWithoutPublishJob(uploadedBefore, after, limit));
+    }
+
+    @Override
+    public Optional<Asset> findPublishedByContentHash(ContentHash contentHash, ContentType contentType) {
+        Tags tags = contentTypeTag(contentType.value());
+        Optional<Asset> published = metrics.record("find-published-by-content-hash", tags,
+                () -> delegate.findPublishedByContentHash(contentHash, contentType));
+        Counter.builder("asset.dedup.lookups")
+                .tag("result", published.isPresent() ? "hit" : "miss")
+                .tags(tags)
+                .register(registry)
+                .increment();
+        return published;
+    }
+
+    private static Tags contentTypeTag(String contentType) {
+        return Tags.of("content.type", MetricTags.contentType(contentType));
+    }
+}
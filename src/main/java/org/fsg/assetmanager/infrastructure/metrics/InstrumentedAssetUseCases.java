@@ -0,0 +1,92 @@
+package org.fsg.assetmanager.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.port.in.*;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Decorates the asset use cases with the {@code asset.use.cases} timer, tagged by operation, content type and
+ * outcome, the {@code asset.upload.bytes} counter of the bytes accepted, the {@code asset.upload.batch.assets} counter
+ * of the assets of batches, tagged by whether they were uploaded, and the {@code asset.export.assets} counter of the
+ * assets exported.
+ */
+public class InstrumentedAssetUseCases implements UploadAssetUseCase, UploadAssetBatchUseCase, SearchAssetsUseCase {
+    private final UploadAssetUseCase uploadAssetUseCase;
+    private final UploadAssetBatchUseCase uploadAssetBatchUseCase;
+    private final SearchAssetsUseCase searchAssetsUseCase;
+    private final MeterRegistry registry;
+    private final PortMetrics metrics;
+
+    public InstrumentedAssetUseCases(
+            UploadAssetUseCase uploadAssetUseCase,
+            UploadAssetBatchUseCase uploadAssetBatchUseCase,
+            SearchAssetsUseCase searchAssetsUseCase,
+            MeterRegistry registry) {
+        this.uploadAssetUseCase = uploadAssetUseCase;
+        this.uploadAssetBatchUseCase = uploadAssetBatchUseCase;
+        this.searchAssetsUseCase = searchAssetsUseCase;
+        this.registry = registry;
+        this.metrics = new PortMetrics(registry, "asset.use.cases");
+    }
+
+    @Override
+    public AssetUploadResult upload(AssetUploadCommand command) {
+        String contentType = MetricTags.contentType(command.contentType());
+        AssetUploadResult result = metrics.record("upload", Tags.of("content.type", contentType),
+                () -> uploadAssetUseCase.upload(command));
+        Counter.builder("asset.upload.bytes")
+                .baseUnit("bytes")
+                .tag("content.type", contentType)
+                .register(registry)
+                .increment(command.size());
+        return result;
+    }
+
+    @Override
+    public List<AssetBatchUploadResult> uploadBatch(List<AssetUploadCommand> commands) {
+        List<AssetBatchUploadResult> results = metrics.record("upload-batch", Tags.of("content.type", "batch"),
+                () -> uploadAssetBatchUseCase.uploadBatch(commands));
+        for (int i = 0; i < results.size(); i++) {
+            AssetUploadCommand command = commands.get(i);
+            String contentType = MetricTags.contentType(command.contentType());
+            boolean uploaded = results.get(i).isUploaded();
+            Counter.builder("asset.upload.batch.assets")
+                    .tag("content.type", contentType)
+                    .tag("outcome", uploaded ? "success" : "error")
+                    .register(registry)
+                    .increment();
+            if (uploaded) {
+                Counter.builder("asset.upload.bytes")
+                        .baseUnit("bytes")
+                        .tag("content.type", contentType)
+                        .register(registry)
+                        .increment(command.size());
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public AssetSearchResult search(AssetSearchQuery query) {
+        return metrics.record("search", Tags.of("content.type", MetricTags.contentType(query.contentType())),
+                () -> searchAssetsUseCase.search(query));
+    }
+
+    @Override
+    public void export(AssetSearchQuery query, Consumer<Asset> consumer) {
+        String contentType = MetricTags.contentType(query.contentType());
+        Counter exported = Counter.builder("asset.export.assets")
+                .tag("content.type", contentType)
+                .register(registry);
+        metrics.record("export", Tags.of("content.type", contentType),
+                () -> searchAssetsUseCase.export(query, asset -> {
+                    consumer.accept(asset);
+                    exported.increment();
+                }));
+    }
+}
@@ -0,0 +1,43 @@
+package org.fsg.assetmanager.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.fsg.assetmanager.domain.model.AssetContent;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.port.out.ContentSpool;
+
+import java.util.Optional;
+
+/**
+ * Decorates a {@link ContentSpool} with the {@code asset.spool} timer and the {@code asset.spool.bytes} counter of the
+ * bytes spooled.
+ */
+public class InstrumentedContentSpool implements ContentSpool {
+    private final ContentSpool delegate;
+    private final PortMetrics metrics;
+    private final Counter spooledBytes;
+
+    public InstrumentedContentSpool(ContentSpool delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.metrics = new PortMetrics(registry, "asset.spool");
+        this.spooledBytes = Counter.builder("asset.spool.bytes").baseUnit("bytes").register(registry);
+    }
+
+    @Override
+    public AssetContent spool(AssetId assetId, AssetContent source) {
+        AssetContent spooled = metrics.record("spool", Tags.empty(), () -> delegate.spool(assetId, source));
+        spooledBytes.increment(spooled.size());
+        return spooled;
+    }
+
+    @Override
+    public Optional<AssetContent> find(AssetId assetId) {
+        return metrics.record("find", Tags.empty(), () -> delegate.find(assetId));
+    }
+
+    @Override
+    public void release(AssetId assetId) {
+        metrics.record("release", Tags.empty(), () -> delegate.release(assetId));
+    }
+}
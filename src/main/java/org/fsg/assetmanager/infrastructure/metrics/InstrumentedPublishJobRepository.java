@@ -0,0 +1,78 @@
+package org.fsg.assetmanager.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.port.out.PublishJob;
+import org.fsg.assetmanager.domain.port.out.PublishJobRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Decorates a {@link PublishJobRepository} with the {@code asset.outbox} timer and the {@code asset.outbox.delay}
+ * timer: the time an asset waits in the outbox from its upload until its publish job is claimed for the first time.
+ */
+public class InstrumentedPublishJobRepository implements PublishJobRepository {
+    private final PublishJobRepository delegate;
+    private final MeterRegistry registry;
+    private final Clock clock;
+    private final PortMetrics metrics;
+
+    public InstrumentedPublishJobRepository(PublishJobRepository delegate, MeterRegistry registry, Clock clock) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.clock = clock;
+        this.metrics = new PortMetrics(registry, "asset.outbox");
+    }
+
+    @Override
+    public void enqueue(AssetId assetId) {
+        metrics.record("enqueue", Tags.empty(), () -> delegate.enqueue(assetId));
+    }
+
+    @Override
+    public void enqueueAll(Collection<AssetId> assetIds) {
+        metrics.record("enqueue-all", Tags.empty(), () -> delegate.enqueueAll(assetIds));
+    }
+
+    @Override
+    public List<PublishJob> claim(int limit, Duration lease) {
+        List<PublishJob> claimed = metrics.record("claim", Tags.empty(), () -> delegate.claim(limit, lease));
+        for (PublishJob job : claimed) {
+            // Hint: Later attempts also waited for their retry delay, which is not queueing
+            if (job.attempts() == 1 && job.asset().uploadDate() != null) {
+                Timer.builder("asset.outbox.delay")
+                        .tag("content.type", MetricTags.contentType(
+                                job.asset().contentType() == null ? null : job.asset().contentType().value()))
+                        .publishPercentileHistogram()
+                        .register(registry)
+                        .record(Duration.between(job.asset().uploadDate(), clock.instant()));
+            }
+        }
+        return claimed;
+    }
+
+    @Override
+    public void complete(PublishJob job) {
+        metrics.record("complete", Tags.empty(), () -> delegate.complete(job));
+    }
+
+    @Override
+    public void completeAll(Collection<PublishJob> jobs) {
+        metrics.record("complete-all", Tags.empty(), () -> delegate.completeAll(jobs));
+    }
+
+    @Override
+    public void reschedule(PublishJob job, Duration delay) {
+        metrics.record("reschedule", Tags.empty(), () -> delegate.reschedule(job, delay));
+    }
+
+    @Override
+    public void release(Collection<PublishJob> jobs) {
+        metrics.record("release", Tags.empty(), () -> delegate.release(jobs));
+    }
+}
@@ -0,0 +1,40 @@
+package org.fsg.assetmanager.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Tag values shared by the instrumented ports.
+ * <p>
+ * Hint: Content types are sent by clients, so only their top-level type is used as tag value. Every distinct tag value
+ * is a new time series, and an unbounded number of them would exhaust the metrics backend.
+ */
+final class MetricTags {
+    static final String NONE = "none";
+    static final String OTHER = "other";
+
+    private static final Set<String> TOP_LEVEL_TYPES = Set.of(
+            "application", "audio", "font", "image", "message", "model", "multipart", "text", "video");
+
+    private MetricTags() {
+    }
+
+    static String contentType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return NONE;
+        }
+        int separator = contentType.indexOf('/');
+        String topLevelType = (separator < 0 ? contentType : contentType.substring(0, separator))
+                .trim()
+                .toLowerCase(Locale.ROOT);
+        return TOP_LEVEL_TYPES.contains(topLevelType) ? topLevelType : OTHER;
+    }
+
+    static Tags outcome(Throwable error) {
+        return Tags.of(
+                "outcome", error == null ? "success" : "error",
+                "exception", error == null ? NONE : error.getClass().getSimpleName());
+    }
+}
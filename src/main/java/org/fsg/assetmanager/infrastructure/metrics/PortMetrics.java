@@ -0,0 +1,82 @@
+package org.fsg.assetmanager.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Latency histogram and in-flight gauge of the operations of a port.
+ * <p>
+ * Every call is recorded in the {@code <name>} timer, tagged by operation, outcome and exception, and counted in the
+ * {@code <name>.active} gauge of its operation while it runs.
+ */
+final class PortMetrics {
+    private final MeterRegistry registry;
+    private final String name;
+    private final Map<String, AtomicInteger> active = new ConcurrentHashMap<>();
+
+    PortMetrics(MeterRegistry registry, String name) {
+        this.registry = registry;
+        this.name = name;
+    }
+
+    <T> T record(String operation, Tags tags, Supplier<T> call) {
+        Call started = start(operation, tags);
+        try {
+            T result = call.get();
+            started.end(null);
+            return result;
+        } catch (RuntimeException | Error e) {
+            started.end(e);
+            throw e;
+        }
+    }
+
+    void record(String operation, Tags tags, Runnable call) {
+        record(operation, tags, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Starts a call that ends later, like the consumption of a stream. It must be ended exactly once.
+     */
+    Call start(String operation, Tags tags) {
+        AtomicInteger inFlight = active.computeIfAbsent(operation,
+                key -> registry.gauge(name + ".active", Tags.of("operation", key), new AtomicInteger()));
+        inFlight.incrementAndGet();
+        return new Call(operation, tags, inFlight, registry.config().clock().monotonicTime());
+    }
+
+    final class Call {
+        private final String operation;
+        private final Tags tags;
+        private final AtomicInteger inFlight;
+        private final long startNanos;
+
+        private Call(String operation, Tags tags, AtomicInteger inFlight, long startNanos) {
+            this.operation = operation;
+            this.tags = tags;
+            this.inFlight = inFlight;
+            this.startNanos = startNanos;
+        }
+
+        void end(Throwable error) {
+            inFlight.decrementAndGet();
+            Timer.builder(name)
+                    .tags(tags)
+                    .tag("operation", operation)
+                    .tags(MetricTags.outcome(error))
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(registry.config().clock().monotonicTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
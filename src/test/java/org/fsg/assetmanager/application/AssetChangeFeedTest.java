@@ -0,0 +1,163 @@
+package org.fsg.assetmanager.application;
+
+import org.fsg.assetmanager.domain.exception.SubscriptionRejectedException;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.model.AssetStatus;
+import org.fsg.assetmanager.domain.model.AssetStatusChange;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.in.AssetChangeQuery;
+import org.fsg.assetmanager.domain.port.in.AssetChangeSubscription;
+import org.fsg.assetmanager.domain.port.out.AssetStatusTransition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("AssetChangeFeed Tests")
+class AssetChangeFeedTest {
+    private static final Clock CLOCK = Clock.fixed(AssetMother.SAMPLE_UPLOAD_DATE, ZoneOffset.UTC);
+    private static final AssetId THIRD_ASSET_ID = new AssetId("00000000-0000-0000-0000-000000000003");
+
+    @Nested
+    @DisplayName("Subscribe Tests")
+    class SubscribeTests {
+
+        @Test
+        @DisplayName("Should deliver in order the changes of the assets subscribed to")
+        void shouldDeliverInOrderTheChangesOfTheAssetsSubscribedTo() throws InterruptedException {
+            // Given
+            AssetChangeFeed feed = new AssetChangeFeed(10, 10, 10, CLOCK);
+            AssetChangeSubscription subscription = feed.subscribe(new AssetChangeQuery(
+                    Set.of(AssetMother.SAMPLE_ASSET_ID, THIRD_ASSET_ID), null));
+
+            // When
+            feed.publish(List.of(published(AssetMother.SAMPLE_ASSET_ID), failed(AssetMother.ANOTHER_ASSET_ID),
+                    failed(THIRD_ASSET_ID)));
+            List<AssetStatusChange> changes = subscription.poll(10, Duration.ZERO);
+
+            // Then
+            assertThat(changes.stream().map(AssetStatusChange::assetId).toList(),
+                    contains(AssetMother.SAMPLE_ASSET_ID, THIRD_ASSET_ID));
+            assertThat(changes.stream().map(AssetStatusChange::status).toList(),
+                    contains(AssetStatus.PUBLISHED, AssetStatus.FAILED));
+            assertThat(changes.getFirst().publishedUrl(), equalTo("url"));
+            assertThat(changes.get(1).sequence(), equalTo(changes.getFirst().sequence() + 2));
+            assertThat(subscription.lastSequence(), equalTo(changes.get(1).sequence()));
+            assertThat(subscription.missedChanges(), equalTo(false));
+        }
+
+        @Test
+        @DisplayName("Should resume after a sequence with the changes retained")
+        void shouldResumeAfterASequenceWithTheChangesRetained() throws InterruptedException {
+            // Given
+            AssetChangeFeed feed = new AssetChangeFeed(10, 10, 10, CLOCK);
+            feed.publish(List.of(published(AssetMother.SAMPLE_ASSET_ID), failed(AssetMother.ANOTHER_ASSET_ID)));
+            long first = feed.subscribe(new AssetChangeQuery(Set.of(), null)).lastSequence() - 1;
+
+            // When
+            AssetChangeSubscription subscription = feed.subscribe(new AssetChangeQuery(Set.of(), first));
+            List<AssetStatusChange> changes = subscription.poll(10, Duration.ZERO);
+
+            // Then
+            assertThat(changes, hasSize(1));
+            assertThat(changes.getFirst().assetId(), equalTo(AssetMother.ANOTHER_ASSET_ID));
+            assertThat(subscription.missedChanges(), equalTo(false));
+        }
+
+        @Test
+        @DisplayName("Should tell the changes were missed when the sequence is no longer retained")
+        void shouldTellTheChangesWereMissedWhenTheSequenceIsNoLongerRetained() throws InterruptedException {
+            // Given
+            AssetChangeFeed feed = new AssetChangeFeed(2, 10, 10, CLOCK);
+            long start = feed.subscribe(new AssetChangeQuery(Set.of(), null)).lastSequence();
+            feed.publish(List.of(published(AssetMother.SAMPLE_ASSET_ID), failed(AssetMother.ANOTHER_ASSET_ID),
+                    failed(THIRD_ASSET_ID)));
+
+            // When
+            AssetChangeSubscription subscription = feed.subscribe(new AssetChangeQuery(Set.of(), start));
+            List<AssetStatusChange> changes = subscription.poll(10, Duration.ZERO);
+
+            // Then
+            assertThat(subscription.missedChanges(), equalTo(true));
+            assertThat(changes.stream().map(AssetStatusChange::assetId).toList(),
+                    contains(AssetMother.ANOTHER_ASSET_ID, THIRD_ASSET_ID));
+        }
+
+        @Test
+        @DisplayName("Should reject subscribers over the limit until one is closed")
+        void shouldRejectSubscribersOverTheLimitUntilOneIsClosed() {
+            // Given
+            AssetChangeFeed feed = new AssetChangeFeed(10, 10, 1, CLOCK);
+            AssetChangeSubscription subscription = feed.subscribe(new AssetChangeQuery(Set.of(), null));
+
+            // When / Then
+            assertThrows(SubscriptionRejectedException.class,
+                    () -> feed.subscribe(new AssetChangeQuery(Set.of(), null)));
+            subscription.close();
+            feed.subscribe(new AssetChangeQuery(Set.of(), null));
+            assertThat(feed.stats().subscribers(), equalTo(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Overflow Tests")
+    class OverflowTests {
+
+        @Test
+        @DisplayName("Should close a subscriber falling behind once its buffer is drained")
+        void shouldCloseASubscriberFallingBehindOnceItsBufferIsDrained() throws InterruptedException {
+            // Given
+            AssetChangeFeed feed = new AssetChangeFeed(10, 2, 10, CLOCK);
+            AssetChangeSubscription subscription = feed.subscribe(new AssetChangeQuery(Set.of(), null));
+            feed.publish(List.of(published(AssetMother.SAMPLE_ASSET_ID), failed(AssetMother.ANOTHER_ASSET_ID),
+                    failed(THIRD_ASSET_ID)));
+
+            // When
+            List<AssetStatusChange> buffered = subscription.poll(10, Duration.ofSeconds(5));
+
+            // Then
+            assertThat(buffered, hasSize(2));
+            assertThat(subscription.isOpen(), equalTo(false));
+            assertThat(subscription.poll(10, Duration.ofSeconds(5)), empty());
+            assertThat(feed.stats(), equalTo(new ChangeFeedStats(0, 3, 1)));
+        }
+
+        @Test
+        @DisplayName("Should resume a subscriber falling behind from the last change it received")
+        void shouldResumeASubscriberFallingBehindFromTheLastChangeItReceived() throws InterruptedException {
+            // Given
+            AssetChangeFeed feed = new AssetChangeFeed(10, 2, 10, CLOCK);
+            AssetChangeSubscription subscription = feed.subscribe(new AssetChangeQuery(Set.of(), null));
+            feed.publish(List.of(published(AssetMother.SAMPLE_ASSET_ID), failed(AssetMother.ANOTHER_ASSET_ID),
+                    failed(THIRD_ASSET_ID)));
+            subscription.poll(10, Duration.ZERO);
+
+            // When
+            AssetChangeSubscription resumed = feed.subscribe(
+                    new AssetChangeQuery(Set.of(), subscription.lastSequence()));
+
+            // Then
+            List<AssetStatusChange> changes = resumed.poll(10, Duration.ZERO);
+            assertThat(changes, hasSize(1));
+            assertThat(changes.getFirst().assetId(), equalTo(THIRD_ASSET_ID));
+            assertThat(resumed.isOpen(), equalTo(true));
+        }
+    }
+
+    private static AssetStatusTransition published(AssetId id) {
+        return new AssetStatusTransition(id, AssetStatus.PENDING, AssetStatus.PUBLISHED, "url");
+    }
+
+    private static AssetStatusTransition failed(AssetId id) {
+        return new AssetStatusTransition(id, AssetStatus.PENDING, AssetStatus.FAILED, null);
+    }
+}
@@ -3,23 +3,36 @@ package org.fsg.assetmanager.application;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.fsg.assetmanager.domain.exception.AssetPublishException;
+import org.fsg.assetmanager.domain.exception.ContentSpoolException;
+import org.fsg.assetmanager.domain.exception.UploadRejectedException;
 import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.model.AssetContent;
 import org.fsg.assetmanager.domain.model.AssetStatus;
+import org.fsg.assetmanager.domain.model.AssetStatusChange;
 import org.fsg.assetmanager.domain.model.SortDirection;
 import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.in.AssetBatchUploadResult;
+import org.fsg.assetmanager.domain.port.in.AssetChangeQuery;
+import org.fsg.assetmanager.domain.port.in.AssetChangeSubscription;
 import org.fsg.assetmanager.domain.port.in.AssetSearchQuery;
+import org.fsg.assetmanager.domain.port.in.AssetSearchResult;
 import org.fsg.assetmanager.domain.port.in.AssetUploadCommand;
 import org.fsg.assetmanager.domain.port.in.AssetUploadResult;
-import org.fsg.assetmanager.domain.port.out.AssetPublisher;
-import org.fsg.assetmanager.domain.port.out.AssetRepository;
-import org.fsg.assetmanager.domain.port.out.AssetSearchCriteria;
-import org.fsg.assetmanager.domain.port.out.PublishedUrl;
+import org.fsg.assetmanager.domain.port.out.*;
 import org.fsg.assetmanager.domain.service.AssetValidator;
+import org.fsg.assetmanager.testutils.ByteArrayAssetContent;
 import org.fsg.assetmanager.testutils.LogAppender;
 import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -28,10 +41,22 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.util.IdGenerator;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Clock;
-import java.util.Arrays;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.fsg.assetmanager.testutils.CustomMatchers.hasFormattedLog;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -50,9 +75,23 @@ class AssetServiceTest {
             AssetMother.SAMPLE_FILENAME.value(),
             AssetMother.SAMPLE_CONTENT_TYPE.value(),
             AssetMother.SAMPLE_CONTENT.length,
-            AssetMother.SAMPLE_CONTENT);
+            AssetMother.SAMPLE_ASSET_CONTENT);
+    private static final AssetContent SPOOLED_CONTENT = new ByteArrayAssetContent("spooled content".getBytes());
+    private static final Asset PENDING_ASSET = AssetMother.SAMPLE_ASSET
+            .withStatus(AssetStatus.PENDING)
+            .withPublishedUrl(null);
+    private static final PublishJob PUBLISH_JOB = new PublishJob(1L, PENDING_ASSET, 1);
+    private static final PersistenceBulkheads BULKHEADS = new PersistenceBulkheads(
+            new Bulkhead("writes", 1, Duration.ZERO),
+            new Bulkhead("searches", 1, Duration.ZERO),
+            new Bulkhead("exports", 1, Duration.ZERO),
+            new Bulkhead("background", 1, Duration.ZERO));
+    private static final PublishRetryPolicy RETRY_POLICY = new PublishRetryPolicy(3, Duration.ofSeconds(10),
+            Duration.ofSeconds(15));
 
     private final LogAppender logAppender = new LogAppender(Level.INFO);
+    private final AssetChangeFeed changeFeed = new AssetChangeFeed(10, 10, 10,
+            Clock.fixed(AssetMother.SAMPLE_UPLOAD_DATE, ZoneOffset.UTC));
     @SuppressWarnings("LoggerInitializedWithForeignClass")
     private final Logger logger = (Logger) LoggerFactory.getLogger(AssetService.class);
 
@@ -62,9 +101,18 @@ class AssetServiceTest {
     @Mock
     private AssetRepository repository;
 
+    @Mock
+    private PublishJobRepository publishJobRepository;
+
     @Mock
     private AssetPublisher publisher;
 
+    @Mock
+    private ContentSpool contentSpool;
+
+    @Mock
+    private UploadAdmissionController admissionController;
+
     @Mock
     private Clock clock;
 
@@ -81,7 +129,12 @@ class AssetServiceTest {
         logger.addAppender(logAppender);
         logAppender.start();
 
-        service = new AssetService(selfProvider, validator, repository, publisher, clock, idGenerator);
+        // Hint: The buffer is not started, so status updates are written as soon as they are added
+        StatusUpdateBuffer statusUpdateBuffer = new StatusUpdateBuffer(10, 10,
+                updates -> service.completePublishJobs(updates));
+        service = new AssetService(selfProvider, validator, repository, publishJobRepository, publisher,
+                contentSpool, admissionController, statusUpdateBuffer, changeFeed, BULKHEADS, RETRY_POLICY, clock,
+                idGenerator);
         lenient().when(selfProvider.getObject()).thenReturn(service);
     }
 
@@ -98,26 +151,120 @@ class AssetServiceTest {
         @DisplayName("Search should return assets when found")
         void searchShouldReturnAssetsWhenFound() {
             // Given
-            configureSearchAssets(AssetMother.SAMPLE_ASSET, AssetMother.ANOTHER_ASSET);
+            configureSearchAssets(AssetService.DEFAULT_PAGE_SIZE, null,
+                    new AssetPage(List.of(AssetMother.SAMPLE_ASSET, AssetMother.ANOTHER_ASSET), null));
 
             // When
-            List<Asset> assets = service.search(ASSET_SEARCH_QUERY);
+            AssetSearchResult result = service.search(ASSET_SEARCH_QUERY);
 
             // Then
-            assertThat(assets, contains(AssetMother.SAMPLE_ASSET, AssetMother.ANOTHER_ASSET));
+            assertThat(result.assets(), contains(AssetMother.SAMPLE_ASSET, AssetMother.ANOTHER_ASSET));
+            assertThat(result.nextPageToken(), nullValue());
         }
 
         @Test
         @DisplayName("Search should return empty list when no asset is found")
         void searchShouldReturnEmptyListWhenNoAssetsIsFound() {
             // Given
-            configureSearchAssets();
+            configureSearchAssets(AssetService.DEFAULT_PAGE_SIZE, null, new AssetPage(List.of(), null));
+
+            // When
+            AssetSearchResult result = service.search(ASSET_SEARCH_QUERY);
+
+            // Then
+            assertThat(result.assets(), emptyIterable());
+        }
+
+        @Test
+        @DisplayName("Search should continue from the page token and return the next one")
+        void searchShouldContinueFromThePageTokenAndReturnTheNextOne() {
+            // Given
+            configureSearchAssets(10, "page-1", new AssetPage(List.of(AssetMother.SAMPLE_ASSET), "page-2"));
+
+            // When
+            AssetSearchResult result = service.search(new AssetSearchQuery(SortDirection.ASC)
+                    .withPageSize(10)
+                    .withPageToken("page-1"));
+
+            // Then
+            assertThat(result.assets(), contains(AssetMother.SAMPLE_ASSET));
+            assertThat(result.nextPageToken(), equalTo("page-2"));
+        }
+
+        @Test
+        @DisplayName("Search should pass every filter to the repository")
+        void searchShouldPassEveryFilterToTheRepository() {
+            // Given
+            Instant start = Instant.parse("2025-06-01T00:00:00Z");
+            Instant end = Instant.parse("2025-07-01T00:00:00Z");
+            AssetSearchCriteria criteria = new AssetSearchCriteria(start, end, "sample", "image/png",
+                    SortDirection.DESC, AssetService.DEFAULT_PAGE_SIZE, null);
+            when(repository.find(criteria)).thenReturn(new AssetPage(List.of(AssetMother.SAMPLE_ASSET), null));
+
+            // When
+            AssetSearchResult result = service.search(new AssetSearchQuery(SortDirection.DESC)
+                    .withUploadDateStart(start)
+                    .withUploadDateEnd(end)
+                    .withFilename("sample")
+                    .withContentType("image/png"));
+
+            // Then
+            assertThat(result.assets(), contains(AssetMother.SAMPLE_ASSET));
+        }
+
+        @ParameterizedTest
+        @CsvSource(value = {"0, 1", "-5, 1", "100000, " + AssetService.MAX_PAGE_SIZE})
+        @DisplayName("Search should bound the page size")
+        void searchShouldBoundThePageSize(int requestedPageSize, int expectedLimit) {
+            // Given
+            configureSearchAssets(expectedLimit, null, new AssetPage(List.of(), null));
+
+            // When
+            AssetSearchResult result = service.search(new AssetSearchQuery(SortDirection.ASC)
+                    .withPageSize(requestedPageSize));
+
+            // Then
+            assertThat(result.assets(), emptyIterable());
+        }
+    }
+
+    @Nested
+    @DisplayName("Export tests")
+    class ExportTests {
+        @Test
+        @DisplayName("Export should pass every asset to the consumer and close the stream")
+        void exportShouldPassEveryAssetToTheConsumerAndCloseTheStream() {
+            // Given
+            AtomicBoolean closed = new AtomicBoolean();
+            AssetSearchCriteria criteria = new AssetSearchCriteria(null, null, null, null, SortDirection.DESC, 0, null);
+            when(repository.stream(criteria)).thenReturn(Stream.of(AssetMother.SAMPLE_ASSET, AssetMother.ANOTHER_ASSET)
+                    .onClose(() -> closed.set(true)));
+            List<Asset> exported = new ArrayList<>();
+
+            // When
+            service.export(new AssetSearchQuery(SortDirection.DESC), exported::add);
+
+            // Then
+            assertThat(exported, contains(AssetMother.SAMPLE_ASSET, AssetMother.ANOTHER_ASSET));
+            assertThat(closed.get(), equalTo(true));
+        }
+
+        @Test
+        @DisplayName("Export should not take the permits of searches while the client reads it")
+        void exportShouldNotTakeThePermitsOfSearchesWhileTheClientReadsIt() {
+            // Given
+            AssetSearchCriteria criteria = new AssetSearchCriteria(null, null, null, null, SortDirection.DESC, 0, null);
+            when(repository.stream(criteria)).thenReturn(Stream.of(AssetMother.SAMPLE_ASSET));
+            configureSearchAssets(AssetService.DEFAULT_PAGE_SIZE, null, new AssetPage(List.of(), null));
+            List<AssetSearchResult> searched = new ArrayList<>();
 
             // When
-            List<Asset> assets = service.search(ASSET_SEARCH_QUERY);
+            service.export(new AssetSearchQuery(SortDirection.DESC),
+                    asset -> searched.add(service.search(ASSET_SEARCH_QUERY)));
 
             // Then
-            assertThat(assets, emptyIterable());
+            assertThat(searched, hasSize(1));
+            assertThat(BULKHEADS.exports().stats().active(), equalTo(0));
         }
     }
 
@@ -125,14 +272,40 @@ class AssetServiceTest {
     @DisplayName("Upload tests")
     class UploadTests {
         @Test
-        @DisplayName("Upload should return the ID when created")
-        void uploadShouldReturnIdWhenCreated() {
+        @DisplayName("Upload should free the admitted bytes once registered, whichever instance publishes the asset")
+        void uploadShouldFreeTheAdmittedBytesOnceRegisteredWhicheverInstancePublishesTheAsset() {
             // Given
             configureClock();
             configureIdGenerator();
             configureAssetValidator();
+            configureContentSpool();
+            configureSaveAssetInRepository();
+            UploadAdmissionController admission = new UploadAdmissionController(ASSET_UPLOAD_COMMAND.size(), 1, 0,
+                    Duration.ZERO);
+            AssetService admittingService = new AssetService(selfProvider, validator, repository,
+                    publishJobRepository, publisher, contentSpool, admission,
+                    new StatusUpdateBuffer(10, 10, updates -> { }), changeFeed, BULKHEADS, RETRY_POLICY, clock,
+                    idGenerator);
+
+            // When
+            admittingService.upload(ASSET_UPLOAD_COMMAND);
+            admittingService.upload(ASSET_UPLOAD_COMMAND);
+
+            // Then
+            assertThat(admission.stats().inFlightBytes(), equalTo(0L));
+            assertThat(admission.stats().rejected(), equalTo(0L));
+            verifyNoInteractions(publisher);
+        }
+
+        @Test
+        @DisplayName("Upload should return the ID when created and enqueue a publish job")
+        void uploadShouldReturnIdWhenCreatedAndEnqueuePublishJob() {
+            // Given
+            configureClock();
+            configureIdGenerator();
+            configureAssetValidator();
+            configureContentSpool();
             configureSaveAssetInRepository();
-            configureAssetPublisher();
 
             // When
             AssetUploadResult result = service.upload(ASSET_UPLOAD_COMMAND);
@@ -141,22 +314,19 @@ class AssetServiceTest {
             assertThat(result.assetId(), equalTo(AssetMother.SAMPLE_ASSET_ID));
 
             ArgumentCaptor<Asset> captor = ArgumentCaptor.forClass(Asset.class);
-            verify(repository, times(2)).save(captor.capture());
-            verify(publisher, times(1))
-                    .publish(eq(captor.getAllValues().getFirst()), eq(AssetMother.SAMPLE_CONTENT));
-
-            assertSavedAssets(captor, AssetStatus.PUBLISHED, SAMPLE_URL);
+            verify(repository, times(1)).save(captor.capture());
+            assertSavedAsset(captor.getValue(), AssetStatus.PENDING, null);
+            assertThat(captor.getValue().contentHash(), equalTo(AssetMother.SAMPLE_CONTENT_HASH));
+            verify(contentSpool, times(1)).spool(eq(AssetMother.SAMPLE_ASSET_ID), any(AssetContent.class));
+            verify(publishJobRepository, times(1)).enqueue(AssetMother.SAMPLE_ASSET_ID);
+            verify(contentSpool, never()).release(any());
+            verify(admissionController, times(1))
+                    .acquire(AssetMother.SAMPLE_ASSET_ID, ASSET_UPLOAD_COMMAND.size());
+            verify(admissionController, times(1)).endUpload();
+            verify(admissionController, times(1)).release(AssetMother.SAMPLE_ASSET_ID);
+            verifyNoInteractions(publisher);
 
-            assertThat(
-                    logAppender.getEvents(),
-                    contains(
-                            assertLogCreatedForMetadataWasSavedLocally(),
-                            assertLogCreatedForAssetWasPublished(),
-                            hasFormattedLog(
-                                    Level.INFO,
-                                    String.format("Asset with ID '%s' was marked as published",
-                                            AssetMother.SAMPLE_ASSET_ID))
-                    ));
+            assertThat(logAppender.getEvents(), contains(assertLogCreatedForMetadataWasSavedLocally()));
         }
 
         @Test
@@ -175,7 +345,51 @@ class AssetServiceTest {
 
             // Then
             assertThat(actualException, Matchers.sameInstance(exception));
-            verifyNoInteractions(repository, publisher);
+            verifyNoInteractions(repository, publishJobRepository, publisher, contentSpool, admissionController);
+            assertThat(logAppender.getEvents(), emptyIterable());
+        }
+
+        @Test
+        @DisplayName("Upload should not spool the content when it is rejected by admission control")
+        void uploadShouldNotSpoolTheContentWhenItIsRejectedByAdmissionControl() {
+            // Given
+            configureClock();
+            configureIdGenerator();
+            configureAssetValidator();
+
+            UploadRejectedException exception = new UploadRejectedException(10, "admission queue is full");
+            doThrow(exception).when(admissionController).acquire(any(), anyLong());
+
+            // When
+            UploadRejectedException actualException = assertThrows(UploadRejectedException.class,
+                    () -> service.upload(ASSET_UPLOAD_COMMAND));
+
+            // Then
+            assertThat(actualException, Matchers.sameInstance(exception));
+            verifyNoInteractions(repository, publishJobRepository, publisher, contentSpool);
+            verify(admissionController, never()).endUpload();
+        }
+
+        @Test
+        @DisplayName("Upload should not save the asset when content cannot be spooled")
+        void uploadShouldNotSaveTheAssetWhenContentCannotBeSpooled() {
+            // Given
+            configureClock();
+            configureIdGenerator();
+            configureAssetValidator();
+
+            ContentSpoolException exception = new ContentSpoolException(AssetMother.SAMPLE_ASSET_ID, "full");
+            when(contentSpool.spool(any(), any())).thenThrow(exception);
+
+            // When
+            ContentSpoolException actualException = assertThrows(ContentSpoolException.class,
+                    () -> service.upload(ASSET_UPLOAD_COMMAND));
+
+            // Then
+            assertThat(actualException, Matchers.sameInstance(exception));
+            verifyNoInteractions(repository, publishJobRepository, publisher);
+            verify(admissionController, times(1)).release(AssetMother.SAMPLE_ASSET_ID);
+            verify(admissionController, times(1)).endUpload();
             assertThat(logAppender.getEvents(), emptyIterable());
         }
 
@@ -186,6 +400,7 @@ class AssetServiceTest {
             configureClock();
             configureIdGenerator();
             configureAssetValidator();
+            configureContentSpool();
 
             IllegalStateException exception = new IllegalStateException("A fancy message");
             when(repository.save(any(Asset.class))).thenThrow(exception);
@@ -197,77 +412,409 @@ class AssetServiceTest {
             // Then
             assertThat(actualException, Matchers.sameInstance(exception));
             verify(repository, times(1)).save(any(Asset.class));
-            verifyNoInteractions(publisher);
+            verify(contentSpool, times(1)).release(AssetMother.SAMPLE_ASSET_ID);
+            verify(admissionController, times(1)).release(AssetMother.SAMPLE_ASSET_ID);
+            verifyNoInteractions(publishJobRepository, publisher);
             assertThat(logAppender.getEvents(), emptyIterable());
         }
 
         @Test
-        @DisplayName("Upload should log error and mark asset status as failed when publish fails")
-        void uploadShouldLogErrorAndMarkAssetAsFailedWhenPublishFails() {
+        @DisplayName("Upload should release the content when the publish job cannot be enqueued")
+        void uploadShouldReleaseTheContentWhenPublishJobCannotBeEnqueued() {
             // Given
             configureClock();
             configureIdGenerator();
             configureAssetValidator();
+            configureContentSpool();
             configureSaveAssetInRepository();
 
-            String exceptionMessage = "A fancy message";
-            IllegalStateException exception = new IllegalStateException(exceptionMessage);
-            when(publisher.publish(any(), eq(AssetMother.SAMPLE_CONTENT))).thenThrow(exception);
+            IllegalStateException exception = new IllegalStateException("A fancy message");
+            doThrow(exception).when(publishJobRepository).enqueue(any());
 
             // When
-            AssetUploadResult result = service.upload(ASSET_UPLOAD_COMMAND);
+            IllegalStateException actualException = assertThrows(IllegalStateException.class,
+                    () -> service.upload(ASSET_UPLOAD_COMMAND));
 
             // Then
-            assertThat(result.assetId(), equalTo(AssetMother.SAMPLE_ASSET_ID));
+            assertThat(actualException, Matchers.sameInstance(exception));
+            verify(contentSpool, times(1)).release(AssetMother.SAMPLE_ASSET_ID);
+            verifyNoInteractions(publisher);
+        }
+    }
 
-            ArgumentCaptor<Asset> captor = ArgumentCaptor.forClass(Asset.class);
-            verify(repository, times(2)).save(captor.capture());
-            verify(publisher, times(1))
-                    .publish(eq(captor.getAllValues().getFirst()), eq(AssetMother.SAMPLE_CONTENT));
+    @Nested
+    @DisplayName("Upload batch tests")
+    class UploadBatchTests {
+        private static final UUID FIRST_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        private static final UUID SECOND_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        private static final UUID THIRD_ID = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+        @Test
+        @DisplayName("Upload batch should register the valid assets together and fail only the invalid ones")
+        void uploadBatchShouldRegisterTheValidAssetsTogetherAndFailOnlyTheInvalidOnes() {
+            // Given
+            configureClock();
+            when(idGenerator.generateId()).thenReturn(FIRST_ID, SECOND_ID, THIRD_ID);
+            doAnswer(invocation -> {
+                if (invocation.getArgument(0, Asset.class).id().value().equals(SECOND_ID.toString())) {
+                    throw new IllegalArgumentException("Invalid content type");
+                }
+                return null;
+            }).when(validator).validate(any());
+            when(contentSpool.spool(any(), any())).thenReturn(SPOOLED_CONTENT);
+            when(repository.saveAll(any())).thenAnswer(returnsFirstArg());
 
-            assertSavedAssets(captor, AssetStatus.FAILED, null);
+            // When
+            List<AssetBatchUploadResult> results = service.uploadBatch(
+                    List.of(ASSET_UPLOAD_COMMAND, ASSET_UPLOAD_COMMAND, ASSET_UPLOAD_COMMAND));
+
+            // Then
+            assertThat(results, contains(
+                    AssetBatchUploadResult.uploaded(new AssetUploadResult(new AssetId(FIRST_ID.toString()))),
+                    AssetBatchUploadResult.failed("Invalid content type"),
+                    AssetBatchUploadResult.uploaded(new AssetUploadResult(new AssetId(THIRD_ID.toString())))));
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<Asset>> captor = ArgumentCaptor.forClass(List.class);
+            verify(repository, times(1)).saveAll(captor.capture());
+            assertThat(captor.getValue().stream().map(Asset::status).toList(),
+                    contains(AssetStatus.PENDING, AssetStatus.PENDING));
+            verify(publishJobRepository, times(1)).enqueueAll(
+                    List.of(new AssetId(FIRST_ID.toString()), new AssetId(THIRD_ID.toString())));
+            verify(repository, never()).save(any());
+            verify(publishJobRepository, never()).enqueue(any());
+            verify(admissionController, times(2)).endUpload();
+            assertThat(logAppender.getEvents(), hasItem(
+                    hasFormattedLog(Level.INFO, "Batch of 3 assets stored locally, 1 of them failed")));
+        }
+
+        @Test
+        @DisplayName("Upload batch should fail only the assets rejected by admission control")
+        void uploadBatchShouldFailOnlyTheAssetsRejectedByAdmissionControl() {
+            // Given
+            configureClock();
+            when(idGenerator.generateId()).thenReturn(FIRST_ID, SECOND_ID);
+            configureAssetValidator();
+            doAnswer(invocation -> {
+                if (invocation.getArgument(0, AssetId.class).value().equals(SECOND_ID.toString())) {
+                    throw new UploadRejectedException(10, "admission queue is full");
+                }
+                return null;
+            }).when(admissionController).acquire(any(), anyLong());
+            when(contentSpool.spool(any(), any())).thenReturn(SPOOLED_CONTENT);
+            configureSaveAssetInRepository();
+
+            // When
+            List<AssetBatchUploadResult> results = service.uploadBatch(
+                    List.of(ASSET_UPLOAD_COMMAND, ASSET_UPLOAD_COMMAND));
+
+            // Then
+            assertThat(results.get(0).isUploaded(), equalTo(true));
+            assertThat(results.get(1).isUploaded(), equalTo(false));
+            assertThat(results.get(1).error(), containsString("admission queue is full"));
+            verify(contentSpool, times(1)).spool(eq(new AssetId(FIRST_ID.toString())), any());
+            verify(publishJobRepository, times(1)).enqueue(new AssetId(FIRST_ID.toString()));
+            verify(admissionController, times(1)).endUpload();
+        }
+
+        @Test
+        @DisplayName("Upload batch should fail every spooled asset and release its content when registration fails")
+        void uploadBatchShouldFailEverySpooledAssetAndReleaseItsContentWhenRegistrationFails() {
+            // Given
+            configureClock();
+            when(idGenerator.generateId()).thenReturn(FIRST_ID, SECOND_ID);
+            configureAssetValidator();
+            when(contentSpool.spool(any(), any())).thenReturn(SPOOLED_CONTENT);
+            when(repository.saveAll(any())).thenThrow(new IllegalStateException("A fancy message"));
+
+            // When
+            List<AssetBatchUploadResult> results = service.uploadBatch(
+                    List.of(ASSET_UPLOAD_COMMAND, ASSET_UPLOAD_COMMAND));
+
+            // Then
+            assertThat(results, contains(AssetBatchUploadResult.failed("A fancy message"),
+                    AssetBatchUploadResult.failed("A fancy message")));
+            verify(contentSpool, times(1)).release(new AssetId(FIRST_ID.toString()));
+            verify(contentSpool, times(1)).release(new AssetId(SECOND_ID.toString()));
+            verifyNoInteractions(publishJobRepository, publisher);
+        }
+    }
+
+    @Nested
+    @DisplayName("Publish tests")
+    class PublishTests {
+        @Test
+        @DisplayName("Publish should mark the asset as published and complete the job")
+        void publishShouldMarkAssetAsPublishedAndCompleteJob() {
+            // Given
+            configureSpooledContent();
+            configureAssetPublisher();
+            configureStatusUpdateInRepository();
+
+            // When
+            service.publish(PUBLISH_JOB);
+
+            // Then
+            verify(publisher, times(1)).publish(PENDING_ASSET, SPOOLED_CONTENT);
+            assertStatusTransition(AssetStatus.PUBLISHED, SAMPLE_URL);
+            verify(publishJobRepository, times(1)).completeAll(List.of(PUBLISH_JOB));
+            verify(contentSpool, times(1)).release(AssetMother.SAMPLE_ASSET_ID);
+            verifyNoInteractions(admissionController);
+
+            assertThat(
+                    logAppender.getEvents(),
+                    contains(
+                            assertLogCreatedForAssetWasPublished(),
+                            hasFormattedLog(
+                                    Level.INFO,
+                                    String.format("Asset with ID '%s' was marked as published",
+                                            AssetMother.SAMPLE_ASSET_ID))
+                    ));
+        }
+
+        @Test
+        @DisplayName("Publish should reuse the url of a published asset with the same content")
+        void publishShouldReuseUrlOfPublishedAssetWithSameContent() {
+            // Given
+            Asset hashedAsset = PENDING_ASSET.withContentHash(AssetMother.SAMPLE_CONTENT_HASH);
+            when(repository.findPublishedByContentHash(AssetMother.SAMPLE_CONTENT_HASH, hashedAsset.contentType()))
+                    .thenReturn(Optional.of(AssetMother.ANOTHER_ASSET));
+            configureStatusUpdateInRepository();
+
+            // When
+            service.publish(new PublishJob(1L, hashedAsset, 1));
+
+            // Then
+            verifyNoInteractions(publisher);
+            assertStatusTransition(AssetStatus.PUBLISHED, AssetMother.ANOTHER_ASSET.publishedUrl());
+            verify(contentSpool, never()).find(any());
+            verify(contentSpool, times(1)).release(AssetMother.SAMPLE_ASSET_ID);
+        }
+
+        @Test
+        @DisplayName("Publish should publish the content when the lookup of published duplicates fails")
+        void publishShouldPublishContentWhenLookupOfPublishedDuplicatesFails() {
+            // Given
+            Asset hashedAsset = PENDING_ASSET.withContentHash(AssetMother.SAMPLE_CONTENT_HASH);
+            when(repository.findPublishedByContentHash(any(), any())).thenThrow(new IllegalStateException("down"));
+            configureSpooledContent();
+            when(publisher.publish(hashedAsset, SPOOLED_CONTENT)).thenReturn(new PublishedUrl(SAMPLE_URL));
+            configureStatusUpdateInRepository();
+
+            // When
+            service.publish(new PublishJob(1L, hashedAsset, 1));
+
+            // Then
+            assertStatusTransition(AssetStatus.PUBLISHED, SAMPLE_URL);
+        }
+
+        @Test
+        @DisplayName("Publish should log error and mark asset status as failed when publish fails")
+        void publishShouldLogErrorAndMarkAssetAsFailedWhenPublishFails() {
+            // Given
+            configureSpooledContent();
+            configureStatusUpdateInRepository();
+
+            String exceptionMessage = "A fancy message";
+            IllegalStateException exception = new IllegalStateException(exceptionMessage);
+            when(publisher.publish(any(), eq(SPOOLED_CONTENT))).thenThrow(exception);
+
+            // When
+            service.publish(PUBLISH_JOB);
+
+            // Then
+            assertStatusTransition(AssetStatus.FAILED, null);
+            verify(publishJobRepository, times(1)).completeAll(List.of(PUBLISH_JOB));
+            verify(contentSpool, times(1)).release(AssetMother.SAMPLE_ASSET_ID);
 
             assertThat(
                     logAppender.getEvents(),
                     contains(
-                            assertLogCreatedForMetadataWasSavedLocally(),
                             hasFormattedLog(
                                     Level.ERROR,
                                     String.format("Asset with ID '%s' failed to publish: %s",
-                                            AssetMother.SAMPLE_ASSET_ID, exceptionMessage))
+                                            AssetMother.SAMPLE_ASSET_ID, exceptionMessage)),
+                            hasFormattedLog(
+                                    Level.INFO,
+                                    String.format("Asset with ID '%s' was marked as failed",
+                                            AssetMother.SAMPLE_ASSET_ID))
                     ));
         }
 
         @Test
-        @DisplayName("Upload should log error as critical when update asset status fails after publishing")
-        void uploadShouldLogErrorAsCriticalWhenUpdateAssetStatusFailsAfterPublishing() {
+        @DisplayName("Publish should reschedule the job when publish fails with a retryable error")
+        void publishShouldRescheduleJobWhenPublishFailsWithRetryableError() {
             // Given
-            configureClock();
-            configureIdGenerator();
-            configureAssetValidator();
+            configureSpooledContent();
+            PublishJob secondAttempt = new PublishJob(1L, PENDING_ASSET, 2);
+            when(publisher.publish(any(), eq(SPOOLED_CONTENT))).thenThrow(
+                    new AssetPublishException(AssetMother.SAMPLE_ASSET_ID, "circuit breaker is open", true));
+
+            // When
+            service.publish(secondAttempt);
+
+            // Then
+            verify(publishJobRepository, times(1)).reschedule(secondAttempt, Duration.ofSeconds(15));
+            verify(publishJobRepository, never()).completeAll(any());
+            verifyNoInteractions(repository);
+            verify(contentSpool, never()).release(any());
+        }
+
+        @Test
+        @DisplayName("Publish should mark asset status as failed when retryable attempts are exhausted")
+        void publishShouldMarkAssetAsFailedWhenRetryableAttemptsAreExhausted() {
+            // Given
+            configureSpooledContent();
+            configureStatusUpdateInRepository();
+            PublishJob lastAttempt = new PublishJob(1L, PENDING_ASSET, RETRY_POLICY.maxAttempts());
+            when(publisher.publish(any(), eq(SPOOLED_CONTENT))).thenThrow(
+                    new AssetPublishException(AssetMother.SAMPLE_ASSET_ID, "publisher is down", true));
+
+            // When
+            service.publish(lastAttempt);
+
+            // Then
+            verify(publishJobRepository, never()).reschedule(any(), any());
+            assertStatusTransition(AssetStatus.FAILED, null);
+            verify(publishJobRepository, times(1)).completeAll(List.of(lastAttempt));
+        }
+
+        @Test
+        @DisplayName("Publish should mark asset status as failed when content is no longer available")
+        void publishShouldMarkAssetAsFailedWhenContentIsNoLongerAvailable() {
+            // Given
+            when(contentSpool.find(AssetMother.SAMPLE_ASSET_ID)).thenReturn(Optional.empty());
+            configureStatusUpdateInRepository();
+
+            // When
+            service.publish(PUBLISH_JOB);
+
+            // Then
+            verifyNoInteractions(publisher);
+            assertStatusTransition(AssetStatus.FAILED, null);
+            verify(publishJobRepository, times(1)).completeAll(List.of(PUBLISH_JOB));
+        }
+
+        @Test
+        @DisplayName("Publish should reschedule the job when the spool is not available")
+        void publishShouldRescheduleJobWhenSpoolIsNotAvailable() {
+            // Given
+            PublishJob secondAttempt = new PublishJob(1L, PENDING_ASSET, 2);
+            when(contentSpool.find(AssetMother.SAMPLE_ASSET_ID)).thenThrow(
+                    new ContentSpoolException(AssetMother.SAMPLE_ASSET_ID, "spool directory is not available"));
+
+            // When
+            service.publish(secondAttempt);
+
+            // Then
+            verifyNoInteractions(publisher, repository);
+            verify(publishJobRepository, times(1)).reschedule(secondAttempt, Duration.ofSeconds(15));
+            verify(publishJobRepository, never()).completeAll(any());
+        }
+
+        @Test
+        @DisplayName("Publish should discard the job when the asset is not pending")
+        void publishShouldDiscardJobWhenAssetIsNotPending() {
+            // Given
+            PublishJob job = new PublishJob(1L, AssetMother.SAMPLE_ASSET, 2);
+
+            // When
+            service.publish(job);
+
+            // Then
+            verifyNoInteractions(publisher, repository);
+            verify(publishJobRepository, times(1)).complete(job);
+            verify(contentSpool, times(1)).release(AssetMother.SAMPLE_ASSET_ID);
+        }
+
+        @Test
+        @DisplayName("Publish should complete the job when the asset is no longer pending")
+        void publishShouldCompleteJobWhenAssetIsNoLongerPending() {
+            // Given
+            configureSpooledContent();
+            configureAssetPublisher();
+            when(repository.updateStatuses(any())).thenReturn(Set.of());
+
+            // When
+            service.publish(PUBLISH_JOB);
+
+            // Then
+            verify(repository, never()).save(any());
+            verify(publishJobRepository, times(1)).completeAll(List.of(PUBLISH_JOB));
+            verify(contentSpool, times(1)).release(AssetMother.SAMPLE_ASSET_ID);
+            assertThat(
+                    logAppender.getEvents(),
+                    hasItem(hasFormattedLog(
+                            Level.WARN,
+                            String.format("Asset with ID '%s' is no longer PENDING, status PUBLISHED was not applied",
+                                    AssetMother.SAMPLE_ASSET_ID))));
+        }
+
+        @Test
+        @DisplayName("Complete publish jobs should apply a single transition per asset")
+        void completePublishJobsShouldApplySingleTransitionPerAsset() {
+            // Given
+            configureStatusUpdateInRepository();
+            AssetStatusTransition published = AssetStatusTransition.between(PENDING_ASSET,
+                    PENDING_ASSET.markAsPublished(SAMPLE_URL));
+            AssetStatusTransition failed = AssetStatusTransition.between(PENDING_ASSET, PENDING_ASSET.markAsFailed());
+            PublishJob retriedJob = new PublishJob(1L, PENDING_ASSET, 2);
+
+            // When
+            service.completePublishJobs(List.of(
+                    new PendingStatusUpdate(PUBLISH_JOB, published),
+                    new PendingStatusUpdate(retriedJob, failed)));
+
+            // Then
+            verify(repository, times(1)).updateStatuses(List.of(published));
+            verify(publishJobRepository, times(1)).completeAll(List.of(PUBLISH_JOB, retriedJob));
+        }
+
+        @Test
+        @DisplayName("Complete publish jobs should publish to the change feed only the transitions applied")
+        void completePublishJobsShouldPublishToTheChangeFeedOnlyTheTransitionsApplied() throws InterruptedException {
+            // Given
+            configureStatusUpdateInRepository();
+            Asset anotherAsset = PENDING_ASSET.withId(AssetMother.ANOTHER_ASSET_ID);
+            AssetStatusTransition published = AssetStatusTransition.between(PENDING_ASSET,
+                    PENDING_ASSET.markAsPublished(SAMPLE_URL));
+            AssetStatusTransition notApplied = AssetStatusTransition.between(anotherAsset, anotherAsset.markAsFailed());
+            AssetChangeSubscription subscription = changeFeed.subscribe(new AssetChangeQuery(Set.of(), null));
+
+            // When
+            service.completePublishJobs(List.of(
+                    new PendingStatusUpdate(PUBLISH_JOB, published),
+                    new PendingStatusUpdate(new PublishJob(2L, anotherAsset, 1), notApplied)));
+
+            // Then
+            List<AssetStatusChange> changes = subscription.poll(10, Duration.ZERO);
+            assertThat(changes, hasSize(1));
+            assertThat(changes.getFirst().assetId(), equalTo(AssetMother.SAMPLE_ASSET_ID));
+            assertThat(changes.getFirst().status(), equalTo(AssetStatus.PUBLISHED));
+            assertThat(changes.getFirst().publishedUrl(), equalTo(SAMPLE_URL));
+        }
+
+        @Test
+        @DisplayName("Publish should log error as critical and keep the job when update asset status fails")
+        void publishShouldLogErrorAsCriticalAndKeepJobWhenUpdateAssetStatusFails() {
+            // Given
+            configureSpooledContent();
             configureAssetPublisher();
 
             String exceptionMessage = "A fancy message";
             IllegalStateException exception = new IllegalStateException(exceptionMessage);
-            // Throws an exception when repo is called for the second time
-            configureSaveAssetInRepository()
-                    .thenThrow(exception);
+            when(repository.updateStatuses(any())).thenThrow(exception);
 
             // When
-            AssetUploadResult result = service.upload(ASSET_UPLOAD_COMMAND);
+            service.publish(PUBLISH_JOB);
 
             // Then
-            assertThat(result.assetId(), equalTo(AssetMother.SAMPLE_ASSET_ID));
-
-            ArgumentCaptor<Asset> captor = ArgumentCaptor.forClass(Asset.class);
-            verify(repository, times(2)).save(captor.capture());
-            verify(publisher, times(1))
-                    .publish(eq(captor.getAllValues().getFirst()), eq(AssetMother.SAMPLE_CONTENT));
+            verify(publishJobRepository, never()).completeAll(any());
+            verify(contentSpool, never()).release(any());
 
             assertThat(
                     logAppender.getEvents(),
                     contains(
-                            assertLogCreatedForMetadataWasSavedLocally(),
                             assertLogCreatedForAssetWasPublished(),
                             hasFormattedLog(
                                     Level.ERROR,
@@ -276,56 +823,122 @@ class AssetServiceTest {
                     ));
         }
 
-        private Matcher<ILoggingEvent> assertLogCreatedForMetadataWasSavedLocally() {
-            return hasFormattedLog(Level.INFO,
-                    String.format("Asset info stored locally with ID '%s', filename: '%s'",
-                            AssetMother.SAMPLE_ASSET_ID, AssetMother.SAMPLE_FILENAME.value()));
+        private void assertStatusTransition(AssetStatus expectedStatus, String expectedUrl) {
+            verify(repository, times(1)).updateStatuses(List.of(new AssetStatusTransition(
+                    AssetMother.SAMPLE_ASSET_ID, AssetStatus.PENDING, expectedStatus, expectedUrl)));
+            verify(repository, never()).save(any());
         }
+    }
 
-        private Matcher<ILoggingEvent> assertLogCreatedForAssetWasPublished() {
-            return hasFormattedLog(Level.INFO,
-                    String.format("Asset with ID '%s' was published successfully with url '%s'",
-                            AssetMother.SAMPLE_ASSET_ID, SAMPLE_URL));
-        }
+    @Nested
+    @DisplayName("Flight recorder tests")
+    class FlightRecorderTests {
+        @Test
+        @DisplayName("Upload and publish should record the lifecycle events of the asset")
+        void uploadAndPublishShouldRecordTheLifecycleEventsOfTheAsset() throws IOException {
+            // Given
+            configureClock();
+            configureIdGenerator();
+            configureAssetValidator();
+            configureContentSpool();
+            configureSaveAssetInRepository();
+            configureSpooledContent();
+            configureAssetPublisher();
+            configureStatusUpdateInRepository();
 
-        private void assertSavedAssets(
-                ArgumentCaptor<Asset> captor,
-                AssetStatus expectedFinalStatus,
-                String expectedSavedUrl) {
-            List<Asset> allValues = captor.getAllValues();
-            Asset firstSaving = allValues.get(0);
-            Asset secondSaving = allValues.get(1);
+            // When
+            List<RecordedEvent> events;
+            try (Recording recording = new Recording()) {
+                Stream.of(AssetAcceptedEvent.class, AssetPersistedEvent.class, AssetPublishEvent.class,
+                        AssetStatusUpdatedEvent.class).forEach(event -> recording.enable(event).withoutThreshold());
+                recording.start();
+                service.upload(ASSET_UPLOAD_COMMAND);
+                service.publish(PUBLISH_JOB);
+                recording.stop();
+                events = readEvents(recording);
+            }
 
-            assertThat(firstSaving.id(), equalTo(AssetMother.SAMPLE_ASSET_ID));
-            assertThat(firstSaving.filename().value(), equalTo(ASSET_UPLOAD_COMMAND.filename()));
-            assertThat(firstSaving.contentType().value(), equalTo(ASSET_UPLOAD_COMMAND.contentType()));
-            assertThat(firstSaving.fileSize().value(), equalTo(ASSET_UPLOAD_COMMAND.size()));
-            assertThat(firstSaving.uploadDate(), equalTo(AssetMother.SAMPLE_UPLOAD_DATE));
-            assertThat(firstSaving.publishedUrl(), nullValue());
-            assertThat(firstSaving.status(), equalTo(AssetStatus.PENDING));
+            // Then
+            assertThat(events.stream().map(event -> event.getEventType().getName()).toList(), contains(
+                    "org.fsg.assetmanager.AssetAccepted",
+                    "org.fsg.assetmanager.AssetPersisted",
+                    "org.fsg.assetmanager.AssetPublish",
+                    "org.fsg.assetmanager.AssetStatusUpdated"));
+            events.forEach(event -> {
+                assertThat(event.getString("assetId"), equalTo(AssetMother.SAMPLE_ASSET_ID.value()));
+                assertThat(event.getString("contentType"), equalTo(AssetMother.SAMPLE_CONTENT_TYPE.value()));
+            });
+            assertThat(events.getFirst().getLong("size"), equalTo((long) ASSET_UPLOAD_COMMAND.size()));
+            assertThat(events.get(2).getString("outcome"), equalTo("success"));
+            assertThat(events.get(2).getInt("attempt"), equalTo(1));
+            assertThat(events.get(3).getString("status"), equalTo("PUBLISHED"));
+            assertThat(events.get(3).getBoolean("applied"), equalTo(true));
+        }
 
-            assertThat(secondSaving.id(), equalTo(AssetMother.SAMPLE_ASSET_ID));
-            assertThat(secondSaving.filename().value(), equalTo(ASSET_UPLOAD_COMMAND.filename()));
-            assertThat(secondSaving.contentType().value(), equalTo(ASSET_UPLOAD_COMMAND.contentType()));
-            assertThat(secondSaving.fileSize().value(), equalTo(ASSET_UPLOAD_COMMAND.size()));
-            assertThat(secondSaving.uploadDate(), equalTo(AssetMother.SAMPLE_UPLOAD_DATE));
-            assertThat(secondSaving.publishedUrl(), equalTo(expectedSavedUrl));
-            assertThat(secondSaving.status(), equalTo(expectedFinalStatus));
+        private static List<RecordedEvent> readEvents(Recording recording) throws IOException {
+            Path file = Files.createTempFile("asset-service", ".jfr");
+            try {
+                recording.dump(file);
+                return RecordingFile.readAllEvents(file).stream()
+                        .filter(event -> event.getEventType().getName().startsWith("org.fsg.assetmanager."))
+                        .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                        .toList();
+            } finally {
+                Files.delete(file);
+            }
         }
     }
 
-    private void configureSearchAssets(Asset... assets) {
+    private Matcher<ILoggingEvent> assertLogCreatedForMetadataWasSavedLocally() {
+        return hasFormattedLog(Level.INFO,
+                String.format("Asset info stored locally with ID '%s', filename: '%s'",
+                        AssetMother.SAMPLE_ASSET_ID, AssetMother.SAMPLE_FILENAME.value()));
+    }
+
+    private Matcher<ILoggingEvent> assertLogCreatedForAssetWasPublished() {
+        return hasFormattedLog(Level.INFO,
+                String.format("Asset with ID '%s' was published successfully with url '%s'",
+                        AssetMother.SAMPLE_ASSET_ID, SAMPLE_URL));
+    }
+
+    private void assertSavedAsset(Asset savedAsset, AssetStatus expectedStatus, String expectedSavedUrl) {
+        assertThat(savedAsset.id(), equalTo(AssetMother.SAMPLE_ASSET_ID));
+        assertThat(savedAsset.filename().value(), equalTo(ASSET_UPLOAD_COMMAND.filename()));
+        assertThat(savedAsset.contentType().value(), equalTo(ASSET_UPLOAD_COMMAND.contentType()));
+        assertThat(savedAsset.publishedUrl(), equalTo(expectedSavedUrl));
+        assertThat(savedAsset.status(), equalTo(expectedStatus));
+    }
+
+    private void configureSearchAssets(int expectedLimit, String expectedPageToken, AssetPage page) {
         AssetSearchCriteria criteria = new AssetSearchCriteria(null, null, null, null,
-                ASSET_SEARCH_QUERY.sortDirection());
-        when(repository.find(criteria)).thenReturn(Arrays.asList(assets));
+                ASSET_SEARCH_QUERY.sortDirection(), expectedLimit, expectedPageToken);
+        when(repository.find(criteria)).thenReturn(page);
     }
 
     private OngoingStubbing<Asset> configureSaveAssetInRepository() {
         return when(repository.save(any(Asset.class))).thenAnswer(returnsFirstArg());
     }
 
+    private void configureStatusUpdateInRepository() {
+        when(repository.updateStatuses(any())).thenReturn(Set.of(AssetMother.SAMPLE_ASSET_ID));
+    }
+
     private void configureAssetPublisher() {
-        when(publisher.publish(any(), eq(AssetMother.SAMPLE_CONTENT))).thenReturn(new PublishedUrl(SAMPLE_URL));
+        when(publisher.publish(any(), eq(SPOOLED_CONTENT))).thenReturn(new PublishedUrl(SAMPLE_URL));
+    }
+
+    private void configureContentSpool() {
+        // Hint: The content is read as the spool does, so its hash is computed
+        when(contentSpool.spool(eq(AssetMother.SAMPLE_ASSET_ID), any(AssetContent.class))).thenAnswer(invocation -> {
+            try (InputStream content = invocation.getArgument(1, AssetContent.class).openStream()) {
+                assertThat(content.readAllBytes(), equalTo(AssetMother.SAMPLE_CONTENT));
+            }
+            return SPOOLED_CONTENT;
+        });
+    }
+
+    private void configureSpooledContent() {
+        when(contentSpool.find(AssetMother.SAMPLE_ASSET_ID)).thenReturn(Optional.of(SPOOLED_CONTENT));
     }
 
     private void configureIdGenerator() {
@@ -339,4 +952,4 @@ class AssetServiceTest {
     private void configureAssetValidator() {
         doNothing().when(validator).validate(any());
     }
-}
\ No newline at end of file
+}
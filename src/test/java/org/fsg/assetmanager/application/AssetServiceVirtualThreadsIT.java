@@ -1,22 +1,25 @@
 package org.fsg.assetmanager.application;
 
 import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.AssetContent;
+import org.fsg.assetmanager.domain.model.AssetStatus;
 import org.fsg.assetmanager.domain.mother.AssetMother;
-import org.fsg.assetmanager.domain.port.in.AssetUploadCommand;
-import org.fsg.assetmanager.domain.port.out.AssetPublisher;
-import org.fsg.assetmanager.domain.port.out.AssetRepository;
-import org.fsg.assetmanager.domain.port.out.PublishedUrl;
+import org.fsg.assetmanager.domain.port.out.*;
 import org.fsg.assetmanager.domain.service.AssetValidator;
+import org.fsg.assetmanager.infrastructure.adapter.out.spool.ContentSpoolProperties;
 import org.fsg.assetmanager.infrastructure.config.ApplicationConfig;
 import org.fsg.assetmanager.infrastructure.config.AsyncConfig;
+import org.fsg.assetmanager.testutils.ByteArrayAssetContent;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.util.IdGenerator;
 
 import java.time.Clock;
-import java.util.UUID;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -26,13 +29,15 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
-@SpringBootTest(classes = {ApplicationConfig.class, AsyncConfig.class})
+@SpringBootTest(classes = {ApplicationConfig.class, AsyncConfig.class},
+        properties = "asset-manager.spool.directory=${java.io.tmpdir}/asset-manager-test/spool")
+@EnableConfigurationProperties(ContentSpoolProperties.class)
 class AssetServiceVirtualThreadsIT {
-    private static final UUID SAMPLE_UUID = UUID.fromString("00000000-0000-0000-0000-000000000001");
-
+    private static final Asset PENDING_ASSET = AssetMother.SAMPLE_ASSET.withStatus(AssetStatus.PENDING);
 
     @MockitoBean
     private AssetValidator validator;
@@ -40,9 +45,21 @@ class AssetServiceVirtualThreadsIT {
     @MockitoBean
     private AssetRepository repository;
 
+    @MockitoBean
+    private PublishJobRepository publishJobRepository;
+
     @MockitoBean
     private AssetPublisher publisher;
 
+    @MockitoBean
+    private ContentSpool contentSpool;
+
+    @MockitoBean
+    private UploadSessionStore uploadSessionStore;
+
+    @MockitoBean
+    private AssetChangeFeed changeFeed;
+
     @MockitoBean
     private Clock clock;
 
@@ -50,14 +67,14 @@ class AssetServiceVirtualThreadsIT {
     private IdGenerator idGenerator;
 
     @Autowired
-    private AssetService service;
+    private PublishJobDispatcher dispatcher;
 
     @Test
-    void shouldUseVirtualThreadsForAsyncUpload() throws InterruptedException {
+    void shouldUseVirtualThreadsForPublishJobs() throws InterruptedException {
         // Given
-        configureClock();
-        configureIdGenerator();
         configureRepository();
+        configurePublishJobRepository();
+        configureContentSpool();
 
         // Here, we check the current threat leveraging mockito
         AtomicReference<Thread> asyncThread = new AtomicReference<>();
@@ -67,15 +84,10 @@ class AssetServiceVirtualThreadsIT {
             asyncThread.set(Thread.currentThread());
             latch.countDown();
             return new PublishedUrl("foo");
-        }).when(publisher).publish(any(Asset.class), any(byte[].class));
+        }).when(publisher).publish(any(Asset.class), any(AssetContent.class));
 
         // When
-        AssetUploadCommand command = new AssetUploadCommand(
-                "test.png",
-                "image/png",
-                3,
-                new byte[]{1, 2, 3});
-        service.upload(command);
+        dispatcher.dispatch();
 
         // Then
         assertThat(latch.await(5, TimeUnit.SECONDS), equalTo(true));
@@ -88,11 +100,14 @@ class AssetServiceVirtualThreadsIT {
         when(repository.save(any(Asset.class))).thenAnswer(returnsFirstArg());
     }
 
-    private void configureIdGenerator() {
-        when(idGenerator.generateId()).thenReturn(SAMPLE_UUID);
+    private void configurePublishJobRepository() {
+        when(publishJobRepository.claim(anyInt(), any()))
+                .thenReturn(List.of(new PublishJob(1L, PENDING_ASSET, 1)))
+                .thenReturn(List.of());
     }
 
-    private void configureClock() {
-        when(clock.instant()).thenReturn(AssetMother.SAMPLE_UPLOAD_DATE);
+    private void configureContentSpool() {
+        when(contentSpool.find(any()))
+                .thenReturn(Optional.of(new ByteArrayAssetContent(AssetMother.SAMPLE_CONTENT)));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+package org.fsg.assetmanager.application;
+
+import org.fsg.assetmanager.domain.exception.PersistenceBusyException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BulkheadTest {
+    private static final Duration MAX_WAIT = Duration.ofMillis(50);
+
+    @Test
+    @DisplayName("Should run the work and free the permit")
+    void shouldRunTheWorkAndFreeThePermit() {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("searches", 1, MAX_WAIT);
+
+        // When
+        String first = bulkhead.execute(() -> "first");
+        String second = bulkhead.execute(() -> "second");
+
+        // Then
+        assertThat(first, equalTo("first"));
+        assertThat(second, equalTo("second"));
+        assertThat(bulkhead.stats().admitted(), equalTo(2L));
+        assertThat(bulkhead.stats().active(), equalTo(0));
+    }
+
+    @Test
+    @DisplayName("Should free the permit when the work fails")
+    void shouldFreeThePermitWhenTheWorkFails() {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("searches", 1, MAX_WAIT);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> bulkhead.execute(() -> {
+            throw new IllegalStateException("A fancy message");
+        }));
+
+        // Then
+        assertThat(bulkhead.execute(() -> "next"), equalTo("next"));
+    }
+
+    @Test
+    @DisplayName("Should reject the work still waiting after the max wait")
+    void shouldRejectTheWorkStillWaitingAfterTheMaxWait() throws Exception {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("background", 1, MAX_WAIT);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> holder = executor.submit(() -> bulkhead.execute(() -> {
+                started.countDown();
+                await(finish);
+                return null;
+            }));
+            started.await();
+
+            // When
+            PersistenceBusyException exception = assertThrows(PersistenceBusyException.class,
+                    () -> bulkhead.execute(() -> "rejected"));
+            finish.countDown();
+            holder.get();
+
+            // Then
+            assertThat(exception.getMessage(), startsWith("No background database access was available"));
+            assertThat(bulkhead.stats().rejected(), equalTo(1L));
+            assertThat(bulkhead.stats().admitted(), equalTo(1L));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
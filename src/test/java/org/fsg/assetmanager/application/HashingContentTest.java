@@ -0,0 +1,81 @@
+package org.fsg.assetmanager.application;
+
+import org.fsg.assetmanager.domain.model.AssetContent;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+class HashingContentTest {
+
+    @Test
+    @DisplayName("Should hash the content as it is read")
+    void shouldHashTheContentAsItIsRead() throws IOException {
+        // Given
+        HashingContent content = new HashingContent(AssetMother.SAMPLE_ASSET_CONTENT);
+        ByteBuffer buffer = ByteBuffer.allocate(3);
+        ByteBuffer read = ByteBuffer.allocate(AssetMother.SAMPLE_CONTENT.length);
+
+        // When
+        try (ReadableByteChannel channel = content.openChannel()) {
+            while (channel.read(buffer) > 0) {
+                read.put(buffer.flip());
+                buffer.clear();
+            }
+        }
+
+        // Then
+        assertThat(read.array(), equalTo(AssetMother.SAMPLE_CONTENT));
+        assertThat(content.hash(), equalTo(AssetMother.SAMPLE_CONTENT_HASH));
+        assertThat(content.size(), equalTo((long) AssetMother.SAMPLE_CONTENT.length));
+    }
+
+    @Test
+    @DisplayName("Should have no hash when the content was not read")
+    void shouldHaveNoHashWhenTheContentWasNotRead() {
+        // When
+        HashingContent content = new HashingContent(AssetMother.SAMPLE_ASSET_CONTENT);
+
+        // Then
+        assertThat(content.hash(), nullValue());
+    }
+
+    @Test
+    @DisplayName("Should read a content backed by a file to hash it when it was not read")
+    void shouldReadAContentBackedByAFileToHashItWhenItWasNotRead(@TempDir Path directory) throws IOException {
+        // Given
+        Path file = Files.write(directory.resolve("content"), AssetMother.SAMPLE_CONTENT);
+        HashingContent content = new HashingContent(new AssetContent() {
+            @Override
+            public long size() {
+                return AssetMother.SAMPLE_CONTENT.length;
+            }
+
+            @Override
+            public ReadableByteChannel openChannel() throws IOException {
+                return FileChannel.open(file);
+            }
+
+            @Override
+            public Optional<Path> path() {
+                return Optional.of(file);
+            }
+        });
+
+        // When / Then
+        assertThat(content.path(), equalTo(Optional.of(file)));
+        assertThat(content.hash(), equalTo(AssetMother.SAMPLE_CONTENT_HASH));
+    }
+}
@@ -0,0 +1,135 @@
+package org.fsg.assetmanager.application;
+
+import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.model.AssetStatus;
+import org.fsg.assetmanager.domain.model.AssetStatusChange;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.in.AssetChangeQuery;
+import org.fsg.assetmanager.domain.port.in.AssetChangeSubscription;
+import org.fsg.assetmanager.domain.port.out.AssetRepository;
+import org.fsg.assetmanager.domain.port.out.AssetStatusTransition;
+import org.fsg.assetmanager.domain.port.out.ContentSpool;
+import org.fsg.assetmanager.domain.port.out.PublishJobRepository;
+import org.fsg.assetmanager.testutils.ByteArrayAssetContent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PendingAssetSweeperTest {
+    private static final Instant NOW = Instant.parse("2025-07-01T00:00:00Z");
+    private static final Duration STUCK_AFTER = Duration.ofMinutes(30);
+    private static final Instant UPLOADED_BEFORE = NOW.minus(STUCK_AFTER);
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private PublishJobRepository publishJobRepository;
+
+    @Mock
+    private ContentSpool contentSpool;
+
+    private final AssetChangeFeed changeFeed = new AssetChangeFeed(10, 10, 10, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    private PendingAssetSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new PendingAssetSweeper(assetRepository, publishJobRepository, contentSpool, changeFeed,
+                Runnable::run, new Bulkhead("background", 1, Duration.ZERO), Clock.fixed(NOW, ZoneOffset.UTC),
+                STUCK_AFTER, BATCH_SIZE, 2);
+    }
+
+    @Test
+    @DisplayName("Sweep should enqueue the stuck assets whose content is spooled and fail the rest")
+    void sweepShouldEnqueueTheStuckAssetsWhoseContentIsSpooledAndFailTheRest() throws InterruptedException {
+        // Given
+        Asset spooled = pending(1);
+        Asset lost = pending(2);
+        when(assetRepository.findPendingWithoutPublishJob(UPLOADED_BEFORE, null, BATCH_SIZE))
+                .thenReturn(List.of(spooled, lost));
+        when(contentSpool.find(spooled.id())).thenReturn(Optional.of(new ByteArrayAssetContent(new byte[1])));
+        when(assetRepository.findPendingWithoutPublishJob(UPLOADED_BEFORE, lost, BATCH_SIZE)).thenReturn(List.of());
+        when(contentSpool.find(lost.id())).thenReturn(Optional.empty());
+        when(assetRepository.updateStatuses(any())).thenReturn(Set.of(lost.id()));
+        AssetChangeSubscription subscription = changeFeed.subscribe(new AssetChangeQuery(Set.of(lost.id()), null));
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        verify(publishJobRepository, times(1)).enqueue(spooled.id());
+        verify(publishJobRepository, never()).enqueue(lost.id());
+        verify(assetRepository, times(1)).updateStatuses(List.of(
+                new AssetStatusTransition(lost.id(), AssetStatus.PENDING, AssetStatus.FAILED, null)));
+        assertThat(subscription.poll(10, Duration.ZERO).stream().map(AssetStatusChange::status).toList(),
+                contains(AssetStatus.FAILED));
+    }
+
+    @Test
+    @DisplayName("Sweep should read the stuck assets in batches after the last one recovered")
+    void sweepShouldReadTheStuckAssetsInBatchesAfterTheLastOneRecovered() {
+        // Given
+        List<Asset> assets = IntStream.rangeClosed(1, 3).mapToObj(PendingAssetSweeperTest::pending).toList();
+        when(assetRepository.findPendingWithoutPublishJob(UPLOADED_BEFORE, null, BATCH_SIZE))
+                .thenReturn(assets.subList(0, 2));
+        when(assetRepository.findPendingWithoutPublishJob(UPLOADED_BEFORE, assets.get(1), BATCH_SIZE))
+                .thenReturn(assets.subList(2, 3));
+        when(contentSpool.find(any())).thenReturn(Optional.of(new ByteArrayAssetContent(new byte[1])));
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        verify(assetRepository, times(2)).findPendingWithoutPublishJob(eq(UPLOADED_BEFORE), any(), eq(BATCH_SIZE));
+        assets.forEach(asset -> verify(publishJobRepository, times(1)).enqueue(asset.id()));
+        verify(assetRepository, never()).updateStatuses(any());
+    }
+
+    @Test
+    @DisplayName("Sweep should keep recovering when an asset fails")
+    void sweepShouldKeepRecoveringWhenAnAssetFails() {
+        // Given
+        Asset first = pending(1);
+        Asset second = pending(2);
+        when(assetRepository.findPendingWithoutPublishJob(UPLOADED_BEFORE, null, BATCH_SIZE))
+                .thenReturn(List.of(first, second));
+        when(assetRepository.findPendingWithoutPublishJob(UPLOADED_BEFORE, second, BATCH_SIZE)).thenReturn(List.of());
+        when(contentSpool.find(any())).thenReturn(Optional.of(new ByteArrayAssetContent(new byte[1])));
+        doThrow(new IllegalStateException("duplicated job")).when(publishJobRepository).enqueue(first.id());
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        verify(publishJobRepository, times(1)).enqueue(second.id());
+    }
+
+    private static Asset pending(int index) {
+        return AssetMother.SAMPLE_ASSET
+                .withId(new AssetId("stuck-" + index))
+                .withStatus(AssetStatus.PENDING)
+                .withPublishedUrl(null);
+    }
+}
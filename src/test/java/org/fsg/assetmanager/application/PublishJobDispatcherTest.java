@@ -0,0 +1,193 @@
+package org.fsg.assetmanager.application;
+
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.out.PublishJob;
+import org.fsg.assetmanager.domain.port.out.PublishJobRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PublishJobDispatcherTest {
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @Mock
+    private PublishJobRepository publishJobRepository;
+
+    @Mock
+    private AssetService assetService;
+
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+    private final Executor deferredExecutor = pendingTasks::add;
+
+    @Test
+    @DisplayName("Dispatch should keep claiming while full batches are returned")
+    void dispatchShouldKeepClaimingWhileFullBatchesAreReturned() {
+        // Given
+        PublishJobDispatcher dispatcher = createDispatcher(2, 10);
+        when(publishJobRepository.claim(anyInt(), eq(LEASE)))
+                .thenReturn(jobs(2))
+                .thenReturn(jobs(1));
+
+        // When
+        dispatcher.dispatch();
+        pendingTasks.forEach(Runnable::run);
+
+        // Then
+        verify(publishJobRepository, times(2)).claim(2, LEASE);
+        verify(assetService, times(3)).publish(any());
+        assertThat(dispatcher.inFlight(), equalTo(0));
+    }
+
+    @Test
+    @DisplayName("Dispatch should not claim more jobs than free publish slots")
+    void dispatchShouldNotClaimMoreJobsThanFreePublishSlots() {
+        // Given
+        PublishJobDispatcher dispatcher = createDispatcher(5, 3);
+        when(publishJobRepository.claim(anyInt(), eq(LEASE))).thenReturn(jobs(3));
+
+        // When
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+
+        // Then
+        verify(publishJobRepository, times(1)).claim(3, LEASE);
+        assertThat(dispatcher.inFlight(), equalTo(3));
+        verifyNoInteractions(assetService);
+    }
+
+    @Test
+    @DisplayName("Dispatch should free the publish slot when a job fails")
+    void dispatchShouldFreePublishSlotWhenJobFails() {
+        // Given
+        PublishJobDispatcher dispatcher = createDispatcher(5, 1);
+        when(publishJobRepository.claim(anyInt(), eq(LEASE))).thenReturn(jobs(1));
+        doThrow(new IllegalStateException("A fancy message")).when(assetService).publish(any());
+
+        // When
+        dispatcher.dispatch();
+        pendingTasks.forEach(Runnable::run);
+
+        // Then
+        assertThat(dispatcher.inFlight(), equalTo(0));
+    }
+
+    @Test
+    @DisplayName("Stop should wait for the running jobs and claim no more")
+    void stopShouldWaitForTheRunningJobsAndClaimNoMore() throws InterruptedException {
+        // Given
+        PublishJobDispatcher dispatcher = createDispatcher(5, 2, Duration.ofSeconds(5), runnable ->
+                Thread.startVirtualThread(() -> {
+                    sleep(Duration.ofMillis(100));
+                    runnable.run();
+                }));
+        when(publishJobRepository.claim(anyInt(), eq(LEASE))).thenReturn(jobs(1));
+        dispatcher.start();
+        dispatcher.dispatch();
+
+        // When
+        dispatcher.stop();
+        dispatcher.dispatch();
+
+        // Then
+        assertThat(dispatcher.isRunning(), equalTo(false));
+        assertThat(dispatcher.inFlight(), equalTo(0));
+        verify(assetService, times(1)).publish(any());
+        verify(publishJobRepository, times(1)).claim(anyInt(), any());
+        verify(publishJobRepository, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Stop should release the jobs not started after the drain timeout")
+    void stopShouldReleaseTheJobsNotStartedAfterTheDrainTimeout() {
+        // Given
+        PublishJobDispatcher dispatcher = createDispatcher(5, 3, Duration.ofMillis(50), deferredExecutor);
+        List<PublishJob> jobs = jobs(2);
+        when(publishJobRepository.claim(anyInt(), eq(LEASE))).thenReturn(jobs);
+        dispatcher.start();
+        dispatcher.dispatch();
+
+        // When
+        dispatcher.stop();
+
+        // Then
+        ArgumentCaptor<Collection<PublishJob>> captor = ArgumentCaptor.captor();
+        verify(publishJobRepository, times(1)).release(captor.capture());
+        assertThat(captor.getValue(), containsInAnyOrder(jobs.toArray()));
+        pendingTasks.forEach(Runnable::run);
+        verifyNoInteractions(assetService);
+        assertThat(dispatcher.inFlight(), equalTo(0));
+    }
+
+    @Test
+    @DisplayName("Stop should interrupt the jobs still running after the drain timeout without releasing them")
+    void stopShouldInterruptTheJobsStillRunningAfterTheDrainTimeoutWithoutReleasingThem() throws Exception {
+        // Given
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        PublishJobDispatcher dispatcher = createDispatcher(5, 1, Duration.ofMillis(50), Thread::startVirtualThread);
+        when(publishJobRepository.claim(anyInt(), eq(LEASE))).thenReturn(jobs(1));
+        doAnswer(invocation -> {
+            publishing.countDown();
+            try {
+                Thread.sleep(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }).when(assetService).publish(any());
+        dispatcher.start();
+        dispatcher.dispatch();
+        assertThat(publishing.await(5, TimeUnit.SECONDS), equalTo(true));
+
+        // When
+        dispatcher.stop();
+
+        // Then
+        assertThat(interrupted.await(5, TimeUnit.SECONDS), equalTo(true));
+        verify(publishJobRepository, never()).release(any());
+    }
+
+    private PublishJobDispatcher createDispatcher(int batchSize, int parallelism) {
+        return createDispatcher(batchSize, parallelism, Duration.ZERO, deferredExecutor);
+    }
+
+    private PublishJobDispatcher createDispatcher(int batchSize, int parallelism, Duration drainTimeout,
+                                                  Executor executor) {
+        return new PublishJobDispatcher(publishJobRepository, assetService, executor,
+                new Bulkhead("background", 1, Duration.ZERO), batchSize, parallelism, LEASE, drainTimeout);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<PublishJob> jobs(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new PublishJob(id, AssetMother.ANOTHER_ASSET, 1))
+                .toList();
+    }
+}
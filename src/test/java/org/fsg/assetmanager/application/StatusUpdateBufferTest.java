@@ -0,0 +1,169 @@
+package org.fsg.assetmanager.application;
+
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.model.AssetStatus;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.out.AssetStatusTransition;
+import org.fsg.assetmanager.domain.port.out.PublishJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class StatusUpdateBufferTest {
+    private static final int BATCH_SIZE = 3;
+    private static final int CAPACITY = 5;
+
+    private final List<List<PendingStatusUpdate>> writtenBatches = new CopyOnWriteArrayList<>();
+    private StatusUpdateBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new StatusUpdateBuffer(BATCH_SIZE, CAPACITY, writtenBatches::add);
+        buffer.start();
+    }
+
+    @Test
+    @DisplayName("Should keep updates until they are flushed")
+    void shouldKeepUpdatesUntilTheyAreFlushed() {
+        // Given
+        buffer.add(update(1));
+        buffer.add(update(2));
+        assertThat(writtenBatches, emptyIterable());
+
+        // When
+        buffer.flush();
+
+        // Then
+        assertThat(writtenBatches, contains(List.of(update(1), update(2))));
+        assertThat(buffer.stats().pending(), equalTo(0));
+    }
+
+    @Test
+    @DisplayName("Should write a batch as soon as it is full")
+    void shouldWriteABatchAsSoonAsItIsFull() {
+        // When
+        for (int i = 1; i <= BATCH_SIZE + 1; i++) {
+            buffer.add(update(i));
+        }
+
+        // Then
+        assertThat(writtenBatches, contains(List.of(update(1), update(2), update(3))));
+        assertThat(buffer.stats().pending(), equalTo(1));
+    }
+
+    @Test
+    @DisplayName("Should make the caller write the updates when the buffer is full")
+    void shouldMakeTheCallerWriteTheUpdatesWhenTheBufferIsFull() throws InterruptedException {
+        // Given
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<PendingStatusUpdate> written = new CopyOnWriteArrayList<>();
+        StatusUpdateBuffer slowBuffer = new StatusUpdateBuffer(BATCH_SIZE, CAPACITY, batch -> {
+            flushing.countDown();
+            awaitUninterruptibly(release);
+            written.addAll(batch);
+        });
+        slowBuffer.start();
+        // The first full batch is written on a slow database, so the buffer fills up meanwhile
+        Thread flusher = Thread.ofVirtual().start(() -> {
+            for (int i = 1; i <= BATCH_SIZE; i++) {
+                slowBuffer.add(update(i));
+            }
+        });
+        assertThat(flushing.await(5, TimeUnit.SECONDS), equalTo(true));
+        for (int i = BATCH_SIZE + 1; i <= BATCH_SIZE + CAPACITY; i++) {
+            slowBuffer.add(update(i));
+        }
+
+        // When
+        Thread caller = Thread.ofVirtual().start(() -> slowBuffer.add(update(BATCH_SIZE + CAPACITY + 1)));
+
+        // Then
+        caller.join(Duration.ofMillis(200));
+        assertThat("The caller should wait for the buffer to be written", caller.isAlive(), equalTo(true));
+        release.countDown();
+        assertThat(caller.join(Duration.ofSeconds(5)), equalTo(true));
+        assertThat(flusher.join(Duration.ofSeconds(5)), equalTo(true));
+        assertThat(written, hasSize(BATCH_SIZE + CAPACITY));
+        assertThat(slowBuffer.stats().pending(), equalTo(1));
+    }
+
+    @Test
+    @DisplayName("Should flush pending updates on stop and write directly afterwards")
+    void shouldFlushPendingUpdatesOnStopAndWriteDirectlyAfterwards() {
+        // Given
+        buffer.add(update(1));
+
+        // When
+        buffer.stop();
+        buffer.add(update(2));
+
+        // Then
+        assertThat(buffer.isRunning(), equalTo(false));
+        assertThat(writtenBatches, contains(List.of(update(1)), List.of(update(2))));
+    }
+
+    @Test
+    @DisplayName("Should record batch sizes and failed flushes")
+    void shouldRecordBatchSizesAndFailedFlushes() {
+        // Given
+        StatusUpdateBuffer failingBuffer = new StatusUpdateBuffer(BATCH_SIZE, CAPACITY, batch -> {
+            throw new IllegalStateException("database is down");
+        });
+        failingBuffer.start();
+        failingBuffer.add(update(1));
+        failingBuffer.add(update(2));
+
+        // When
+        failingBuffer.flush();
+
+        // Then
+        StatusUpdateStats stats = failingBuffer.stats();
+        assertThat(stats.flushes(), equalTo(1L));
+        assertThat(stats.failedFlushes(), equalTo(1L));
+        assertThat(stats.flushedUpdates(), equalTo(2L));
+        assertThat(stats.maxBatchSize(), equalTo(2));
+        assertThat(stats.pending(), equalTo(0));
+    }
+
+    @Test
+    @DisplayName("Should tell the listeners about every batch written")
+    void shouldTellTheListenersAboutEveryBatchWritten() {
+        // Given
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        buffer.addFlushListener((batchSize, latency) -> batchSizes.add(batchSize));
+        for (int id = 1; id <= BATCH_SIZE + 1; id++) {
+            buffer.add(update(id));
+        }
+
+        // When
+        buffer.flush();
+
+        // Then
+        assertThat(batchSizes, contains(BATCH_SIZE, 1));
+    }
+
+    private static PendingStatusUpdate update(int id) {
+        AssetId assetId = new AssetId("asset-" + id);
+        return new PendingStatusUpdate(
+                new PublishJob(id, AssetMother.SAMPLE_ASSET.withId(assetId), 1),
+                new AssetStatusTransition(assetId, AssetStatus.PENDING, AssetStatus.PUBLISHED, "url-" + id));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
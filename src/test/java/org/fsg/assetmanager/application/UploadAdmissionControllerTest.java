@@ -0,0 +1,127 @@
+package org.fsg.assetmanager.application;
+
+import org.fsg.assetmanager.domain.exception.UploadRejectedException;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("UploadAdmissionController Tests")
+class UploadAdmissionControllerTest {
+    private static final Duration MAX_WAIT = Duration.ofSeconds(5);
+
+    @Test
+    @DisplayName("Should admit uploads while there is capacity")
+    void shouldAdmitUploadsWhileThereIsCapacity() {
+        // Given
+        UploadAdmissionController controller = new UploadAdmissionController(100, 2, 10, MAX_WAIT);
+
+        // When
+        controller.acquire(AssetMother.SAMPLE_ASSET_ID, 40);
+        controller.acquire(AssetMother.ANOTHER_ASSET_ID, 60);
+
+        // Then
+        AdmissionStats stats = controller.stats();
+        assertThat(stats.inFlightBytes(), equalTo(100L));
+        assertThat(stats.inFlightUploads(), equalTo(2));
+        assertThat(stats.admitted(), equalTo(2L));
+    }
+
+    @Test
+    @DisplayName("Should reject immediately an upload larger than the budget")
+    void shouldRejectImmediatelyAnUploadLargerThanTheBudget() {
+        // Given
+        UploadAdmissionController controller = new UploadAdmissionController(100, 2, 10, MAX_WAIT);
+
+        // When
+        UploadRejectedException ex = assertThrows(UploadRejectedException.class,
+                () -> controller.acquire(AssetMother.SAMPLE_ASSET_ID, 101));
+
+        // Then
+        assertThat(ex.getMessage(), equalTo("Upload of 101 bytes rejected: it is larger than the in-flight budget"));
+        assertThat(controller.stats().rejected(), equalTo(1L));
+    }
+
+    @Test
+    @DisplayName("Should reject immediately when the queue is full")
+    void shouldRejectImmediatelyWhenTheQueueIsFull() {
+        // Given
+        UploadAdmissionController controller = new UploadAdmissionController(100, 1, 0, MAX_WAIT);
+        controller.acquire(AssetMother.SAMPLE_ASSET_ID, 10);
+
+        // When
+        UploadRejectedException ex = assertThrows(UploadRejectedException.class,
+                () -> controller.acquire(AssetMother.ANOTHER_ASSET_ID, 10));
+
+        // Then
+        assertThat(ex.getMessage(), containsString("admission queue is full"));
+    }
+
+    @Test
+    @DisplayName("Should reject when no capacity is released before the deadline")
+    void shouldRejectWhenNoCapacityIsReleasedBeforeTheDeadline() {
+        // Given
+        UploadAdmissionController controller = new UploadAdmissionController(100, 5, 10, Duration.ofMillis(50));
+        controller.acquire(AssetMother.SAMPLE_ASSET_ID, 80);
+
+        // When
+        UploadRejectedException ex = assertThrows(UploadRejectedException.class,
+                () -> controller.acquire(AssetMother.ANOTHER_ASSET_ID, 30));
+
+        // Then
+        assertThat(ex.getMessage(), containsString("no capacity was released in time"));
+        assertThat(controller.stats().queueDepth(), equalTo(0));
+    }
+
+    @Test
+    @DisplayName("Should admit a queued upload when bytes are released")
+    void shouldAdmitQueuedUploadWhenBytesAreReleased() throws Exception {
+        // Given
+        UploadAdmissionController controller = new UploadAdmissionController(100, 5, 10, MAX_WAIT);
+        controller.acquire(AssetMother.SAMPLE_ASSET_ID, 80);
+        CompletableFuture<Void> queued = CompletableFuture.runAsync(
+                () -> controller.acquire(AssetMother.ANOTHER_ASSET_ID, 30));
+        awaitQueueDepth(controller, 1);
+
+        // When
+        controller.endUpload();
+        controller.release(AssetMother.SAMPLE_ASSET_ID);
+
+        // Then
+        queued.get(5, TimeUnit.SECONDS);
+        AdmissionStats stats = controller.stats();
+        assertThat(stats.inFlightBytes(), equalTo(30L));
+        assertThat(stats.queueDepth(), equalTo(0));
+        assertThat(stats.maxWait(), greaterThan(Duration.ZERO));
+        assertThat(stats.totalWait(), greaterThanOrEqualTo(stats.maxWait()));
+    }
+
+    @Test
+    @DisplayName("Should ignore releases of assets that were not admitted")
+    void shouldIgnoreReleasesOfAssetsThatWereNotAdmitted() {
+        // Given
+        UploadAdmissionController controller = new UploadAdmissionController(100, 5, 10, MAX_WAIT);
+        controller.acquire(AssetMother.SAMPLE_ASSET_ID, 80);
+
+        // When
+        controller.release(AssetMother.ANOTHER_ASSET_ID);
+
+        // Then
+        assertThat(controller.stats().inFlightBytes(), equalTo(80L));
+    }
+
+    private static void awaitQueueDepth(UploadAdmissionController controller, int expected)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (controller.stats().queueDepth() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package org.fsg.assetmanager.application;
+
+import org.fsg.assetmanager.domain.exception.UploadSessionException;
+import org.fsg.assetmanager.domain.exception.UploadSessionNotFoundException;
+import org.fsg.assetmanager.domain.model.*;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.in.AssetUploadCommand;
+import org.fsg.assetmanager.domain.port.in.AssetUploadResult;
+import org.fsg.assetmanager.domain.port.in.UploadAssetUseCase;
+import org.fsg.assetmanager.domain.port.in.UploadSessionCommand;
+import org.fsg.assetmanager.domain.port.out.UploadSessionStore;
+import org.fsg.assetmanager.testutils.ByteArrayAssetContent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.IdGenerator;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UploadSessionService Tests")
+class UploadSessionServiceTest {
+    private static final Instant NOW = Instant.parse("2025-07-01T00:00:00Z");
+    private static final UUID SESSION_UUID = UUID.fromString("00000000-0000-0000-0000-0000000000aa");
+    private static final String SESSION_ID = SESSION_UUID.toString();
+    private static final long MAX_SIZE = 100;
+    private static final UploadSession SESSION = new UploadSession(SESSION_ID, AssetMother.SAMPLE_FILENAME,
+            AssetMother.SAMPLE_CONTENT_TYPE, new FileSize(10), List.of(), NOW);
+
+    @Mock
+    private UploadSessionStore store;
+
+    @Mock
+    private UploadAssetUseCase uploadAssetUseCase;
+
+    @Mock
+    private IdGenerator idGenerator;
+
+    private UploadSessionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UploadSessionService(store, uploadAssetUseCase, MAX_SIZE, Clock.fixed(NOW, ZoneOffset.UTC),
+                idGenerator);
+    }
+
+    @Nested
+    @DisplayName("Create Session Tests")
+    class CreateSessionTests {
+
+        @Test
+        @DisplayName("Should store a new session without ranges received")
+        void shouldStoreNewSessionWithoutRangesReceived() {
+            // Given
+            when(idGenerator.generateId()).thenReturn(SESSION_UUID);
+            when(store.create(SESSION)).thenReturn(SESSION);
+
+            // When
+            UploadSession session = service.createSession(new UploadSessionCommand(
+                    AssetMother.SAMPLE_FILENAME.value(), AssetMother.SAMPLE_CONTENT_TYPE.value(), 10));
+
+            // Then
+            assertThat(session, equalTo(SESSION));
+        }
+
+        @Test
+        @DisplayName("Should reject sessions without content")
+        void shouldRejectSessionsWithoutContent() {
+            // Given
+            UploadSessionCommand command = new UploadSessionCommand(
+                    AssetMother.SAMPLE_FILENAME.value(), AssetMother.SAMPLE_CONTENT_TYPE.value(), 0);
+
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> service.createSession(command));
+            verifyNoInteractions(store);
+        }
+
+        @Test
+        @DisplayName("Should reject sessions larger than the assets that can be uploaded")
+        void shouldRejectSessionsLargerThanTheAssetsThatCanBeUploaded() {
+            // Given
+            UploadSessionCommand command = new UploadSessionCommand(
+                    AssetMother.SAMPLE_FILENAME.value(), AssetMother.SAMPLE_CONTENT_TYPE.value(), MAX_SIZE + 1);
+
+            // When
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                    () -> service.createSession(command));
+
+            // Then
+            assertThat(ex.getMessage(), containsString("can't exceed 100 bytes"));
+            verifyNoInteractions(store);
+        }
+    }
+
+    @Nested
+    @DisplayName("Upload Chunk Tests")
+    class UploadChunkTests {
+
+        @Test
+        @DisplayName("Should write the chunk at its range")
+        void shouldWriteTheChunkAtItsRange() {
+            // Given
+            AssetContent chunk = new ByteArrayAssetContent(new byte[4]);
+            UploadSession received = SESSION.receive(new ByteRange(6, 10));
+            when(store.find(SESSION_ID)).thenReturn(Optional.of(SESSION));
+            when(store.write(SESSION_ID, new ByteRange(6, 10), chunk)).thenReturn(received);
+
+            // When
+            UploadSession session = service.uploadChunk(SESSION_ID, 6, chunk);
+
+            // Then
+            assertThat(session.missing(), equalTo(List.of(new ByteRange(0, 6))));
+        }
+
+        @Test
+        @DisplayName("Should reject chunks past the end of the content")
+        void shouldRejectChunksPastTheEndOfTheContent() {
+            // Given
+            when(store.find(SESSION_ID)).thenReturn(Optional.of(SESSION));
+
+            // When
+            UploadSessionException ex = assertThrows(UploadSessionException.class,
+                    () -> service.uploadChunk(SESSION_ID, 8, new ByteArrayAssetContent(new byte[4])));
+
+            // Then
+            assertThat(ex.getMessage(), containsString("out of the 10 bytes"));
+            verify(store, never()).write(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should fail when the session does not exist")
+        void shouldFailWhenTheSessionDoesNotExist() {
+            // Given
+            when(store.find(SESSION_ID)).thenReturn(Optional.empty());
+
+            // When / Then
+            assertThrows(UploadSessionNotFoundException.class,
+                    () -> service.uploadChunk(SESSION_ID, 0, new ByteArrayAssetContent(new byte[4])));
+        }
+    }
+
+    @Nested
+    @DisplayName("Commit Session Tests")
+    class CommitSessionTests {
+
+        @Test
+        @DisplayName("Should upload the assembled content and delete the session")
+        void shouldUploadTheAssembledContentAndDeleteTheSession() {
+            // Given
+            AssetContent assembled = new ByteArrayAssetContent(new byte[10]);
+            when(store.startCommit(SESSION_ID)).thenReturn(SESSION.receive(new ByteRange(0, 10)));
+            when(store.content(SESSION_ID)).thenReturn(assembled);
+            when(uploadAssetUseCase.upload(any())).thenReturn(new AssetUploadResult(AssetMother.SAMPLE_ASSET_ID));
+
+            // When
+            AssetUploadResult result = service.commitSession(SESSION_ID);
+
+            // Then
+            assertThat(result.assetId(), equalTo(AssetMother.SAMPLE_ASSET_ID));
+            verify(uploadAssetUseCase, times(1)).upload(eq(new AssetUploadCommand(
+                    AssetMother.SAMPLE_FILENAME.value(), AssetMother.SAMPLE_CONTENT_TYPE.value(), 10, assembled)));
+            verify(store, times(1)).delete(SESSION_ID);
+            verify(store, never()).cancelCommit(any());
+        }
+
+        @Test
+        @DisplayName("Should reject the commit of an incomplete session")
+        void shouldRejectTheCommitOfAnIncompleteSession() {
+            // Given
+            when(store.startCommit(SESSION_ID)).thenReturn(SESSION.receive(new ByteRange(0, 6)));
+
+            // When
+            UploadSessionException ex = assertThrows(UploadSessionException.class,
+                    () -> service.commitSession(SESSION_ID));
+
+            // Then
+            assertThat(ex.getMessage(), containsString("6 of 10 bytes were received"));
+            verifyNoInteractions(uploadAssetUseCase);
+            verify(store, never()).delete(any());
+            verify(store, times(1)).cancelCommit(SESSION_ID);
+        }
+
+        @Test
+        @DisplayName("Should keep the session when the upload fails")
+        void shouldKeepTheSessionWhenTheUploadFails() {
+            // Given
+            when(store.startCommit(SESSION_ID)).thenReturn(SESSION.receive(new ByteRange(0, 10)));
+            when(store.content(SESSION_ID)).thenReturn(new ByteArrayAssetContent(new byte[10]));
+            when(uploadAssetUseCase.upload(any())).thenThrow(new IllegalStateException("boom"));
+
+            // When
+            assertThrows(IllegalStateException.class, () -> service.commitSession(SESSION_ID));
+
+            // Then
+            verify(store, never()).delete(any());
+            verify(store, times(1)).cancelCommit(SESSION_ID);
+        }
+
+        @Test
+        @DisplayName("Should not upload a session the store doesn't let commit")
+        void shouldNotUploadASessionTheStoreDoesntLetCommit() {
+            // Given
+            when(store.startCommit(SESSION_ID)).thenThrow(
+                    new UploadSessionException(SESSION_ID, "1 chunks are still being written"));
+
+            // When
+            assertThrows(UploadSessionException.class, () -> service.commitSession(SESSION_ID));
+
+            // Then
+            verifyNoInteractions(uploadAssetUseCase);
+            verify(store, never()).cancelCommit(any());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.fsg.assetmanager.domain.mother;
 
 import org.fsg.assetmanager.domain.model.*;
+import org.fsg.assetmanager.testutils.ByteArrayAssetContent;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -28,6 +29,9 @@ public class AssetMother {
     public static final AssetStatus ANOTHER_STATUE = AssetStatus.PENDING;
 
     public static final byte[] SAMPLE_CONTENT = "sample content".getBytes();
+    public static final AssetContent SAMPLE_ASSET_CONTENT = new ByteArrayAssetContent(SAMPLE_CONTENT);
+    public static final ContentHash SAMPLE_CONTENT_HASH =
+            new ContentHash("571ca3b4ef92a81f8c062f2c2437b9116435d1575589a7b64a5c607d058fde0d");
 
     public static Asset SAMPLE_ASSET = new Asset(
             SAMPLE_ASSET_ID,
@@ -36,7 +40,8 @@ public class AssetMother {
             SAMPLE_FILE_SIZE,
             SAMPLE_UPLOAD_DATE,
             SAMPLE_STATUE,
-            createPublishedUrl(SAMPLE_ASSET_ID));
+            createPublishedUrl(SAMPLE_ASSET_ID),
+            null);
 
     public static Asset ANOTHER_ASSET = new Asset(
             ANOTHER_ASSET_ID,
@@ -45,7 +50,8 @@ public class AssetMother {
             ANOTHER_FILE_SIZE,
             ANOTHER_UPLOAD_DATE,
             ANOTHER_STATUE,
-            createPublishedUrl(ANOTHER_ASSET_ID));
+            createPublishedUrl(ANOTHER_ASSET_ID),
+            null);
 
     public static String createPublishedUrl(AssetId assetId) {
         return STORAGE_SERVER + assetId.value();
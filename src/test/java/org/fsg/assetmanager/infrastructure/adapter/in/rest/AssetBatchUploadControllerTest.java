@@ -0,0 +1,101 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.in.AssetBatchUploadResult;
+import org.fsg.assetmanager.domain.port.in.AssetUploadCommand;
+import org.fsg.assetmanager.domain.port.in.AssetUploadResult;
+import org.fsg.assetmanager.domain.port.in.UploadAssetBatchUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class AssetBatchUploadControllerTest {
+    private static final MockMultipartFile PHOTO = new MockMultipartFile("files", "photo.png", "image/png",
+            AssetMother.SAMPLE_CONTENT);
+    private static final MockMultipartFile NOTES = new MockMultipartFile("files", "notes.exe",
+            "application/x-msdownload", new byte[]{1, 2, 3});
+
+    @Mock
+    private UploadAssetBatchUseCase uploadAssetBatchUseCase;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AssetBatchUploadController controller = new AssetBatchUploadController(uploadAssetBatchUseCase,
+                new UploadProperties(DataSize.ofMegabytes(1), 2));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new RestExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should upload every part and return 202 when all of them were uploaded")
+    void shouldUploadEveryPartAndReturn202WhenAllOfThemWereUploaded() throws Exception {
+        // Given
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AssetUploadCommand>> commands = ArgumentCaptor.forClass(List.class);
+        byte[][] uploaded = new byte[1][];
+        when(uploadAssetBatchUseCase.uploadBatch(commands.capture())).thenAnswer(invocation -> {
+            try (InputStream in = commands.getValue().getFirst().content().openStream()) {
+                uploaded[0] = in.readAllBytes();
+            }
+            return List.of(AssetBatchUploadResult.uploaded(new AssetUploadResult(AssetMother.SAMPLE_ASSET_ID)));
+        });
+
+        // When / Then
+        mockMvc.perform(multipart("/assets/batch").file(PHOTO))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$[0].filename").value("photo.png"))
+                .andExpect(jsonPath("$[0].id").value(AssetMother.SAMPLE_ASSET_ID.value()));
+        AssetUploadCommand command = commands.getValue().getFirst();
+        assertThat(command.filename(), equalTo("photo.png"));
+        assertThat(command.contentType(), equalTo("image/png"));
+        assertThat(command.size(), equalTo((long) AssetMother.SAMPLE_CONTENT.length));
+        assertThat(uploaded[0], equalTo(AssetMother.SAMPLE_CONTENT));
+    }
+
+    @Test
+    @DisplayName("Should return 207 with the result of each part when some of them failed")
+    void shouldReturn207WithTheResultOfEachPartWhenSomeOfThemFailed() throws Exception {
+        // Given
+        when(uploadAssetBatchUseCase.uploadBatch(anyList())).thenReturn(List.of(
+                AssetBatchUploadResult.uploaded(new AssetUploadResult(AssetMother.SAMPLE_ASSET_ID)),
+                AssetBatchUploadResult.failed("Invalid content type")));
+
+        // When / Then
+        mockMvc.perform(multipart("/assets/batch").file(PHOTO).file(NOTES))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[0].id").value(AssetMother.SAMPLE_ASSET_ID.value()))
+                .andExpect(jsonPath("$[1].filename").value("notes.exe"))
+                .andExpect(jsonPath("$[1].error").value("Invalid content type"));
+    }
+
+    @Test
+    @DisplayName("Should reject batches over the maximum number of assets")
+    void shouldRejectBatchesOverTheMaximumNumberOfAssets() throws Exception {
+        // When / Then
+        mockMvc.perform(multipart("/assets/batch").file(PHOTO).file(PHOTO).file(NOTES))
+                .andExpect(status().isPayloadTooLarge());
+        verifyNoInteractions(uploadAssetBatchUseCase);
+    }
+}
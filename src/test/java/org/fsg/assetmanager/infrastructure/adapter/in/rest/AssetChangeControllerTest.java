@@ -0,0 +1,136 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import org.fsg.assetmanager.domain.exception.SubscriptionRejectedException;
+import org.fsg.assetmanager.domain.model.AssetStatus;
+import org.fsg.assetmanager.domain.model.AssetStatusChange;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.in.AssetChangeQuery;
+import org.fsg.assetmanager.domain.port.in.AssetChangeSubscription;
+import org.fsg.assetmanager.domain.port.in.WatchAssetChangesUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class AssetChangeControllerTest {
+    private static final long SEQUENCE = 1_750_000_000_000_001L;
+    private static final AssetStatusChange CHANGE = new AssetStatusChange(SEQUENCE, AssetMother.SAMPLE_ASSET_ID,
+            AssetStatus.PUBLISHED, "url", Instant.parse("2025-07-01T00:00:00Z"));
+    private static final Duration MAX_WAIT = Duration.ofSeconds(30);
+
+    @Mock
+    private WatchAssetChangesUseCase watchAssetChangesUseCase;
+
+    @Mock
+    private AssetChangeSubscription subscription;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AssetChangeController controller = new AssetChangeController(watchAssetChangesUseCase,
+                new ChangeStreamProperties(Duration.ofSeconds(15), MAX_WAIT), new SyncTaskExecutor());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new RestExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should answer a long poll with the changes after the sequence and the next one")
+    void shouldAnswerALongPollWithTheChangesAfterTheSequenceAndTheNextOne() throws Exception {
+        // Given
+        when(watchAssetChangesUseCase.subscribe(new AssetChangeQuery(Set.of(AssetMother.SAMPLE_ASSET_ID),
+                SEQUENCE - 1))).thenReturn(subscription);
+        when(subscription.poll(anyInt(), eq(Duration.ofSeconds(5)))).thenReturn(List.of(CHANGE));
+        when(subscription.lastSequence()).thenReturn(SEQUENCE);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/assets/{id}/changes", AssetMother.SAMPLE_ASSET_ID.value())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("after", Long.toString(SEQUENCE - 1))
+                        .param("timeout", "5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].id").value(AssetMother.SAMPLE_ASSET_ID.value()))
+                .andExpect(jsonPath("$.changes[0].status").value("PUBLISHED"))
+                .andExpect(jsonPath("$.next").value(SEQUENCE))
+                .andExpect(jsonPath("$.missedChanges").value(false));
+        verify(subscription, times(1)).close();
+    }
+
+    @Test
+    @DisplayName("Should bound the wait of a long poll")
+    void shouldBoundTheWaitOfALongPoll() throws Exception {
+        // Given
+        when(watchAssetChangesUseCase.subscribe(any())).thenReturn(subscription);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/assets/changes").param("timeout", "3600"))
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result)).andExpect(jsonPath("$.changes").isEmpty());
+        verify(subscription, times(1)).poll(anyInt(), eq(MAX_WAIT));
+    }
+
+    @Test
+    @DisplayName("Should stream the changes as events resuming from the Last-Event-ID")
+    void shouldStreamTheChangesAsEventsResumingFromTheLastEventId() throws Exception {
+        // Given
+        when(watchAssetChangesUseCase.subscribe(new AssetChangeQuery(Set.of(), SEQUENCE - 1)))
+                .thenReturn(subscription);
+        when(subscription.isOpen()).thenReturn(true, false);
+        when(subscription.poll(anyInt(), any())).thenReturn(List.of(CHANGE));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/assets/changes")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", Long.toString(SEQUENCE - 1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("id:" + SEQUENCE)))
+                .andExpect(content().string(containsString("\"status\":\"PUBLISHED\"")));
+        verify(subscription, atLeastOnce()).close();
+    }
+
+    @Test
+    @DisplayName("Should answer 503 when there are too many subscribers")
+    void shouldAnswer503WhenThereAreTooManySubscribers() throws Exception {
+        // Given
+        when(watchAssetChangesUseCase.subscribe(any())).thenThrow(new SubscriptionRejectedException(1));
+
+        // When / Then
+        mockMvc.perform(get("/assets/changes").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
@@ -0,0 +1,105 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.SortDirection;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.in.AssetSearchQuery;
+import org.fsg.assetmanager.domain.port.in.SearchAssetsUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class AssetExportControllerTest {
+
+    @Mock
+    private SearchAssetsUseCase searchAssetsUseCase;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // Same date format as the ObjectMapper configured by Spring Boot
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        AssetExportController controller = new AssetExportController(searchAssetsUseCase, objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    @DisplayName("Should write one JSON line per exported asset")
+    void shouldWriteOneJsonLinePerExportedAsset() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<Asset> consumer = invocation.getArgument(1);
+            consumer.accept(AssetMother.SAMPLE_ASSET);
+            consumer.accept(AssetMother.ANOTHER_ASSET);
+            return null;
+        }).when(searchAssetsUseCase).export(eq(new AssetSearchQuery(SortDirection.DESC)), any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/assets/export").param("sortDirection", "DESC"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(line(AssetMother.SAMPLE_ASSET) + line(AssetMother.ANOTHER_ASSET)));
+    }
+
+    @Test
+    @DisplayName("Should export only the assets matching the filters")
+    void shouldExportOnlyTheAssetsMatchingTheFilters() throws Exception {
+        // Given
+        AssetSearchQuery expectedQuery = new AssetSearchQuery(SortDirection.ASC)
+                .withUploadDateStart(Instant.parse("2025-06-01T00:00:00Z"))
+                .withUploadDateEnd(Instant.parse("2025-07-01T00:00:00Z"))
+                .withFilename("sample")
+                .withContentType("image/png");
+
+        // When
+        MvcResult result = mockMvc.perform(get("/assets/export")
+                        .param("uploadDateStart", "2025-06-01T00:00:00Z")
+                        .param("uploadDateEnd", "2025-07-01T00:00:00Z")
+                        .param("filename", "sample")
+                        .param("contentType", "image/png"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        verify(searchAssetsUseCase, times(1)).export(eq(expectedQuery), any());
+    }
+
+    private static String line(Asset asset) {
+        return String.format(
+                "{\"id\":\"%s\",\"filename\":\"%s\",\"contentType\":\"%s\",\"size\":%d,\"uploadDate\":\"%s\","
+                        + "\"status\":\"%s\",\"url\":%s}\n",
+                asset.id().value(), asset.filename().value(), asset.contentType().value(), asset.fileSize().value(),
+                asset.uploadDate(), asset.status(),
+                asset.publishedUrl() == null ? "null" : "\"" + asset.publishedUrl() + "\"");
+    }
+}
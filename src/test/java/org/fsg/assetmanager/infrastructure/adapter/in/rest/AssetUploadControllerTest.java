@@ -0,0 +1,116 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import org.fsg.assetmanager.domain.exception.UploadRejectedException;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.in.AssetUploadCommand;
+import org.fsg.assetmanager.domain.port.in.AssetUploadResult;
+import org.fsg.assetmanager.domain.port.in.UploadAssetUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class AssetUploadControllerTest {
+    private static final DataSize MAX_SIZE = DataSize.ofBytes(20);
+
+    @Mock
+    private UploadAssetUseCase uploadAssetUseCase;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AssetUploadController controller = new AssetUploadController(uploadAssetUseCase,
+                new UploadProperties(MAX_SIZE, 1000));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new RestExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should stream the body into the upload and return the asset ID")
+    void shouldStreamTheBodyIntoTheUploadAndReturnTheAssetId() throws Exception {
+        // Given
+        ArgumentCaptor<AssetUploadCommand> command = ArgumentCaptor.forClass(AssetUploadCommand.class);
+        byte[][] uploaded = new byte[1][];
+        when(uploadAssetUseCase.upload(command.capture())).thenAnswer(invocation -> {
+            try (InputStream in = command.getValue().content().openStream()) {
+                uploaded[0] = in.readAllBytes();
+            }
+            return new AssetUploadResult(AssetMother.SAMPLE_ASSET_ID);
+        });
+
+        // When / Then
+        mockMvc.perform(post("/assets")
+                        .param("filename", "photo.png")
+                        .header(HttpHeaders.CONTENT_TYPE, "image/png")
+                        .content(AssetMother.SAMPLE_CONTENT))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(AssetMother.SAMPLE_ASSET_ID.value()));
+        assertThat(command.getValue().filename(), equalTo("photo.png"));
+        assertThat(command.getValue().contentType(), equalTo("image/png"));
+        assertThat(command.getValue().size(), equalTo((long) AssetMother.SAMPLE_CONTENT.length));
+        assertThat(uploaded[0], equalTo(AssetMother.SAMPLE_CONTENT));
+    }
+
+    @Test
+    @DisplayName("Should reject content over the maximum size before reading it")
+    void shouldRejectContentOverTheMaximumSizeBeforeReadingIt() throws Exception {
+        // When / Then
+        mockMvc.perform(post("/assets")
+                        .param("filename", "photo.png")
+                        .header(HttpHeaders.CONTENT_TYPE, "image/png")
+                        .content(new byte[(int) MAX_SIZE.toBytes() + 1]))
+                .andExpect(status().isPayloadTooLarge());
+        verifyNoInteractions(uploadAssetUseCase);
+    }
+
+    @Test
+    @DisplayName("Should reject empty and multipart bodies")
+    void shouldRejectEmptyAndMultipartBodies() throws Exception {
+        // When / Then
+        mockMvc.perform(post("/assets")
+                        .param("filename", "photo.png")
+                        .header(HttpHeaders.CONTENT_TYPE, "image/png")
+                        .content(new byte[0]))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/assets")
+                        .param("filename", "photo.png")
+                        .header(HttpHeaders.CONTENT_TYPE, "multipart/form-data; boundary=x")
+                        .content(AssetMother.SAMPLE_CONTENT))
+                .andExpect(status().isUnsupportedMediaType());
+        verifyNoInteractions(uploadAssetUseCase);
+    }
+
+    @Test
+    @DisplayName("Should answer 503 when the upload is rejected because of load")
+    void shouldAnswer503WhenTheUploadIsRejectedBecauseOfLoad() throws Exception {
+        // Given
+        when(uploadAssetUseCase.upload(any())).thenThrow(new UploadRejectedException(14, "too many uploads in flight"));
+
+        // When / Then
+        mockMvc.perform(post("/assets")
+                        .param("filename", "photo.png")
+                        .header(HttpHeaders.CONTENT_TYPE, "image/png")
+                        .content(AssetMother.SAMPLE_CONTENT))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
@@ -0,0 +1,137 @@
+package org.fsg.assetmanager.infrastructure.adapter.in.rest;
+
+import org.fsg.assetmanager.domain.exception.UploadSessionException;
+import org.fsg.assetmanager.domain.exception.UploadSessionNotFoundException;
+import org.fsg.assetmanager.domain.model.AssetContent;
+import org.fsg.assetmanager.domain.model.ByteRange;
+import org.fsg.assetmanager.domain.model.FileSize;
+import org.fsg.assetmanager.domain.model.UploadSession;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.in.AssetUploadResult;
+import org.fsg.assetmanager.domain.port.in.UploadSessionCommand;
+import org.fsg.assetmanager.domain.port.in.UploadSessionUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadSessionControllerTest {
+    private static final String SESSION_ID = "session-1";
+    private static final UploadSession SESSION = new UploadSession(SESSION_ID, AssetMother.SAMPLE_FILENAME,
+            AssetMother.SAMPLE_CONTENT_TYPE, new FileSize(10), List.of(), Instant.parse("2025-07-01T00:00:00Z"));
+
+    @Mock
+    private UploadSessionUseCase uploadSessionUseCase;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new UploadSessionController(uploadSessionUseCase))
+                .setControllerAdvice(new RestExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should create a session and return its location")
+    void shouldCreateSessionAndReturnItsLocation() throws Exception {
+        // Given
+        when(uploadSessionUseCase.createSession(new UploadSessionCommand(
+                AssetMother.SAMPLE_FILENAME.value(), AssetMother.SAMPLE_CONTENT_TYPE.value(), 10)))
+                .thenReturn(SESSION);
+
+        // When / Then
+        mockMvc.perform(post("/assets/upload-sessions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"filename\":\"%s\",\"contentType\":\"%s\",\"size\":10}",
+                                AssetMother.SAMPLE_FILENAME.value(), AssetMother.SAMPLE_CONTENT_TYPE.value())))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION,
+                        "http://localhost/assets/upload-sessions/" + SESSION_ID))
+                .andExpect(jsonPath("$.id").value(SESSION_ID))
+                .andExpect(jsonPath("$.missing[0].start").value(0))
+                .andExpect(jsonPath("$.missing[0].end").value(10));
+    }
+
+    @Test
+    @DisplayName("Should stream the chunk at the offset of its Content-Range")
+    void shouldStreamTheChunkAtTheOffsetOfItsContentRange() throws Exception {
+        // Given
+        ArgumentCaptor<AssetContent> chunk = ArgumentCaptor.forClass(AssetContent.class);
+        when(uploadSessionUseCase.uploadChunk(eq(SESSION_ID), eq(4L), chunk.capture()))
+                .thenAnswer(invocation -> SESSION.receive(new ByteRange(4, 4 + readAll(chunk.getValue()).length)));
+
+        // When / Then
+        mockMvc.perform(put("/assets/upload-sessions/{id}", SESSION_ID)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes 4-7/10")
+                        .content(new byte[]{1, 2, 3, 4}))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.receivedBytes").value(4))
+                .andExpect(jsonPath("$.missing.length()").value(2));
+        assertThat(chunk.getValue().size(), equalTo(4L));
+    }
+
+    @Test
+    @DisplayName("Should reject a Content-Range not matching the body")
+    void shouldRejectContentRangeNotMatchingTheBody() throws Exception {
+        // When / Then
+        mockMvc.perform(put("/assets/upload-sessions/{id}", SESSION_ID)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes 0-9/10")
+                        .content(new byte[]{1, 2, 3, 4}))
+                .andExpect(status().isBadRequest());
+        verify(uploadSessionUseCase, never()).uploadChunk(any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should commit a session and return the asset ID")
+    void shouldCommitSessionAndReturnTheAssetId() throws Exception {
+        // Given
+        when(uploadSessionUseCase.commitSession(SESSION_ID))
+                .thenReturn(new AssetUploadResult(AssetMother.SAMPLE_ASSET_ID));
+
+        // When / Then
+        mockMvc.perform(post("/assets/upload-sessions/{id}/commit", SESSION_ID))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(AssetMother.SAMPLE_ASSET_ID.value()));
+    }
+
+    @Test
+    @DisplayName("Should map the session errors to their status")
+    void shouldMapTheSessionErrorsToTheirStatus() throws Exception {
+        // Given
+        when(uploadSessionUseCase.getSession(SESSION_ID)).thenThrow(new UploadSessionNotFoundException(SESSION_ID));
+        when(uploadSessionUseCase.commitSession(SESSION_ID))
+                .thenThrow(new UploadSessionException(SESSION_ID, "6 of 10 bytes were received"));
+
+        // When / Then
+        mockMvc.perform(get("/assets/upload-sessions/{id}", SESSION_ID)).andExpect(status().isNotFound());
+        mockMvc.perform(post("/assets/upload-sessions/{id}/commit", SESSION_ID)).andExpect(status().isConflict());
+    }
+
+    private static byte[] readAll(AssetContent content) throws Exception {
+        try (InputStream in = content.openStream()) {
+            return in.readAllBytes();
+        }
+    }
+}
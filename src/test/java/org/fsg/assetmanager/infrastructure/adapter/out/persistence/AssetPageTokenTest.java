@@ -0,0 +1,78 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import org.fsg.assetmanager.domain.exception.InvalidPageTokenException;
+import org.fsg.assetmanager.domain.model.SortDirection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AssetPageTokenTest {
+    private static final AssetPageToken TOKEN = new AssetPageToken(
+            SortDirection.DESC, Instant.parse("2018-05-05T11:45:00.123456Z"), 42L);
+
+    @Test
+    @DisplayName("Should decode the position of an encoded token")
+    void shouldDecodeThePositionOfAnEncodedToken() {
+        // When
+        AssetPageToken decoded = AssetPageToken.decode(TOKEN.encode(), SortDirection.DESC);
+
+        // Then
+        assertThat(decoded, equalTo(TOKEN));
+    }
+
+    @Test
+    @DisplayName("Should encode tokens safe to be used in URLs")
+    void shouldEncodeTokensSafeToBeUsedInUrls() {
+        assertThat(TOKEN.encode(), matchesPattern("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    @DisplayName("Should reject a token of a search in the opposite order")
+    void shouldRejectATokenOfASearchInTheOppositeOrder() {
+        // When
+        InvalidPageTokenException ex = assertThrows(InvalidPageTokenException.class,
+                () -> AssetPageToken.decode(TOKEN.encode(), SortDirection.ASC));
+
+        // Then
+        assertThat(ex.getMessage(), equalTo(
+                "Page token '" + TOKEN.encode() + "' is not valid: it belongs to a search sorted DESC"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base 64!", "QVND", "QVNDOjE6Mjpm", "Rk9POjE6Mjoz"})
+    @DisplayName("Should reject malformed tokens")
+    void shouldRejectMalformedTokens(String token) {
+        // When
+        InvalidPageTokenException ex = assertThrows(InvalidPageTokenException.class,
+                () -> AssetPageToken.decode(token, SortDirection.ASC));
+
+        // Then
+        assertThat(ex.getMessage(), endsWith("is not valid: malformed token"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ASC:9223372036854775807:2000000000:1", "ASC:9223372036854775807:0:1",
+            "ASC:-9223372036854775808:-1:1"})
+    @DisplayName("Should reject tokens with an instant out of range")
+    void shouldRejectTokensWithAnInstantOutOfRange(String value) {
+        // Given
+        String token = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+
+        // When
+        InvalidPageTokenException ex = assertThrows(InvalidPageTokenException.class,
+                () -> AssetPageToken.decode(token, SortDirection.ASC));
+
+        // Then
+        assertThat(ex.getMessage(), endsWith("is not valid: malformed token"));
+    }
+}
@@ -1,11 +1,15 @@
 package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
 
 import org.fsg.assetmanager.domain.exception.AssetAlreadyExistsException;
+import org.fsg.assetmanager.domain.exception.InvalidPageTokenException;
 import org.fsg.assetmanager.domain.model.*;
 import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.out.AssetPage;
 import org.fsg.assetmanager.domain.port.out.AssetSearchCriteria;
+import org.fsg.assetmanager.domain.port.out.AssetStatusTransition;
 import org.fsg.assetmanager.infrastructure.IntegrationTestBase;
 import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.AssetJpaRepository;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.PublishJobJpaRepository;
 import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.entity.AssetEntity;
 import org.fsg.assetmanager.testutils.ColonDelimiterParam;
 import org.junit.jupiter.api.AfterEach;
@@ -15,9 +19,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -28,6 +39,7 @@ class AssetRepositoryAdapterIT extends IntegrationTestBase {
     private static final String UUID1 = "00000000-0000-0000-0000-000000000001";
     private static final String UUID2 = "00000000-0000-0000-0000-000000000002";
     private static final String UUID3 = "00000000-0000-0000-0000-000000000003";
+    private static final String UUID4 = "00000000-0000-0000-0000-000000000004";
     private static final String SAMPLE_CONTENT_TYPE = "image/png";
     private static final String ANOTHER_CONTENT_TYPE = "image/jpeg";
     private static final String INSTANT_1 = "2018-05-05T11:45:00Z";
@@ -35,7 +47,7 @@ class AssetRepositoryAdapterIT extends IntegrationTestBase {
     private static final String INSTANT_3 = "2018-05-05T12:15:00Z";
     private static final String BEFORE_INSTANT_1 = "2018-05-05T11:30:00Z";
     private static final String AFTER_INSTANT_3 = "2018-05-05T12:30:00Z";
-    private static final AssetSearchCriteria EMPTY_SEARCH_CRITERIA = new AssetSearchCriteria(null, null, null, null, null);
+    private static final AssetSearchCriteria EMPTY_SEARCH_CRITERIA = criteria(null, null, null, null, null);
 
     // Hint: Entities are created as fresh to avoid problems with hibernate
     private static final AssetEntity ENTITY_1 = createEntity1();
@@ -46,8 +58,18 @@ class AssetRepositoryAdapterIT extends IntegrationTestBase {
     @Autowired
     private AssetJpaRepository jpaRepository;
 
+    @Autowired
+    private PublishJobRepositoryAdapter publishJobAdapter;
+
+    @Autowired
+    private PublishJobJpaRepository publishJobJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @AfterEach
     void tearDown() {
+        publishJobJpaRepository.deleteAll();
         jpaRepository.deleteAll();
     }
 
@@ -60,6 +82,7 @@ class AssetRepositoryAdapterIT extends IntegrationTestBase {
         void shouldReturnEmptyListWhenDataIsEmpty() {
             // When
             List<String> assetIds = adapter.find(EMPTY_SEARCH_CRITERIA)
+                    .assets()
                     .stream()
                     .map(asset -> asset.id().value()).toList();
 
@@ -76,14 +99,14 @@ class AssetRepositoryAdapterIT extends IntegrationTestBase {
         @Test
         @DisplayName("Should return assets sorted by upload date desc when criteria has sort direction desc")
         void shouldReturnAssetsSortedByUploadDateDescWhenCriteriaHasSortDirectionDesc() {
-            AssetSearchCriteria criteria = new AssetSearchCriteria(null, null, null, null, SortDirection.DESC);
+            AssetSearchCriteria criteria = criteria(null, null, null, null, SortDirection.DESC);
             assertFindSortsCorrectly(criteria, UUID3, UUID2, UUID1);
         }
 
         @Test
         @DisplayName("Should return assets sorted by upload date asc when criteria has sort direction asc")
         void shouldReturnAssetsSortedByUploadDateAscWhenCriteriaHasSortDirectionAsc() {
-            AssetSearchCriteria criteria = new AssetSearchCriteria(null, null, null, null, SortDirection.ASC);
+            AssetSearchCriteria criteria = criteria(null, null, null, null, SortDirection.ASC);
             assertFindSortsCorrectly(criteria, UUID1, UUID2, UUID3);
         }
 
@@ -101,7 +124,7 @@ class AssetRepositoryAdapterIT extends IntegrationTestBase {
             Instant start = startValue == null ? null : Instant.parse(startValue);
             Instant end = startValue == null ? null : Instant.parse(endValue);
 
-            AssetSearchCriteria criteria = new AssetSearchCriteria(start, end, null, null, null);
+            AssetSearchCriteria criteria = criteria(start, end, null, null, null);
             assertFindSortsCorrectly(criteria, expectedIds.toArray(new String[0]));
         }
 
@@ -114,7 +137,7 @@ class AssetRepositoryAdapterIT extends IntegrationTestBase {
         })
         @DisplayName("Should return all assets when filter by filename with less than three chars or is blank")
         void shouldReturnAssetsWhenFilterByFilenameWithLessThanThreeCharsOrIsBlank(String filenamePattern) {
-            AssetSearchCriteria criteria = new AssetSearchCriteria(null, null, filenamePattern, null, null);
+            AssetSearchCriteria criteria = criteria(null, null, filenamePattern, null, null);
             assertFindSortsCorrectly(criteria, UUID1, UUID2, UUID3);
         }
 
@@ -130,7 +153,7 @@ class AssetRepositoryAdapterIT extends IntegrationTestBase {
         void shouldReturnAssetsWhenFilterByFilename(
                 String filenamePattern, @ColonDelimiterParam List<String> expectedIds) {
 
-            AssetSearchCriteria criteria = new AssetSearchCriteria(null, null, filenamePattern, null, null);
+            AssetSearchCriteria criteria = criteria(null, null, filenamePattern, null, null);
             assertFindSortsCorrectly(criteria, expectedIds.toArray(new String[0]));
         }
 
@@ -138,7 +161,7 @@ class AssetRepositoryAdapterIT extends IntegrationTestBase {
         @DisplayName("Should return empty list when filter by content type does not match completely")
         void shouldReturnEmptyListWhenFilterByContentTypeDoesNotMatchCompletely() {
 
-            AssetSearchCriteria criteria = new AssetSearchCriteria(null, null, null,
+            AssetSearchCriteria criteria = criteria(null, null, null,
                     SAMPLE_CONTENT_TYPE.substring(2), null);
             assertFindSortsCorrectly(criteria);
         }
@@ -146,7 +169,7 @@ class AssetRepositoryAdapterIT extends IntegrationTestBase {
         @Test
         @DisplayName("Should return assets when filter by content type uppercase")
         void shouldReturnAssetsWhenFilterByContentTypeUppercase() {
-            AssetSearchCriteria criteria = new AssetSearchCriteria(null, null, null,
+            AssetSearchCriteria criteria = criteria(null, null, null,
                     SAMPLE_CONTENT_TYPE.toUpperCase(), null);
             assertFindSortsCorrectly(criteria, UUID1, UUID2);
         }
@@ -155,7 +178,7 @@ class AssetRepositoryAdapterIT extends IntegrationTestBase {
         @DisplayName("Should return assets when filter by content type lowercase")
         void shouldReturnAssetsWhenFilterByContentTypeLowercase() {
 
-            AssetSearchCriteria criteria = new AssetSearchCriteria(null, null, null,
+            AssetSearchCriteria criteria = criteria(null, null, null,
                     SAMPLE_CONTENT_TYPE.toLowerCase(), null);
             assertFindSortsCorrectly(criteria, UUID1, UUID2);
         }
@@ -165,7 +188,9 @@ class AssetRepositoryAdapterIT extends IntegrationTestBase {
             populateDatabase();
 
             // When
-            List<String> assetIds = adapter.find(criteria).stream().map(asset -> asset.id().value()).toList();
+            List<String> assetIds = adapter.find(criteria).assets().stream()
+                    .map(asset -> asset.id().value())
+                    .toList();
 
             // Then
             if (orderedUUIDs.length == 0) {
@@ -176,6 +201,172 @@ class AssetRepositoryAdapterIT extends IntegrationTestBase {
         }
     }
 
+    @Nested
+    @DisplayName("Pagination tests")
+    class PaginationTests {
+
+        @ParameterizedTest
+        @CsvSource(value = {
+                "ASC, " + UUID1 + ":" + UUID2 + ", " + UUID3,
+                "DESC, " + UUID3 + ":" + UUID2 + ", " + UUID1,
+        })
+        @DisplayName("Should return the next page after the page token")
+        void shouldReturnTheNextPageAfterThePageToken(
+                SortDirection direction, @ColonDelimiterParam List<String> firstPage, String secondPage) {
+            // Given
+            populateDatabase();
+
+            // When
+            AssetPage first = adapter.find(criteria(null, null, null, null, direction, 2, null));
+            AssetPage second = adapter.find(criteria(null, null, null, null, direction, 2, first.nextPageToken()));
+
+            // Then
+            assertThat(idsOf(first), equalTo(firstPage));
+            assertThat(first.nextPageToken(), notNullValue());
+            assertThat(idsOf(second), contains(secondPage));
+            assertThat(second.nextPageToken(), nullValue());
+        }
+
+        @Test
+        @DisplayName("Should not skip assets uploaded at the same instant")
+        void shouldNotSkipAssetsUploadedAtTheSameInstant() {
+            // Given
+            Instant sameInstant = Instant.parse(INSTANT_1);
+            jpaRepository.save(createEntity1());
+            AssetEntity second = createEntity2();
+            second.setUploadDate(sameInstant);
+            jpaRepository.save(second);
+            AssetEntity third = createEntity3();
+            third.setUploadDate(sameInstant);
+            jpaRepository.save(third);
+
+            // When
+            List<String> assetIds = new ArrayList<>();
+            String pageToken = null;
+            do {
+                AssetPage page = adapter.find(criteria(null, null, null, null, SortDirection.ASC, 1, pageToken));
+                assetIds.addAll(idsOf(page));
+                pageToken = page.nextPageToken();
+            } while (pageToken != null);
+
+            // Then
+            assertThat(assetIds, contains(UUID1, UUID2, UUID3));
+        }
+
+        @Test
+        @DisplayName("Should reject a page token of a search in the opposite order")
+        void shouldRejectAPageTokenOfASearchInTheOppositeOrder() {
+            // Given
+            populateDatabase();
+            String descPageToken = adapter.find(criteria(null, null, null, null, SortDirection.DESC, 1, null))
+                    .nextPageToken();
+
+            // When
+            InvalidPageTokenException ex = assertThrows(InvalidPageTokenException.class,
+                    () -> adapter.find(criteria(null, null, null, null, SortDirection.ASC, 1, descPageToken)));
+
+            // Then
+            assertThat(ex.getMessage(), containsString("it belongs to a search sorted DESC"));
+        }
+
+        private List<String> idsOf(AssetPage page) {
+            return page.assets().stream().map(asset -> asset.id().value()).toList();
+        }
+    }
+
+    @Nested
+    @DisplayName("Stream tests")
+    class StreamTests {
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        @Test
+        @DisplayName("Should stream the assets matching the criteria in order")
+        void shouldStreamTheAssetsMatchingTheCriteriaInOrder() {
+            // Given
+            populateDatabase();
+            AssetSearchCriteria criteria = criteria(null, null, null, SAMPLE_CONTENT_TYPE, SortDirection.DESC);
+
+            // When
+            List<String> assetIds = transactionTemplate.execute(status -> {
+                try (Stream<Asset> assets = adapter.stream(criteria)) {
+                    return assets.map(asset -> asset.id().value()).toList();
+                }
+            });
+
+            // Then
+            assertThat(assetIds, contains(UUID2, UUID1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Filename index tests")
+    class FilenameIndexTests {
+
+        @Autowired
+        private FilenameIndex filenameIndex;
+
+        @Test
+        @DisplayName("Should find by filename the assets written by other instances before and after the refresh")
+        void shouldFindByFilenameTheAssetsWrittenByOtherInstancesBeforeAndAfterTheRefresh() {
+            // Given
+            populateDatabase();
+            AssetSearchCriteria criteria = criteria(null, null, "PAnDa", null, null);
+
+            // When
+            List<String> beforeRefresh = idsOf(adapter.find(criteria));
+            filenameIndex.refresh();
+            List<String> afterRefresh = idsOf(adapter.find(criteria));
+
+            // Then
+            assertThat(beforeRefresh, contains(UUID3));
+            assertThat(afterRefresh, contains(UUID3));
+            assertThat(filenameIndex.stats().indexedUpTo(), greaterThan(Instant.EPOCH));
+        }
+
+        @Test
+        @DisplayName("Should index the assets inserted by other instances with lower ids than the ones indexed")
+        void shouldIndexTheAssetsInsertedByOtherInstancesWithLowerIdsThanTheOnesIndexed() {
+            // Given
+            populateDatabase();
+            filenameIndex.refresh();
+            long indexedFilenames = filenameIndex.stats().filenames();
+            long lowestId = jpaRepository.findAll().stream().mapToLong(AssetEntity::getId).min().orElseThrow();
+            // Hint: Another instance inserts an id of a block of the pooled sequence taken before the ones indexed
+            jdbcTemplate.update("INSERT INTO assets (id, external_id, filename, content_type, size, upload_date, "
+                            + "status) VALUES (?, ?, ?, ?, ?, ?, ?)", lowestId - 1, UUID4, "Panda of an older block",
+                    SAMPLE_CONTENT_TYPE, 4L, Timestamp.from(Instant.parse(INSTANT_1)), AssetStatus.PUBLISHED.name());
+
+            // When
+            filenameIndex.refresh();
+
+            // Then
+            assertThat(filenameIndex.stats().filenames(), equalTo(indexedFilenames + 1));
+            assertThat(idsOf(adapter.find(criteria(null, null, "older block", null, null))), contains(UUID4));
+        }
+
+        @Test
+        @DisplayName("Should index the filenames of the assets saved by this instance")
+        void shouldIndexTheFilenamesOfTheAssetsSavedByThisInstance() {
+            // Given
+            filenameIndex.refresh();
+            long indexedFilenames = filenameIndex.stats().filenames();
+
+            // When
+            Asset saved = adapter.save(AssetMother.SAMPLE_ASSET);
+
+            // Then
+            assertThat(filenameIndex.stats().filenames(), equalTo(indexedFilenames + 1));
+            assertThat(idsOf(adapter.find(criteria(null, null, "SAMPLE file", null, null))),
+                    contains(saved.id().value()));
+        }
+
+        private List<String> idsOf(AssetPage page) {
+            return page.assets().stream().map(asset -> asset.id().value()).toList();
+        }
+    }
+
     @Nested
     @DisplayName("Save Tests")
     class SaveTests {
@@ -228,6 +419,135 @@ class AssetRepositoryAdapterIT extends IntegrationTestBase {
         }
     }
 
+    @Nested
+    @DisplayName("Pending without publish job tests")
+    class PendingWithoutPublishJobTests {
+
+        @Test
+        @DisplayName("Should return the old pending assets without a publish job in batches")
+        void shouldReturnTheOldPendingAssetsWithoutAPublishJobInBatches() {
+            // Given
+            populateDatabase();
+            List.of(UUID1, UUID2, UUID3).forEach(id -> adapter.updateStatus(new AssetStatusTransition(
+                    new AssetId(id), AssetStatus.PUBLISHED, AssetStatus.PENDING, null)));
+            publishJobAdapter.enqueue(new AssetId(UUID2));
+            Instant uploadedBefore = Instant.parse(AFTER_INSTANT_3);
+
+            // When
+            List<Asset> first = adapter.findPendingWithoutPublishJob(uploadedBefore, null, 1);
+            List<Asset> second = adapter.findPendingWithoutPublishJob(uploadedBefore, first.getLast(), 1);
+            List<Asset> third = adapter.findPendingWithoutPublishJob(uploadedBefore, second.getLast(), 1);
+
+            // Then
+            assertThat(first.stream().map(asset -> asset.id().value()).toList(), contains(UUID1));
+            assertThat(second.stream().map(asset -> asset.id().value()).toList(), contains(UUID3));
+            assertThat(third, emptyIterable());
+            assertThat(adapter.findPendingWithoutPublishJob(Instant.parse(INSTANT_1), null, 10), emptyIterable());
+        }
+    }
+
+    @Nested
+    @DisplayName("Published by content hash tests")
+    class PublishedByContentHashTests {
+
+        @Test
+        @DisplayName("Should return a published asset with the same content and content type")
+        void shouldReturnAPublishedAssetWithTheSameContentAndContentType() {
+            // Given
+            Asset published = adapter.save(AssetMother.SAMPLE_ASSET.withContentHash(AssetMother.SAMPLE_CONTENT_HASH));
+            adapter.save(AssetMother.ANOTHER_ASSET.withContentHash(AssetMother.SAMPLE_CONTENT_HASH)
+                    .withContentType(AssetMother.SAMPLE_CONTENT_TYPE));
+
+            // When
+            Optional<Asset> found = adapter.findPublishedByContentHash(AssetMother.SAMPLE_CONTENT_HASH,
+                    new ContentType(AssetMother.SAMPLE_CONTENT_TYPE.value().toUpperCase()));
+
+            // Then
+            assertThat(found, equalTo(Optional.of(published)));
+            assertThat(adapter.findPublishedByContentHash(AssetMother.SAMPLE_CONTENT_HASH,
+                    AssetMother.ANOTHER_CONTENT_TYPE), equalTo(Optional.empty()));
+            assertThat(adapter.findPublishedByContentHash(new ContentHash("unknown"),
+                    AssetMother.SAMPLE_CONTENT_TYPE), equalTo(Optional.empty()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Update status Tests")
+    class UpdateStatusTests {
+        private static final String UNKNOWN_UUID = "00000000-0000-0000-0000-000000000009";
+        private static final String NEW_URL = "http://cdn.local/assets/1";
+
+        @Test
+        @DisplayName("Should apply the transition when the asset is in the expected status")
+        void shouldApplyTheTransitionWhenTheAssetIsInTheExpectedStatus() {
+            // Given
+            populateDatabase();
+
+            // When
+            boolean applied = adapter.updateStatus(
+                    new AssetStatusTransition(new AssetId(UUID1), AssetStatus.PUBLISHED, AssetStatus.FAILED, null));
+
+            // Then
+            assertThat(applied, equalTo(true));
+            assertThat(findEntity(UUID1).getStatus(), equalTo(AssetStatus.FAILED));
+            assertThat(findEntity(UUID1).getUrl(), nullValue());
+        }
+
+        @Test
+        @DisplayName("Should not apply the transition when the asset is not in the expected status")
+        void shouldNotApplyTheTransitionWhenTheAssetIsNotInTheExpectedStatus() {
+            // Given
+            populateDatabase();
+
+            // When
+            boolean applied = adapter.updateStatus(
+                    new AssetStatusTransition(new AssetId(UUID1), AssetStatus.PENDING, AssetStatus.PUBLISHED, NEW_URL));
+
+            // Then
+            assertThat(applied, equalTo(false));
+            assertThat(findEntity(UUID1).getStatus(), equalTo(AssetStatus.PUBLISHED));
+            assertThat(findEntity(UUID1).getUrl(), nullValue());
+        }
+
+        @Test
+        @DisplayName("Should return only the applied transitions when many are updated at once")
+        void shouldReturnOnlyTheAppliedTransitionsWhenManyAreUpdatedAtOnce() {
+            // Given
+            populateDatabase();
+            List<AssetStatusTransition> transitions = List.of(
+                    new AssetStatusTransition(new AssetId(UUID1), AssetStatus.PUBLISHED, AssetStatus.PENDING, null),
+                    new AssetStatusTransition(new AssetId(UUID2), AssetStatus.FAILED, AssetStatus.PUBLISHED, NEW_URL),
+                    new AssetStatusTransition(new AssetId(UUID3), AssetStatus.PUBLISHED, AssetStatus.PUBLISHED, NEW_URL),
+                    new AssetStatusTransition(new AssetId(UNKNOWN_UUID), AssetStatus.PENDING, AssetStatus.FAILED, null));
+
+            // When
+            Set<AssetId> applied = adapter.updateStatuses(transitions);
+
+            // Then
+            assertThat(applied, containsInAnyOrder(new AssetId(UUID1), new AssetId(UUID3)));
+            assertThat(findEntity(UUID1).getStatus(), equalTo(AssetStatus.PENDING));
+            assertThat(findEntity(UUID2).getUrl(), nullValue());
+            assertThat(findEntity(UUID3).getUrl(), equalTo(NEW_URL));
+        }
+
+        private AssetEntity findEntity(String externalId) {
+            return jpaRepository.findAllByExternalIdIn(List.of(externalId)).getFirst();
+        }
+    }
+
+    private static AssetSearchCriteria criteria(
+            Instant uploadDateStart, Instant uploadDateEnd, String filename, String contentType,
+            SortDirection sortDirection) {
+        return criteria(uploadDateStart, uploadDateEnd, filename, contentType, sortDirection, 100, null);
+    }
+
+    private static AssetSearchCriteria criteria(
+            Instant uploadDateStart, Instant uploadDateEnd, String filename, String contentType,
+            SortDirection sortDirection, int limit, String pageToken) {
+        return new AssetSearchCriteria(uploadDateStart, uploadDateEnd, filename, contentType, sortDirection, limit,
+                pageToken);
+    }
+
     private static AssetEntity createEntity1() {
         return AssetEntity.builder()
                 .externalId(UUID1)
@@ -0,0 +1,164 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import org.fsg.assetmanager.domain.model.SortDirection;
+import org.fsg.assetmanager.domain.port.out.AssetSearchCriteria;
+import org.fsg.assetmanager.infrastructure.IntegrationTestBase;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.AssetJpaRepository;
+import org.fsg.assetmanager.testutils.CapturingStatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Checks the execution plans of the queries generated for the searches, using the real SQL sent by Hibernate.
+ */
+@DisplayName("Asset search plan Integration Tests")
+class AssetSearchPlanIT extends IntegrationTestBase {
+    private static final int ASSET_COUNT = 5_000;
+    private static final List<String> CONTENT_TYPES = List.of("image/png", "image/jpeg", "image/gif", "video/mp4",
+            "application/pdf", "text/plain", "audio/mpeg", "image/webp");
+    private static final Instant FIRST_UPLOAD = Instant.parse("2018-05-05T00:00:00Z");
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+
+    @Autowired
+    private AssetRepositoryAdapter adapter;
+
+    @Autowired
+    private AssetJpaRepository jpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>(ASSET_COUNT);
+        for (int i = 0; i < ASSET_COUNT; i++) {
+            rows.add(new Object[]{UUID.randomUUID().toString(), "asset number " + i,
+                    CONTENT_TYPES.get(i % CONTENT_TYPES.size()), 10L,
+                    Timestamp.from(FIRST_UPLOAD.plus(i, ChronoUnit.MINUTES)), "PUBLISHED"});
+        }
+        // Hint: Ids are taken by Hibernate from a pooled sequence, the column has no default
+        jdbcTemplate.batchUpdate("INSERT INTO assets (id, external_id, filename, content_type, size, upload_date, "
+                + "status) VALUES (nextval('assets_pooled_id_seq'), ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE assets");
+        CapturingStatementInspector.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should read pages filtered by content type from the content type index in sort order")
+    void shouldReadPagesFilteredByContentTypeFromTheContentTypeIndexInSortOrder() {
+        // When
+        String plan = planOf(criteria(null, null, null, "IMAGE/PNG"));
+
+        // Then
+        assertThat(plan, containsString("idx_content_type_upload_date_id"));
+        assertThat(plan, not(containsString("Sort")));
+    }
+
+    @Test
+    @DisplayName("Should read pages filtered by upload date from the upload date index in sort order")
+    void shouldReadPagesFilteredByUploadDateFromTheUploadDateIndexInSortOrder() {
+        // When
+        String plan = planOf(criteria(FIRST_UPLOAD.plus(10, ChronoUnit.DAYS), null, null, null));
+
+        // Then
+        assertThat(plan, containsString("idx_upload_date_id"));
+        assertThat(plan, not(containsString("Sort")));
+    }
+
+    @Test
+    @DisplayName("Should scan the upload date index from the position of the page token")
+    void shouldScanTheUploadDateIndexFromThePositionOfThePageToken() {
+        // Given
+        String pageToken = new AssetPageToken(SortDirection.ASC, FIRST_UPLOAD.plus(4_000, ChronoUnit.MINUTES), 1)
+                .encode();
+
+        // When
+        String plan = planOf(new AssetSearchCriteria(null, null, null, null, SortDirection.ASC, 20, pageToken));
+
+        // Then
+        assertThat(plan, containsString("idx_upload_date_id"));
+        assertThat(plan, matchesPattern("(?s).*Index Cond: [^\\n]*upload_date >= .*"));
+        assertThat(plan, not(containsString("Sort")));
+    }
+
+    @Test
+    @DisplayName("Should not send predicates that can't narrow the result")
+    void shouldNotSendPredicatesThatCantNarrowTheResult() {
+        // When
+        adapter.find(criteria(null, null, "ab", "   "));
+
+        // Then
+        String sql = lastAssetQuery();
+        assertThat(sql, not(containsString("ilike")));
+        assertThat(sql, not(containsString("content_type=")));
+        assertThat(sql, not(containsString("1=1")));
+    }
+
+    @Test
+    @DisplayName("Should not query the database when the upload date range is reversed")
+    void shouldNotQueryTheDatabaseWhenTheUploadDateRangeIsReversed() {
+        // When
+        adapter.find(criteria(FIRST_UPLOAD.plus(1, ChronoUnit.DAYS), FIRST_UPLOAD, null, null));
+
+        // Then
+        assertThat(CapturingStatementInspector.statements(), emptyIterable());
+    }
+
+    private String planOf(AssetSearchCriteria criteria) {
+        adapter.find(criteria);
+        String sql = toPositionalParameters(lastAssetQuery());
+        // Hint: A generic plan doesn't depend on the parameter values, like the plans of prepared statements.
+        //       Sequential scans are discouraged so the test checks that the query can use the index at all.
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + sql, String.class));
+        });
+    }
+
+    private static String lastAssetQuery() {
+        return CapturingStatementInspector.statements().stream()
+                .filter(sql -> sql.contains("from") && sql.contains("assets"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+    }
+
+    private static String toPositionalParameters(String sql) {
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder positional = new StringBuilder();
+        int position = 0;
+        while (matcher.find()) {
+            matcher.appendReplacement(positional, "\\$" + ++position);
+        }
+        matcher.appendTail(positional);
+        return positional.toString();
+    }
+
+    private static AssetSearchCriteria criteria(Instant start, Instant end, String filename, String contentType) {
+        return new AssetSearchCriteria(start, end, filename, contentType, SortDirection.ASC, 20, null);
+    }
+}
@@ -0,0 +1,96 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import org.fsg.assetmanager.domain.model.SortDirection;
+import org.fsg.assetmanager.domain.port.out.AssetSearchCriteria;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class AssetSearchPlanTest {
+    private static final Instant START = Instant.parse("2018-05-05T11:45:00Z");
+    private static final Instant END = Instant.parse("2018-05-05T12:15:00Z");
+    private static final Function<String, Optional<FilenameCandidates>> NO_INDEX = filename -> Optional.empty();
+
+    @Test
+    @DisplayName("Should keep the filters normalized as they are stored")
+    void shouldKeepTheFiltersNormalizedAsTheyAreStored() {
+        // When
+        AssetSearchPlan plan = AssetSearchPlan.of(criteria(START, END, "panda", "IMAGE/PNG"), NO_INDEX);
+
+        // Then
+        assertThat(plan, equalTo(new AssetSearchPlan("image/png", START, END, "panda", null)));
+        assertThat(plan.matchesNothing(), equalTo(false));
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "'', ''",
+            "'   ', '   '",
+            "ab, ",
+            ", '\t'",
+    })
+    @DisplayName("Should drop the filters that can't narrow the result")
+    void shouldDropTheFiltersThatCantNarrowTheResult(String filename, String contentType) {
+        // When
+        AssetSearchPlan plan = AssetSearchPlan.of(criteria(null, null, filename, contentType), NO_INDEX);
+
+        // Then
+        assertThat(plan, equalTo(new AssetSearchPlan(null, null, null, null, null)));
+    }
+
+    @Test
+    @DisplayName("Should resolve the filename pattern to the candidates of the index")
+    void shouldResolveTheFilenamePatternToTheCandidatesOfTheIndex() {
+        // Given
+        FilenameCandidates candidates = new FilenameCandidates(List.of(1L, 7L), Instant.EPOCH);
+        List<String> resolved = new ArrayList<>();
+
+        // When
+        AssetSearchPlan plan = AssetSearchPlan.of(criteria(null, null, "panda", null), filename -> {
+            resolved.add(filename);
+            return Optional.of(candidates);
+        });
+
+        // Then
+        assertThat(plan, equalTo(new AssetSearchPlan(null, null, null, "panda", candidates)));
+        assertThat(resolved, contains("panda"));
+    }
+
+    @Test
+    @DisplayName("Should not use the index when the filename is dropped")
+    void shouldNotUseTheIndexWhenTheFilenameIsDropped() {
+        // When
+        AssetSearchPlan plan = AssetSearchPlan.of(criteria(null, null, "ab", null), filename -> {
+            throw new AssertionError("The index should not be used");
+        });
+
+        // Then
+        assertThat(plan.filenameCandidates(), nullValue());
+    }
+
+    @Test
+    @DisplayName("Should match nothing when the upload date range is reversed")
+    void shouldMatchNothingWhenTheUploadDateRangeIsReversed() {
+        assertThat(AssetSearchPlan.of(criteria(END, START, null, null), NO_INDEX).matchesNothing(), equalTo(true));
+    }
+
+    @Test
+    @DisplayName("Should match a single instant when the upload date range is closed on it")
+    void shouldMatchASingleInstantWhenTheUploadDateRangeIsClosedOnIt() {
+        assertThat(AssetSearchPlan.of(criteria(START, START, null, null), NO_INDEX).matchesNothing(), equalTo(false));
+    }
+
+    private static AssetSearchCriteria criteria(Instant start, Instant end, String filename, String contentType) {
+        return new AssetSearchCriteria(start, end, filename, contentType, SortDirection.ASC, 10, null);
+    }
+}
@@ -0,0 +1,247 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import org.fsg.assetmanager.domain.model.AssetStatus;
+import org.fsg.assetmanager.domain.model.SortDirection;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.out.AssetPage;
+import org.fsg.assetmanager.domain.port.out.AssetRepository;
+import org.fsg.assetmanager.domain.port.out.AssetSearchCriteria;
+import org.fsg.assetmanager.domain.port.out.AssetStatusTransition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAssetRepositoryTest {
+    private static final Instant NOW = Instant.parse("2025-07-01T00:00:00Z");
+    private static final Duration TTL = Duration.ofSeconds(10);
+    private static final String SAMPLE_CONTENT_TYPE = AssetMother.SAMPLE_CONTENT_TYPE.value();
+    private static final AssetPage SAMPLE_PAGE = new AssetPage(List.of(AssetMother.SAMPLE_ASSET), null);
+    private static final AssetSearchCriteria SAMPLE_CONTENT_TYPE_CRITERIA =
+            criteria(null, null, null, SAMPLE_CONTENT_TYPE);
+    private static final AssetSearchCriteria ANOTHER_CONTENT_TYPE_CRITERIA =
+            criteria(null, null, null, AssetMother.ANOTHER_CONTENT_TYPE.value());
+
+    @Mock
+    private AssetRepository delegate;
+
+    @Mock
+    private Clock clock;
+
+    private CachingAssetRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CachingAssetRepository(delegate, new SearchCacheProperties(3, TTL), clock);
+        lenient().when(clock.instant()).thenReturn(NOW);
+        lenient().when(delegate.find(any())).thenReturn(SAMPLE_PAGE);
+    }
+
+    @Nested
+    @DisplayName("Find tests")
+    class FindTests {
+
+        @Test
+        @DisplayName("Should serve equivalent searches from the cache")
+        void shouldServeEquivalentSearchesFromTheCache() {
+            // Given
+            AssetSearchCriteria criteria = criteria(null, null, "ab", SAMPLE_CONTENT_TYPE.toUpperCase());
+            AssetSearchCriteria equivalent = new AssetSearchCriteria(null, null, " ", SAMPLE_CONTENT_TYPE,
+                    SortDirection.ASC, 10, null);
+
+            // When
+            AssetPage first = repository.find(criteria);
+            AssetPage second = repository.find(equivalent);
+
+            // Then
+            assertThat(first, sameInstance(SAMPLE_PAGE));
+            assertThat(second, sameInstance(SAMPLE_PAGE));
+            verify(delegate, times(1)).find(any());
+            assertThat(repository.stats(), equalTo(new SearchCacheStats(1, 1, 1, 0.5, 0, 0, 0)));
+        }
+
+        @Test
+        @DisplayName("Should query again when the cached page has expired")
+        void shouldQueryAgainWhenTheCachedPageHasExpired() {
+            // Given
+            repository.find(SAMPLE_CONTENT_TYPE_CRITERIA);
+            when(clock.instant()).thenReturn(NOW.plus(TTL));
+
+            // When
+            repository.find(SAMPLE_CONTENT_TYPE_CRITERIA);
+
+            // Then
+            verify(delegate, times(2)).find(any());
+            assertThat(repository.stats().expirations(), equalTo(1L));
+        }
+
+        @Test
+        @DisplayName("Should evict the least recently used page when full")
+        void shouldEvictTheLeastRecentlyUsedPageWhenFull() {
+            // Given
+            repository = new CachingAssetRepository(delegate, new SearchCacheProperties(2, TTL), clock);
+            AssetSearchCriteria third = criteria(NOW, null, null, null);
+            repository.find(SAMPLE_CONTENT_TYPE_CRITERIA);
+            repository.find(ANOTHER_CONTENT_TYPE_CRITERIA);
+            repository.find(SAMPLE_CONTENT_TYPE_CRITERIA);
+
+            // When
+            repository.find(third);
+            repository.find(SAMPLE_CONTENT_TYPE_CRITERIA);
+            repository.find(ANOTHER_CONTENT_TYPE_CRITERIA);
+
+            // Then
+            verify(delegate, times(2)).find(ANOTHER_CONTENT_TYPE_CRITERIA);
+            verify(delegate, times(1)).find(SAMPLE_CONTENT_TYPE_CRITERIA);
+            assertThat(repository.stats().evictions(), equalTo(2L));
+        }
+
+        @Test
+        @DisplayName("Should not cache when it has no room")
+        void shouldNotCacheWhenItHasNoRoom() {
+            // Given
+            repository = new CachingAssetRepository(delegate, new SearchCacheProperties(0, TTL), clock);
+
+            // When
+            repository.find(SAMPLE_CONTENT_TYPE_CRITERIA);
+            repository.find(SAMPLE_CONTENT_TYPE_CRITERIA);
+
+            // Then
+            verify(delegate, times(2)).find(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation tests")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("Should evict only the pages the saved asset could be in")
+        void shouldEvictOnlyThePagesTheSavedAssetCouldBeIn() {
+            // Given
+            AssetSearchCriteria beforeUpload = criteria(null, AssetMother.SAMPLE_UPLOAD_DATE.minusSeconds(1), null,
+                    null);
+            repository.find(SAMPLE_CONTENT_TYPE_CRITERIA);
+            repository.find(ANOTHER_CONTENT_TYPE_CRITERIA);
+            repository.find(beforeUpload);
+
+            // When
+            repository.save(AssetMother.SAMPLE_ASSET);
+            repository.find(SAMPLE_CONTENT_TYPE_CRITERIA);
+            repository.find(ANOTHER_CONTENT_TYPE_CRITERIA);
+            repository.find(beforeUpload);
+
+            // Then
+            verify(delegate, times(2)).find(SAMPLE_CONTENT_TYPE_CRITERIA);
+            verify(delegate, times(1)).find(ANOTHER_CONTENT_TYPE_CRITERIA);
+            verify(delegate, times(1)).find(beforeUpload);
+        }
+
+        @Test
+        @DisplayName("Should keep the pages filtered by a filename the saved asset doesn't contain")
+        void shouldKeepThePagesFilteredByAFilenameTheSavedAssetDoesntContain() {
+            // Given
+            AssetSearchCriteria matching = criteria(null, null, "SAMPLE", null);
+            AssetSearchCriteria notMatching = criteria(null, null, "another", null);
+            repository.find(matching);
+            repository.find(notMatching);
+
+            // When
+            repository.save(AssetMother.SAMPLE_ASSET);
+            repository.find(matching);
+            repository.find(notMatching);
+
+            // Then
+            verify(delegate, times(2)).find(matching);
+            verify(delegate, times(1)).find(notMatching);
+            assertThat(repository.stats().invalidations(), equalTo(1L));
+        }
+
+        @Test
+        @DisplayName("Should evict the pages any of the assets saved together could be in")
+        void shouldEvictThePagesAnyOfTheAssetsSavedTogetherCouldBeIn() {
+            // Given
+            repository.find(SAMPLE_CONTENT_TYPE_CRITERIA);
+            repository.find(ANOTHER_CONTENT_TYPE_CRITERIA);
+
+            // When
+            repository.saveAll(List.of(AssetMother.SAMPLE_ASSET,
+                    AssetMother.SAMPLE_ASSET.withContentType(AssetMother.ANOTHER_CONTENT_TYPE)));
+            repository.find(SAMPLE_CONTENT_TYPE_CRITERIA);
+            repository.find(ANOTHER_CONTENT_TYPE_CRITERIA);
+
+            // Then
+            verify(delegate, times(2)).find(SAMPLE_CONTENT_TYPE_CRITERIA);
+            verify(delegate, times(2)).find(ANOTHER_CONTENT_TYPE_CRITERIA);
+        }
+
+        @Test
+        @DisplayName("Should evict the pages showing an asset when its status changes")
+        void shouldEvictThePagesShowingAnAssetWhenItsStatusChanges() {
+            // Given
+            AssetStatusTransition transition = new AssetStatusTransition(AssetMother.SAMPLE_ASSET_ID,
+                    AssetStatus.PENDING, AssetStatus.PUBLISHED, "url");
+            when(delegate.find(ANOTHER_CONTENT_TYPE_CRITERIA)).thenReturn(new AssetPage(List.of(), null));
+            when(delegate.updateStatuses(List.of(transition))).thenReturn(Set.of(AssetMother.SAMPLE_ASSET_ID));
+            repository.find(SAMPLE_CONTENT_TYPE_CRITERIA);
+            repository.find(ANOTHER_CONTENT_TYPE_CRITERIA);
+
+            // When
+            boolean updated = repository.updateStatus(transition);
+            repository.find(SAMPLE_CONTENT_TYPE_CRITERIA);
+            repository.find(ANOTHER_CONTENT_TYPE_CRITERIA);
+
+            // Then
+            assertThat(updated, equalTo(true));
+            verify(delegate, times(2)).find(SAMPLE_CONTENT_TYPE_CRITERIA);
+            verify(delegate, times(1)).find(ANOTHER_CONTENT_TYPE_CRITERIA);
+        }
+
+        @Test
+        @DisplayName("Should evict the pages once the transaction of the write completes")
+        void shouldEvictThePagesOnceTheTransactionOfTheWriteCompletes() {
+            // Given
+            repository.find(SAMPLE_CONTENT_TYPE_CRITERIA);
+            TransactionSynchronizationManager.initSynchronization();
+            List<TransactionSynchronization> synchronizations;
+            try {
+                repository.save(AssetMother.SAMPLE_ASSET);
+                repository.find(SAMPLE_CONTENT_TYPE_CRITERIA);
+                synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            // When
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                    TransactionSynchronization.STATUS_COMMITTED);
+            repository.find(SAMPLE_CONTENT_TYPE_CRITERIA);
+
+            // Then
+            verify(delegate, times(2)).find(SAMPLE_CONTENT_TYPE_CRITERIA);
+            assertThat(repository.stats().hits(), equalTo(1L));
+        }
+    }
+
+    private static AssetSearchCriteria criteria(Instant start, Instant end, String filename, String contentType) {
+        return new AssetSearchCriteria(start, end, filename, contentType, null, 10, null);
+    }
+}
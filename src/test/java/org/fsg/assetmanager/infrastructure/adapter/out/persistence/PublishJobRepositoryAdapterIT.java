@@ -0,0 +1,136 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.out.PublishJob;
+import org.fsg.assetmanager.infrastructure.IntegrationTestBase;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.AssetJpaRepository;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.PublishJobJpaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("PublishJobRepositoryAdapter Integration Tests")
+class PublishJobRepositoryAdapterIT extends IntegrationTestBase {
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Autowired
+    private PublishJobRepositoryAdapter adapter;
+
+    @Autowired
+    private AssetRepositoryAdapter assetAdapter;
+
+    @Autowired
+    private PublishJobJpaRepository jpaRepository;
+
+    @Autowired
+    private AssetJpaRepository assetJpaRepository;
+
+    @AfterEach
+    void tearDown() {
+        jpaRepository.deleteAll();
+        assetJpaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should claim enqueued jobs with their assets")
+    void shouldClaimEnqueuedJobsWithTheirAssets() {
+        // Given
+        assetAdapter.save(AssetMother.SAMPLE_ASSET);
+        adapter.enqueue(AssetMother.SAMPLE_ASSET_ID);
+
+        // When
+        List<PublishJob> jobs = adapter.claim(10, LEASE);
+
+        // Then
+        assertThat(jobs, hasSize(1));
+        assertThat(jobs.getFirst().asset(), equalTo(AssetMother.SAMPLE_ASSET));
+        assertThat(jobs.getFirst().attempts(), equalTo(1));
+    }
+
+    @Test
+    @DisplayName("Should claim the jobs of assets saved and enqueued together")
+    void shouldClaimTheJobsOfAssetsSavedAndEnqueuedTogether() {
+        // Given
+        assetAdapter.saveAll(List.of(AssetMother.SAMPLE_ASSET,
+                AssetMother.SAMPLE_ASSET.withId(AssetMother.ANOTHER_ASSET_ID)));
+        adapter.enqueueAll(List.of(AssetMother.SAMPLE_ASSET_ID, AssetMother.ANOTHER_ASSET_ID));
+
+        // When
+        List<PublishJob> jobs = adapter.claim(10, LEASE);
+
+        // Then
+        assertThat(jobs.stream().map(job -> job.asset().id()).toList(),
+                containsInAnyOrder(AssetMother.SAMPLE_ASSET_ID, AssetMother.ANOTHER_ASSET_ID));
+        assertThat(jobs.stream().map(PublishJob::attempts).toList(), everyItem(equalTo(1)));
+    }
+
+    @Test
+    @DisplayName("Should not claim jobs again while their lease is active")
+    void shouldNotClaimJobsAgainWhileTheirLeaseIsActive() {
+        // Given
+        assetAdapter.save(AssetMother.SAMPLE_ASSET);
+        adapter.enqueue(AssetMother.SAMPLE_ASSET_ID);
+        adapter.claim(10, LEASE);
+
+        // When
+        List<PublishJob> jobs = adapter.claim(10, LEASE);
+
+        // Then
+        assertThat(jobs, emptyIterable());
+    }
+
+    @Test
+    @DisplayName("Should discard jobs whose asset does not exist")
+    void shouldDiscardJobsWhoseAssetDoesNotExist() {
+        // Given
+        adapter.enqueue(new AssetId("unknown"));
+
+        // When
+        List<PublishJob> jobs = adapter.claim(10, LEASE);
+
+        // Then
+        assertThat(jobs, emptyIterable());
+        assertThat(jpaRepository.count(), equalTo(0L));
+    }
+
+    @Test
+    @DisplayName("Should delete the job when completed")
+    void shouldDeleteJobWhenCompleted() {
+        // Given
+        assetAdapter.save(AssetMother.SAMPLE_ASSET);
+        adapter.enqueue(AssetMother.SAMPLE_ASSET_ID);
+        PublishJob job = adapter.claim(10, LEASE).getFirst();
+
+        // When
+        adapter.complete(job);
+
+        // Then
+        assertThat(jpaRepository.count(), equalTo(0L));
+    }
+
+    @Test
+    @DisplayName("Should claim released jobs again without counting the interrupted attempt")
+    void shouldClaimReleasedJobsAgainWithoutCountingTheInterruptedAttempt() {
+        // Given
+        assetAdapter.save(AssetMother.SAMPLE_ASSET);
+        adapter.enqueue(AssetMother.SAMPLE_ASSET_ID);
+        PublishJob job = adapter.claim(10, LEASE).getFirst();
+
+        // When
+        adapter.release(List.of(job));
+        List<PublishJob> jobs = adapter.claim(10, LEASE);
+
+        // Then
+        assertThat(jobs, hasSize(1));
+        assertThat(jobs.getFirst().id(), equalTo(job.id()));
+        assertThat(jobs.getFirst().attempts(), equalTo(1));
+    }
+}
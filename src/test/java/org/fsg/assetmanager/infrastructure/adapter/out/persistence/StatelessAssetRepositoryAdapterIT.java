@@ -0,0 +1,78 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import org.fsg.assetmanager.domain.exception.AssetAlreadyExistsException;
+import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.infrastructure.IntegrationTestBase;
+import org.fsg.assetmanager.infrastructure.adapter.out.persistence.jpa.AssetJpaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("AssetRepositoryAdapter with stateless writer Integration Tests")
+@TestPropertySource(properties = "asset-manager.persistence.writer=stateless")
+class StatelessAssetRepositoryAdapterIT extends IntegrationTestBase {
+
+    @Autowired
+    private AssetRepositoryAdapter adapter;
+
+    @Autowired
+    private AssetEntityWriter writer;
+
+    @Autowired
+    private AssetJpaRepository jpaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jpaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should save assets through a stateless session")
+    void shouldSaveAssetsThroughStatelessSession() {
+        // When
+        Asset saved = adapter.save(AssetMother.SAMPLE_ASSET);
+
+        // Then
+        assertThat(writer, instanceOf(StatelessAssetEntityWriter.class));
+        assertThat(saved, equalTo(AssetMother.SAMPLE_ASSET));
+        assertThat(jpaRepository.count(), equalTo(1L));
+    }
+
+    @Test
+    @DisplayName("Should throw an exception when save an asset with same external ID")
+    void shouldThrowExceptionWhenSaveAnAssetWithSameExternalId() {
+        // Given
+        adapter.save(AssetMother.SAMPLE_ASSET);
+
+        // When
+        AssetAlreadyExistsException ex = assertThrows(AssetAlreadyExistsException.class,
+                () -> adapter.save(AssetMother.SAMPLE_ASSET));
+
+        // Then
+        assertThat(ex.getMessage(), containsString(AssetMother.SAMPLE_ASSET_ID.value()));
+    }
+
+    @Test
+    @DisplayName("Should roll back the insert with the transaction")
+    void shouldRollBackInsertWithTransaction() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            adapter.save(AssetMother.SAMPLE_ASSET);
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(jpaRepository.count(), equalTo(0L));
+    }
+}
@@ -0,0 +1,115 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class TrigramIndexTest {
+    private static final int MAX_CANDIDATES = 10;
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.add(3, "panda.png");
+        index.add(1, "Red Panda.JPG");
+        index.add(2, "koala.png");
+    }
+
+    @Test
+    @DisplayName("Should return the ids of the texts containing the pattern in ascending order")
+    void shouldReturnTheIdsOfTheTextsContainingThePatternInAscendingOrder() {
+        assertThat(index.candidates("PANDA", MAX_CANDIDATES).orElseThrow(), equalTo(new long[]{1, 3}));
+        assertThat(index.candidates(".png", MAX_CANDIDATES).orElseThrow(), equalTo(new long[]{2, 3}));
+    }
+
+    @Test
+    @DisplayName("Should return no ids when a trigram of the pattern is not indexed")
+    void shouldReturnNoIdsWhenATrigramOfThePatternIsNotIndexed() {
+        assertThat(index.candidates("pandas", MAX_CANDIDATES).orElseThrow(), equalTo(new long[0]));
+    }
+
+    @Test
+    @DisplayName("Should return a superset of the matching texts")
+    void shouldReturnASupersetOfTheMatchingTexts() {
+        // Given
+        index.add(4, "abcd bcde");
+
+        // When
+        Optional<long[]> candidates = index.candidates("abcde", MAX_CANDIDATES);
+
+        // Then
+        assertThat(candidates.orElseThrow(), equalTo(new long[]{4}));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "pa"})
+    @DisplayName("Should not narrow the search when the pattern is shorter than a trigram")
+    void shouldNotNarrowTheSearchWhenThePatternIsShorterThanATrigram(String pattern) {
+        assertThat(index.candidates(pattern, MAX_CANDIDATES), equalTo(Optional.empty()));
+    }
+
+    @Test
+    @DisplayName("Should not narrow the search when there are too many candidates")
+    void shouldNotNarrowTheSearchWhenThereAreTooManyCandidates() {
+        assertThat(index.candidates("png", 1), equalTo(Optional.empty()));
+        assertThat(index.candidates("png", 2).orElseThrow(), equalTo(new long[]{2, 3}));
+    }
+
+    @Test
+    @DisplayName("Should ignore an id added again")
+    void shouldIgnoreAnIdAddedAgain() {
+        // Given
+        long postings = index.postings();
+
+        // When
+        index.add(3, "panda.png");
+
+        // Then
+        assertThat(index.texts(), equalTo(3L));
+        assertThat(index.postings(), equalTo(postings));
+        assertThat(index.candidates("panda", MAX_CANDIDATES).orElseThrow(), equalTo(new long[]{1, 3}));
+    }
+
+    @Test
+    @DisplayName("Should keep the ids sorted when they are added out of order")
+    void shouldKeepTheIdsSortedWhenTheyAreAddedOutOfOrder() {
+        // Given
+        TrigramIndex outOfOrder = new TrigramIndex();
+        long[] ids = {50, 10, 40, 20, 30, 60, 5};
+
+        // When
+        for (long id : ids) {
+            outOfOrder.add(id, "same text");
+        }
+
+        // Then
+        assertThat(outOfOrder.candidates("same", MAX_CANDIDATES).orElseThrow(),
+                equalTo(new long[]{5, 10, 20, 30, 40, 50, 60}));
+    }
+
+    @Test
+    @DisplayName("Should report its size")
+    void shouldReportItsSize() {
+        // Given
+        Set<Long> trigrams = new HashSet<>(TrigramIndex.trigramsOf("panda.png"));
+        trigrams.addAll(TrigramIndex.trigramsOf("red panda.jpg"));
+        trigrams.addAll(TrigramIndex.trigramsOf("koala.png"));
+
+        // Then
+        assertThat(index.texts(), equalTo(3L));
+        assertThat(index.trigrams(), equalTo(trigrams.size()));
+        assertThat(index.postings(), equalTo(7L + 11L + 7L));
+        assertThat(index.estimatedMemoryBytes(), greaterThan(index.postings() * Long.BYTES));
+    }
+}
@@ -0,0 +1,263 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.publisher;
+
+import lombok.extern.slf4j.Slf4j;
+import org.fsg.assetmanager.domain.exception.AssetPublishException;
+import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.AssetContent;
+import org.fsg.assetmanager.domain.model.AssetId;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.out.PublishedUrl;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Slf4j
+@DisplayName("HttpAssetPublisher Tests")
+class HttpAssetPublisherTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final PublisherProperties.Multipart MULTIPART =
+            new PublisherProperties.Multipart(DataSize.ofMegabytes(64), DataSize.ofMegabytes(16), 4);
+
+    @TempDir
+    private Path directory;
+
+    private LocalPublisherServer server;
+    private HttpAssetPublisher publisher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = LocalPublisherServer.start();
+        publisher = new HttpAssetPublisher(properties(TIMEOUT, MULTIPART));
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Should stream the spooled file and return the published URL")
+    void shouldStreamTheSpooledFileAndReturnThePublishedUrl() throws IOException {
+        // Given
+        AssetContent content = fileContent(AssetMother.SAMPLE_CONTENT);
+
+        // When
+        PublishedUrl published = publisher.publish(AssetMother.SAMPLE_ASSET, content);
+
+        // Then
+        assertThat(published.url(), equalTo(LocalPublisherServer.CDN_URL + AssetMother.SAMPLE_ASSET_ID.value()));
+        assertThat(server.getReceivedBytes().get(), equalTo((long) AssetMother.SAMPLE_CONTENT.length));
+        assertThat(server.getReceivedHeaders().get("content-type"),
+                equalTo(AssetMother.SAMPLE_CONTENT_TYPE.value()));
+        assertThat(server.getReceivedHeaders().get(HttpAssetPublisher.FILENAME_HEADER.toLowerCase()), equalTo("sample+filename"));
+    }
+
+    @Test
+    @DisplayName("Should stream content without a backing file")
+    void shouldStreamContentWithoutBackingFile() {
+        // When
+        PublishedUrl published = publisher.publish(AssetMother.SAMPLE_ASSET, AssetMother.SAMPLE_ASSET_CONTENT);
+
+        // Then
+        assertThat(published.url(), equalTo(LocalPublisherServer.CDN_URL + AssetMother.SAMPLE_ASSET_ID.value()));
+        assertThat(server.getReceivedBytes().get(), equalTo((long) AssetMother.SAMPLE_CONTENT.length));
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "400, false",
+            "404, false",
+            "408, true",
+            "429, true",
+            "500, true",
+            "503, true",
+    })
+    @DisplayName("Should classify failed responses as retryable or not")
+    void shouldClassifyFailedResponsesAsRetryableOrNot(int status, boolean retryable) {
+        // Given
+        server.setResponseStatus(status);
+
+        // When
+        AssetPublishException ex = assertThrows(AssetPublishException.class,
+                () -> publisher.publish(AssetMother.SAMPLE_ASSET, AssetMother.SAMPLE_ASSET_CONTENT));
+
+        // Then
+        assertThat(ex.isRejected(), equalTo(!retryable));
+        assertThat(ex.isRetryable(), equalTo(retryable));
+        assertThat(ex.getMessage(), equalTo(String.format(
+                "Asset with ID '%s' could not be published: publisher responded with status %d",
+                AssetMother.SAMPLE_ASSET_ID.value(), status)));
+    }
+
+    @Test
+    @DisplayName("Should fail with a retryable exception when the request times out")
+    void shouldFailWithRetryableExceptionWhenRequestTimesOut() {
+        // Given
+        server.setLatency(Duration.ofMillis(500));
+        HttpAssetPublisher impatientPublisher = new HttpAssetPublisher(properties(Duration.ofMillis(50), MULTIPART));
+
+        // When
+        AssetPublishException ex = assertThrows(AssetPublishException.class,
+                () -> impatientPublisher.publish(AssetMother.SAMPLE_ASSET, AssetMother.SAMPLE_ASSET_CONTENT));
+
+        // Then
+        assertThat(ex.isRetryable(), equalTo(true));
+        impatientPublisher.close();
+    }
+
+    @Test
+    @DisplayName("Should sustain concurrent publishes from virtual threads")
+    void shouldSustainConcurrentPublishesFromVirtualThreads() throws Exception {
+        // Given
+        int publishes = 500;
+        byte[] payload = new byte[64 * 1024];
+        AssetContent content = fileContent(payload);
+        server.setLatency(Duration.ofMillis(5));
+
+        // When
+        long start = System.nanoTime();
+        List<Future<Long>> latencies = new ArrayList<>(publishes);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < publishes; i++) {
+                Asset asset = AssetMother.SAMPLE_ASSET.withId(new AssetId("asset-" + i));
+                latencies.add(executor.submit(() -> {
+                    long requestStart = System.nanoTime();
+                    publisher.publish(asset, content);
+                    return System.nanoTime() - requestStart;
+                }));
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then
+        List<Long> sorted = new ArrayList<>();
+        for (Future<Long> latency : latencies) {
+            sorted.add(latency.get());
+        }
+        sorted.sort(Long::compare);
+        log.info("{} publishes in {} ms ({} req/s), p50 {} ms, p99 {} ms", publishes, elapsed.toMillis(),
+                publishes * 1000L / Math.max(1, elapsed.toMillis()),
+                Duration.ofNanos(sorted.get(publishes / 2)).toMillis(),
+                Duration.ofNanos(sorted.get(publishes * 99 / 100)).toMillis());
+
+        assertThat(server.getRequests().get(), equalTo(publishes));
+        assertThat(server.getReceivedBytes().get(), equalTo((long) publishes * payload.length));
+    }
+
+    @Nested
+    @DisplayName("Multipart Tests")
+    class MultipartTests {
+        private static final PublisherProperties.Multipart SMALL_PARTS =
+                new PublisherProperties.Multipart(DataSize.ofKilobytes(64), DataSize.ofKilobytes(16), 2);
+
+        private HttpAssetPublisher multipartPublisher;
+
+        @BeforeEach
+        void setUp() {
+            multipartPublisher = new HttpAssetPublisher(properties(TIMEOUT, SMALL_PARTS));
+        }
+
+        @AfterEach
+        void tearDown() {
+            multipartPublisher.close();
+        }
+
+        @Test
+        @DisplayName("Should publish files over the threshold in parallel parts")
+        void shouldPublishFilesOverTheThresholdInParallelParts() throws IOException {
+            // Given
+            byte[] payload = new byte[100 * 1024];
+            AssetContent content = fileContent(payload);
+            server.setLatency(Duration.ofMillis(50));
+
+            // When
+            PublishedUrl published = multipartPublisher.publish(AssetMother.SAMPLE_ASSET, content);
+
+            // Then
+            assertThat(published.url(), equalTo(LocalPublisherServer.CDN_URL + AssetMother.SAMPLE_ASSET_ID.value()));
+            assertThat(server.getReceivedParts(), equalTo(Map.of(
+                    1, 16384L, 2, 16384L, 3, 16384L, 4, 16384L, 5, 16384L, 6, 16384L, 7, 4096L)));
+            assertThat(server.getReceivedBytes().get(), equalTo((long) payload.length));
+            assertThat(server.getReceivedHeaders().get(HttpAssetPublisher.PART_COUNT_HEADER.toLowerCase()),
+                    equalTo("7"));
+            assertThat(server.getMaxConcurrentParts().get(), equalTo(2));
+        }
+
+        @Test
+        @DisplayName("Should publish files under the threshold in a single request")
+        void shouldPublishFilesUnderTheThresholdInASingleRequest() throws IOException {
+            // Given
+            AssetContent content = fileContent(new byte[32 * 1024]);
+
+            // When
+            multipartPublisher.publish(AssetMother.SAMPLE_ASSET, content);
+
+            // Then
+            assertThat(server.getRequests().get(), equalTo(1));
+            assertThat(server.getReceivedParts().isEmpty(), equalTo(true));
+        }
+
+        @Test
+        @DisplayName("Should abort the upload when a part fails")
+        void shouldAbortTheUploadWhenAPartFails() throws IOException {
+            // Given
+            AssetContent content = fileContent(new byte[100 * 1024]);
+            server.setPartResponseStatus(503);
+
+            // When
+            AssetPublishException ex = assertThrows(AssetPublishException.class,
+                    () -> multipartPublisher.publish(AssetMother.SAMPLE_ASSET, content));
+
+            // Then
+            assertThat(ex.isRetryable(), equalTo(true));
+            multipartPublisher.close(); // Hint: Waits for the abort request, which is sent in the background
+            assertThat(server.getAbortedUploads().get(), equalTo(1));
+        }
+    }
+
+    private PublisherProperties properties(Duration requestTimeout, PublisherProperties.Multipart multipart) {
+        return new PublisherProperties(server.baseUrl(), TIMEOUT, requestTimeout, multipart);
+    }
+
+    private AssetContent fileContent(byte[] bytes) throws IOException {
+        Path file = Files.write(directory.resolve("content"), bytes);
+        return new AssetContent() {
+            @Override
+            public long size() {
+                return bytes.length;
+            }
+
+            @Override
+            public ReadableByteChannel openChannel() throws IOException {
+                return FileChannel.open(file, StandardOpenOption.READ);
+            }
+
+            @Override
+            public Optional<Path> path() {
+                return Optional.of(file);
+            }
+        };
+    }
+}
@@ -0,0 +1,146 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.publisher;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Offline stand-in of the external publisher. It accepts {@code PUT /assets/{id}} requests and the requests of
+ * multipart uploads, discards the body and answers with the URL of the published asset in the {@code Location}
+ * header.
+ */
+public class LocalPublisherServer implements AutoCloseable {
+    public static final String CDN_URL = "http://cdn.local/assets/";
+    private static final String CONTEXT = "/assets/";
+    private static final Pattern MULTIPART = Pattern.compile("([^/]+)/uploads(?:/([^/]+)(?:/parts/(\\d+))?)?");
+    private static final String UPLOAD_ID = "upload-1";
+
+    private final HttpServer server;
+
+    @Getter
+    private final AtomicInteger requests = new AtomicInteger();
+    @Getter
+    private final AtomicLong receivedBytes = new AtomicLong();
+    @Getter
+    private final Map<String, String> receivedHeaders = new ConcurrentHashMap<>();
+    @Getter
+    private final Map<Integer, Long> receivedParts = new ConcurrentHashMap<>();
+    @Getter
+    private final AtomicInteger abortedUploads = new AtomicInteger();
+    @Getter
+    private final AtomicInteger maxConcurrentParts = new AtomicInteger();
+    private final AtomicInteger concurrentParts = new AtomicInteger();
+
+    @Setter
+    private volatile int responseStatus = 201;
+    @Setter
+    private volatile int partResponseStatus = 200;
+    @Setter
+    private volatile Duration latency = Duration.ZERO;
+
+    private LocalPublisherServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext(CONTEXT, this::handle);
+    }
+
+    public static LocalPublisherServer start() throws IOException {
+        LocalPublisherServer publisherServer = new LocalPublisherServer();
+        publisherServer.server.start();
+        return publisherServer;
+    }
+
+    public URI baseUrl() {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + CONTEXT);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Matcher multipart = MULTIPART.matcher(exchange.getRequestURI().getPath().substring(CONTEXT.length()));
+        if (multipart.matches()) {
+            handleMultipart(exchange, multipart);
+            return;
+        }
+
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            requests.incrementAndGet();
+            receivedBytes.addAndGet(body.transferTo(OutputStream.nullOutputStream()));
+            recordHeaders(exchange);
+            sleep(latency);
+
+            int status = responseStatus;
+            if (status >= 200 && status < 300) {
+                String assetId = exchange.getRequestURI().getPath().substring(CONTEXT.length());
+                exchange.getResponseHeaders().add("Location", CDN_URL + assetId);
+            }
+            exchange.sendResponseHeaders(status, -1);
+        }
+    }
+
+    private void handleMultipart(HttpExchange exchange, Matcher path) throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            requests.incrementAndGet();
+            String method = exchange.getRequestMethod();
+            if (path.group(3) != null) {
+                maxConcurrentParts.accumulateAndGet(concurrentParts.incrementAndGet(), Math::max);
+                try {
+                    long bytes = body.transferTo(OutputStream.nullOutputStream());
+                    receivedBytes.addAndGet(bytes);
+                    receivedParts.put(Integer.parseInt(path.group(3)), bytes);
+                    sleep(latency);
+                } finally {
+                    concurrentParts.decrementAndGet();
+                }
+                exchange.sendResponseHeaders(partResponseStatus, -1);
+            } else if (path.group(2) == null) {
+                recordHeaders(exchange);
+                byte[] uploadId = UPLOAD_ID.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(201, uploadId.length);
+                exchange.getResponseBody().write(uploadId);
+            } else if (method.equals("DELETE")) {
+                abortedUploads.incrementAndGet();
+                exchange.sendResponseHeaders(204, -1);
+            } else {
+                recordHeaders(exchange);
+                exchange.getResponseHeaders().add("Location", CDN_URL + path.group(1));
+                exchange.sendResponseHeaders(responseStatus, -1);
+            }
+        }
+    }
+
+    private void recordHeaders(HttpExchange exchange) {
+        exchange.getRequestHeaders()
+                .forEach((name, values) -> receivedHeaders.put(name.toLowerCase(), values.getFirst()));
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
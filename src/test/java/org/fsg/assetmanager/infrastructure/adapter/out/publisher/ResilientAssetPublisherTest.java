@@ -0,0 +1,205 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.publisher;
+
+import org.fsg.assetmanager.domain.exception.AssetPublishException;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.out.AssetPublisher;
+import org.fsg.assetmanager.domain.port.out.PublishedUrl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientAssetPublisherTest {
+    private static final String DESTINATION = "cdn.local";
+    private static final PublishedUrl PUBLISHED_URL = new PublishedUrl("http://cdn.local/1");
+    private static final PublisherResilienceProperties PROPERTIES = new PublisherResilienceProperties(
+            3, Duration.ofMillis(100), Duration.ofSeconds(1), 2, Duration.ofSeconds(30), 0.2, 10);
+
+    @Mock
+    private AssetPublisher delegate;
+
+    @Mock
+    private Clock clock;
+
+    private final List<Duration> sleeps = new ArrayList<>();
+    private ResilientAssetPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = createPublisher(PROPERTIES);
+        lenient().when(clock.instant()).thenReturn(Instant.EPOCH);
+    }
+
+    @Test
+    @DisplayName("Should retry retryable failures with bounded jittered backoff")
+    void shouldRetryRetryableFailuresWithBoundedJitteredBackoff() {
+        // Given
+        when(delegate.publish(any(), any()))
+                .thenThrow(retryable())
+                .thenReturn(PUBLISHED_URL);
+
+        // When
+        PublishedUrl published = publisher.publish(AssetMother.SAMPLE_ASSET, AssetMother.SAMPLE_ASSET_CONTENT);
+
+        // Then
+        assertThat(published, equalTo(PUBLISHED_URL));
+        assertThat(sleeps, contains(lessThanOrEqualTo(Duration.ofMillis(100))));
+        assertThat(publisher.retries(), equalTo(1L));
+    }
+
+    @Test
+    @DisplayName("Should not retry non retryable failures")
+    void shouldNotRetryNonRetryableFailures() {
+        // Given
+        AssetPublishException exception = AssetPublishException.rejected(AssetMother.SAMPLE_ASSET_ID, "bad request");
+        when(delegate.publish(any(), any())).thenThrow(exception);
+
+        // When
+        AssetPublishException actual = assertThrows(AssetPublishException.class,
+                () -> publisher.publish(AssetMother.SAMPLE_ASSET, AssetMother.SAMPLE_ASSET_CONTENT));
+
+        // Then
+        assertThat(actual, sameInstance(exception));
+        verify(delegate, times(1)).publish(any(), any());
+        assertThat(publisher.circuitStates().get(DESTINATION), equalTo("CLOSED"));
+    }
+
+    @Test
+    @DisplayName("Should fail fast while the circuit is open")
+    void shouldFailFastWhileTheCircuitIsOpen() {
+        // Given
+        when(delegate.publish(any(), any())).thenThrow(retryable());
+        assertThrows(AssetPublishException.class,
+                () -> publisher.publish(AssetMother.SAMPLE_ASSET, AssetMother.SAMPLE_ASSET_CONTENT));
+        // The circuit opened after the second attempt, so the third one was already short-circuited
+        verify(delegate, times(2)).publish(any(), any());
+        assertThat(publisher.shortCircuited(), equalTo(1L));
+        clearInvocations(delegate);
+
+        // When
+        AssetPublishException ex = assertThrows(AssetPublishException.class,
+                () -> publisher.publish(AssetMother.SAMPLE_ASSET, AssetMother.SAMPLE_ASSET_CONTENT));
+
+        // Then
+        assertThat(ex.isRetryable(), equalTo(true));
+        assertThat(ex.getMessage(), containsString("circuit breaker is open for " + DESTINATION));
+        verifyNoInteractions(delegate);
+        assertThat(publisher.circuitStates().get(DESTINATION), equalTo("OPEN"));
+        assertThat(publisher.shortCircuited(), equalTo(2L));
+    }
+
+    @Test
+    @DisplayName("Should close the circuit when the trial call succeeds after the open period")
+    void shouldCloseTheCircuitWhenTheTrialCallSucceedsAfterTheOpenPeriod() {
+        // Given
+        when(delegate.publish(any(), any()))
+                .thenThrow(retryable())
+                .thenThrow(retryable())
+                .thenReturn(PUBLISHED_URL);
+        assertThrows(AssetPublishException.class,
+                () -> publisher.publish(AssetMother.SAMPLE_ASSET, AssetMother.SAMPLE_ASSET_CONTENT));
+        when(clock.instant()).thenReturn(Instant.EPOCH.plus(PROPERTIES.openDuration()));
+
+        // When
+        PublishedUrl published = publisher.publish(AssetMother.SAMPLE_ASSET, AssetMother.SAMPLE_ASSET_CONTENT);
+
+        // Then
+        assertThat(published, equalTo(PUBLISHED_URL));
+        assertThat(publisher.circuitStates().get(DESTINATION), equalTo("CLOSED"));
+    }
+
+    @Test
+    @DisplayName("Should release the trial call of a half-open circuit when it throws an error")
+    void shouldReleaseTheTrialCallOfAHalfOpenCircuitWhenItThrowsAnError() {
+        // Given
+        when(delegate.publish(any(), any()))
+                .thenThrow(retryable())
+                .thenThrow(retryable())
+                .thenThrow(new StackOverflowError())
+                .thenReturn(PUBLISHED_URL);
+        assertThrows(AssetPublishException.class,
+                () -> publisher.publish(AssetMother.SAMPLE_ASSET, AssetMother.SAMPLE_ASSET_CONTENT));
+        when(clock.instant()).thenReturn(Instant.EPOCH.plus(PROPERTIES.openDuration()));
+        assertThrows(StackOverflowError.class,
+                () -> publisher.publish(AssetMother.SAMPLE_ASSET, AssetMother.SAMPLE_ASSET_CONTENT));
+        assertThat(publisher.circuitStates().get(DESTINATION), equalTo("OPEN"));
+        when(clock.instant()).thenReturn(Instant.EPOCH.plus(PROPERTIES.openDuration().multipliedBy(2)));
+
+        // When
+        PublishedUrl published = publisher.publish(AssetMother.SAMPLE_ASSET, AssetMother.SAMPLE_ASSET_CONTENT);
+
+        // Then
+        assertThat(published, equalTo(PUBLISHED_URL));
+        assertThat(publisher.circuitStates().get(DESTINATION), equalTo("CLOSED"));
+    }
+
+    @Test
+    @DisplayName("Should keep the circuit half-open when the trial call fails before reaching the destination")
+    void shouldKeepTheCircuitHalfOpenWhenTheTrialCallFailsBeforeReachingTheDestination() {
+        // Given
+        AssetPublishException local = new AssetPublishException(
+                AssetMother.SAMPLE_ASSET_ID, "content is no longer available", false);
+        when(delegate.publish(any(), any()))
+                .thenThrow(retryable())
+                .thenThrow(retryable())
+                .thenThrow(local)
+                .thenReturn(PUBLISHED_URL);
+        assertThrows(AssetPublishException.class,
+                () -> publisher.publish(AssetMother.SAMPLE_ASSET, AssetMother.SAMPLE_ASSET_CONTENT));
+        when(clock.instant()).thenReturn(Instant.EPOCH.plus(PROPERTIES.openDuration()));
+
+        // When
+        AssetPublishException actual = assertThrows(AssetPublishException.class,
+                () -> publisher.publish(AssetMother.SAMPLE_ASSET, AssetMother.SAMPLE_ASSET_CONTENT));
+
+        // Then
+        assertThat(actual, sameInstance(local));
+        assertThat(publisher.circuitStates().get(DESTINATION), equalTo("HALF_OPEN"));
+        PublishedUrl published = publisher.publish(AssetMother.SAMPLE_ASSET, AssetMother.SAMPLE_ASSET_CONTENT);
+        assertThat(published, equalTo(PUBLISHED_URL));
+        assertThat(publisher.circuitStates().get(DESTINATION), equalTo("CLOSED"));
+    }
+
+    @Test
+    @DisplayName("Should stop retrying when the retry budget is exhausted")
+    void shouldStopRetryingWhenTheRetryBudgetIsExhausted() {
+        // Given
+        PublisherResilienceProperties noBudget = new PublisherResilienceProperties(
+                3, Duration.ofMillis(100), Duration.ofSeconds(1), 100, Duration.ofSeconds(30), 0, 0);
+        ResilientAssetPublisher budgetedPublisher = createPublisher(noBudget);
+        when(delegate.publish(any(), any())).thenThrow(retryable());
+
+        // When
+        assertThrows(AssetPublishException.class,
+                () -> budgetedPublisher.publish(AssetMother.SAMPLE_ASSET, AssetMother.SAMPLE_ASSET_CONTENT));
+
+        // Then
+        verify(delegate, times(1)).publish(any(), any());
+        assertThat(budgetedPublisher.budgetExhausted(), equalTo(1L));
+        assertThat(sleeps, emptyIterable());
+    }
+
+    private ResilientAssetPublisher createPublisher(PublisherResilienceProperties properties) {
+        return new ResilientAssetPublisher(delegate, asset -> DESTINATION, properties, clock, sleeps::add);
+    }
+
+    private static AssetPublishException retryable() {
+        return new AssetPublishException(AssetMother.SAMPLE_ASSET_ID, "service unavailable", true);
+    }
+}
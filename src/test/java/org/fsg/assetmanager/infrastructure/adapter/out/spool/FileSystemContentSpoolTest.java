@@ -0,0 +1,179 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.spool;
+
+import org.fsg.assetmanager.domain.exception.ContentSpoolException;
+import org.fsg.assetmanager.domain.model.AssetContent;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("FileSystemContentSpool Tests")
+class FileSystemContentSpoolTest {
+    private static final DataSize CAPACITY = DataSize.ofBytes(20);
+
+    @TempDir
+    private Path directory;
+
+    private FileSystemContentSpool spool;
+
+    @BeforeEach
+    void setUp() {
+        spool = new FileSystemContentSpool(new ContentSpoolProperties(directory, CAPACITY));
+    }
+
+    @Test
+    @DisplayName("Should spool content to a re-readable file")
+    void shouldSpoolContentToReReadableFile() throws IOException {
+        // When
+        AssetContent spooled = spool.spool(AssetMother.SAMPLE_ASSET_ID, AssetMother.SAMPLE_ASSET_CONTENT);
+
+        // Then
+        assertThat(spooled.size(), equalTo((long) AssetMother.SAMPLE_CONTENT.length));
+        assertThat(spooled.path().isPresent(), equalTo(true));
+        assertThat(readAll(spooled), equalTo(AssetMother.SAMPLE_CONTENT));
+        assertThat(readAll(spooled), equalTo(AssetMother.SAMPLE_CONTENT));
+        assertThat(spool.usedBytes(), equalTo((long) AssetMother.SAMPLE_CONTENT.length));
+    }
+
+    @Test
+    @DisplayName("Should delete the file and free capacity when released")
+    void shouldDeleteFileAndFreeCapacityWhenReleased() {
+        // Given
+        AssetContent spooled = spool.spool(AssetMother.SAMPLE_ASSET_ID, AssetMother.SAMPLE_ASSET_CONTENT);
+
+        // When
+        spool.release(AssetMother.SAMPLE_ASSET_ID);
+
+        // Then
+        assertThat(Files.exists(spooled.path().orElseThrow()), equalTo(false));
+        assertThat(spool.usedBytes(), equalTo(0L));
+    }
+
+    @Test
+    @DisplayName("Should find spooled content after a restart")
+    void shouldFindSpooledContentAfterRestart() throws IOException {
+        // Given
+        spool.spool(AssetMother.SAMPLE_ASSET_ID, AssetMother.SAMPLE_ASSET_CONTENT);
+
+        // When
+        FileSystemContentSpool restarted = new FileSystemContentSpool(new ContentSpoolProperties(directory, CAPACITY));
+
+        // Then
+        assertThat(restarted.usedBytes(), equalTo((long) AssetMother.SAMPLE_CONTENT.length));
+        assertThat(readAll(restarted.find(AssetMother.SAMPLE_ASSET_ID).orElseThrow()),
+                equalTo(AssetMother.SAMPLE_CONTENT));
+        assertThat(restarted.find(AssetMother.ANOTHER_ASSET_ID).isPresent(), equalTo(false));
+    }
+
+    @Test
+    @DisplayName("Should reject content when capacity is exceeded")
+    void shouldRejectContentWhenCapacityIsExceeded() {
+        // Given
+        spool.spool(AssetMother.SAMPLE_ASSET_ID, AssetMother.SAMPLE_ASSET_CONTENT);
+
+        // When
+        ContentSpoolException ex = assertThrows(ContentSpoolException.class,
+                () -> spool.spool(AssetMother.ANOTHER_ASSET_ID, AssetMother.SAMPLE_ASSET_CONTENT));
+
+        // Then
+        assertThat(ex.getMessage(), containsString("spool capacity exceeded"));
+        assertThat(spool.usedBytes(), equalTo((long) AssetMother.SAMPLE_CONTENT.length));
+    }
+
+    @Test
+    @DisplayName("Should reject content when the source is larger than declared")
+    void shouldRejectContentWhenSourceIsLargerThanDeclared() {
+        // Given
+        AssetContent lyingSource = new AssetContent() {
+            @Override
+            public long size() {
+                return 3;
+            }
+
+            @Override
+            public ReadableByteChannel openChannel() throws IOException {
+                return AssetMother.SAMPLE_ASSET_CONTENT.openChannel();
+            }
+        };
+
+        // When
+        ContentSpoolException ex = assertThrows(ContentSpoolException.class,
+                () -> spool.spool(AssetMother.SAMPLE_ASSET_ID, lyingSource));
+
+        // Then
+        assertThat(ex.getMessage(), containsString("expected 3 bytes"));
+        assertThat(spool.usedBytes(), equalTo(0L));
+        assertThat(directory.toFile().list(), emptyArray());
+    }
+
+    @Test
+    @DisplayName("Should link the file backing a content instead of copying it")
+    void shouldLinkTheFileBackingAContentInsteadOfCopyingIt() throws IOException {
+        // Given
+        Path source = Files.write(directory.resolve("assembled.part"), AssetMother.SAMPLE_CONTENT);
+
+        // When
+        AssetContent spooled = spool.spool(AssetMother.SAMPLE_ASSET_ID,
+                new SpooledContent(source, AssetMother.SAMPLE_CONTENT.length));
+
+        // Then
+        assertThat(Files.isSameFile(spooled.path().orElseThrow(), source), equalTo(true));
+        Files.delete(source);
+        assertThat(readAll(spooled), equalTo(AssetMother.SAMPLE_CONTENT));
+        assertThat(spool.usedBytes(), equalTo((long) AssetMother.SAMPLE_CONTENT.length));
+    }
+
+    @Test
+    @DisplayName("Should count the contents spooled and released by other instances when reconciled")
+    void shouldCountTheContentsSpooledAndReleasedByOtherInstancesWhenReconciled() {
+        // Given
+        FileSystemContentSpool otherInstance = new FileSystemContentSpool(
+                new ContentSpoolProperties(directory, DataSize.ofKilobytes(1)));
+        otherInstance.spool(AssetMother.SAMPLE_ASSET_ID, AssetMother.SAMPLE_ASSET_CONTENT);
+        otherInstance.spool(AssetMother.ANOTHER_ASSET_ID, AssetMother.SAMPLE_ASSET_CONTENT);
+
+        // When
+        spool.release(AssetMother.SAMPLE_ASSET_ID);
+        long usedBeforeReconcile = spool.usedBytes();
+        spool.reconcile();
+
+        // Then
+        assertThat(usedBeforeReconcile, equalTo(0L));
+        assertThat(spool.usedBytes(), equalTo((long) AssetMother.SAMPLE_CONTENT.length));
+    }
+
+    @Test
+    @DisplayName("Should fail to find a content when the spool directory is not available")
+    void shouldFailToFindAContentWhenTheSpoolDirectoryIsNotAvailable() throws IOException {
+        // Given
+        Files.delete(directory);
+
+        // When / Then
+        assertThrows(ContentSpoolException.class, () -> spool.find(AssetMother.SAMPLE_ASSET_ID));
+    }
+
+    @Test
+    @DisplayName("Should require a spool directory")
+    void shouldRequireASpoolDirectory() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new ContentSpoolProperties(null, CAPACITY));
+    }
+
+    private static byte[] readAll(AssetContent content) throws IOException {
+        try (InputStream in = content.openStream()) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package org.fsg.assetmanager.infrastructure.adapter.out.spool;
+
+import org.fsg.assetmanager.domain.exception.UploadSessionException;
+import org.fsg.assetmanager.domain.exception.UploadSessionNotFoundException;
+import org.fsg.assetmanager.domain.model.*;
+import org.fsg.assetmanager.testutils.ByteArrayAssetContent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("FileSystemUploadSessionStore Tests")
+class FileSystemUploadSessionStoreTest {
+    private static final Instant NOW = Instant.parse("2025-07-01T00:00:00Z");
+    private static final Duration EXPIRE_AFTER = Duration.ofHours(24);
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+    private static final String SESSION_ID = "session-1";
+
+    @TempDir
+    private Path directory;
+
+    private FileSystemUploadSessionStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = newStore(Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should assemble chunks received out of order")
+    void shouldAssembleChunksReceivedOutOfOrder() throws IOException {
+        // Given
+        store.create(session(SESSION_ID, CONTENT.length));
+
+        // When
+        store.write(SESSION_ID, new ByteRange(6, 10), chunk(6, 10));
+        store.write(SESSION_ID, new ByteRange(0, 3), chunk(0, 3));
+        UploadSession session = store.write(SESSION_ID, new ByteRange(3, 6), chunk(3, 6));
+
+        // Then
+        assertThat(session.received(), equalTo(List.of(new ByteRange(0, 10))));
+        assertThat(session.isComplete(), equalTo(true));
+        assertThat(readAll(store.content(SESSION_ID)), equalTo(CONTENT));
+    }
+
+    @Test
+    @DisplayName("Should resume a session after a restart")
+    void shouldResumeSessionAfterRestart() throws IOException {
+        // Given
+        store.create(session(SESSION_ID, CONTENT.length));
+        store.write(SESSION_ID, new ByteRange(0, 3), chunk(0, 3));
+        store.write(SESSION_ID, new ByteRange(6, 10), chunk(6, 10));
+
+        // When
+        FileSystemUploadSessionStore restarted = newStore(Clock.fixed(NOW, ZoneOffset.UTC));
+        UploadSession resumed = restarted.find(SESSION_ID).orElseThrow();
+
+        // Then
+        assertThat(resumed.missing(), equalTo(List.of(new ByteRange(3, 6))));
+        assertThat(restarted.reservedBytes(), equalTo((long) CONTENT.length));
+        restarted.write(SESSION_ID, new ByteRange(3, 6), chunk(3, 6));
+        assertThat(readAll(restarted.content(SESSION_ID)), equalTo(CONTENT));
+    }
+
+    @Test
+    @DisplayName("Should reject a chunk larger than its range")
+    void shouldRejectChunkLargerThanItsRange() {
+        // Given
+        store.create(session(SESSION_ID, CONTENT.length));
+
+        // When
+        UploadSessionException ex = assertThrows(UploadSessionException.class,
+                () -> store.write(SESSION_ID, new ByteRange(0, 3), chunk(0, 4)));
+
+        // Then
+        assertThat(ex.getMessage(), containsString("expected 3 bytes"));
+        assertThat(store.find(SESSION_ID).orElseThrow().receivedBytes(), equalTo(0L));
+    }
+
+    @Test
+    @DisplayName("Should reject sessions when capacity is exceeded")
+    void shouldRejectSessionsWhenCapacityIsExceeded() {
+        // Given
+        store.create(session(SESSION_ID, CONTENT.length));
+
+        // When
+        UploadSessionException ex = assertThrows(UploadSessionException.class,
+                () -> store.create(session("session-2", 11)));
+
+        // Then
+        assertThat(ex.getMessage(), containsString("capacity exceeded"));
+        assertThat(store.reservedBytes(), equalTo((long) CONTENT.length));
+    }
+
+    @Test
+    @DisplayName("Should delete the files and free capacity when deleted")
+    void shouldDeleteFilesAndFreeCapacityWhenDeleted() {
+        // Given
+        store.create(session(SESSION_ID, CONTENT.length));
+
+        // When
+        store.delete(SESSION_ID);
+
+        // Then
+        assertThat(store.reservedBytes(), equalTo(0L));
+        assertThat(directory.toFile().list(), emptyArray());
+        assertThrows(UploadSessionNotFoundException.class,
+                () -> store.write(SESSION_ID, new ByteRange(0, 3), chunk(0, 3)));
+    }
+
+    @Test
+    @DisplayName("Should purge the sessions expired")
+    void shouldPurgeTheSessionsExpired() {
+        // Given
+        store.create(session(SESSION_ID, CONTENT.length));
+        FileSystemUploadSessionStore later = newStore(Clock.fixed(NOW.plus(EXPIRE_AFTER).plusSeconds(1),
+                ZoneOffset.UTC));
+
+        // When
+        later.purgeExpired();
+
+        // Then
+        assertThat(later.find(SESSION_ID).isPresent(), equalTo(false));
+        assertThat(later.reservedBytes(), equalTo(0L));
+        assertThat(directory.toFile().list(), emptyArray());
+    }
+
+    @Test
+    @DisplayName("Should keep the sessions that received a chunk within the expiry")
+    void shouldKeepTheSessionsThatReceivedAChunkWithinTheExpiry() {
+        // Given
+        store.create(session(SESSION_ID, CONTENT.length));
+        Instant lastChunk = NOW.plus(EXPIRE_AFTER).minusSeconds(60);
+        newStore(Clock.fixed(lastChunk, ZoneOffset.UTC)).write(SESSION_ID, new ByteRange(0, 3), chunk(0, 3));
+        FileSystemUploadSessionStore later = newStore(Clock.fixed(NOW.plus(EXPIRE_AFTER).plusSeconds(1),
+                ZoneOffset.UTC));
+
+        // When
+        later.purgeExpired();
+
+        // Then
+        assertThat(later.find(SESSION_ID).isPresent(), equalTo(true));
+    }
+
+    @Test
+    @DisplayName("Should not purge a session being committed")
+    void shouldNotPurgeASessionBeingCommitted() {
+        // Given
+        store.create(session(SESSION_ID, CONTENT.length));
+        FileSystemUploadSessionStore later = newStore(Clock.fixed(NOW.plus(EXPIRE_AFTER).plusSeconds(1),
+                ZoneOffset.UTC));
+        later.startCommit(SESSION_ID);
+
+        // When
+        later.purgeExpired();
+
+        // Then
+        assertThat(later.find(SESSION_ID).isPresent(), equalTo(true));
+    }
+
+    @Test
+    @DisplayName("Should not commit a session while a chunk is written, nor write chunks while it is committed")
+    void shouldNotCommitASessionWhileAChunkIsWrittenNorWriteChunksWhileItIsCommitted() throws Exception {
+        // Given
+        store.create(session(SESSION_ID, CONTENT.length));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        AssetContent slowChunk = new AssetContent() {
+            @Override
+            public long size() {
+                return CONTENT.length;
+            }
+
+            @Override
+            public ReadableByteChannel openChannel() {
+                return Channels.newChannel(new InputStream() {
+                    private final InputStream content = new ByteArrayInputStream(CONTENT);
+
+                    @Override
+                    public int read() throws IOException {
+                        writing.countDown();
+                        try {
+                            proceed.await();
+                        } catch (InterruptedException e) {
+                            throw new InterruptedIOException();
+                        }
+                        return content.read();
+                    }
+                });
+            }
+        };
+        Thread writer = Thread.startVirtualThread(
+                () -> store.write(SESSION_ID, new ByteRange(0, CONTENT.length), slowChunk));
+        assertThat(writing.await(5, TimeUnit.SECONDS), equalTo(true));
+
+        // When
+        UploadSessionException whileWriting = assertThrows(UploadSessionException.class,
+                () -> store.startCommit(SESSION_ID));
+        proceed.countDown();
+        writer.join(Duration.ofSeconds(5));
+        UploadSession committing = store.startCommit(SESSION_ID);
+
+        // Then
+        assertThat(whileWriting.getMessage(), containsString("still being written"));
+        assertThat(committing.isComplete(), equalTo(true));
+        UploadSessionException whileCommitting = assertThrows(UploadSessionException.class,
+                () -> store.write(SESSION_ID, new ByteRange(0, 3), chunk(0, 3)));
+        assertThat(whileCommitting.getMessage(), containsString("being committed"));
+        store.cancelCommit(SESSION_ID);
+        store.write(SESSION_ID, new ByteRange(0, 3), chunk(0, 3));
+    }
+
+    private FileSystemUploadSessionStore newStore(Clock clock) {
+        return new FileSystemUploadSessionStore(
+                new UploadSessionProperties(directory, DataSize.ofBytes(20), EXPIRE_AFTER), clock);
+    }
+
+    private static UploadSession session(String id, long size) {
+        return new UploadSession(id, new Filename("large.bin"), new ContentType("application/octet-stream"),
+                new FileSize(size), List.of(), NOW);
+    }
+
+    private static AssetContent chunk(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        System.arraycopy(CONTENT, start, bytes, 0, Math.min(bytes.length, CONTENT.length - start));
+        return new ByteArrayAssetContent(bytes);
+    }
+
+    private static byte[] readAll(AssetContent content) throws IOException {
+        try (InputStream in = content.openStream()) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.fsg.assetmanager.infrastructure.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimeOrderedIdGeneratorTest {
+    private static final long NOW_MILLIS = 1_750_000_000_000L;
+
+    @Mock
+    private Clock clock;
+
+    private TimeOrderedIdGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = new TimeOrderedIdGenerator(clock);
+    }
+
+    @Test
+    @DisplayName("Should generate version 7 UUIDs with the current time")
+    void shouldGenerateVersion7UuidsWithTheCurrentTime() {
+        // Given
+        when(clock.millis()).thenReturn(NOW_MILLIS);
+
+        // When
+        UUID id = generator.generateId();
+
+        // Then
+        assertThat(id.version(), equalTo(7));
+        assertThat(id.variant(), equalTo(2));
+        assertThat(id.getMostSignificantBits() >>> 16, equalTo(NOW_MILLIS));
+    }
+
+    @Test
+    @DisplayName("Should generate ids in order within the same millisecond and when the clock goes back")
+    void shouldGenerateIdsInOrderWithinTheSameMillisecondAndWhenTheClockGoesBack() {
+        // Given
+        when(clock.millis()).thenReturn(NOW_MILLIS, NOW_MILLIS, NOW_MILLIS - 1_000, NOW_MILLIS + 1);
+
+        // When
+        List<String> ids = IntStream.range(0, 4).mapToObj(i -> generator.generateId().toString()).toList();
+
+        // Then
+        assertThat(ids, equalTo(ids.stream().sorted().toList()));
+        assertThat(Set.copyOf(ids), hasSize(4));
+    }
+
+    @Test
+    @DisplayName("Should keep the order when the counter of a millisecond overflows")
+    void shouldKeepTheOrderWhenTheCounterOfAMillisecondOverflows() {
+        // Given
+        when(clock.millis()).thenReturn(NOW_MILLIS);
+
+        // When
+        List<String> ids = IntStream.range(0, 5_000).mapToObj(i -> generator.generateId().toString()).toList();
+
+        // Then
+        assertThat(ids, equalTo(ids.stream().sorted().toList()));
+    }
+
+    @Test
+    @DisplayName("Should generate unique ids from concurrent threads")
+    void shouldGenerateUniqueIdsFromConcurrentThreads() throws Exception {
+        // Given
+        generator = new TimeOrderedIdGenerator(Clock.systemUTC());
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                executor.submit(() -> IntStream.range(0, 10_000).forEach(i -> ids.add(generator.generateId())));
+            }
+        }
+
+        // Then
+        assertThat(ids, hasSize(80_000));
+    }
+}
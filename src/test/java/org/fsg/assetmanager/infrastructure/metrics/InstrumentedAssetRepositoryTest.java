@@ -0,0 +1,121 @@
+package org.fsg.assetmanager.infrastructure.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.model.AssetStatus;
+import org.fsg.assetmanager.domain.model.ContentHash;
+import org.fsg.assetmanager.domain.model.ContentType;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.out.AssetRepository;
+import org.fsg.assetmanager.domain.port.out.AssetSearchCriteria;
+import org.fsg.assetmanager.domain.port.out.AssetStatusTransition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InstrumentedAssetRepositoryTest {
+    private static final AssetSearchCriteria IMAGE_CRITERIA =
+            new AssetSearchCriteria(null, null, null, "image/png", null, 10, null);
+
+    @Mock
+    private AssetRepository delegate;
+
+    private SimpleMeterRegistry registry;
+    private InstrumentedAssetRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repository = new InstrumentedAssetRepository(delegate, registry);
+    }
+
+    @Test
+    @DisplayName("Should time the operations by content type and outcome")
+    void shouldTimeTheOperationsByContentTypeAndOutcome() {
+        // Given
+        when(delegate.find(IMAGE_CRITERIA)).thenThrow(new IllegalStateException("down"));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> repository.find(IMAGE_CRITERIA));
+
+        // Then
+        assertThat(registry.get("asset.repository")
+                .tags("operation", "find", "content.type", "image", "outcome", "error",
+                        "exception", "IllegalStateException")
+                .timer().count(), equalTo(1L));
+        assertThat(registry.get("asset.repository.active").tag("operation", "find").gauge().value(), equalTo(0.0));
+    }
+
+    @Test
+    @DisplayName("Should keep a stream in flight until it is closed")
+    void shouldKeepAStreamInFlightUntilItIsClosed() {
+        // Given
+        when(delegate.stream(IMAGE_CRITERIA)).thenReturn(Stream.of(AssetMother.SAMPLE_ASSET));
+
+        // When
+        Stream<Asset> stream = repository.stream(IMAGE_CRITERIA);
+        double activeWhileOpen = registry.get("asset.repository.active").tag("operation", "stream").gauge().value();
+        stream.close();
+
+        // Then
+        assertThat(activeWhileOpen, equalTo(1.0));
+        assertThat(registry.get("asset.repository.active").tag("operation", "stream").gauge().value(),
+                equalTo(0.0));
+        assertThat(registry.get("asset.repository").tags("operation", "stream", "outcome", "success")
+                .timer().count(), equalTo(1L));
+    }
+
+    @Test
+    @DisplayName("Should count the applied and stale status transitions")
+    void shouldCountTheAppliedAndStaleStatusTransitions() {
+        // Given
+        AssetStatusTransition applied = new AssetStatusTransition(AssetMother.SAMPLE_ASSET_ID,
+                AssetStatus.PENDING, AssetStatus.PUBLISHED, "url");
+        AssetStatusTransition stale = new AssetStatusTransition(AssetMother.ANOTHER_ASSET_ID,
+                AssetStatus.PENDING, AssetStatus.PUBLISHED, "url");
+        when(delegate.updateStatuses(List.of(applied, stale))).thenReturn(Set.of(AssetMother.SAMPLE_ASSET_ID));
+
+        // When
+        repository.updateStatuses(List.of(applied, stale));
+
+        // Then
+        assertThat(registry.get("asset.status.transitions")
+                .tags("from", "PENDING", "to", "PUBLISHED", "outcome", "applied").counter().count(), equalTo(1.0));
+        assertThat(registry.get("asset.status.transitions")
+                .tags("from", "PENDING", "to", "PUBLISHED", "outcome", "stale").counter().count(), equalTo(1.0));
+    }
+
+    @Test
+    @DisplayName("Should count the hits and misses of the lookups of published duplicates")
+    void shouldCountTheHitsAndMissesOfTheLookupsOfPublishedDuplicates() {
+        // Given
+        ContentHash unknown = new ContentHash("unknown");
+        ContentType contentType = AssetMother.SAMPLE_CONTENT_TYPE;
+        when(delegate.findPublishedByContentHash(AssetMother.SAMPLE_CONTENT_HASH, contentType))
+                .thenReturn(Optional.of(AssetMother.SAMPLE_ASSET));
+        when(delegate.findPublishedByContentHash(unknown, contentType)).thenReturn(Optional.empty());
+
+        // When
+        repository.findPublishedByContentHash(AssetMother.SAMPLE_CONTENT_HASH, contentType);
+        repository.findPublishedByContentHash(AssetMother.SAMPLE_CONTENT_HASH, contentType);
+        repository.findPublishedByContentHash(unknown, contentType);
+
+        // Then
+        assertThat(registry.get("asset.dedup.lookups").tag("result", "hit").counter().count(), equalTo(2.0));
+        assertThat(registry.get("asset.dedup.lookups").tag("result", "miss").counter().count(), equalTo(1.0));
+    }
+}
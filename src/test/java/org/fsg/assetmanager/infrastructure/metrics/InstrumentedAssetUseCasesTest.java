@@ -0,0 +1,129 @@
+package org.fsg.assetmanager.infrastructure.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.fsg.assetmanager.domain.model.Asset;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.in.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InstrumentedAssetUseCasesTest {
+    @Mock
+    private UploadAssetUseCase uploadAssetUseCase;
+
+    @Mock
+    private UploadAssetBatchUseCase uploadAssetBatchUseCase;
+
+    @Mock
+    private SearchAssetsUseCase searchAssetsUseCase;
+
+    private SimpleMeterRegistry registry;
+    private InstrumentedAssetUseCases useCases;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        useCases = new InstrumentedAssetUseCases(uploadAssetUseCase, uploadAssetBatchUseCase, searchAssetsUseCase,
+                registry);
+    }
+
+    @Test
+    @DisplayName("Should time the uploads and count their bytes by top-level content type")
+    void shouldTimeTheUploadsAndCountTheirBytesByTopLevelContentType() {
+        // Given
+        AssetUploadCommand command = new AssetUploadCommand("photo.png", "Image/PNG", 14,
+                AssetMother.SAMPLE_ASSET_CONTENT);
+        AssetUploadResult expected = new AssetUploadResult(AssetMother.SAMPLE_ASSET_ID);
+        when(uploadAssetUseCase.upload(command)).thenReturn(expected);
+
+        // When
+        AssetUploadResult result = useCases.upload(command);
+
+        // Then
+        assertThat(result, equalTo(expected));
+        assertThat(registry.get("asset.use.cases")
+                .tags("operation", "upload", "content.type", "image", "outcome", "success").timer().count(),
+                equalTo(1L));
+        assertThat(registry.get("asset.upload.bytes").tag("content.type", "image").counter().count(),
+                equalTo(14.0));
+    }
+
+    @Test
+    @DisplayName("Should count the assets of a batch by outcome and the bytes of the uploaded ones")
+    void shouldCountTheAssetsOfABatchByOutcomeAndTheBytesOfTheUploadedOnes() {
+        // Given
+        List<AssetUploadCommand> commands = List.of(
+                new AssetUploadCommand("photo.png", "image/png", 14, AssetMother.SAMPLE_ASSET_CONTENT),
+                new AssetUploadCommand("other.png", "image/png", 20, AssetMother.SAMPLE_ASSET_CONTENT));
+        when(uploadAssetBatchUseCase.uploadBatch(commands)).thenReturn(List.of(
+                AssetBatchUploadResult.uploaded(new AssetUploadResult(AssetMother.SAMPLE_ASSET_ID)),
+                AssetBatchUploadResult.failed("rejected")));
+
+        // When
+        useCases.uploadBatch(commands);
+
+        // Then
+        assertThat(registry.get("asset.use.cases").tags("operation", "upload-batch", "outcome", "success")
+                .timer().count(), equalTo(1L));
+        assertThat(registry.get("asset.upload.batch.assets").tags("content.type", "image", "outcome", "success")
+                .counter().count(), equalTo(1.0));
+        assertThat(registry.get("asset.upload.batch.assets").tags("content.type", "image", "outcome", "error")
+                .counter().count(), equalTo(1.0));
+        assertThat(registry.get("asset.upload.bytes").tag("content.type", "image").counter().count(),
+                equalTo(14.0));
+    }
+
+    @Test
+    @DisplayName("Should tag unknown content types as other")
+    void shouldTagUnknownContentTypesAsOther() {
+        // Given
+        AssetSearchQuery query = new AssetSearchQuery(null, null, null, "x-custom/anything", null, null, null);
+
+        // When
+        useCases.search(query);
+
+        // Then
+        assertThat(registry.get("asset.use.cases").tags("operation", "search", "content.type", "other")
+                .timer().count(), equalTo(1L));
+    }
+
+    @Test
+    @DisplayName("Should count the exported assets")
+    @SuppressWarnings("unchecked")
+    void shouldCountTheExportedAssets() {
+        // Given
+        AssetSearchQuery query = new AssetSearchQuery(null);
+        List<Asset> exported = new ArrayList<>();
+        doAnswer(invocation -> {
+            Consumer<Asset> consumer = invocation.getArgument(1);
+            consumer.accept(AssetMother.SAMPLE_ASSET);
+            consumer.accept(AssetMother.ANOTHER_ASSET);
+            return null;
+        }).when(searchAssetsUseCase).export(eq(query), any(Consumer.class));
+
+        // When
+        useCases.export(query, exported::add);
+
+        // Then
+        assertThat(exported, contains(AssetMother.SAMPLE_ASSET, AssetMother.ANOTHER_ASSET));
+        assertThat(registry.get("asset.export.assets").tag("content.type", "none").counter().count(),
+                equalTo(2.0));
+    }
+}
@@ -0,0 +1,53 @@
+package org.fsg.assetmanager.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.fsg.assetmanager.domain.mother.AssetMother;
+import org.fsg.assetmanager.domain.port.out.PublishJob;
+import org.fsg.assetmanager.domain.port.out.PublishJobRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InstrumentedPublishJobRepositoryTest {
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Mock
+    private PublishJobRepository delegate;
+
+    @Test
+    @DisplayName("Should record the outbox delay of the jobs claimed for the first time")
+    void shouldRecordTheOutboxDelayOfTheJobsClaimedForTheFirstTime() {
+        // Given
+        Clock clock = Clock.fixed(AssetMother.SAMPLE_UPLOAD_DATE.plusSeconds(3), ZoneOffset.UTC);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InstrumentedPublishJobRepository repository = new InstrumentedPublishJobRepository(delegate, registry, clock);
+        when(delegate.claim(10, LEASE)).thenReturn(List.of(
+                new PublishJob(1, AssetMother.SAMPLE_ASSET, 1),
+                new PublishJob(2, AssetMother.SAMPLE_ASSET, 2)));
+
+        // When
+        List<PublishJob> claimed = repository.claim(10, LEASE);
+
+        // Then
+        assertThat(claimed.size(), equalTo(2));
+        Timer delay = registry.get("asset.outbox.delay").timer();
+        assertThat(delay.count(), equalTo(1L));
+        assertThat(delay.totalTime(TimeUnit.SECONDS), equalTo(3.0));
+        assertThat(registry.get("asset.outbox").tags("operation", "claim", "outcome", "success").timer().count(),
+                equalTo(1L));
+    }
+}
@@ -0,0 +1,19 @@
+package org.fsg.assetmanager.testutils;
+
+import org.fsg.assetmanager.domain.model.AssetContent;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+public record ByteArrayAssetContent(byte[] bytes) implements AssetContent {
+    @Override
+    public long size() {
+        return bytes.length;
+    }
+
+    @Override
+    public ReadableByteChannel openChannel() {
+        return Channels.newChannel(new ByteArrayInputStream(bytes));
+    }
+}